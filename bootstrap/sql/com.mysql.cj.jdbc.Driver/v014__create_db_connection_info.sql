@@ -0,0 +1,13 @@
+-- Offset of change events in the change event log. Subscribers read the log in offset order.
+ALTER TABLE change_event
+    ADD COLUMN eventOffset BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    ADD UNIQUE INDEX change_event_offset_index (eventOffset);
+
+-- Committed offset of each change event subscriber and the server currently holding its lease
+CREATE TABLE IF NOT EXISTS change_event_consumers (
+    id VARCHAR(256) NOT NULL,                   -- Subscriber id
+    eventOffset BIGINT UNSIGNED NOT NULL,       -- Offset of the last change event processed by the subscriber
+    owner VARCHAR(256),                         -- Server processing the change events for the subscriber
+    leaseExpiry BIGINT UNSIGNED NOT NULL,       -- Time until which the owner holds the subscriber
+    PRIMARY KEY (id)
+);
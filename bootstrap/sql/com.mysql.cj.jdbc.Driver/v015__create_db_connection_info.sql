@@ -0,0 +1,2 @@
+-- Percentile ranks are computed over the usage of all entities of a type for a date
+CREATE INDEX entity_usage_date_type_index ON entity_usage (usageDate, entityType);
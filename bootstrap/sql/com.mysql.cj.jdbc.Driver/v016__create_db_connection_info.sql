@@ -0,0 +1,15 @@
+-- Posts of a thread are stored in their own table instead of the thread json
+CREATE TABLE IF NOT EXISTS thread_post (
+    id VARCHAR(36) GENERATED ALWAYS AS (json ->> '$.id') STORED NOT NULL,
+    threadId VARCHAR(36) NOT NULL,
+    postTs BIGINT UNSIGNED GENERATED ALWAYS AS (json ->> '$.postTs') NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (id),
+    INDEX thread_post_thread_ts_index (threadId, postTs)
+);
+
+INSERT INTO thread_post (threadId, json)
+SELECT t.id, p.post FROM thread_entity t,
+JSON_TABLE(t.json, '$.posts[*]' COLUMNS (post JSON PATH '$')) p;
+
+UPDATE thread_entity SET json = JSON_REMOVE(json, '$.posts') WHERE JSON_CONTAINS_PATH(json, 'one', '$.posts');
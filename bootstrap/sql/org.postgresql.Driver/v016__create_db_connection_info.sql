@@ -0,0 +1,15 @@
+-- Posts of a thread are stored in their own table instead of the thread json
+CREATE TABLE IF NOT EXISTS thread_post (
+    id VARCHAR(36) GENERATED ALWAYS AS (json ->> 'id') STORED NOT NULL,
+    threadId VARCHAR(36) NOT NULL,
+    postTs BIGINT GENERATED ALWAYS AS ((json ->> 'postTs')::bigint) STORED NOT NULL,
+    json JSONB NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS thread_post_thread_ts_index ON thread_post (threadId, postTs);
+
+INSERT INTO thread_post (threadId, json)
+SELECT t.id, p.post FROM thread_entity t, jsonb_array_elements(t.json -> 'posts') AS p(post)
+WHERE jsonb_typeof(t.json -> 'posts') = 'array';
+
+UPDATE thread_entity SET json = json - 'posts' WHERE json -> 'posts' IS NOT NULL;
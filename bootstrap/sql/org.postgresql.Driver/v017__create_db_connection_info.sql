@@ -0,0 +1,2 @@
+-- Change events are listed in pages ordered by the cursor (eventTime, eventOffset)
+CREATE INDEX IF NOT EXISTS change_event_time_offset_index ON change_event (eventTime, eventOffset);
@@ -0,0 +1,10 @@
+-- Progress of the batched data migrations of the server migrations, so that a failed migration resumes where it stopped
+CREATE TABLE IF NOT EXISTS SERVER_MIGRATION_CHECKPOINT (
+    version VARCHAR(256) NOT NULL,
+    name VARCHAR(256) NOT NULL,
+    lastKey TEXT,
+    rowCount BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    updatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (version, name)
+);
@@ -0,0 +1,2 @@
+-- The fingerprints of the secrets manager update are read for all the entities by extension name
+CREATE INDEX IF NOT EXISTS entity_extension_extension_index ON entity_extension (extension);
@@ -35,6 +35,7 @@ import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.MetadataOperation;
 import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.service.cache.EntityCache;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.EntityRepository;
@@ -211,7 +212,17 @@ public final class Entity {
       throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entityType));
     }
     include = repository.supportsSoftDelete ? Include.ALL : include;
-    return repository.getDao().findEntityReferenceById(id, include);
+    return EntityCache.getInstance().getEntityReferenceById(repository.getDao(), id, include);
+  }
+
+  /** Resolve references, including deleted entities, for a batch of ids of the same entity type */
+  public static Map<UUID, EntityReference> getEntityReferencesByIds(@NonNull String entityType, List<UUID> ids)
+      throws IOException {
+    EntityRepository<?> repository = ENTITY_REPOSITORY_MAP.get(entityType);
+    if (repository == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entityType));
+    }
+    return EntityCache.getInstance().getEntityReferencesByIds(repository.getDao(), ids);
   }
 
   public static EntityReference getEntityReferenceByName(@NonNull String entityType, String fqn, Include include)
@@ -223,7 +234,7 @@ public final class Entity {
     if (repository == null) {
       throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entityType));
     }
-    return repository.getDao().findEntityReferenceByName(fqn, include);
+    return EntityCache.getInstance().getEntityReferenceByName(repository.getDao(), fqn, include);
   }
 
   public static EntityReference getOwner(@NonNull EntityReference reference) throws IOException {
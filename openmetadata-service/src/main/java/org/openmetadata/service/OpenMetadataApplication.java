@@ -72,6 +72,9 @@ import org.openmetadata.schema.api.configuration.extension.ExtensionConfiguratio
 import org.openmetadata.schema.api.security.AuthenticationConfiguration;
 import org.openmetadata.schema.api.security.AuthorizerConfiguration;
 import org.openmetadata.schema.auth.SSOAuthMechanism;
+import org.openmetadata.service.cache.EntityCache;
+import org.openmetadata.service.cache.EntityCacheInvalidationPublisher;
+import org.openmetadata.service.cache.SearchResponseCache;
 import org.openmetadata.service.elasticsearch.ElasticSearchEventPublisher;
 import org.openmetadata.service.events.EventFilter;
 import org.openmetadata.service.events.EventPubSub;
@@ -142,6 +145,12 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     // Init Settings Cache
     SettingsCache.initialize(jdbi.onDemand(CollectionDAO.class), catalogConfig);
 
+    // Init Entity Cache
+    EntityCache.initialize(catalogConfig.getEntityCacheConfiguration(), jdbi.onDemand(CollectionDAO.class));
+
+    // Init Search Response Cache
+    SearchResponseCache.initialize(catalogConfig.getSearchResponseCacheConfiguration());
+
     // init Secret Manager
     final SecretsManager secretsManager =
         SecretsManagerFactory.createSecretsManager(
@@ -192,8 +201,10 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     // Register Event publishers
     registerEventPublisher(catalogConfig, jdbi);
 
-    // update entities secrets if required
-    new SecretsManagerUpdateService(secretsManager, catalogConfig.getClusterName()).updateEntities();
+    // update entities secrets if required, before starting when the secrets manager changed, in the background
+    // otherwise not to delay the server start
+    new SecretsManagerUpdateService(secretsManager, catalogConfig.getClusterName(), jdbi.onDemand(CollectionDAO.class))
+        .updateEntitiesOnStart();
 
     // start authorizer after event publishers
     // authorizer creates admin/bot users, ES publisher should start before to index users created by authorizer
@@ -397,8 +408,22 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
 
   private void registerEventFilter(OpenMetadataApplicationConfig catalogConfig, Environment environment, Jdbi jdbi) {
     if (catalogConfig.getEventHandlerConfiguration() != null) {
-      ContainerResponseFilter eventFilter = new EventFilter(catalogConfig, jdbi);
+      EventFilter eventFilter = new EventFilter(catalogConfig, jdbi);
       environment.jersey().register(eventFilter);
+      environment
+          .lifecycle()
+          .manage(
+              new Managed() {
+                @Override
+                public void start() {
+                  // Nothing to do, the event filter starts processing events when it is created
+                }
+
+                @Override
+                public void stop() {
+                  eventFilter.shutdown();
+                }
+              });
       ContainerResponseFilter reindexingJobs = new SearchIndexEvent();
       environment.jersey().register(reindexingJobs);
     }
@@ -407,10 +432,16 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
   private void registerEventPublisher(OpenMetadataApplicationConfig openMetadataApplicationConfig, Jdbi jdbi) {
     // register ElasticSearch Event publisher
     if (openMetadataApplicationConfig.getElasticSearchConfiguration() != null) {
+      CollectionDAO collectionDAO = jdbi.onDemand(CollectionDAO.class);
       ElasticSearchEventPublisher elasticSearchEventPublisher =
-          new ElasticSearchEventPublisher(
-              openMetadataApplicationConfig.getElasticSearchConfiguration(), jdbi.onDemand(CollectionDAO.class));
-      EventPubSub.addEventHandler(elasticSearchEventPublisher);
+          new ElasticSearchEventPublisher(openMetadataApplicationConfig.getElasticSearchConfiguration(), collectionDAO);
+      EventPubSub.addEventLogHandler(
+          ElasticSearchEventPublisher.CONSUMER_ID, elasticSearchEventPublisher, collectionDAO);
+    }
+
+    // register Entity Cache invalidation publisher
+    if (EntityCache.isInitialized()) {
+      EventPubSub.addEventHandler(new EntityCacheInvalidationPublisher());
     }
 
     if (openMetadataApplicationConfig.getEventMonitorConfiguration() != null) {
@@ -485,6 +516,11 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     @Override
     public void stop() throws InterruptedException, SchedulerException {
       EventPubSub.shutdown();
+      EntityCache.cleanUp();
+      SearchResponseCache.cleanUp();
+      if (WebSocketManager.getInstance() != null) {
+        WebSocketManager.getInstance().shutdown();
+      }
       ReportsHandler.shutDown();
       LOG.info("Stopping the application");
     }
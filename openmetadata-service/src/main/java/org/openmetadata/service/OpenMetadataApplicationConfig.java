@@ -35,6 +35,8 @@ import org.openmetadata.schema.api.security.jwt.JWTTokenConfiguration;
 import org.openmetadata.schema.email.SmtpSettings;
 import org.openmetadata.schema.security.secrets.SecretsManagerConfiguration;
 import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
+import org.openmetadata.service.cache.EntityCacheConfiguration;
+import org.openmetadata.service.cache.SearchResponseCacheConfiguration;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitorConfiguration;
 
@@ -105,6 +107,12 @@ public class OpenMetadataApplicationConfig extends Configuration {
   @JsonProperty("changeEventConfig")
   private ChangeEventConfiguration changeEventConfiguration;
 
+  @JsonProperty("entityCacheConfiguration")
+  private EntityCacheConfiguration entityCacheConfiguration = new EntityCacheConfiguration();
+
+  @JsonProperty("searchResponseCacheConfiguration")
+  private SearchResponseCacheConfiguration searchResponseCacheConfiguration = new SearchResponseCacheConfiguration();
+
   @Override
   public String toString() {
     return "catalogConfig{"
@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Channel over which entity changes are broadcast to the caches of all the servers. The default {@link
+ * LocalCacheInvalidationChannel} only reaches this server and can be replaced by a channel that reaches all the
+ * replicas of a cluster.
+ */
+public interface CacheInvalidationChannel {
+  /** Start receiving invalidations. The listener is called with the id of every changed entity. */
+  void start(Consumer<UUID> listener);
+
+  /** Broadcast that the entity with the given id was changed by this server */
+  void publish(UUID entityId);
+
+  void close();
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+
+/**
+ * Invalidation channel for running multiple servers against the same database. Changes made by this server are
+ * delivered immediately. Changes made by the other servers are picked up by polling the change_event table, which is
+ * written by all the servers.
+ *
+ * <p>Change events are read in the order of their offset. An offset is allocated when the event is inserted, before
+ * the transaction commits, so an event may become visible after events of higher offsets. The offsets skipped are
+ * looked up again on each poll until their events appear, or until they are older than the cache entries, when the
+ * entities cached before the events were written have expired anyway.
+ */
+@Slf4j
+public class ChangeEventCacheInvalidationChannel implements CacheInvalidationChannel {
+  private static final int POLL_LIMIT = 1000;
+  private static final int MAX_MISSING_OFFSETS = 1000;
+  private final CollectionDAO dao;
+  private final int pollIntervalSeconds;
+  private final long gapWaitMillis;
+  private ScheduledExecutorService scheduler;
+  private volatile Consumer<UUID> listener;
+  private long lastOffset;
+  // Offsets skipped by the events read, not visible yet or rolled back, to the time they were found missing
+  private final Map<Long, Long> missingOffsets = new TreeMap<>();
+
+  public ChangeEventCacheInvalidationChannel(CollectionDAO dao, int pollIntervalSeconds, long gapWaitMillis) {
+    this.dao = dao;
+    this.pollIntervalSeconds = pollIntervalSeconds;
+    this.gapWaitMillis = gapWaitMillis;
+  }
+
+  @Override
+  public void start(Consumer<UUID> listener) {
+    this.listener = listener;
+    this.lastOffset = dao.changeEventDAO().getMaxOffset();
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    scheduler.scheduleWithFixedDelay(
+        () -> poll(System.currentTimeMillis()), pollIntervalSeconds, pollIntervalSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void publish(UUID entityId) {
+    Consumer<UUID> current = listener;
+    if (current != null) {
+      current.accept(entityId);
+    }
+  }
+
+  void poll(long now) {
+    try {
+      if (!missingOffsets.isEmpty()) {
+        for (Pair<Long, String> event :
+            dao.changeEventDAO().listEntityIdsByOffsets(new ArrayList<>(missingOffsets.keySet()))) {
+          missingOffsets.remove(event.getLeft());
+          deliver(event);
+        }
+        missingOffsets.values().removeIf(missingSince -> now - missingSince >= gapWaitMillis);
+      }
+      List<Pair<Long, String>> events;
+      do {
+        events = dao.changeEventDAO().listEntityIdsAfterOffset(lastOffset, POLL_LIMIT);
+        for (Pair<Long, String> event : events) {
+          addMissingOffsets(lastOffset + 1, event.getLeft(), now);
+          deliver(event);
+          lastOffset = event.getLeft();
+        }
+      } while (events.size() == POLL_LIMIT);
+    } catch (Exception e) {
+      LOG.warn("Failed to poll change events for cache invalidation", e);
+    }
+  }
+
+  private void deliver(Pair<Long, String> event) {
+    if (event.getRight() != null) {
+      publish(UUID.fromString(event.getRight()));
+    }
+  }
+
+  /** Remember the offsets from the given offset, up to the offset excluded, to look them up on the next polls */
+  private void addMissingOffsets(long from, long to, long now) {
+    for (long offset = from; offset < to; offset++) {
+      if (missingOffsets.size() >= MAX_MISSING_OFFSETS) {
+        LOG.warn("Too many change events not visible yet, events {} to {} are not waited for", offset, to - 1);
+        return;
+      }
+      missingOffsets.put(offset, now);
+    }
+  }
+
+  @VisibleForTesting
+  Set<Long> getMissingOffsets() {
+    return missingOffsets.keySet();
+  }
+
+  @Override
+  public void close() {
+    listener = null;
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+}
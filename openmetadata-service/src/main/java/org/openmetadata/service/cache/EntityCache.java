@@ -0,0 +1,303 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.EntityCacheConfiguration.InvalidationChannelType;
+import org.openmetadata.service.exception.CatalogExceptionMessage;
+import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.EntityDAO;
+import org.openmetadata.service.util.FullyQualifiedName;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
+import org.openmetadata.service.util.RestUtil.BulkPutResult;
+
+/**
+ * Read-through cache of entity documents and references used for resolving references and reading entities by id or
+ * fully qualified name. Entity JSON documents are cached instead of entity objects since the callers set fields on
+ * the entities they read. Entries are invalidated when an entity is updated or deleted on this server, again once the
+ * request writing it completed, and through the configured {@link CacheInvalidationChannel} for changes from the change
+ * event stream.
+ */
+@Slf4j
+public class EntityCache {
+  private static final EntityCache INSTANCE = new EntityCache();
+  private static volatile boolean initialized = false;
+  protected static Cache<UUID, CachedEntity> entityCache; // Entity id to cached entity
+  protected static Cache<String, UUID> nameCache; // Table name and fqnHash to entity id
+  protected static CacheInvalidationChannel invalidationChannel;
+
+  // Expected to be called only once during the application start up
+  public static void initialize(EntityCacheConfiguration config, CollectionDAO dao) {
+    if (initialized || config == null || !config.isEnabled()) {
+      return;
+    }
+    entityCache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(config.getMaxWeightBytes())
+            .weigher((UUID id, CachedEntity cached) -> cached.weight())
+            .expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    nameCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    if (MicrometerBundleSingleton.prometheusMeterRegistry != null) {
+      GuavaCacheMetrics.monitor(MicrometerBundleSingleton.prometheusMeterRegistry, entityCache, "entity_cache");
+      GuavaCacheMetrics.monitor(MicrometerBundleSingleton.prometheusMeterRegistry, nameCache, "entity_name_cache");
+    }
+    invalidationChannel =
+        config.getInvalidationChannel() == InvalidationChannelType.CHANGE_EVENT
+            ? new ChangeEventCacheInvalidationChannel(
+                dao, config.getPollIntervalSeconds(), TimeUnit.SECONDS.toMillis(config.getExpireAfterWriteSeconds()))
+            : new LocalCacheInvalidationChannel();
+    invalidationChannel.start(INSTANCE::invalidate);
+    initialized = true;
+    LOG.info("Entity cache initialized with {} invalidation channel", config.getInvalidationChannel());
+  }
+
+  public static EntityCache getInstance() {
+    return INSTANCE;
+  }
+
+  public static boolean isInitialized() {
+    return initialized;
+  }
+
+  public static void cleanUp() {
+    if (initialized) {
+      invalidationChannel.close();
+      entityCache.invalidateAll();
+      nameCache.invalidateAll();
+      initialized = false;
+    }
+  }
+
+  public <T extends EntityInterface> String getJsonById(EntityDAO<T> dao, UUID id, Include include) throws IOException {
+    if (!initialized) {
+      return dao.findJsonById(id, include);
+    }
+    CachedEntity cached = entityCache.getIfPresent(id);
+    if (cached == null) {
+      cached = load(dao, dao.findJsonById(id, Include.ALL));
+    }
+    return cached != null && cached.matches(dao, include) ? cached.json : null;
+  }
+
+  public <T extends EntityInterface> String getJsonByName(EntityDAO<T> dao, String fqn, Include include)
+      throws IOException {
+    if (!initialized) {
+      return dao.findJsonByFqn(fqn, include);
+    }
+    String nameKey = nameKey(dao, FullyQualifiedName.buildHash(fqn));
+    UUID id = nameCache.getIfPresent(nameKey);
+    CachedEntity cached = id == null ? null : entityCache.getIfPresent(id);
+    if (cached == null) {
+      cached = load(dao, dao.findJsonByFqn(fqn, Include.ALL));
+      if (cached != null) {
+        nameCache.put(nameKey, cached.reference.getId());
+      }
+    }
+    return cached != null && cached.matches(dao, include) ? cached.json : null;
+  }
+
+  public <T extends EntityInterface> EntityReference getEntityReferenceById(EntityDAO<T> dao, UUID id, Include include)
+      throws IOException {
+    if (!initialized) {
+      return dao.findEntityReferenceById(id, include);
+    }
+    if (getJsonById(dao, id, include) == null) {
+      throw entityNotFound(dao, id.toString());
+    }
+    return copy(entityCache.getIfPresent(id), dao, id.toString());
+  }
+
+  public <T extends EntityInterface> EntityReference getEntityReferenceByName(
+      EntityDAO<T> dao, String fqn, Include include) throws IOException {
+    if (!initialized) {
+      return dao.findEntityReferenceByName(fqn, include);
+    }
+    if (getJsonByName(dao, fqn, include) == null) {
+      throw entityNotFound(dao, fqn);
+    }
+    UUID id = nameCache.getIfPresent(nameKey(dao, FullyQualifiedName.buildHash(fqn)));
+    return copy(id == null ? null : entityCache.getIfPresent(id), dao, fqn);
+  }
+
+  /**
+   * Get references, including deleted entities, for a batch of ids. Entities missing from the cache are loaded with a
+   * single query. Ids that do not correspond to an entity are left out of the returned map.
+   */
+  public <T extends EntityInterface> Map<UUID, EntityReference> getEntityReferencesByIds(
+      EntityDAO<T> dao, List<UUID> ids) throws IOException {
+    Map<UUID, EntityReference> references = new HashMap<>();
+    List<UUID> missing = new ArrayList<>();
+    for (UUID id : ids) {
+      CachedEntity cached = initialized ? entityCache.getIfPresent(id) : null;
+      if (cached != null) {
+        references.put(id, copy(cached, dao, id.toString()));
+      } else {
+        missing.add(id);
+      }
+    }
+    for (String json : dao.findJsonByIds(missing)) {
+      if (initialized) {
+        CachedEntity cached = load(dao, json);
+        references.put(cached.reference.getId(), copy(cached, dao, cached.reference.getId().toString()));
+      } else {
+        EntityReference ref = JsonUtils.readValue(json, dao.getEntityClass()).getEntityReference();
+        references.put(ref.getId(), ref);
+      }
+    }
+    return references;
+  }
+
+  /** Invalidate the cached entity. Called when the entity is updated or deleted. */
+  public void invalidate(UUID id) {
+    if (!initialized || id == null) {
+      return;
+    }
+    CachedEntity cached = entityCache.getIfPresent(id);
+    entityCache.invalidate(id);
+    if (cached != null) {
+      nameCache.invalidate(cached.nameKey);
+    }
+  }
+
+  /**
+   * Invalidate the entities written by a request once the request completed. Entities are invalidated when they are
+   * written, but a concurrent read may cache an entity again before its write is committed. The entity in the response,
+   * the entity of a change event response or the entities of a bulk response are invalidated.
+   */
+  public void invalidateWritten(Object responseEntity) {
+    if (!initialized) {
+      return;
+    }
+    if (responseEntity instanceof EntityInterface) {
+      invalidate(((EntityInterface) responseEntity).getId());
+    } else if (responseEntity instanceof ChangeEvent) {
+      invalidate(((ChangeEvent) responseEntity).getEntityId());
+    } else if (responseEntity instanceof BulkPutResponse) {
+      for (BulkPutResult<?> result : ((BulkPutResponse<?>) responseEntity).getResults()) {
+        invalidateWritten(result.getEntity());
+      }
+    }
+  }
+
+  /** Invalidate all the cached entities stored in a table. Called when entities are renamed in bulk. */
+  public void invalidateAll(String tableName) {
+    if (!initialized) {
+      return;
+    }
+    entityCache.asMap().values().removeIf(cached -> cached.tableName.equals(tableName));
+    nameCache.asMap().keySet().removeIf(key -> key.startsWith(tableName + ":"));
+  }
+
+  /** Broadcast a change to an entity made by this server to the caches of all the servers */
+  public void publishChange(UUID id) {
+    if (initialized) {
+      invalidationChannel.publish(id);
+    }
+  }
+
+  private <T extends EntityInterface> CachedEntity load(EntityDAO<T> dao, String json) throws IOException {
+    if (json == null) {
+      return null;
+    }
+    T entity = JsonUtils.readValue(json, dao.getEntityClass());
+    CachedEntity cached =
+        new CachedEntity(
+            dao.getTableName(),
+            nameKey(dao, FullyQualifiedName.buildHash(entity.getFullyQualifiedName())),
+            json,
+            entity.getEntityReference(),
+            Boolean.TRUE.equals(entity.getDeleted()));
+    entityCache.put(entity.getId(), cached);
+    return cached;
+  }
+
+  private static <T extends EntityInterface> EntityReference copy(
+      CachedEntity cached, EntityDAO<T> dao, String identity) {
+    if (cached == null) { // Evicted after it was loaded
+      throw entityNotFound(dao, identity);
+    }
+    EntityReference ref = cached.reference;
+    return new EntityReference()
+        .withId(ref.getId())
+        .withType(ref.getType())
+        .withName(ref.getName())
+        .withFullyQualifiedName(ref.getFullyQualifiedName())
+        .withDescription(ref.getDescription())
+        .withDisplayName(ref.getDisplayName())
+        .withDeleted(ref.getDeleted())
+        .withHref(ref.getHref());
+  }
+
+  private static <T extends EntityInterface> EntityNotFoundException entityNotFound(
+      EntityDAO<T> dao, String identity) {
+    String entityType = Entity.getEntityTypeFromClass(dao.getEntityClass());
+    return EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, identity));
+  }
+
+  private static <T extends EntityInterface> String nameKey(EntityDAO<T> dao, String fqnHash) {
+    return dao.getTableName() + ":" + fqnHash;
+  }
+
+  static class CachedEntity {
+    private final String tableName;
+    private final String nameKey;
+    private final String json;
+    private final EntityReference reference;
+    private final boolean deleted;
+
+    CachedEntity(String tableName, String nameKey, String json, EntityReference reference, boolean deleted) {
+      this.tableName = tableName;
+      this.nameKey = nameKey;
+      this.json = json;
+      this.reference = reference;
+      this.deleted = deleted;
+    }
+
+    int weight() {
+      return 2 * json.length(); // Java strings use up to two bytes per character
+    }
+
+    <T extends EntityInterface> boolean matches(EntityDAO<T> dao, Include include) {
+      if (!dao.supportsSoftDelete() || include == Include.ALL) {
+        return true;
+      }
+      return include == Include.DELETED ? deleted : !deleted;
+    }
+  }
+}
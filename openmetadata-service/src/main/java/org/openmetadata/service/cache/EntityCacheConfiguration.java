@@ -0,0 +1,41 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class EntityCacheConfiguration {
+  public enum InvalidationChannelType {
+    /** Invalidate only from the change events of this server. Use when running a single server. */
+    LOCAL,
+    /** Also invalidate from the change events of other servers by polling the shared change_event table. */
+    CHANGE_EVENT
+  }
+
+  private boolean enabled = true;
+
+  /** Maximum size of the cached entity documents in bytes */
+  private long maxWeightBytes = 64L * 1024 * 1024;
+
+  /** Upper bound on staleness for changes that are not captured as change events */
+  private int expireAfterWriteSeconds = 300;
+
+  private InvalidationChannelType invalidationChannel = InvalidationChannelType.CHANGE_EVENT;
+
+  /** Polling interval used by the CHANGE_EVENT invalidation channel */
+  private int pollIntervalSeconds = 5;
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.service.events.AbstractEventPublisher;
+import org.openmetadata.service.resources.events.EventResource.EventList;
+
+/** Consumes the change events of this server and broadcasts the changed entities over the invalidation channel. */
+@Slf4j
+public class EntityCacheInvalidationPublisher extends AbstractEventPublisher {
+  private static final int BATCH_SIZE = 100;
+
+  public EntityCacheInvalidationPublisher() {
+    super(BATCH_SIZE);
+  }
+
+  @Override
+  public void publish(EventList events) {
+    for (ChangeEvent event : events.getData()) {
+      EntityCache.getInstance().publishChange(event.getEntityId());
+    }
+  }
+
+  @Override
+  public void onStart() {
+    LOG.info("Entity Cache Invalidation Publisher Started");
+  }
+
+  @Override
+  public void onShutdown() {
+    LOG.info("Entity Cache Invalidation Publisher Closed");
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/** Invalidation channel that delivers the changes of this server only to the caches of this server. */
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+  private volatile Consumer<UUID> listener;
+
+  @Override
+  public void start(Consumer<UUID> listener) {
+    this.listener = listener;
+  }
+
+  @Override
+  public void publish(UUID entityId) {
+    Consumer<UUID> current = listener;
+    if (current != null) {
+      current.accept(entityId);
+    }
+  }
+
+  @Override
+  public void close() {
+    listener = null;
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.service.elasticsearch.ElasticSearchRequest;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Short-lived cache of search responses keyed by the normalized search request, shared by the search client
+ * implementations through {@link org.openmetadata.service.search.SearchClient#cachedSearch}. Explore and landing page
+ * traffic repeats the same few queries and aggregations, which are served from the cache between index updates.
+ *
+ * <p>Responses of an index are invalidated when the search indexing of this server writes change events of the
+ * entities of that index. Responses of the indexes that span several entity types, such as "all", are invalidated on
+ * every change. Changes indexed by other servers are picked up when the entries expire.
+ */
+@Slf4j
+public class SearchResponseCache {
+  private static final SearchResponseCache INSTANCE = new SearchResponseCache();
+  private static final String KEY_SEPARATOR = "\u0000";
+  private static final Set<String> ENTITY_INDEXES =
+      Arrays.stream(ElasticSearchIndexType.values()).map(type -> type.indexName).collect(Collectors.toSet());
+  // Changes to other entity types, like tags, glossaries, owners and services, are also written to the documents of
+  // other indexes
+  private static final Set<String> SINGLE_INDEX_ENTITY_TYPES =
+      Set.of(
+          Entity.TABLE,
+          Entity.DASHBOARD,
+          Entity.TOPIC,
+          Entity.PIPELINE,
+          Entity.MLMODEL,
+          Entity.CONTAINER,
+          Entity.QUERY,
+          Entity.TEST_CASE);
+  private static volatile boolean initialized = false;
+  protected static Cache<String, String> responseCache; // Index and normalized request to response
+  // Incremented on every invalidation, so that a response computed while its index changed is not cached
+  private static final AtomicLong generation = new AtomicLong();
+
+  // Expected to be called only once during the application start up
+  public static void initialize(SearchResponseCacheConfiguration config) {
+    if (initialized || config == null || !config.isEnabled()) {
+      return;
+    }
+    responseCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(config.getMaxSize())
+            .expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    if (MicrometerBundleSingleton.prometheusMeterRegistry != null) {
+      GuavaCacheMetrics.monitor(
+          MicrometerBundleSingleton.prometheusMeterRegistry, responseCache, "search_response_cache");
+    }
+    initialized = true;
+    LOG.info("Search response cache initialized");
+  }
+
+  public static SearchResponseCache getInstance() {
+    return INSTANCE;
+  }
+
+  public static boolean isInitialized() {
+    return initialized;
+  }
+
+  public static void cleanUp() {
+    if (initialized) {
+      responseCache.invalidateAll();
+      initialized = false;
+    }
+  }
+
+  /** Cache key of the request. Requests that only differ in the formatting of their filters share the same key. */
+  public static String getKey(ElasticSearchRequest request) {
+    List<String> includeSourceFields =
+        request.getIncludeSourceFields() == null
+            ? Collections.emptyList()
+            : new ArrayList<>(request.getIncludeSourceFields());
+    Collections.sort(includeSourceFields);
+    return String.join(
+        KEY_SEPARATOR,
+        request.getIndex(),
+        request.getQuery(),
+        String.valueOf(request.getFrom()),
+        String.valueOf(request.getSize()),
+        normalizeFilter(request.getQueryFilter()),
+        normalizeFilter(request.getPostFilter()),
+        String.valueOf(request.fetchSource()),
+        String.valueOf(request.trackTotalHits()),
+        String.valueOf(request.getSortFieldParam()),
+        String.valueOf(request.getSortOrder()),
+        String.valueOf(request.deleted()),
+        String.join(",", includeSourceFields));
+  }
+
+  private static String normalizeFilter(String filter) {
+    if (nullOrEmpty(filter)) {
+      return "";
+    }
+    try {
+      return JsonUtils.readTree(filter).toString();
+    } catch (Exception e) {
+      return filter; // Invalid filters are ignored by the search, cache them as they are
+    }
+  }
+
+  /** Generation to pass to {@link #put} for a response computed after this call */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  public String get(String key) {
+    return initialized ? responseCache.getIfPresent(key) : null;
+  }
+
+  /** Cache the response unless the cache was invalidated since the given generation */
+  public void put(String key, String response, long expectedGeneration) {
+    if (initialized && generation.get() == expectedGeneration) {
+      responseCache.put(key, response);
+    }
+  }
+
+  /** Invalidate the responses of the indexes that contain documents of the given entity types */
+  public void invalidate(Collection<String> entityTypes) {
+    if (!initialized || entityTypes.isEmpty()) {
+      return;
+    }
+    generation.incrementAndGet();
+    Set<String> indexes = new HashSet<>();
+    for (String entityType : entityTypes) {
+      if (entityType == null || !SINGLE_INDEX_ENTITY_TYPES.contains(entityType)) {
+        responseCache.invalidateAll();
+        return;
+      }
+      indexes.add(ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType).indexName);
+    }
+    responseCache
+        .asMap()
+        .keySet()
+        .removeIf(
+            key -> {
+              String index = key.substring(0, key.indexOf(KEY_SEPARATOR));
+              return indexes.contains(index) || !ENTITY_INDEXES.contains(index);
+            });
+  }
+}
@@ -1,5 +1,5 @@
 /*
- *  Copyright 2021 Collate
+ *  Copyright 2023 Collate
  *  Licensed under the Apache License, Version 2.0 (the "License");
  *  you may not use this file except in compliance with the License.
  *  You may obtain a copy of the License at
@@ -11,18 +11,19 @@
  *  limitations under the License.
  */
 
-package org.openmetadata.service.resources.feeds;
+package org.openmetadata.service.cache;
 
-import org.openmetadata.schema.entity.feed.Thread;
-import org.openmetadata.schema.type.Post;
+import lombok.Getter;
+import lombok.Setter;
 
-public final class FeedUtil {
+@Getter
+@Setter
+public class SearchResponseCacheConfiguration {
+  private boolean enabled = true;
 
-  private FeedUtil() {}
+  /** Maximum number of cached search responses */
+  private long maxSize = 1000;
 
-  public static void addPost(Thread thread, Post post) {
-    // Add new post to the thread
-    thread.getPosts().add(post);
-    thread.withPostsCount(thread.getPosts().size());
-  }
+  /** Upper bound on staleness for changes indexed by other servers */
+  private int expireAfterWriteSeconds = 10;
 }
@@ -23,8 +23,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.elasticsearch.ElasticsearchException;
@@ -37,24 +44,53 @@ import org.openmetadata.schema.system.EventPublisherJob.Status;
 import org.openmetadata.schema.system.Failure;
 import org.openmetadata.schema.system.FailureDetails;
 import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.SearchResponseCache;
 import org.openmetadata.service.events.AbstractEventPublisher;
 import org.openmetadata.service.events.errors.EventPublisherException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.resources.events.EventResource.EventList;
 import org.openmetadata.service.search.IndexUtil;
 import org.openmetadata.service.search.SearchClient;
+import org.openmetadata.service.search.SearchClient.BulkItemFailure;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
 public class ElasticSearchEventPublisher extends AbstractEventPublisher {
+  /** Id under which the offset of the search indexing in the change event log is committed */
+  public static final String CONSUMER_ID = "searchIndexing";
+
+  // Entity types whose events each write the document of the entity by id, see coalesce(). Users, teams, tags and
+  // glossary terms are not coalesced, since their renames and deletes are propagated to the documents referring to
+  // them from the change description of each event.
+  private static final Set<String> COALESCED_ENTITY_TYPES =
+      Set.of(
+          Entity.TABLE,
+          Entity.DASHBOARD,
+          Entity.TOPIC,
+          Entity.PIPELINE,
+          Entity.MLMODEL,
+          Entity.CONTAINER,
+          Entity.QUERY);
+  private static final Set<Integer> RETRIABLE_STATUSES =
+      Set.of(
+          RestStatus.TOO_MANY_REQUESTS.getStatus(),
+          RestStatus.REQUEST_TIMEOUT.getStatus(),
+          RestStatus.SERVICE_UNAVAILABLE.getStatus(),
+          RestStatus.GATEWAY_TIMEOUT.getStatus());
+  // Number of times the writes rejected with a retriable status are sent again, backing off in between
+  private static final int MAX_BULK_RETRIES = 3;
+
   private final SearchClient searchClient;
   private final CollectionDAO dao;
+  private final long flushIntervalMillis;
 
   public ElasticSearchEventPublisher(ElasticSearchConfiguration esConfig, CollectionDAO dao) {
     super(esConfig.getBatchSize());
     this.dao = dao;
+    this.flushIntervalMillis = esConfig.getFlushIntervalMillis();
     // needs Db connection
     registerElasticSearchJobs();
     this.searchClient = IndexUtil.getSearchClient(esConfig, dao);
@@ -67,112 +103,238 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     LOG.info("ElasticSearch Publisher Started");
   }
 
+  @Override
+  public long getFlushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
   @Override
   public void publish(EventList events) throws EventPublisherException, JsonProcessingException {
-    for (ChangeEvent event : events.getData()) {
-      String entityType = event.getEntityType();
-      String contextInfo =
-          event.getEntity() != null ? String.format("Entity Info : %s", JsonUtils.pojoToJson(event.getEntity())) : null;
-      try {
-        switch (entityType) {
-          case Entity.TABLE:
-          case Entity.DASHBOARD:
-          case Entity.TOPIC:
-          case Entity.PIPELINE:
-          case Entity.MLMODEL:
-          case Entity.CONTAINER:
-          case Entity.QUERY:
-            searchClient.updateEntity(event);
-            break;
-          case Entity.USER:
-            searchClient.updateUser(event);
-            break;
-          case Entity.TEAM:
-            searchClient.updateTeam(event);
-            break;
-          case Entity.GLOSSARY_TERM:
-            searchClient.updateGlossaryTerm(event);
-            break;
-          case Entity.GLOSSARY:
-            searchClient.updateGlossary(event);
-            break;
-          case Entity.DATABASE:
-            searchClient.updateDatabase(event);
-            break;
-          case Entity.DATABASE_SCHEMA:
-            searchClient.updateDatabaseSchema(event);
-            break;
-          case Entity.DASHBOARD_SERVICE:
-            searchClient.updateDashboardService(event);
-            break;
-          case Entity.DATABASE_SERVICE:
-            searchClient.updateDatabaseService(event);
-            break;
-          case Entity.MESSAGING_SERVICE:
-            searchClient.updateMessagingService(event);
-            break;
-          case Entity.PIPELINE_SERVICE:
-            searchClient.updatePipelineService(event);
-            break;
-          case Entity.MLMODEL_SERVICE:
-            searchClient.updateMlModelService(event);
-            break;
-          case Entity.STORAGE_SERVICE:
-            searchClient.updateStorageService(event);
-            break;
-          case Entity.TAG:
-            searchClient.updateTag(event);
-            break;
-          case Entity.CLASSIFICATION:
-            searchClient.updateClassification(event);
-            break;
-          case Entity.TEST_CASE:
-            searchClient.updateTestCase(event);
-            break;
-          case Entity.TEST_SUITE:
-            searchClient.updateTestSuite(event);
-            break;
-          default:
-            LOG.warn("Ignoring Entity Type {}", entityType);
+    List<ChangeEvent> pending = coalesce(events.getData());
+    try {
+      for (int retries = 0; !pending.isEmpty(); retries++) {
+        List<BulkItemFailure> retriable = publishBulk(pending);
+        if (retriable.isEmpty()) {
+          break;
+        }
+        if (retries == MAX_BULK_RETRIES) {
+          // Give up on the writes still rejected, so that one overloaded batch does not block the indexing
+          for (BulkItemFailure failure : retriable) {
+            recordFailure(failure, String.format("after %d retries", MAX_BULK_RETRIES));
+          }
+          break;
         }
-      } catch (DocumentMissingException ex) {
-        LOG.error("Missing Document", ex);
+        // Retry only the writes rejected as retriable, after backing off
+        pending = retriable.stream().map(BulkItemFailure::getEvent).collect(Collectors.toList());
+        setNextBackOff();
+        LOG.warn("Retrying {} search index updates in {} ms", pending.size(), currentBackoffTime);
+        try {
+          Thread.sleep(currentBackoffTime);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new EventPublisherException(e.getMessage());
+        }
+      }
+    } finally {
+      // Also after a failure, since some of the writes may have been indexed
+      SearchResponseCache.getInstance()
+          .invalidate(events.getData().stream().map(ChangeEvent::getEntityType).collect(Collectors.toSet()));
+    }
+    currentBackoffTime = BACKOFF_NORMAL;
+  }
+
+  /**
+   * Drop the events superseded by a later event of the same entity in the batch. A create, an update to a new version
+   * and a delete write the whole document of the entity, so the earlier writes of the document are not needed.
+   */
+  static List<ChangeEvent> coalesce(List<ChangeEvent> events) {
+    Set<UUID> written = new HashSet<>();
+    List<ChangeEvent> coalesced = new ArrayList<>();
+    for (int i = events.size() - 1; i >= 0; i--) {
+      ChangeEvent event = events.get(i);
+      if (COALESCED_ENTITY_TYPES.contains(event.getEntityType())) {
+        if (written.contains(event.getEntityId())) {
+          continue;
+        }
+        if (event.getEventType() == EventType.ENTITY_CREATED
+            || event.getEventType() == EventType.ENTITY_DELETED
+            || (event.getEventType() == EventType.ENTITY_UPDATED
+                && !Objects.equals(event.getCurrentVersion(), event.getPreviousVersion()))) {
+          written.add(event.getEntityId());
+        }
+      }
+      coalesced.add(event);
+    }
+    Collections.reverse(coalesced);
+    return coalesced;
+  }
+
+  /**
+   * Send the document writes of the events in one bulk request and return the retriable failures, one per event. The
+   * other failures are recorded.
+   */
+  private List<BulkItemFailure> publishBulk(List<ChangeEvent> events)
+      throws EventPublisherException, JsonProcessingException {
+    searchClient.startBulkRequest();
+    for (ChangeEvent event : events) {
+      searchClient.setBulkRequestEvent(event);
+      updateSearch(event);
+    }
+    List<BulkItemFailure> failures;
+    try {
+      failures = searchClient.flushBulkRequest();
+    } catch (ElasticsearchException e) {
+      String reason =
+          String.format(
+              "Reason[%s], Cause[%s], Stack [%s]", e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e));
+      if (e.status() == RestStatus.GATEWAY_TIMEOUT || e.status() == RestStatus.REQUEST_TIMEOUT) {
+        LOG.error("Error in publishing to ElasticSearch");
+        updateElasticSearchFailureStatus(null, Status.ACTIVE_WITH_ERROR, "Timeout when updating ES request. " + reason);
+        throw new ElasticSearchRetriableException(e.getMessage());
+      }
+      LOG.error(e.getMessage(), e);
+      updateElasticSearchFailureStatus(null, Status.ACTIVE_WITH_ERROR, "Failed while updating ES. " + reason);
+      return Collections.emptyList();
+    } catch (IOException ie) {
+      updateElasticSearchFailureStatus(
+          null,
+          Status.ACTIVE_WITH_ERROR,
+          String.format(
+              "Issue in updating ES request. Reason[%s], Cause[%s], Stack [%s]",
+              ie.getMessage(), ie.getCause(), ExceptionUtils.getStackTrace(ie)));
+      throw new EventPublisherException(ie.getMessage());
+    }
+
+    List<BulkItemFailure> retry = new ArrayList<>();
+    for (BulkItemFailure failure : failures) {
+      if (RETRIABLE_STATUSES.contains(failure.getStatus())) {
+        if (retry.stream().noneMatch(retryFailure -> retryFailure.getEvent() == failure.getEvent())) {
+          retry.add(failure);
+        }
+        continue;
+      }
+      recordFailure(failure, null);
+    }
+    return retry;
+  }
+
+  private void recordFailure(BulkItemFailure failure, String context) throws JsonProcessingException {
+    ChangeEvent event = failure.getEvent();
+    String reason = context == null ? failure.getReason() : String.format("%s %s", failure.getReason(), context);
+    LOG.error("Failed to update ES doc for {} {}: {}", event.getEntityType(), event.getEntityId(), reason);
+    String contextInfo =
+        event.getEntity() != null ? String.format("Entity Info : %s", JsonUtils.pojoToJson(event.getEntity())) : null;
+    updateElasticSearchFailureStatus(
+        contextInfo,
+        Status.ACTIVE_WITH_ERROR,
+        failure.getStatus() == RestStatus.NOT_FOUND.getStatus()
+            ? String.format("Missing Document while Updating ES. Reason[%s]", reason)
+            : String.format("Failed while updating ES. Reason[%s]", reason));
+  }
+
+  private void updateSearch(ChangeEvent event) throws EventPublisherException, JsonProcessingException {
+    String entityType = event.getEntityType();
+    String contextInfo =
+        event.getEntity() != null ? String.format("Entity Info : %s", JsonUtils.pojoToJson(event.getEntity())) : null;
+    try {
+      switch (entityType) {
+        case Entity.TABLE:
+        case Entity.DASHBOARD:
+        case Entity.TOPIC:
+        case Entity.PIPELINE:
+        case Entity.MLMODEL:
+        case Entity.CONTAINER:
+        case Entity.QUERY:
+          searchClient.updateEntity(event);
+          break;
+        case Entity.USER:
+          searchClient.updateUser(event);
+          break;
+        case Entity.TEAM:
+          searchClient.updateTeam(event);
+          break;
+        case Entity.GLOSSARY_TERM:
+          searchClient.updateGlossaryTerm(event);
+          break;
+        case Entity.GLOSSARY:
+          searchClient.updateGlossary(event);
+          break;
+        case Entity.DATABASE:
+          searchClient.updateDatabase(event);
+          break;
+        case Entity.DATABASE_SCHEMA:
+          searchClient.updateDatabaseSchema(event);
+          break;
+        case Entity.DASHBOARD_SERVICE:
+          searchClient.updateDashboardService(event);
+          break;
+        case Entity.DATABASE_SERVICE:
+          searchClient.updateDatabaseService(event);
+          break;
+        case Entity.MESSAGING_SERVICE:
+          searchClient.updateMessagingService(event);
+          break;
+        case Entity.PIPELINE_SERVICE:
+          searchClient.updatePipelineService(event);
+          break;
+        case Entity.MLMODEL_SERVICE:
+          searchClient.updateMlModelService(event);
+          break;
+        case Entity.STORAGE_SERVICE:
+          searchClient.updateStorageService(event);
+          break;
+        case Entity.TAG:
+          searchClient.updateTag(event);
+          break;
+        case Entity.CLASSIFICATION:
+          searchClient.updateClassification(event);
+          break;
+        case Entity.TEST_CASE:
+          searchClient.updateTestCase(event);
+          break;
+        case Entity.TEST_SUITE:
+          searchClient.updateTestSuite(event);
+          break;
+        default:
+          LOG.warn("Ignoring Entity Type {}", entityType);
+      }
+    } catch (DocumentMissingException ex) {
+      LOG.error("Missing Document", ex);
+      updateElasticSearchFailureStatus(
+          contextInfo,
+          Status.ACTIVE_WITH_ERROR,
+          String.format(
+              "Missing Document while Updating ES. Reason[%s], Cause[%s], Stack [%s]",
+              ex.getMessage(), ex.getCause(), ExceptionUtils.getStackTrace(ex)));
+    } catch (ElasticsearchException e) {
+      LOG.error("failed to update ES doc");
+      LOG.debug(e.getMessage());
+      if (e.status() == RestStatus.GATEWAY_TIMEOUT || e.status() == RestStatus.REQUEST_TIMEOUT) {
+        LOG.error("Error in publishing to ElasticSearch");
         updateElasticSearchFailureStatus(
             contextInfo,
             Status.ACTIVE_WITH_ERROR,
             String.format(
-                "Missing Document while Updating ES. Reason[%s], Cause[%s], Stack [%s]",
-                ex.getMessage(), ex.getCause(), ExceptionUtils.getStackTrace(ex)));
-      } catch (ElasticsearchException e) {
-        LOG.error("failed to update ES doc");
-        LOG.debug(e.getMessage());
-        if (e.status() == RestStatus.GATEWAY_TIMEOUT || e.status() == RestStatus.REQUEST_TIMEOUT) {
-          LOG.error("Error in publishing to ElasticSearch");
-          updateElasticSearchFailureStatus(
-              contextInfo,
-              Status.ACTIVE_WITH_ERROR,
-              String.format(
-                  "Timeout when updating ES request. Reason[%s], Cause[%s], Stack [%s]",
-                  e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
-          throw new ElasticSearchRetriableException(e.getMessage());
-        } else {
-          updateElasticSearchFailureStatus(
-              contextInfo,
-              Status.ACTIVE_WITH_ERROR,
-              String.format(
-                  "Failed while updating ES. Reason[%s], Cause[%s], Stack [%s]",
-                  e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
-          LOG.error(e.getMessage(), e);
-        }
-      } catch (IOException ie) {
+                "Timeout when updating ES request. Reason[%s], Cause[%s], Stack [%s]",
+                e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
+        throw new ElasticSearchRetriableException(e.getMessage());
+      } else {
         updateElasticSearchFailureStatus(
             contextInfo,
             Status.ACTIVE_WITH_ERROR,
             String.format(
-                "Issue in updating ES request. Reason[%s], Cause[%s], Stack [%s]",
-                ie.getMessage(), ie.getCause(), ExceptionUtils.getStackTrace(ie)));
-        throw new EventPublisherException(ie.getMessage());
+                "Failed while updating ES. Reason[%s], Cause[%s], Stack [%s]",
+                e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
+        LOG.error(e.getMessage(), e);
       }
+    } catch (IOException ie) {
+      updateElasticSearchFailureStatus(
+          contextInfo,
+          Status.ACTIVE_WITH_ERROR,
+          String.format(
+              "Issue in updating ES request. Reason[%s], Cause[%s], Stack [%s]",
+              ie.getMessage(), ie.getCause(), ExceptionUtils.getStackTrace(ie)));
+      throw new EventPublisherException(ie.getMessage());
     }
   }
 
@@ -14,16 +14,22 @@
 package org.openmetadata.service.events;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+import static org.openmetadata.service.formatter.util.FormatterUtil.getChangeEventFromEntity;
 import static org.openmetadata.service.formatter.util.FormatterUtil.getChangeEventFromResponseContext;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.core.SecurityContext;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.core.Jdbi;
-import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.entity.feed.Thread;
 import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.EventType;
@@ -36,6 +42,8 @@ import org.openmetadata.service.socket.WebSocketManager;
 import org.openmetadata.service.util.FeedUtils;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.NotificationHandler;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
+import org.openmetadata.service.util.RestUtil.BulkPutResult;
 
 @Slf4j
 public class ChangeEventHandler implements EventHandler {
@@ -52,51 +60,151 @@ public class ChangeEventHandler implements EventHandler {
   }
 
   public Void process(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    process(List.of(Pair.of(requestContext, responseContext)));
+    return null;
+  }
+
+  /** Record the change events of the responses together, inserting the events and their feed threads in batches */
+  @Override
+  public void process(List<Pair<ContainerRequestContext, ContainerResponseContext>> responses) {
+    List<ChangeEvent> changeEvents = new ArrayList<>();
+    for (Pair<ContainerRequestContext, ContainerResponseContext> response : responses) {
+      captureChangeEvents(response.getLeft(), response.getRight(), changeEvents);
+    }
+    try {
+      recordChangeEvents(changeEvents);
+    } catch (Exception e) {
+      LOG.error("Failed to record {} change events due to ", changeEvents.size(), e);
+    }
+  }
+
+  private void captureChangeEvents(
+      ContainerRequestContext requestContext,
+      ContainerResponseContext responseContext,
+      List<ChangeEvent> changeEvents) {
     String method = requestContext.getMethod();
     SecurityContext securityContext = requestContext.getSecurityContext();
     String loggedInUserName = securityContext.getUserPrincipal().getName();
     try {
       notificationHandler.processNotifications(responseContext);
-      ChangeEvent changeEvent = getChangeEventFromResponseContext(responseContext, loggedInUserName, method);
-      if (changeEvent == null) {
-        return null;
+      if (responseContext.getEntity() instanceof BulkPutResponse) {
+        // Bulk operations record a change event for every entity that was created or updated
+        for (BulkPutResult<?> result : ((BulkPutResponse<?>) responseContext.getEntity()).getResults()) {
+          Object entity = result.getEntity();
+          addChangeEvent(
+              changeEvents,
+              getChangeEventFromEntity(entity, result.getStatus(), result.getChangeType(), loggedInUserName),
+              loggedInUserName);
+        }
+        return;
       }
-      // Always set the Change Event Username as context Principal, the one creating the CE
-      changeEvent.setUserName(loggedInUserName);
-      LOG.info(
-          "Recording change event {}:{}:{}:{}",
-          changeEvent.getTimestamp(),
-          changeEvent.getEntityId(),
-          changeEvent.getEventType(),
-          changeEvent.getEntityType());
-      EventPubSub.publish(changeEvent);
+      addChangeEvent(
+          changeEvents,
+          getChangeEventFromResponseContext(responseContext, loggedInUserName, method),
+          loggedInUserName);
+    } catch (Exception e) {
+      LOG.error("Failed to capture change event for method {} due to ", method, e);
+    }
+  }
+
+  private static void addChangeEvent(List<ChangeEvent> changeEvents, ChangeEvent changeEvent, String loggedInUserName) {
+    if (changeEvent == null) {
+      return;
+    }
+    // Always set the Change Event Username as context Principal, the one creating the CE
+    changeEvent.setUserName(loggedInUserName);
+    LOG.info(
+        "Recording change event {}:{}:{}:{}",
+        changeEvent.getTimestamp(),
+        changeEvent.getEntityId(),
+        changeEvent.getEventType(),
+        changeEvent.getEntityType());
+    changeEvents.add(changeEvent);
+  }
+
+  private void recordChangeEvents(List<ChangeEvent> changeEvents) throws IOException {
+    if (changeEvents.isEmpty()) {
+      return;
+    }
+    // Store the events in the change event log before publishing, the log processors read them from there
+    List<ChangeEvent> storedEvents = new ArrayList<>(changeEvents.size());
+    List<String> jsons = new ArrayList<>(changeEvents.size());
+    for (ChangeEvent changeEvent : changeEvents) {
+      ChangeEvent storedEvent = changeEvent;
       if (changeEvent.getEntity() != null) {
-        Object entity = changeEvent.getEntity();
-        changeEvent = copyChangeEvent(changeEvent);
-        changeEvent.setEntity(JsonUtils.pojoToMaskedJson(entity));
+        storedEvent = copyChangeEvent(changeEvent);
+        storedEvent.setEntity(JsonUtils.pojoToMaskedJson(changeEvent.getEntity()));
       }
-      dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
+      storedEvents.add(storedEvent);
+      jsons.add(JsonUtils.pojoToJson(storedEvent));
+    }
+    try {
+      dao.changeEventDAO().insertBatch(jsons);
+    } catch (Exception e) {
+      // The batch is inserted in one transaction, so none of the events is stored. Insert them one at a time, so that
+      // an event that can't be stored does not lose the others
+      LOG.warn("Failed to record {} change events together due to {}", changeEvents.size(), e.getMessage());
+      List<ChangeEvent> recordedEvents = new ArrayList<>();
+      List<ChangeEvent> recordedStoredEvents = new ArrayList<>();
+      for (int i = 0; i < changeEvents.size(); i++) {
+        try {
+          dao.changeEventDAO().insert(jsons.get(i));
+          recordedEvents.add(changeEvents.get(i));
+          recordedStoredEvents.add(storedEvents.get(i));
+        } catch (Exception ex) {
+          LOG.error("Failed to record change event for entity {} due to ", changeEvents.get(i).getEntityId(), ex);
+        }
+      }
+      changeEvents = recordedEvents;
+      storedEvents = recordedStoredEvents;
+    }
+    changeEvents.forEach(EventPubSub::publish);
 
-      // Add a new thread to the entity for every change event
-      // for the event to appear in activity feeds
+    // Add a new thread to the entity for every change event
+    // for the event to appear in activity feeds
+    List<Thread> threads = new ArrayList<>();
+    Set<UUID> deletedEntityIds = new LinkedHashSet<>();
+    for (ChangeEvent changeEvent : storedEvents) {
       if (Entity.shouldDisplayEntityChangeOnFeed(changeEvent.getEntityType())
           && (AlertUtil.shouldProcessActivityFeedRequest(changeEvent))) {
-        for (Thread thread : listOrEmpty(FeedUtils.getThreads(changeEvent, loggedInUserName))) {
+        for (Thread thread : listOrEmpty(FeedUtils.getThreads(changeEvent, changeEvent.getUserName()))) {
           // Don't create a thread if there is no message
           if (thread.getMessage() != null && !thread.getMessage().isEmpty()) {
-            feedDao.create(thread);
-            String jsonThread = mapper.writeValueAsString(thread);
-            WebSocketManager.getInstance().broadCastMessageToAll(WebSocketManager.FEED_BROADCAST_CHANNEL, jsonThread);
+            threads.add(thread);
             if (changeEvent.getEventType().equals(EventType.ENTITY_DELETED)) {
-              deleteAllConversationsRelatedToEntity((EntityInterface) changeEvent.getEntity());
+              deletedEntityIds.add(changeEvent.getEntityId());
             }
           }
         }
       }
+    }
+    for (Thread thread : createThreads(threads)) {
+      String jsonThread = mapper.writeValueAsString(thread);
+      WebSocketManager.getInstance().broadCastMessageToAll(WebSocketManager.FEED_BROADCAST_CHANNEL, jsonThread);
+    }
+    deletedEntityIds.forEach(this::deleteAllConversationsRelatedToEntity);
+  }
+
+  private List<Thread> createThreads(List<Thread> threads) {
+    if (threads.isEmpty()) {
+      return threads;
+    }
+    try {
+      feedDao.create(threads);
+      return threads;
     } catch (Exception e) {
-      LOG.error("Failed to capture change event for method {} due to ", method, e);
+      // Create the threads one at a time, so that a thread that can't be created does not fail the others
+      LOG.warn("Failed to create {} threads together due to {}", threads.size(), e.getMessage());
+      List<Thread> created = new ArrayList<>();
+      for (Thread thread : threads) {
+        try {
+          created.add(feedDao.create(thread));
+        } catch (Exception ex) {
+          LOG.error("Failed to create thread about {} due to ", thread.getAbout(), ex);
+        }
+      }
+      return created;
     }
-    return null;
   }
 
   private static ChangeEvent copyChangeEvent(ChangeEvent changeEvent) {
@@ -104,17 +212,19 @@ public class ChangeEventHandler implements EventHandler {
         .withEventType(changeEvent.getEventType())
         .withEntityId(changeEvent.getEntityId())
         .withEntityType(changeEvent.getEntityType())
+        .withEntityFullyQualifiedName(changeEvent.getEntityFullyQualifiedName())
+        .withPreviousVersion(changeEvent.getPreviousVersion())
         .withUserName(changeEvent.getUserName())
         .withTimestamp(changeEvent.getTimestamp())
         .withChangeDescription(changeEvent.getChangeDescription())
         .withCurrentVersion(changeEvent.getCurrentVersion());
   }
 
-  private void deleteAllConversationsRelatedToEntity(EntityInterface entityInterface) {
-    String entityId = entityInterface.getId().toString();
-    List<String> threadIds = dao.feedDAO().findByEntityId(entityId);
+  private void deleteAllConversationsRelatedToEntity(UUID entityId) {
+    List<String> threadIds = dao.feedDAO().findByEntityId(entityId.toString());
     for (String threadId : threadIds) {
       dao.relationshipDAO().deleteAll(threadId, Entity.THREAD);
+      dao.threadPostDAO().deleteAll(threadId);
       dao.feedDAO().delete(threadId);
     }
   }
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Runs the event handlers for the responses of the API requests off the request threads. A response is queued to one
+ * of a fixed number of workers, chosen by the hash of the entity of the response, so that the responses for an entity
+ * are handled in the order of the requests. Each worker handles the responses queued meanwhile together, up to the
+ * batch size, letting the handlers batch their writes.
+ *
+ * <p>The queue of each worker is bounded. When it is full, the request thread waits for room in the queue, slowing down
+ * the clients producing the requests instead of queueing without bound. If the queue is still full after {@link
+ * #OFFER_TIMEOUT_SECONDS}, the request thread handles the response itself so that no event is lost.
+ */
+@Slf4j
+public class EventCapturePipeline {
+  private static final long OFFER_TIMEOUT_SECONDS = 30;
+  private static final long POLL_TIMEOUT_MILLIS = 1_000;
+
+  private final List<EventHandler> eventHandlers;
+  private final List<BlockingQueue<CapturedResponse>> queues = new ArrayList<>();
+  private final List<Thread> workers = new ArrayList<>();
+  private final int batchSize;
+  private final Timer queueLatency;
+  private final Counter overloads;
+  private volatile boolean running = true;
+
+  public EventCapturePipeline(List<EventHandler> eventHandlers, int workerCount, int queueSize, int batchSize) {
+    this.eventHandlers = eventHandlers;
+    this.batchSize = Math.max(1, batchSize);
+    int workers = Math.max(1, workerCount);
+    int queueCapacity = Math.max(1, queueSize / workers);
+    for (int i = 0; i < workers; i++) {
+      BlockingQueue<CapturedResponse> queue = new ArrayBlockingQueue<>(queueCapacity);
+      Thread worker = new Thread(() -> runWorker(queue), "event-capture-" + i);
+      worker.setDaemon(true);
+      worker.start();
+      queues.add(queue);
+      workers.add(worker);
+    }
+    if (MicrometerBundleSingleton.prometheusMeterRegistry != null) {
+      queueLatency =
+          Timer.builder("event_capture_queue_latency")
+              .description("Time the responses of the requests wait before the event handlers process them.")
+              .register(MicrometerBundleSingleton.prometheusMeterRegistry);
+      overloads =
+          Counter.builder("event_capture_overloads")
+              .description("Responses handled on the request thread because the event capture queue was full.")
+              .register(MicrometerBundleSingleton.prometheusMeterRegistry);
+      Gauge.builder("event_capture_queue_depth", queues, q -> q.stream().mapToInt(BlockingQueue::size).sum())
+          .description("Responses waiting for the event handlers.")
+          .register(MicrometerBundleSingleton.prometheusMeterRegistry);
+    } else {
+      queueLatency = null;
+      overloads = null;
+    }
+  }
+
+  /** Queue the response to the worker of the entity identified by the partition key */
+  public void submit(Object partitionKey, ContainerRequestContext request, ContainerResponseContext response) {
+    CapturedResponse captured = new CapturedResponse(request, response);
+    BlockingQueue<CapturedResponse> queue = queues.get(Math.floorMod(partitionKey.hashCode(), queues.size()));
+    try {
+      if (running && queue.offer(captured, OFFER_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    LOG.warn("Event capture is overloaded, processing the response of {} on the request thread", request.getMethod());
+    if (overloads != null) {
+      overloads.increment();
+    }
+    process(List.of(captured));
+  }
+
+  /** Stop the workers after they process the responses already queued */
+  public void shutdown() {
+    running = false;
+    for (Thread worker : workers) {
+      try {
+        worker.join(TimeUnit.SECONDS.toMillis(OFFER_TIMEOUT_SECONDS));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void runWorker(BlockingQueue<CapturedResponse> queue) {
+    while (running || !queue.isEmpty()) {
+      try {
+        CapturedResponse first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        List<CapturedResponse> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        process(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void process(List<CapturedResponse> batch) {
+    List<Pair<ContainerRequestContext, ContainerResponseContext>> responses = new ArrayList<>(batch.size());
+    long now = System.nanoTime();
+    for (CapturedResponse captured : batch) {
+      if (queueLatency != null) {
+        queueLatency.record(now - captured.capturedAt, TimeUnit.NANOSECONDS);
+      }
+      responses.add(Pair.of(captured.request, captured.response));
+    }
+    for (EventHandler eventHandler : eventHandlers) {
+      try {
+        eventHandler.process(responses);
+      } catch (Exception e) {
+        LOG.error("Event handler {} failed to process responses", eventHandler.getClass().getSimpleName(), e);
+      }
+    }
+  }
+
+  private static final class CapturedResponse {
+    private final ContainerRequestContext request;
+    private final ContainerResponseContext response;
+    private final long capturedAt = System.nanoTime();
+
+    private CapturedResponse(ContainerRequestContext request, ContainerResponseContext response) {
+      this.request = request;
+      this.response = response;
+    }
+  }
+}
@@ -14,7 +14,6 @@
 package org.openmetadata.service.events;
 
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -22,22 +21,27 @@ import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Provider;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.api.configuration.events.EventHandlerConfiguration;
+import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
+import org.openmetadata.service.cache.EntityCache;
 import org.openmetadata.service.security.JwtFilter;
-import org.openmetadata.service.util.ParallelStreamUtil;
 
 @Slf4j
 @Provider
 public class EventFilter implements ContainerResponseFilter {
   private static final List<String> AUDITABLE_METHODS = Arrays.asList("POST", "PUT", "PATCH", "DELETE");
-  private static final int FORK_JOIN_POOL_PARALLELISM = 20;
-  private final ForkJoinPool forkJoinPool;
   private final List<EventHandler> eventHandlers;
+  private final EventCapturePipeline pipeline;
 
   public EventFilter(OpenMetadataApplicationConfig config, Jdbi jdbi) {
-    this.forkJoinPool = new ForkJoinPool(FORK_JOIN_POOL_PARALLELISM);
     this.eventHandlers = new ArrayList<>();
     registerEventHandlers(config, jdbi);
+    EventHandlerConfiguration handlerConfig = config.getEventHandlerConfiguration();
+    this.pipeline =
+        new EventCapturePipeline(
+            eventHandlers, handlerConfig.getWorkers(), handlerConfig.getQueueSize(), handlerConfig.getBatchSize());
   }
 
   private void registerEventHandlers(OpenMetadataApplicationConfig config, Jdbi jdbi) {
@@ -64,14 +68,28 @@ public class EventFilter implements ContainerResponseFilter {
     if ((responseCode < 200 || responseCode > 299) || (!AUDITABLE_METHODS.contains(method))) {
       return;
     }
-    eventHandlers
-        .parallelStream()
-        .forEach(
-            eventHandler -> {
-              UriInfo uriInfo = requestContext.getUriInfo();
-              if (JwtFilter.EXCLUDED_ENDPOINTS.stream().noneMatch(endpoint -> uriInfo.getPath().contains(endpoint))) {
-                ParallelStreamUtil.runAsync(() -> eventHandler.process(requestContext, responseContext), forkJoinPool);
-              }
-            });
+    // The write is committed by now, drop what concurrent reads may have cached before the commit
+    EntityCache.getInstance().invalidateWritten(responseContext.getEntity());
+    UriInfo uriInfo = requestContext.getUriInfo();
+    if (JwtFilter.EXCLUDED_ENDPOINTS.stream().noneMatch(endpoint -> uriInfo.getPath().contains(endpoint))) {
+      pipeline.submit(getPartitionKey(uriInfo, responseContext), requestContext, responseContext);
+    }
+  }
+
+  public void shutdown() {
+    pipeline.shutdown();
+  }
+
+  /** Responses for the same entity are processed in order by the same worker */
+  static Object getPartitionKey(UriInfo uriInfo, ContainerResponseContext responseContext) {
+    Object entity = responseContext.getEntity();
+    UUID id = null;
+    if (entity instanceof EntityInterface) {
+      id = ((EntityInterface) entity).getId();
+    } else if (entity instanceof ChangeEvent) {
+      // Such as the responses of the followers endpoints
+      id = ((ChangeEvent) entity).getEntityId();
+    }
+    return id != null ? id : uriInfo.getPath();
   }
 }
@@ -13,8 +13,10 @@
 
 package org.openmetadata.service.events;
 
+import java.util.List;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.core.Jdbi;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 
@@ -23,5 +25,15 @@ public interface EventHandler {
 
   Void process(ContainerRequestContext requestContext, ContainerResponseContext responseContext);
 
+  /**
+   * Process the responses of the requests captured together by a worker of the {@link EventCapturePipeline}. The
+   * responses for the same entity are in the order of the requests. Handlers override this to batch their writes.
+   */
+  default void process(List<Pair<ContainerRequestContext, ContainerResponseContext>> responses) {
+    for (Pair<ContainerRequestContext, ContainerResponseContext> response : responses) {
+      process(response.getLeft(), response.getRight());
+    }
+  }
+
   void close();
 }
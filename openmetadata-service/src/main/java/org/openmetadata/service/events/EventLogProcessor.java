@@ -0,0 +1,250 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.api.configuration.ChangeEventConfiguration;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.service.ChangeEventConfig;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO.ChangeEventRecord;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Delivers the change events persisted in the change_event table to a publisher, in offset order, starting from the
+ * offset committed by the publisher. Subscribers that fall behind or were stopped catch up from the log instead of
+ * losing events, and a slow subscriber never blocks the API writes that produce the events.
+ *
+ * <p>The offset of each subscriber is committed after every batch of events. Only one server processes the events of
+ * a subscriber at a time, the one holding the lease on the subscriber offset. Events published on this server wake
+ * up the processor immediately; events published by other servers are picked up on the next poll.
+ *
+ * <p>Offsets are allocated before the transaction inserting the event commits, so a gap in the offsets may be an
+ * event not visible yet. Events after a gap are delivered once the gap is older than the configured wait, and the
+ * offsets of the gap are looked up again on every batch. Events committed later than that are still delivered, out of
+ * order, until the offsets of the gap are older than the configured retention.
+ */
+@Slf4j
+public class EventLogProcessor implements Runnable {
+  /** Identifies this server as the owner of the subscriber leases */
+  private static final String OWNER = UUID.randomUUID().toString();
+
+  private static final int BATCH_SIZE = 100;
+  private static final long POLL_INTERVAL_MILLIS = 5_000;
+  private static final long LEASE_MILLIS = 30_000;
+  private static final int MAX_SKIPPED_OFFSETS = 1000;
+
+  @Getter private final String consumerId;
+  private final EventPublisher publisher;
+  private final CollectionDAO dao;
+  private final long gapWaitMillis;
+  private final long skippedRetentionMillis;
+  // Offsets of the gaps delivered past, with the time they were skipped at
+  private final Map<Long, Long> skippedOffsets = new LinkedHashMap<>();
+  private final Semaphore signal = new Semaphore(0);
+  private volatile boolean running = true;
+  private boolean leased = false;
+  private long offset;
+
+  public EventLogProcessor(String consumerId, EventPublisher publisher, CollectionDAO dao) {
+    this(consumerId, publisher, dao, getConfiguration());
+  }
+
+  private EventLogProcessor(
+      String consumerId, EventPublisher publisher, CollectionDAO dao, ChangeEventConfiguration config) {
+    this(
+        consumerId,
+        publisher,
+        dao,
+        TimeUnit.SECONDS.toMillis(config.getOffsetGapWaitSeconds()),
+        TimeUnit.SECONDS.toMillis(config.getSkippedEventRetentionSeconds()));
+  }
+
+  EventLogProcessor(
+      String consumerId, EventPublisher publisher, CollectionDAO dao, long gapWaitMillis, long skippedRetentionMillis) {
+    this.consumerId = consumerId;
+    this.publisher = publisher;
+    this.dao = dao;
+    this.gapWaitMillis = gapWaitMillis;
+    this.skippedRetentionMillis = skippedRetentionMillis;
+  }
+
+  private static ChangeEventConfiguration getConfiguration() {
+    // Without a configuration, the defaults of the configuration schema apply
+    return Optional.ofNullable(ChangeEventConfig.getInstance()).orElseGet(ChangeEventConfiguration::new);
+  }
+
+  /** Wake up the processor to read new events */
+  public void signal() {
+    if (signal.availablePermits() == 0) {
+      signal.release();
+    }
+  }
+
+  public void halt() {
+    running = false;
+    signal();
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public void run() {
+    publisher.onStart();
+    try {
+      // New subscribers start from the latest event
+      dao.changeEventConsumerDAO().insertIfAbsent(consumerId, dao.changeEventDAO().getMaxOffset());
+      while (running) {
+        int count = acquireLease() ? processBatch() : 0;
+        if (count == 0) {
+          waitForEvents();
+        } else if (count < BATCH_SIZE && publisher.getFlushIntervalMillis() > 0) {
+          // Let more events accumulate in the log during bursts instead of delivering them in small batches
+          Thread.sleep(publisher.getFlushIntervalMillis());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      // Same as the ring buffer processors, an error thrown by the publisher stops the processor. The events of the
+      // failed batch are delivered again when the processor is restarted.
+      LOG.warn("Event log processor for {} stopped due to {}", consumerId, e.getMessage());
+    } finally {
+      running = false;
+      // A stopped processor is no longer signaled of new events
+      EventPubSub.removeEventLogProcessor(this);
+      if (leased) {
+        dao.changeEventConsumerDAO().releaseLease(consumerId, OWNER);
+      }
+      publisher.onShutdown();
+    }
+  }
+
+  private boolean acquireLease() {
+    long now = System.currentTimeMillis();
+    boolean acquired = dao.changeEventConsumerDAO().acquireLease(consumerId, OWNER, now, now + LEASE_MILLIS) == 1;
+    if (acquired && !leased) {
+      // Another server may have processed events while this one did not hold the lease
+      offset = dao.changeEventConsumerDAO().getOffset(consumerId);
+      LOG.info("Processing change events for {} from offset {}", consumerId, offset);
+    }
+    leased = acquired;
+    return acquired;
+  }
+
+  private int processBatch() throws Exception {
+    int lateCount = deliverSkippedEvents();
+    List<ChangeEventRecord> records = dao.changeEventDAO().listAfterOffset(offset, BATCH_SIZE);
+    int count = getDeliverableCount(records);
+    deliver(records.subList(0, count));
+    if (count > 0 && running) {
+      offset = records.get(count - 1).getOffset();
+      long leaseExpiry = System.currentTimeMillis() + LEASE_MILLIS;
+      if (dao.changeEventConsumerDAO().commitOffset(consumerId, OWNER, offset, leaseExpiry) == 0) {
+        LOG.info("Lost the lease for change events of {} at offset {}", consumerId, offset);
+        leased = false;
+      }
+    }
+    return lateCount + count;
+  }
+
+  private void deliver(List<ChangeEventRecord> records) throws Exception {
+    EventPubSub.ChangeEventHolder holder = new EventPubSub.ChangeEventHolder();
+    for (int i = 0; i < records.size() && running; i++) {
+      ChangeEventRecord record = records.get(i);
+      holder.setEvent(toChangeEvent(record.getJson()));
+      publisher.onEvent(holder, record.getOffset(), i == records.size() - 1);
+    }
+  }
+
+  /** Deliver the events of the gaps skipped earlier that were committed since */
+  private int deliverSkippedEvents() throws Exception {
+    long retentionDeadline = System.currentTimeMillis() - skippedRetentionMillis;
+    skippedOffsets.values().removeIf(skippedAt -> skippedAt < retentionDeadline);
+    if (skippedOffsets.isEmpty()) {
+      return 0;
+    }
+    List<ChangeEventRecord> records = dao.changeEventDAO().listByOffsets(new ArrayList<>(skippedOffsets.keySet()));
+    deliver(records);
+    if (running) {
+      records.forEach(record -> skippedOffsets.remove(record.getOffset()));
+    }
+    return records.size();
+  }
+
+  /**
+   * Number of records that can be delivered, stopping at the first recent gap in the offsets. The offsets of the older
+   * gaps are skipped, and looked up again on the next batches.
+   */
+  private int getDeliverableCount(List<ChangeEventRecord> records) {
+    long expected = offset + 1;
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < records.size(); i++) {
+      ChangeEventRecord record = records.get(i);
+      if (record.getOffset() != expected && record.getEventTime() > now - gapWaitMillis) {
+        return i;
+      }
+      // Only the latest offsets of a large gap are tracked, most offsets of such gaps were never used
+      for (long skipped = Math.max(expected, record.getOffset() - MAX_SKIPPED_OFFSETS);
+          skipped < record.getOffset();
+          skipped++) {
+        skip(skipped, now);
+      }
+      expected = record.getOffset() + 1;
+    }
+    return records.size();
+  }
+
+  private void skip(long skippedOffset, long now) {
+    if (skippedOffsets.size() >= MAX_SKIPPED_OFFSETS) {
+      // Forget the oldest gap rather than growing without bounds when many transactions are rolled back
+      Long oldest = skippedOffsets.keySet().iterator().next();
+      skippedOffsets.remove(oldest);
+      LOG.debug("No longer waiting for change event {} of {} to be committed", oldest, consumerId);
+    }
+    skippedOffsets.put(skippedOffset, now);
+  }
+
+  private void waitForEvents() throws InterruptedException {
+    if (signal.tryAcquire(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+      signal.drainPermits();
+    }
+  }
+
+  /** Change events are stored with the entity serialized as JSON. Restore it for the publishers. */
+  static ChangeEvent toChangeEvent(String json) throws IOException {
+    ChangeEvent event = JsonUtils.readValue(json, ChangeEvent.class);
+    if (event.getEntity() instanceof String && event.getEntityType() != null) {
+      Class<? extends EntityInterface> entityClass = Entity.getEntityClassFromType(event.getEntityType());
+      if (entityClass != null) {
+        event.setEntity(JsonUtils.readValue((String) event.getEntity(), entityClass));
+      }
+    }
+    return event;
+  }
+}
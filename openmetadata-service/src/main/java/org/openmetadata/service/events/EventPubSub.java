@@ -13,6 +13,7 @@
 
 package org.openmetadata.service.events;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
@@ -20,6 +21,8 @@ import com.lmax.disruptor.ExceptionHandler;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -29,14 +32,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.service.events.EventPubSub.ChangeEventHolder;
 import org.openmetadata.service.events.errors.EventPublisherException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
 
-/** Change event PubSub built based on LMAX Disruptor. */
+/**
+ * Change event PubSub built based on LMAX Disruptor. Handlers added to the ring buffer receive the events published on
+ * this server as they happen and lose them on restart. Publishers that must see every event consume the persisted
+ * change event log through {@link #addEventLogHandler}, for which the ring buffer only signals new events.
+ */
 @Slf4j
 public class EventPubSub {
   private static Disruptor<ChangeEventHolder> disruptor;
   private static ExecutorService executor;
   private static RingBuffer<ChangeEventHolder> ringBuffer;
   private static boolean started = false;
+  private static final Set<EventLogProcessor> logProcessors = ConcurrentHashMap.newKeySet();
 
   public static void start() {
     if (!started) {
@@ -51,6 +60,8 @@ public class EventPubSub {
 
   public static void shutdown() throws InterruptedException {
     if (started) {
+      logProcessors.forEach(EventLogProcessor::halt);
+      logProcessors.clear();
       disruptor.shutdown();
       disruptor.halt();
       executor.shutdownNow();
@@ -78,9 +89,36 @@ public class EventPubSub {
       long sequence = ringBuffer.next();
       ringBuffer.get(sequence).setEvent(event);
       ringBuffer.publish(sequence);
+
+      // The event is already stored in the change event log, wake up the processors reading it
+      logProcessors.forEach(EventLogProcessor::signal);
     }
   }
 
+  /**
+   * Add a publisher that consumes the change events from the change event log, resuming from the offset it last
+   * committed under the given consumer id. Use it for publishers that must not miss events.
+   */
+  public static EventLogProcessor addEventLogHandler(String consumerId, EventPublisher publisher, CollectionDAO dao) {
+    EventLogProcessor processor = new EventLogProcessor(consumerId, publisher, dao);
+    logProcessors.add(processor);
+    executor.execute(processor);
+    LOG.info("Event log processor added for {}", consumerId);
+    return processor;
+  }
+
+  public static void removeEventLogProcessor(EventLogProcessor processor) {
+    processor.halt();
+    if (logProcessors.remove(processor)) {
+      LOG.info("Event log processor removed for {}", processor.getConsumerId());
+    }
+  }
+
+  @VisibleForTesting
+  static boolean hasEventLogProcessor(EventLogProcessor processor) {
+    return logProcessors.contains(processor);
+  }
+
   public static BatchEventProcessor<ChangeEventHolder> addEventHandler(EventHandler<ChangeEventHolder> eventHandler) {
     BatchEventProcessor<ChangeEventHolder> processor =
         new BatchEventProcessor<>(ringBuffer, ringBuffer.newBarrier(), eventHandler);
@@ -9,4 +9,9 @@ import org.openmetadata.service.resources.events.EventResource.EventList;
 public interface EventPublisher extends EventHandler<EventPubSub.ChangeEventHolder>, LifecycleAware {
 
   void publish(EventList events) throws EventPublisherException, JsonProcessingException;
+
+  /** Time to wait for more change events in the event log before delivering a batch that is not full */
+  default long getFlushIntervalMillis() {
+    return 0;
+  }
 }
@@ -37,10 +37,17 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
 
   protected final EventSubscription eventSubscription;
   private final int batchSize;
+  // Filtering rules compiled once per subscription, replaced when the subscription is updated
+  private volatile CompiledAlertFilter alertFilter;
 
   protected AbstractAlertPublisher(EventSubscription eventSub) {
     this.eventSubscription = eventSub;
     this.batchSize = eventSub.getBatchSize();
+    compileAlertFilter();
+  }
+
+  protected void compileAlertFilter() {
+    alertFilter = new CompiledAlertFilter(eventSubscription.getName(), eventSubscription.getFilteringRules());
   }
 
   @Override
@@ -49,18 +56,11 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
     // Ignore events that don't match the webhook event filters
     ChangeEvent changeEvent = changeEventHolder.getEvent();
 
-    // Evaluate Alert Trigger Config
-    if (!AlertUtil.shouldTriggerAlert(changeEvent.getEntityType(), eventSubscription.getFilteringRules())) {
+    // Evaluate Alert Trigger Config and ChangeEvent Alert Filtering
+    if (!alertFilter.matches(changeEvent)) {
       return;
     }
 
-    // Evaluate ChangeEvent Alert Filtering
-    if (eventSubscription.getFilteringRules() != null) {
-      if (!AlertUtil.evaluateAlertConditions(changeEvent, eventSubscription.getFilteringRules().getRules())) {
-        return;
-      }
-    }
-
     // Batch until either the batch has ended or batch size has reached the max size
     batch.add(changeEventHolder.getEvent());
     if (!endOfBatch && batch.size() < batchSize) {
@@ -18,6 +18,7 @@ public class ActivityFeedAlertCache {
   private static final ActivityFeedAlertCache INSTANCE = new ActivityFeedAlertCache();
   private static volatile boolean initialized = false;
   protected static LoadingCache<String, EventSubscription> eventSubCache;
+  protected static LoadingCache<String, CompiledAlertFilter> alertFilterCache;
   protected static EventSubscriptionRepository eventSubscriptionRepository;
   private static String activityFeedAlertName;
 
@@ -28,6 +29,11 @@ public class ActivityFeedAlertCache {
               .maximumSize(1000)
               .expireAfterWrite(3, TimeUnit.MINUTES)
               .build(new ActivityFeedAlertLoader());
+      alertFilterCache =
+          CacheBuilder.newBuilder()
+              .maximumSize(1000)
+              .expireAfterWrite(3, TimeUnit.MINUTES)
+              .build(new ActivityFeedAlertFilterLoader());
       eventSubscriptionRepository = repo;
       initialized = true;
       activityFeedAlertName = alertName;
@@ -46,6 +52,14 @@ public class ActivityFeedAlertCache {
     }
   }
 
+  public CompiledAlertFilter getActivityFeedAlertFilter() throws EntityNotFoundException {
+    try {
+      return alertFilterCache.get(activityFeedAlertName);
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      throw new EntityNotFoundException(ex.getMessage());
+    }
+  }
+
   static class ActivityFeedAlertLoader extends CacheLoader<String, EventSubscription> {
     @Override
     public EventSubscription load(@CheckForNull String alertName) throws IOException {
@@ -55,4 +69,12 @@ public class ActivityFeedAlertCache {
       return alert;
     }
   }
+
+  static class ActivityFeedAlertFilterLoader extends CacheLoader<String, CompiledAlertFilter> {
+    @Override
+    public CompiledAlertFilter load(@CheckForNull String alertName) throws ExecutionException {
+      EventSubscription alert = eventSubCache.get(alertName);
+      return new CompiledAlertFilter(alert.getName(), alert.getFilteringRules());
+    }
+  }
 }
@@ -16,7 +16,6 @@ package org.openmetadata.service.events.subscription;
 import static org.openmetadata.schema.api.events.CreateEventSubscription.SubscriptionType.ACTIVITY_FEED;
 import static org.openmetadata.service.Entity.TEAM;
 import static org.openmetadata.service.Entity.USER;
-import static org.openmetadata.service.security.policyevaluator.CompiledRule.parseExpression;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,7 +27,6 @@ import java.util.stream.Stream;
 import javax.ws.rs.BadRequestException;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.api.events.CreateEventSubscription;
-import org.openmetadata.schema.entity.events.EventFilterRule;
 import org.openmetadata.schema.entity.events.EventSubscription;
 import org.openmetadata.schema.entity.events.FilteringRules;
 import org.openmetadata.schema.entity.events.SubscriptionStatus;
@@ -49,8 +47,6 @@ import org.openmetadata.service.events.subscription.slack.SlackEventPublisher;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.resources.CollectionRegistry;
-import org.springframework.expression.Expression;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 @Slf4j
 public final class AlertUtil {
@@ -167,39 +163,6 @@ public final class AlertUtil {
     return indexesToSearch;
   }
 
-  public static boolean evaluateAlertConditions(ChangeEvent changeEvent, List<EventFilterRule> alertFilterRules) {
-    if (!alertFilterRules.isEmpty()) {
-      boolean result;
-      String completeCondition = buildCompleteCondition(alertFilterRules);
-      AlertsRuleEvaluator ruleEvaluator = new AlertsRuleEvaluator(changeEvent);
-      StandardEvaluationContext evaluationContext = new StandardEvaluationContext(ruleEvaluator);
-      Expression expression = parseExpression(completeCondition);
-      result = Boolean.TRUE.equals(expression.getValue(evaluationContext, Boolean.class));
-      LOG.debug("Alert evaluated as Result : {}", result);
-      return result;
-    } else {
-      return true;
-    }
-  }
-
-  public static String buildCompleteCondition(List<EventFilterRule> alertFilterRules) {
-    StringBuilder builder = new StringBuilder();
-    for (int i = 0; i < alertFilterRules.size(); i++) {
-      EventFilterRule rule = alertFilterRules.get(i);
-      builder.append("(");
-      if (rule.getEffect() == EventFilterRule.Effect.INCLUDE) {
-        builder.append(rule.getCondition());
-      } else {
-        builder.append("!");
-        builder.append(rule.getCondition());
-      }
-      builder.append(")");
-      if (i != (alertFilterRules.size() - 1)) builder.append(" && ");
-    }
-
-    return builder.toString();
-  }
-
   public static boolean shouldTriggerAlert(String entityType, FilteringRules config) {
     // OpenMetadataWide Setting apply to all ChangeEvents
     if (config == null) {
@@ -212,14 +175,8 @@ public final class AlertUtil {
   }
 
   public static boolean shouldProcessActivityFeedRequest(ChangeEvent event) {
-    // Check Trigger Conditions
-    if (!AlertUtil.shouldTriggerAlert(
-        event.getEntityType(), ActivityFeedAlertCache.getInstance().getActivityFeedAlert().getFilteringRules())) {
-      return false;
-    }
-    // Check Spel Conditions
-    return AlertUtil.evaluateAlertConditions(
-        event, ActivityFeedAlertCache.getInstance().getActivityFeedAlert().getFilteringRules().getRules());
+    // Check Trigger Conditions and Spel Conditions
+    return ActivityFeedAlertCache.getInstance().getActivityFeedAlertFilter().matches(event);
   }
 
   public static SubscriptionStatus buildSubscriptionStatus(
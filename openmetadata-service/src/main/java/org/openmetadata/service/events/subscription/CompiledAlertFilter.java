@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.subscription;
+
+import static org.openmetadata.service.security.policyevaluator.CompiledRule.parseExpression;
+
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openmetadata.schema.entity.events.EventFilterRule;
+import org.openmetadata.schema.entity.events.FilteringRules;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Filtering rules of an event subscription compiled once, when the subscription is created or updated, instead of for
+ * every change event. Matching an event first checks the entity type of the event against the resources of the
+ * subscription and the rules that only match the event type or the entity type, without SpEL. The other rule
+ * conditions are parsed once and only evaluated for the events that pass these checks.
+ */
+public final class CompiledAlertFilter {
+  // Conditions that are a single matchAnyEventType(...) or matchAnySource(...) call with literal arguments
+  private static final Pattern SIMPLE_CONDITION =
+      Pattern.compile("^\\s*(matchAnyEventType|matchAnySource)\\(\\s*('[^']*'(\\s*,\\s*'[^']*')*)\\s*\\)\\s*$");
+  private static final Pattern LITERAL = Pattern.compile("'([^']*)'");
+
+  private final Set<String> entityTypes;
+  private final List<Predicate<ChangeEvent>> prefilters = new ArrayList<>();
+  private final List<Expression> expressions = new ArrayList<>();
+  private final Timer evaluationTimer;
+
+  public CompiledAlertFilter(String subscriptionName, FilteringRules filteringRules) {
+    if (filteringRules == null
+        || (filteringRules.getResources().size() == 1 && filteringRules.getResources().get(0).equals("all"))) {
+      entityTypes = null; // Applies to all entity types
+    } else {
+      entityTypes = Collections.unmodifiableSet(new HashSet<>(filteringRules.getResources()));
+    }
+    if (filteringRules != null && filteringRules.getRules() != null) {
+      for (EventFilterRule rule : filteringRules.getRules()) {
+        compileRule(rule);
+      }
+    }
+    evaluationTimer =
+        MicrometerBundleSingleton.prometheusMeterRegistry == null
+            ? null
+            : Timer.builder("alert_condition_evaluation")
+                .description("Time taken to evaluate the filtering rules of an alert for a change event.")
+                .tag("subscription", subscriptionName)
+                .register(MicrometerBundleSingleton.prometheusMeterRegistry);
+  }
+
+  private void compileRule(EventFilterRule rule) {
+    boolean include = rule.getEffect() == EventFilterRule.Effect.INCLUDE;
+    Matcher matcher = SIMPLE_CONDITION.matcher(rule.getCondition());
+    if (matcher.matches()) {
+      List<String> arguments = new ArrayList<>();
+      Matcher literal = LITERAL.matcher(matcher.group(2));
+      while (literal.find()) {
+        arguments.add(literal.group(1));
+      }
+      String[] values = arguments.toArray(new String[0]);
+      Predicate<ChangeEvent> predicate =
+          "matchAnyEventType".equals(matcher.group(1))
+              ? event -> new AlertsRuleEvaluator(event).matchAnyEventType(values)
+              : event -> new AlertsRuleEvaluator(event).matchAnySource(values);
+      prefilters.add(include ? predicate : predicate.negate());
+      return;
+    }
+    // Include rules must hold for the event, and exclude rules must not
+    expressions.add(parseExpression(include ? "(" + rule.getCondition() + ")" : "(!" + rule.getCondition() + ")"));
+  }
+
+  /** Returns true when the subscription must be notified of the change event */
+  public boolean matches(ChangeEvent event) {
+    long start = System.nanoTime();
+    try {
+      return evaluate(event);
+    } finally {
+      if (evaluationTimer != null) {
+        evaluationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  private boolean evaluate(ChangeEvent event) {
+    if (entityTypes != null && !entityTypes.contains(event.getEntityType())) {
+      return false;
+    }
+    for (Predicate<ChangeEvent> prefilter : prefilters) {
+      if (!prefilter.test(event)) {
+        return false;
+      }
+    }
+    if (expressions.isEmpty()) {
+      return true;
+    }
+    StandardEvaluationContext evaluationContext = new StandardEvaluationContext(new AlertsRuleEvaluator(event));
+    for (Expression expression : expressions) {
+      if (!Boolean.TRUE.equals(expression.getValue(evaluationContext, Boolean.class))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
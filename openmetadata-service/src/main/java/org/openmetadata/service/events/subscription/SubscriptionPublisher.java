@@ -18,7 +18,6 @@ import static org.openmetadata.schema.entity.events.SubscriptionStatus.Status.AW
 import static org.openmetadata.schema.entity.events.SubscriptionStatus.Status.FAILED;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.lmax.disruptor.BatchEventProcessor;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import lombok.Getter;
@@ -26,7 +25,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.events.EventSubscription;
 import org.openmetadata.schema.entity.events.SubscriptionStatus;
-import org.openmetadata.service.events.EventPubSub;
+import org.openmetadata.service.events.EventLogProcessor;
 import org.openmetadata.service.events.errors.EventPublisherException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.EventSubscriptionRepository;
@@ -35,7 +34,8 @@ import org.openmetadata.service.resources.events.EventResource;
 /**
  * SubscriptionPublisher publishes events to the alert endpoint using POST http requests/ Email. There is one instance
  * of SubscriptionPublisher per alert subscription. Each SubscriptionPublisher is an EventHandler that runs in a
- * separate thread and receives events from LMAX Disruptor {@link EventPubSub} through {@link BatchEventProcessor}.
+ * separate thread and receives events from the change event log through an {@link EventLogProcessor}, resuming from
+ * the last event it processed when it is restarted.
  *
  * <p>The failures during callback to Alert are handled in this class as follows:
  *
@@ -51,7 +51,7 @@ import org.openmetadata.service.resources.events.EventResource;
 @Slf4j
 public class SubscriptionPublisher extends AbstractAlertPublisher {
   private final CountDownLatch shutdownLatch = new CountDownLatch(1);
-  @Getter private BatchEventProcessor<EventPubSub.ChangeEventHolder> processor;
+  @Getter private EventLogProcessor processor;
   private final EventSubscriptionRepository eventSubscriptionRepository;
 
   public SubscriptionPublisher(EventSubscription eventSub, CollectionDAO dao) {
@@ -87,6 +87,7 @@ public class SubscriptionPublisher extends AbstractAlertPublisher {
     eventSubscription.setFilteringRules(updatedEventSub.getFilteringRules());
     eventSubscription.setSubscriptionType(updatedEventSub.getSubscriptionType());
     eventSubscription.setSubscriptionConfig(updatedEventSub.getSubscriptionConfig());
+    compileAlertFilter();
   }
 
   public synchronized void setErrorStatus(Long attemptTime, Integer statusCode, String reason)
@@ -120,7 +121,7 @@ public class SubscriptionPublisher extends AbstractAlertPublisher {
     shutdownLatch.await(5, TimeUnit.SECONDS);
   }
 
-  public void setProcessor(BatchEventProcessor<EventPubSub.ChangeEventHolder> processor) {
+  public void setProcessor(EventLogProcessor processor) {
     this.processor = processor;
   }
 
@@ -122,6 +122,10 @@ public final class CatalogExceptionMessage {
     return String.format("%s instance for %s and version %s not found", entityType, id, version);
   }
 
+  public static String invalidVersionCursor(String after) {
+    return String.format("Invalid after cursor %s. The cursor must be a version of the entity", after);
+  }
+
   public static String invalidServiceEntity(String serviceType, String entityType, String expected) {
     return String.format("Invalid service type `%s` for %s. Expected %s.", serviceType, entityType, expected);
   }
@@ -255,13 +255,25 @@ public class FormatterUtil {
 
     int responseCode = responseContext.getStatus();
     String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
+    return getChangeEventFromEntity(responseContext.getEntity(), responseCode, changeType, updateBy);
+  }
+
+  /**
+   * Build the change event for a single entity in a response. Used directly by bulk operations where the response
+   * carries one result per entity instead of a single entity with the change type header.
+   */
+  public static ChangeEvent getChangeEventFromEntity(
+      Object entity, int responseCode, String changeType, String updateBy) {
+    if (entity == null) {
+      return null;
+    }
 
     // Entity was created by either POST .../entities or PUT .../entities
     if (responseCode == Response.Status.CREATED.getStatusCode()
         && !RestUtil.ENTITY_FIELDS_CHANGED.equals(changeType)
-        && !responseContext.getEntity().getClass().equals(Thread.class)) {
-      if (responseContext.getEntity() instanceof EntityInterface) {
-        EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+        && !entity.getClass().equals(Thread.class)) {
+      if (entity instanceof EntityInterface) {
+        EntityInterface entityInterface = (EntityInterface) entity;
         EntityReference entityReference = entityInterface.getEntityReference();
         String entityType = entityReference.getType();
         String entityFQN = entityReference.getFullyQualifiedName();
@@ -279,7 +291,7 @@ public class FormatterUtil {
 
     // Handles Bulk Add test cases to a logical test suite
     if (changeType.equals(RestUtil.LOGICAL_TEST_CASES_ADDED)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+      EntityInterface entityInterface = (EntityInterface) entity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = Entity.TEST_CASE;
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -291,7 +303,7 @@ public class FormatterUtil {
     // Entity was updated by either PUT .../entities or PATCH .../entities
     // Entity was soft deleted by DELETE .../entities/{id} that updated the attribute `deleted` to true
     if (changeType.equals(RestUtil.ENTITY_UPDATED) || changeType.equals(RestUtil.ENTITY_SOFT_DELETED)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+      EntityInterface entityInterface = (EntityInterface) entity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -304,12 +316,12 @@ public class FormatterUtil {
 
     // Entity field was updated by PUT .../entities/{id}/fieldName - Example PUT ../tables/{id}/follower
     if (changeType.equals(RestUtil.ENTITY_FIELDS_CHANGED)) {
-      return (ChangeEvent) responseContext.getEntity();
+      return (ChangeEvent) entity;
     }
 
     // Entity was hard deleted by DELETE ../entities/{id}?hardDelete=true
     if (changeType.equals(RestUtil.ENTITY_DELETED)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+      EntityInterface entityInterface = (EntityInterface) entity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -13,40 +13,136 @@
 
 package org.openmetadata.service.jdbi3;
 
-import static org.openmetadata.schema.type.EventType.ENTITY_CREATED;
-import static org.openmetadata.schema.type.EventType.ENTITY_DELETED;
-import static org.openmetadata.schema.type.EventType.ENTITY_SOFT_DELETED;
-import static org.openmetadata.schema.type.EventType.ENTITY_UPDATED;
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
+import javax.ws.rs.core.StreamingOutput;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
-import org.openmetadata.schema.type.ChangeEvent;
-import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO.ChangeEventRecord;
+import org.openmetadata.service.util.RestUtil;
 
 public class ChangeEventRepository {
+  /** Maximum number of change events returned in a page */
+  public static final int MAX_PAGE_SIZE = 10000;
+
+  private static final JsonFactory JSON_FACTORY =
+      new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   private final CollectionDAO.ChangeEventDAO dao;
 
   public ChangeEventRepository(CollectionDAO dao) {
     this.dao = dao.changeEventDAO();
   }
 
-  @Transaction
-  public List<ChangeEvent> list(
-      long timestamp, List<String> entityCreatedList, List<String> entityUpdatedList, List<String> entityDeletedList)
+  /**
+   * A page of the change events of the requested event and entity types, written as a list of events with paging. The
+   * page starts after the cursor, or else at the timestamp. The stored events are written to the response as they are
+   * read from the database, without deserializing them.
+   */
+  public StreamingOutput listPage(
+      long timestamp,
+      String after,
+      int limit,
+      List<String> entityCreatedList,
+      List<String> entityUpdatedList,
+      List<String> entityDeletedList) {
+    long eventTime = timestamp;
+    long eventOffset = -1;
+    if (after != null) {
+      try {
+        String[] cursor = RestUtil.decodeCursor(after).split(":");
+        eventTime = Long.parseLong(cursor[0]);
+        eventOffset = Long.parseLong(cursor[1]);
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException("Invalid cursor " + after);
+      }
+    }
+    EventTypeFilter filter = new EventTypeFilter(entityCreatedList, entityUpdatedList, entityDeletedList);
+    long startTime = eventTime;
+    long startOffset = eventOffset;
+    return out -> writePage(out, filter, startTime, startOffset, limit);
+  }
+
+  private void writePage(OutputStream out, EventTypeFilter filter, long eventTime, long eventOffset, int limit)
       throws IOException {
-    List<String> jsons = new ArrayList<>();
-    jsons.addAll(dao.list(ENTITY_CREATED.value(), entityCreatedList, timestamp));
-    jsons.addAll(dao.list(ENTITY_UPDATED.value(), entityUpdatedList, timestamp));
-    jsons.addAll(dao.list(ENTITY_DELETED.value(), entityDeletedList, timestamp));
-    jsons.addAll(dao.list(ENTITY_SOFT_DELETED.value(), entityDeletedList, timestamp));
-
-    List<ChangeEvent> changeEvents = new ArrayList<>();
-    for (String json : jsons) {
-      changeEvents.add(JsonUtils.readValue(json, ChangeEvent.class));
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("data");
+      int count = 0;
+      ChangeEventRecord last = null;
+      boolean hasMore = false;
+      if (filter.hasEvents()) {
+        // Read one more event than the limit to know if there is a next page
+        try (Stream<ChangeEventRecord> records = filter.list(dao, eventTime, eventOffset, limit + 1)) {
+          Iterator<ChangeEventRecord> iterator = records.iterator();
+          while (iterator.hasNext()) {
+            ChangeEventRecord record = iterator.next();
+            if (count == limit) {
+              hasMore = true;
+              break;
+            }
+            generator.writeRawValue(record.getJson());
+            last = record;
+            count++;
+          }
+        }
+      }
+      generator.writeEndArray();
+      generator.writeObjectFieldStart("paging");
+      if (hasMore) {
+        generator.writeStringField("after", RestUtil.encodeCursor(last.getEventTime() + ":" + last.getOffset()));
+      }
+      generator.writeNumberField("total", count);
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * Entity types requested for the events created, updated and deleted. An empty list requests no event, and a list
+   * starting with `*` requests the events of all the entity types.
+   */
+  private static class EventTypeFilter {
+    private final List<String> created;
+    private final List<String> updated;
+    private final List<String> deleted;
+
+    private EventTypeFilter(List<String> created, List<String> updated, List<String> deleted) {
+      this.created = listOrEmpty(created);
+      this.updated = listOrEmpty(updated);
+      this.deleted = listOrEmpty(deleted);
+    }
+
+    private boolean hasEvents() {
+      return !created.isEmpty() || !updated.isEmpty() || !deleted.isEmpty();
+    }
+
+    private Stream<ChangeEventRecord> list(
+        CollectionDAO.ChangeEventDAO dao, long eventTime, long eventOffset, int limit) {
+      return dao.listAfterCursor(
+          entityTypes(created),
+          isAll(created),
+          entityTypes(updated),
+          isAll(updated),
+          entityTypes(deleted),
+          isAll(deleted),
+          eventTime,
+          eventOffset,
+          limit);
+    }
+
+    private static boolean isAll(List<String> entityTypes) {
+      return !entityTypes.isEmpty() && entityTypes.get(0).equals("*");
+    }
+
+    private static List<String> entityTypes(List<String> entityTypes) {
+      return isAll(entityTypes) ? List.of() : entityTypes;
     }
-    return changeEvents;
   }
 
   @Transaction
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -32,9 +33,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
@@ -42,12 +46,17 @@ import org.jdbi.v3.core.statement.StatementException;
 import org.jdbi.v3.sqlobject.CreateSqlObject;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.customizer.BindBeanList;
 import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.customizer.BindList.EmptyHandling;
 import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.api.configuration.LogoConfiguration;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.TokenInterface;
@@ -113,6 +122,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO.TagLabelMapper;
 import org.openmetadata.service.jdbi3.CollectionDAO.UsageDAO.UsageDetailsMapper;
 import org.openmetadata.service.jdbi3.FeedRepository.FilterType;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlBatch;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
@@ -120,6 +130,7 @@ import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
 
 public interface CollectionDAO {
   @CreateSqlObject
@@ -230,12 +241,18 @@ public interface CollectionDAO {
   @CreateSqlObject
   FeedDAO feedDAO();
 
+  @CreateSqlObject
+  ThreadPostDAO threadPostDAO();
+
   @CreateSqlObject
   QueryDAO queryDAO();
 
   @CreateSqlObject
   ChangeEventDAO changeEventDAO();
 
+  @CreateSqlObject
+  ChangeEventConsumerDAO changeEventConsumerDAO();
+
   @CreateSqlObject
   TypeEntityDAO typeEntityDAO();
 
@@ -272,6 +289,19 @@ public interface CollectionDAO {
   @CreateSqlObject
   DataModelDAO dashboardDataModelDAO();
 
+  /**
+   * Run the writes in one transaction. The writes must go through the DAO passed to them, which shares the handle of
+   * the transaction, so that they are committed or rolled back together.
+   */
+  @Transaction
+  default <E extends Exception> void runInTransaction(ConsumerWithExceptions<CollectionDAO, E> writes) throws E {
+    writes.accept(this);
+  }
+
+  /** Delete the rows of an entity table by id, for the writes of an entity cleanup run in one transaction */
+  @SqlUpdate("DELETE FROM <table> WHERE id IN (<ids>)")
+  int deleteEntities(@Define("table") String table, @BindList("ids") List<String> ids);
+
   interface DashboardDAO extends EntityDAO<Dashboard> {
     @Override
     default String getTableName() {
@@ -540,6 +570,20 @@ public interface CollectionDAO {
         @Bind("jsonSchema") String jsonSchema,
         @Bind("json") String json);
 
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "REPLACE INTO entity_extension(id, extension, jsonSchema, json) "
+                + "VALUES (:id, :extension, :jsonSchema, :json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_extension(id, extension, jsonSchema, json) "
+                + "VALUES (:id, :extension, :jsonSchema, (:json :: jsonb)) "
+                + "ON CONFLICT (id, extension) DO UPDATE SET jsonSchema = EXCLUDED.jsonSchema, json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void insertBatch(@BindBean List<EntityExtensionObject> extensions);
+
     @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND extension = :extension")
     String getExtension(@Bind("id") String id, @Bind("extension") String extension);
 
@@ -550,6 +594,21 @@ public interface CollectionDAO {
             + "ORDER BY extension")
     List<ExtensionRecord> getExtensions(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix);
 
+    @RegisterRowMapper(ExtensionSchemaMapper.class)
+    @SqlQuery(
+        "SELECT extension, jsonSchema, NULL AS json FROM entity_extension WHERE id = :id AND extension "
+            + "LIKE CONCAT (:extensionPrefix, '.%')")
+    List<ExtensionRecord> getExtensionSchemas(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix);
+
+    @RegisterRowMapper(ExtensionSchemaMapper.class)
+    @SqlQuery("SELECT extension, jsonSchema, json FROM entity_extension WHERE id = :id AND extension IN (<extensions>)")
+    List<ExtensionRecord> getExtensionsWithSchema(
+        @Bind("id") String id, @BindList("extensions") List<String> extensions);
+
+    @RegisterRowMapper(EntityExtensionObjectMapper.class)
+    @SqlQuery("SELECT id, extension, jsonSchema, json FROM entity_extension WHERE extension = :extension")
+    List<EntityExtensionObject> getExtensionForAllEntities(@Bind("extension") String extension);
+
     @SqlUpdate("DELETE FROM entity_extension WHERE id = :id AND extension = :extension")
     void delete(@Bind("id") String id, @Bind("extension") String extension);
 
@@ -558,6 +617,9 @@ public interface CollectionDAO {
 
     @SqlUpdate("DELETE FROM entity_extension WHERE id = :id")
     void deleteAll(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM entity_extension WHERE id IN (<ids>)")
+    void deleteAll(@BindList("ids") List<String> ids);
   }
 
   class EntityVersionPair {
@@ -573,10 +635,16 @@ public interface CollectionDAO {
   class ExtensionRecord {
     @Getter private final String extensionName;
     @Getter private final String extensionJson;
+    @Getter private final String extensionSchema;
 
     public ExtensionRecord(String extensionName, String extensionJson) {
+      this(extensionName, extensionJson, null);
+    }
+
+    public ExtensionRecord(String extensionName, String extensionJson, String extensionSchema) {
       this.extensionName = extensionName;
       this.extensionJson = extensionJson;
+      this.extensionSchema = extensionSchema;
     }
   }
 
@@ -587,6 +655,25 @@ public interface CollectionDAO {
     }
   }
 
+  class ExtensionSchemaMapper implements RowMapper<ExtensionRecord> {
+    @Override
+    public ExtensionRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return new ExtensionRecord(rs.getString("extension"), rs.getString("json"), rs.getString("jsonSchema"));
+    }
+  }
+
+  class EntityExtensionObjectMapper implements RowMapper<EntityExtensionObject> {
+    @Override
+    public EntityExtensionObject map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return EntityExtensionObject.builder()
+          .id(rs.getString("id"))
+          .extension(rs.getString("extension"))
+          .jsonSchema(rs.getString("jsonSchema"))
+          .json(rs.getString("json"))
+          .build();
+    }
+  }
+
   @Getter
   @Builder
   class EntityRelationshipRecord {
@@ -603,6 +690,38 @@ public interface CollectionDAO {
     private String fromEntity;
     private String toEntity;
     private int relation;
+    private String json;
+  }
+
+  @Getter
+  @Builder
+  class TagUsageObject {
+    private int source;
+    private String tagFQN;
+    private String tagFQNHash;
+    private String targetFQNHash;
+    private int labelType;
+    private int state;
+  }
+
+  @Getter
+  @Builder
+  class EntityExtensionObject {
+    private String id;
+    private String extension;
+    private String jsonSchema;
+    private String json;
+  }
+
+  @Getter
+  @Builder
+  class EntityExtensionTimeSeriesObject {
+    private String entityFQNHash;
+    private String extension;
+    private String jsonSchema;
+    private String json;
+    private long timestamp;
+    private String operation;
   }
 
   @Getter
@@ -667,6 +786,21 @@ public interface CollectionDAO {
         @Bind("relation") int relation,
         @Bind("json") String json);
 
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation, json) "
+                + "VALUES (:fromId, :toId, :fromEntity, :toEntity, :relation, :json) "
+                + "ON DUPLICATE KEY UPDATE json = :json",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation, json) VALUES "
+                + "(:fromId, :toId, :fromEntity, :toEntity, :relation, (:json :: jsonb)) "
+                + "ON CONFLICT (fromId, toId, relation) DO UPDATE SET json = EXCLUDED.json",
+        connectionType = POSTGRES)
+    void insertBatch(@BindBean List<EntityRelationshipObject> relationships);
+
     @ConnectionAwareSqlUpdate(
         value = "INSERT IGNORE INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation) VALUES <values>",
         connectionType = MYSQL)
@@ -766,6 +900,43 @@ public interface CollectionDAO {
     @RegisterRowMapper(FromRelationshipMapper.class)
     List<EntityRelationshipRecord> findFrom(@Bind("toId") String toId);
 
+    /** Find relationships {@code fromEntity --- relation ---> toEntity} for a batch of toIds in a single query */
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND toEntity = :toEntity AND relation IN (<relation>) "
+            + "ORDER BY fromId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findFromBatch(
+        @BindList("toIds") List<String> toIds,
+        @Bind("toEntity") String toEntity,
+        @BindList("relation") List<Integer> relation);
+
+    /** Find relationships {@code fromEntity --- relation ---> toEntity} for a batch of toIds of any entity type */
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND relation = :relation "
+            + "ORDER BY fromId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findFromBatch(
+        @BindList("toIds") List<String> toIds, @Bind("relation") int relation);
+
+    /** Find all the relationships {@code fromEntity --- relation ---> toEntity} between two entity types */
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE fromEntity = :fromEntity AND toEntity = :toEntity AND relation = :relation")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findAllBetween(
+        @Bind("fromEntity") String fromEntity, @Bind("toEntity") String toEntity, @Bind("relation") int relation);
+
+    /** Find relationships {@code fromEntity --- relation ---> toEntity} for a batch of fromIds of any entity type */
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE fromId IN (<fromIds>) AND relation = :relation "
+            + "ORDER BY toId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findToBatch(
+        @BindList("fromIds") List<String> fromIds, @Bind("relation") int relation);
+
     @SqlQuery("SELECT count(*) FROM entity_relationship " + "WHERE fromEntity = :fromEntity AND toEntity = :toEntity")
     int findIfAnyRelationExist(@Bind("fromEntity") String fromEntity, @Bind("toEntity") String toEntity);
 
@@ -808,6 +979,18 @@ public interface CollectionDAO {
             + "(fromId = :id AND fromEntity = :entity)")
     void deleteAll(@Bind("id") String id, @Bind("entity") String entity);
 
+    /** Delete all the relationships from or to a batch of entities of any type */
+    default void deleteAll(List<String> ids) {
+      deleteAllFrom(ids);
+      deleteAllTo(ids);
+    }
+
+    @SqlUpdate("DELETE from entity_relationship WHERE fromId IN (<ids>)")
+    void deleteAllFrom(@BindList("ids") List<String> ids);
+
+    @SqlUpdate("DELETE from entity_relationship WHERE toId IN (<ids>)")
+    void deleteAllTo(@BindList("ids") List<String> ids);
+
     class FromRelationshipMapper implements RowMapper<EntityRelationshipRecord> {
       @Override
       public EntityRelationshipRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
@@ -829,6 +1012,20 @@ public interface CollectionDAO {
             .build();
       }
     }
+
+    class RelationshipObjectMapper implements RowMapper<EntityRelationshipObject> {
+      @Override
+      public EntityRelationshipObject map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return EntityRelationshipObject.builder()
+            .fromId(rs.getString("fromId"))
+            .toId(rs.getString("toId"))
+            .fromEntity(rs.getString("fromEntity"))
+            .toEntity(rs.getString("toEntity"))
+            .relation(rs.getInt("relation"))
+            .json(rs.getString("json"))
+            .build();
+      }
+    }
   }
 
   interface FeedDAO {
@@ -838,6 +1035,13 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     void insert(@Bind("json") String json);
 
+    @SqlBatch
+    @ConnectionAwareSqlBatch(value = "INSERT INTO thread_entity(json) VALUES (:json)", connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value = "INSERT INTO thread_entity(json) VALUES (:json :: jsonb)",
+        connectionType = POSTGRES)
+    void insertBatch(@Bind("json") List<String> jsons);
+
     @SqlQuery("SELECT json FROM thread_entity WHERE id = :id")
     String findById(@Bind("id") String id);
 
@@ -1153,6 +1357,74 @@ public interface CollectionDAO {
     }
   }
 
+  interface ThreadPostDAO {
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO thread_post(threadId, json) VALUES (:threadId, :json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO thread_post(threadId, json) VALUES (:threadId, :json :: jsonb)",
+        connectionType = POSTGRES)
+    void insert(@Bind("threadId") String threadId, @Bind("json") String json);
+
+    @ConnectionAwareSqlUpdate(value = "UPDATE thread_post SET json = :json WHERE id = :id", connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "UPDATE thread_post SET json = (:json :: jsonb) WHERE id = :id",
+        connectionType = POSTGRES)
+    void update(@Bind("id") String id, @Bind("json") String json);
+
+    @SqlQuery("SELECT json FROM thread_post WHERE threadId = :threadId AND id = :id")
+    String findById(@Bind("threadId") String threadId, @Bind("id") String id);
+
+    @SqlQuery("SELECT json FROM thread_post WHERE threadId = :threadId ORDER BY postTs")
+    List<String> listByThread(@Bind("threadId") String threadId);
+
+    /** Latest posts of each of the threads, up to limit posts per thread, in the order of the post timestamp */
+    @SqlQuery(
+        "SELECT ranked.threadId, ranked.json FROM (SELECT threadId, json, postTs, "
+            + "ROW_NUMBER() OVER(PARTITION BY threadId ORDER BY postTs DESC) AS row_num "
+            + "FROM thread_post WHERE threadId IN (<threadIds>)) ranked WHERE ranked.row_num <= :limit "
+            + "ORDER BY ranked.threadId, ranked.postTs")
+    @RegisterRowMapper(ThreadPostMapper.class)
+    List<Pair<String, String>> listLatestByThreads(
+        @BindList("threadIds") List<String> threadIds, @Bind("limit") int limit);
+
+    @SqlUpdate("DELETE FROM thread_post WHERE threadId = :threadId AND id = :id")
+    int delete(@Bind("threadId") String threadId, @Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM thread_post WHERE threadId = :threadId")
+    void deleteAll(@Bind("threadId") String threadId);
+
+    /**
+     * Posts are not stored in the thread json. Update the count of posts and the last update of the thread in place
+     * when its posts change, so that concurrent posts to a thread don't overwrite each other.
+     */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE thread_entity SET json = JSON_SET(json, '$.postsCount', "
+                + "COALESCE(CAST(json ->> '$.postsCount' AS SIGNED), 0) + :postsCountDelta, "
+                + "'$.updatedAt', :updatedAt, '$.updatedBy', :updatedBy) WHERE id = :threadId",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE thread_entity SET json = json || jsonb_build_object("
+                + "'postsCount', COALESCE((json ->> 'postsCount')::int, 0) + CAST(:postsCountDelta AS INT), "
+                + "'updatedAt', CAST(:updatedAt AS BIGINT), 'updatedBy', CAST(:updatedBy AS TEXT)) "
+                + "WHERE id = :threadId",
+        connectionType = POSTGRES)
+    void updateThread(
+        @Bind("threadId") String threadId,
+        @Bind("postsCountDelta") int postsCountDelta,
+        @Bind("updatedAt") long updatedAt,
+        @Bind("updatedBy") String updatedBy);
+
+    class ThreadPostMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("threadId"), rs.getString("json"));
+      }
+    }
+  }
+
   interface FieldRelationshipDAO {
     @ConnectionAwareSqlUpdate(
         value =
@@ -1198,30 +1470,11 @@ public interface CollectionDAO {
         @Bind("jsonSchema") String jsonSchema,
         @Bind("json") String json);
 
-    @ConnectionAwareSqlUpdate(
-        value =
-            "INSERT INTO field_relationship(fromFQNHash, toFQNHash, fromFQN, toFQN, fromType, toType, relation, jsonSchema, json) "
-                + "VALUES (:fromFQNHash, :toFQNHash, :fromFQN, :toFQN, :fromType, :toType, :relation, :jsonSchema, :json) "
-                + "ON DUPLICATE KEY UPDATE fromFQNHash = :fromFQNHash,"
-                + "toFQNHash = :toFQNHash",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlUpdate(
-        value =
-            "INSERT INTO field_relationship(fromFQNHash, toFQNHash, fromFQN, toFQN, fromType, toType, relation, jsonSchema, json) "
-                + "VALUES (:fromFQNHash, :toFQNHash, :fromFQN, :toFQN, :fromType, :toType, :relation, :jsonSchema, (:json :: jsonb)) "
-                + "ON CONFLICT (fromFQN, toFQN, relation) DO UPDATE SET fromFQNHash = EXCLUDED.fromFQNHash,"
-                + "toFQNHash = EXCLUDED.toFQNHash",
-        connectionType = POSTGRES)
-    void upsertFQNHash(
-        @Bind("fromFQNHash") String fromFQNHash,
-        @Bind("toFQNHash") String toFQNHash,
-        @Bind("fromFQN") String fromFQN,
-        @Bind("toFQN") String toFQN,
-        @Bind("fromType") String fromType,
-        @Bind("toType") String toType,
-        @Bind("relation") int relation,
-        @Bind("jsonSchema") String jsonSchema,
-        @Bind("json") String json);
+    @Deprecated(since = "Release 1.1")
+    @SqlBatch(
+        "UPDATE field_relationship SET fromFQNHash = :fromFQNHash, toFQNHash = :toFQNHash "
+            + "WHERE fromFQN = :fromFQN AND toFQN = :toFQN AND relation = :relation")
+    void updateFQNHashBatch(@BindBean List<FieldRelationship> fieldRelationships);
 
     @SqlQuery(
         "SELECT json FROM field_relationship WHERE "
@@ -1245,9 +1498,16 @@ public interface CollectionDAO {
         @Bind("toType") String toType,
         @Bind("relation") int relation);
 
-    @SqlQuery("SELECT * FROM field_relationship")
+    @Deprecated(since = "Release 1.1")
+    @SqlQuery(
+        "SELECT * FROM field_relationship WHERE (fromFQN, toFQN, relation) > (:fromFQN, :toFQN, :relation) "
+            + "ORDER BY fromFQN, toFQN, relation LIMIT :limit")
     @RegisterRowMapper(FieldRelationShipMapper.class)
-    List<FieldRelationship> listAll();
+    List<FieldRelationship> listAfter(
+        @Bind("fromFQN") String fromFQN,
+        @Bind("toFQN") String toFQN,
+        @Bind("relation") int relation,
+        @Bind("limit") int limit);
 
     @SqlQuery(
         "SELECT fromFQN, toFQN, json FROM field_relationship WHERE "
@@ -1286,6 +1546,10 @@ public interface CollectionDAO {
     @SqlUpdate("DELETE from field_relationship <cond>")
     void deleteAllByPrefixInternal(@Define("cond") String cond, @BindMap Map<String, String> bindings);
 
+    /** Same as {@link #deleteAllByPrefix(String)} for a batch of prefixes */
+    @SqlBatch("DELETE from field_relationship WHERE (toFQNHash LIKE :prefix OR fromFQNHash LIKE :prefix)")
+    void deleteAllByPrefixes(@Bind("prefix") List<String> prefixes);
+
     @SqlUpdate(
         "DELETE from field_relationship WHERE fromFQNHash = :fromFQNHash AND toFQNHash = :toFQNHash AND fromType = :fromType "
             + "AND toType = :toType AND relation = :relation")
@@ -1830,6 +2094,17 @@ public interface CollectionDAO {
         @Bind("labelType") int labelType,
         @Bind("state") int state);
 
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT IGNORE INTO tag_usage (source, tagFQN, tagFQNHash, targetFQNHash, labelType, state) VALUES (:source, :tagFQN, :tagFQNHash, :targetFQNHash, :labelType, :state)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO tag_usage (source, tagFQN, tagFQNHash, targetFQNHash, labelType, state) VALUES (:source, :tagFQN, :tagFQNHash, :targetFQNHash, :labelType, :state) ON CONFLICT (source, tagFQNHash, targetFQNHash) DO NOTHING",
+        connectionType = POSTGRES)
+    void applyTagsBatch(@BindBean List<TagUsageObject> tagUsages);
+
     @SqlQuery("SELECT targetFQNHash FROM tag_usage WHERE source = :source AND tagFQNHash = :tagFQNHash")
     List<String> getTargetFQNs(@Bind("source") int source, @Bind("tagFQNHash") String tagFQNHash);
 
@@ -1843,10 +2118,51 @@ public interface CollectionDAO {
         "SELECT source, tagFQN,  labelType, state FROM tag_usage WHERE targetFQNHash = :targetFQNHash ORDER BY tagFQN")
     List<TagLabel> getTagsInternal(@Bind("targetFQNHash") String targetFQNHash);
 
-    @SqlQuery("SELECT * FROM tag_usage")
+    /**
+     * Get tags for a batch of targets in a single query. Returns pairs of targetFQNHash and the tag applied to it. Tags
+     * of the targets identified by {@code targetFQNHashes} and of all the fields nested under the targets identified by
+     * {@code targetFQNHashPrefixes}, such as columns of a table, are returned.
+     */
+    default List<Pair<String, TagLabel>> getTagsByTargets(
+        List<String> targetFQNHashes, List<String> targetFQNHashPrefixes) {
+      if (targetFQNHashes.isEmpty() && targetFQNHashPrefixes.isEmpty()) {
+        return Collections.emptyList();
+      }
+      List<String> conditions = new ArrayList<>();
+      Map<String, String> bindMap = new HashMap<>();
+      if (!targetFQNHashes.isEmpty()) {
+        List<String> params = new ArrayList<>();
+        for (int i = 0; i < targetFQNHashes.size(); i++) {
+          params.add(":target" + i);
+          bindMap.put("target" + i, targetFQNHashes.get(i));
+        }
+        conditions.add(String.format("targetFQNHash IN (%s)", String.join(",", params)));
+      }
+      for (int i = 0; i < targetFQNHashPrefixes.size(); i++) {
+        conditions.add(String.format("targetFQNHash LIKE :prefix%d", i));
+        bindMap.put("prefix" + i, String.format("%s%s%%", targetFQNHashPrefixes.get(i), Entity.SEPARATOR));
+      }
+      List<Pair<String, TagLabel>> tags =
+          getTagsByTargetsInternal("WHERE " + String.join(" OR ", conditions), bindMap);
+      tags.forEach(pair -> pair.getRight().setDescription(TagLabelCache.getInstance().getDescription(pair.getRight())));
+      return tags;
+    }
+
+    @SqlQuery("SELECT source, tagFQN, labelType, state, targetFQNHash FROM tag_usage <cond> ORDER BY tagFQN")
+    @RegisterRowMapper(TargetTagLabelMapper.class)
+    List<Pair<String, TagLabel>> getTagsByTargetsInternal(
+        @Define("cond") String cond, @BindMap Map<String, String> bindings);
+
+    @SqlQuery(
+        "SELECT * FROM tag_usage WHERE (source, tagFQN, targetFQN) > (:source, :tagFQN, :targetFQN) "
+            + "ORDER BY source, tagFQN, targetFQN LIMIT :limit")
     @Deprecated(since = "Release 1.1")
     @RegisterRowMapper(TagLabelMapperMigration.class)
-    List<TagLabelMigration> listAll();
+    List<TagLabelMigration> listAfter(
+        @Bind("source") int source,
+        @Bind("tagFQN") String tagFQN,
+        @Bind("targetFQN") String targetFQN,
+        @Bind("limit") int limit);
 
     @SqlQuery(
         "SELECT COUNT(*) FROM tag_usage "
@@ -1867,28 +2183,15 @@ public interface CollectionDAO {
         "DELETE FROM tag_usage where targetFQNHash = :targetFQNHash OR targetFQNHash LIKE CONCAT(:targetFQNHash, '.%')")
     void deleteTagLabelsByTargetPrefix(@Bind("targetFQNHash") String targetFQNHash);
 
+    @SqlBatch(
+        "DELETE FROM tag_usage where targetFQNHash = :targetFQNHash OR targetFQNHash LIKE CONCAT(:targetFQNHash, '.%')")
+    void deleteTagLabelsByTargetPrefixes(@Bind("targetFQNHash") List<String> targetFQNHashes);
+
     @Deprecated(since = "Release 1.1")
-    @ConnectionAwareSqlUpdate(
-        value =
-            "INSERT INTO tag_usage (source, tagFQN, tagFQNHash, targetFQNHash, labelType, state, targetFQN)"
-                + "VALUES (:source, :tagFQN, :tagFQNHash, :targetFQNHash, :labelType, :state, :targetFQN) "
-                + "ON DUPLICATE KEY UPDATE tagFQNHash = :tagFQNHash, targetFQNHash = :targetFQNHash",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlUpdate(
-        value =
-            "INSERT INTO tag_usage (source, tagFQN, tagFQNHash, targetFQNHash, labelType, state, targetFQN) "
-                + "VALUES (:source, :tagFQN, :tagFQNHash, :targetFQNHash, :labelType, :state, :targetFQN) "
-                + "ON CONFLICT (source, tagFQN, targetFQN) "
-                + "DO UPDATE SET tagFQNHash = EXCLUDED.tagFQNHash, targetFQNHash = EXCLUDED.targetFQNHash",
-        connectionType = POSTGRES)
-    void upsertFQNHash(
-        @Bind("source") int source,
-        @Bind("tagFQN") String tagFQN,
-        @Bind("tagFQNHash") String tagFQNHash,
-        @Bind("targetFQNHash") String targetFQNHash,
-        @Bind("labelType") int labelType,
-        @Bind("state") int state,
-        @Bind("targetFQN") String targetFQN);
+    @SqlBatch(
+        "UPDATE tag_usage SET tagFQNHash = :tagFQNHash, targetFQNHash = :targetFQNHash "
+            + "WHERE source = :source AND tagFQN = :tagFQN AND targetFQN = :targetFQN")
+    void updateFQNHashBatch(@BindBean List<TagLabelMigration> tagLabels);
 
     /** Update all the tagFQN starting with oldPrefix to start with newPrefix due to tag or glossary name change */
     default void updateTagPrefix(int source, String oldPrefix, String newPrefix) {
@@ -1936,6 +2239,13 @@ public interface CollectionDAO {
       }
     }
 
+    class TargetTagLabelMapper implements RowMapper<Pair<String, TagLabel>> {
+      @Override
+      public Pair<String, TagLabel> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("targetFQNHash"), new TagLabelMapper().map(r, ctx));
+      }
+    }
+
     @Getter
     @Setter
     @Deprecated(since = "Release 1.1")
@@ -2185,6 +2495,18 @@ public interface CollectionDAO {
             + "(SELECT toId FROM entity_relationship "
             + "WHERE fromId != :teamId AND fromEntity = 'team' AND relation = :relation AND toEntity = 'team')")
     List<String> listTeamsUnderOrganization(@Bind("teamId") String teamId, @Bind("relation") int relation);
+
+    /** List the id and name of all the teams, including deleted teams */
+    @SqlQuery("SELECT id, name FROM team_entity")
+    @RegisterRowMapper(IdNameMapper.class)
+    List<Pair<String, String>> listIdAndName();
+
+    class IdNameMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("id"), rs.getString("name"));
+      }
+    }
   }
 
   interface TopicDAO extends EntityDAO<Topic> {
@@ -2279,41 +2601,41 @@ public interface CollectionDAO {
     @SqlUpdate("DELETE FROM entity_usage WHERE id = :id")
     void delete(@Bind("id") String id);
 
+    @SqlUpdate("DELETE FROM entity_usage WHERE id IN (<ids>)")
+    void delete(@BindList("ids") List<String> ids);
+
     /**
-     * TODO: Not sure I get what the next comment means, but tests now use mysql 8 so maybe tests can be improved here
-     * Note not using in following percentile computation PERCENT_RANK function as unit tests use mysql5.7, and it does
-     * not have window function
+     * Percentile rank of the usage counts of an entity among the entities of the same type for the given date. The rank
+     * is the percentage of entities with a strictly lower count, computed with window functions in a single sort over
+     * the usage of the date instead of counting the lower rows for each entity.
      */
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_usage u JOIN ( "
-                + "SELECT u1.id, "
-                + "(SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 <  u1.count1 AND u2.entityType = :entityType "
-                + "AND u2.usageDate = :date) as p1, "
-                + "(SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 <  u1.count7 AND u3.entityType = :entityType "
-                + "AND u3.usageDate = :date) as p7, "
-                + "(SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 <  u1.count30 AND u4.entityType = :entityType "
-                + "AND u4.usageDate = :date) as p30, "
-                + "(SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = :date) as total "
-                + "FROM entity_usage u1 WHERE u1.entityType = :entityType AND u1.usageDate = :date"
-                + ") vals ON u.id = vals.id AND usageDate = :date "
-                + "SET u.percentile1 = ROUND(100 * p1/total, 2), u.percentile7 = ROUND(p7 * 100/total, 2), u.percentile30 ="
-                + " ROUND(p30*100/total, 2)",
+                + "SELECT id, "
+                + "RANK() OVER (ORDER BY count1) - 1 AS p1, "
+                + "RANK() OVER (ORDER BY count7) - 1 AS p7, "
+                + "RANK() OVER (ORDER BY count30) - 1 AS p30, "
+                + "COUNT(*) OVER () AS total "
+                + "FROM entity_usage WHERE entityType = :entityType AND usageDate = :date"
+                + ") vals ON u.id = vals.id AND u.usageDate = :date "
+                + "SET u.percentile1 = ROUND(100 * p1/total, 2), u.percentile7 = ROUND(p7 * 100/total, 2), "
+                + "u.percentile30 = ROUND(p30*100/total, 2)",
         connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_usage u "
-                + "SET percentile1 = ROUND(100 * p1 / total, 2), percentile7 = ROUND(p7 * 100 / total, 2), percentile30 = ROUND(p30 * 100 / total, 2) "
+                + "SET percentile1 = ROUND(100 * p1 / total, 2), percentile7 = ROUND(p7 * 100 / total, 2), "
+                + "percentile30 = ROUND(p30 * 100 / total, 2) "
                 + "FROM ("
-                + "   SELECT u1.id, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 < u1.count1 AND u2.entityType = :entityType AND u2.usageDate = (:date :: date)) as p1, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 < u1.count7 AND u3.entityType = :entityType AND u3.usageDate = (:date :: date)) as p7, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 < u1.count30 AND u4.entityType = :entityType AND u4.usageDate = (:date :: date)) as p30, "
-                + "       (SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = (:date :: date)"
-                + "   ) as total FROM entity_usage u1 "
-                + "   WHERE u1.entityType = :entityType AND u1.usageDate = (:date :: date)"
+                + "   SELECT id, "
+                + "       RANK() OVER (ORDER BY count1) - 1 AS p1, "
+                + "       RANK() OVER (ORDER BY count7) - 1 AS p7, "
+                + "       RANK() OVER (ORDER BY count30) - 1 AS p30, "
+                + "       COUNT(*) OVER () AS total "
+                + "   FROM entity_usage WHERE entityType = :entityType AND usageDate = (:date :: date)"
                 + ") vals "
-                + "WHERE u.id = vals.id AND usageDate = (:date :: date);",
+                + "WHERE u.id = vals.id AND u.usageDate = (:date :: date);",
         connectionType = POSTGRES)
     void computePercentile(@Bind("entityType") String entityType, @Bind("date") String date);
 
@@ -2618,33 +2940,145 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     void insert(@Bind("json") String json);
 
+    @SqlBatch
+    @ConnectionAwareSqlBatch(value = "INSERT INTO change_event (json) VALUES (:json)", connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value = "INSERT INTO change_event (json) VALUES (:json :: jsonb)",
+        connectionType = POSTGRES)
+    void insertBatch(@Bind("json") List<String> jsons);
+
     @SqlUpdate("DELETE FROM change_event WHERE entityType = :entityType")
     void deleteAll(@Bind("entityType") String entityType);
 
-    default List<String> list(String eventType, List<String> entityTypes, long timestamp) {
-      if (CommonUtil.nullOrEmpty(entityTypes)) {
-        return Collections.emptyList();
-      }
-      if (entityTypes.get(0).equals("*")) {
-        return listWithoutEntityFilter(eventType, timestamp);
+    /**
+     * Change events after the cursor (eventTime, eventOffset), in the order of the cursor. The events created, updated
+     * and deleted are listed for the entity types of the matching list, or for all the entity types when the matching
+     * flag is set. The rows are read as the stream is consumed, the stream must be closed to release the connection.
+     */
+    @SqlQuery(
+        "SELECT eventOffset, eventTime, json FROM change_event "
+            + "WHERE ((eventType = 'entityCreated' AND (:allCreated OR entityType IN (<createdTypes>))) "
+            + "OR (eventType = 'entityUpdated' AND (:allUpdated OR entityType IN (<updatedTypes>))) "
+            + "OR (eventType IN ('entityDeleted', 'entitySoftDeleted') "
+            + "AND (:allDeleted OR entityType IN (<deletedTypes>)))) "
+            + "AND (eventTime > :eventTime OR (eventTime = :eventTime AND eventOffset > :eventOffset)) "
+            + "ORDER BY eventTime, eventOffset LIMIT :limit")
+    @RegisterRowMapper(ChangeEventRecordMapper.class)
+    @FetchSize(1000)
+    Stream<ChangeEventRecord> listAfterCursor(
+        @BindList(value = "createdTypes", onEmpty = EmptyHandling.NULL_STRING) List<String> createdTypes,
+        @Bind("allCreated") boolean allCreated,
+        @BindList(value = "updatedTypes", onEmpty = EmptyHandling.NULL_STRING) List<String> updatedTypes,
+        @Bind("allUpdated") boolean allUpdated,
+        @BindList(value = "deletedTypes", onEmpty = EmptyHandling.NULL_STRING) List<String> deletedTypes,
+        @Bind("allDeleted") boolean allDeleted,
+        @Bind("eventTime") long eventTime,
+        @Bind("eventOffset") long eventOffset,
+        @Bind("limit") int limit);
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT eventOffset, JSON_UNQUOTE(JSON_EXTRACT(json, '$.entityId')) AS entityId FROM change_event "
+                + "WHERE eventOffset > :offset ORDER BY eventOffset ASC LIMIT :limit",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT eventOffset, json->>'entityId' AS entityId FROM change_event "
+                + "WHERE eventOffset > :offset ORDER BY eventOffset ASC LIMIT :limit",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(OffsetEntityIdMapper.class)
+    List<Pair<Long, String>> listEntityIdsAfterOffset(@Bind("offset") long offset, @Bind("limit") int limit);
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT eventOffset, JSON_UNQUOTE(JSON_EXTRACT(json, '$.entityId')) AS entityId FROM change_event "
+                + "WHERE eventOffset IN (<offsets>)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value = "SELECT eventOffset, json->>'entityId' AS entityId FROM change_event WHERE eventOffset IN (<offsets>)",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(OffsetEntityIdMapper.class)
+    List<Pair<Long, String>> listEntityIdsByOffsets(@BindList("offsets") List<Long> offsets);
+
+    class OffsetEntityIdMapper implements RowMapper<Pair<Long, String>> {
+      @Override
+      public Pair<Long, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getLong("eventOffset"), rs.getString("entityId"));
       }
-      return listWithEntityFilter(eventType, entityTypes, timestamp);
     }
 
     @SqlQuery(
-        "SELECT json FROM change_event WHERE "
-            + "eventType = :eventType AND (entityType IN (<entityTypes>)) AND eventTime >= :timestamp "
-            + "ORDER BY eventTime ASC")
-    List<String> listWithEntityFilter(
-        @Bind("eventType") String eventType,
-        @BindList("entityTypes") List<String> entityTypes,
-        @Bind("timestamp") long timestamp);
+        "SELECT eventOffset, eventTime, json FROM change_event WHERE eventOffset > :offset "
+            + "ORDER BY eventOffset ASC LIMIT :limit")
+    @RegisterRowMapper(ChangeEventRecordMapper.class)
+    List<ChangeEventRecord> listAfterOffset(@Bind("offset") long offset, @Bind("limit") int limit);
 
     @SqlQuery(
-        "SELECT json FROM change_event WHERE "
-            + "eventType = :eventType AND eventTime >= :timestamp "
-            + "ORDER BY eventTime ASC")
-    List<String> listWithoutEntityFilter(@Bind("eventType") String eventType, @Bind("timestamp") long timestamp);
+        "SELECT eventOffset, eventTime, json FROM change_event WHERE eventOffset IN (<offsets>) "
+            + "ORDER BY eventOffset ASC")
+    @RegisterRowMapper(ChangeEventRecordMapper.class)
+    List<ChangeEventRecord> listByOffsets(@BindList("offsets") List<Long> offsets);
+
+    @SqlQuery("SELECT COALESCE(MAX(eventOffset), 0) FROM change_event")
+    long getMaxOffset();
+
+    @Getter
+    @AllArgsConstructor
+    class ChangeEventRecord {
+      private final long offset;
+      private final long eventTime;
+      private final String json;
+    }
+
+    class ChangeEventRecordMapper implements RowMapper<ChangeEventRecord> {
+      @Override
+      public ChangeEventRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return new ChangeEventRecord(rs.getLong("eventOffset"), rs.getLong("eventTime"), rs.getString("json"));
+      }
+    }
+  }
+
+  interface ChangeEventConsumerDAO {
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT IGNORE INTO change_event_consumers(id, eventOffset, owner, leaseExpiry) "
+                + "VALUES (:id, :eventOffset, NULL, 0)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO change_event_consumers(id, eventOffset, owner, leaseExpiry) "
+                + "VALUES (:id, :eventOffset, NULL, 0) ON CONFLICT DO NOTHING",
+        connectionType = POSTGRES)
+    void insertIfAbsent(@Bind("id") String id, @Bind("eventOffset") long eventOffset);
+
+    /** Take or renew the lease of the consumer. Returns 1 when the lease is held by the owner. */
+    @SqlUpdate(
+        "UPDATE change_event_consumers SET owner = :owner, leaseExpiry = :leaseExpiry "
+            + "WHERE id = :id AND (owner = :owner OR owner IS NULL OR leaseExpiry < :now)")
+    int acquireLease(
+        @Bind("id") String id,
+        @Bind("owner") String owner,
+        @Bind("now") long now,
+        @Bind("leaseExpiry") long leaseExpiry);
+
+    /** Commit the offset of the consumer and renew its lease. Returns 0 when the lease was lost to another owner. */
+    @SqlUpdate(
+        "UPDATE change_event_consumers SET eventOffset = :eventOffset, leaseExpiry = :leaseExpiry "
+            + "WHERE id = :id AND owner = :owner")
+    int commitOffset(
+        @Bind("id") String id,
+        @Bind("owner") String owner,
+        @Bind("eventOffset") long eventOffset,
+        @Bind("leaseExpiry") long leaseExpiry);
+
+    @SqlUpdate("UPDATE change_event_consumers SET owner = NULL, leaseExpiry = 0 WHERE id = :id AND owner = :owner")
+    void releaseLease(@Bind("id") String id, @Bind("owner") String owner);
+
+    @SqlQuery("SELECT eventOffset FROM change_event_consumers WHERE id = :id")
+    Long getOffset(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM change_event_consumers WHERE id = :id")
+    void delete(@Bind("id") String id);
   }
 
   interface TypeEntityDAO extends EntityDAO<Type> {
@@ -2891,6 +3325,60 @@ public interface CollectionDAO {
 
     @SqlQuery("SELECT count(*) FROM <table> WHERE id IN (<testCaseIds>)")
     int countOfTestCases(@Define("table") String table, @BindList("testCaseIds") List<String> testCaseIds);
+
+    // Number of test cases by the status of their latest result
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT latest.status, COUNT(*) AS count FROM (SELECT ts.json ->> '$.testCaseStatus' AS status, "
+                + "ROW_NUMBER() OVER(PARTITION BY ts.entityFQNHash ORDER BY ts.timestamp DESC) AS row_num "
+                + "FROM entity_extension_time_series ts JOIN test_case tc ON tc.fqnHash = ts.entityFQNHash "
+                + "WHERE ts.extension = :extension AND tc.deleted = FALSE) latest "
+                + "WHERE latest.row_num = 1 GROUP BY latest.status",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT latest.status, COUNT(*) AS count FROM (SELECT ts.json ->> 'testCaseStatus' AS status, "
+                + "ROW_NUMBER() OVER(PARTITION BY ts.entityFQNHash ORDER BY ts.timestamp DESC) AS row_num "
+                + "FROM entity_extension_time_series ts JOIN test_case tc ON tc.fqnHash = ts.entityFQNHash "
+                + "WHERE ts.extension = :extension AND tc.deleted = FALSE) latest "
+                + "WHERE latest.row_num = 1 GROUP BY latest.status",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(StatusCountMapper.class)
+    List<Pair<String, Integer>> countLatestResultsByStatus(@Bind("extension") String extension);
+
+    // Number of test cases of a test suite by the status of their latest result
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT latest.status, COUNT(*) AS count FROM (SELECT ts.json ->> '$.testCaseStatus' AS status, "
+                + "ROW_NUMBER() OVER(PARTITION BY ts.entityFQNHash ORDER BY ts.timestamp DESC) AS row_num "
+                + "FROM entity_extension_time_series ts JOIN test_case tc ON tc.fqnHash = ts.entityFQNHash "
+                + "JOIN entity_relationship er ON er.toId = tc.id "
+                + "WHERE ts.extension = :extension AND er.fromId = :testSuiteId AND er.relation = :relation "
+                + "AND er.toEntity = 'testCase') latest "
+                + "WHERE latest.row_num = 1 GROUP BY latest.status",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT latest.status, COUNT(*) AS count FROM (SELECT ts.json ->> 'testCaseStatus' AS status, "
+                + "ROW_NUMBER() OVER(PARTITION BY ts.entityFQNHash ORDER BY ts.timestamp DESC) AS row_num "
+                + "FROM entity_extension_time_series ts JOIN test_case tc ON tc.fqnHash = ts.entityFQNHash "
+                + "JOIN entity_relationship er ON er.toId = tc.id "
+                + "WHERE ts.extension = :extension AND er.fromId = :testSuiteId AND er.relation = :relation "
+                + "AND er.toEntity = 'testCase') latest "
+                + "WHERE latest.row_num = 1 GROUP BY latest.status",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(StatusCountMapper.class)
+    List<Pair<String, Integer>> countLatestResultsByStatus(
+        @Bind("extension") String extension,
+        @Bind("testSuiteId") String testSuiteId,
+        @Bind("relation") int relation);
+
+    class StatusCountMapper implements RowMapper<Pair<String, Integer>> {
+      @Override
+      public Pair<String, Integer> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("status"), rs.getInt("count"));
+      }
+    }
   }
 
   interface WebAnalyticEventDAO extends EntityDAO<WebAnalyticEvent> {
@@ -2963,19 +3451,18 @@ public interface CollectionDAO {
         @Bind("json") String json,
         @Bind("timestamp") Long timestamp);
 
-    @ConnectionAwareSqlUpdate(
+    // MySQL compares the FQNs case-insensitively, the binary comparison keeps the rows of the other spellings
+    @Deprecated(since = "Release 1.1")
+    @ConnectionAwareSqlBatch(
         value =
-            "UPDATE entity_extension_time_series set entityFQNHash = :entityFQNHash where entityFQN=:entityFQN and extension=:extension and timestamp=:timestamp",
+            "UPDATE entity_extension_time_series SET entityFQNHash = :entityFQNHash "
+                + "WHERE entityFQN = :entityFQN AND CAST(entityFQN AS BINARY) = CAST(:entityFQN AS BINARY)",
         connectionType = MYSQL)
-    @ConnectionAwareSqlUpdate(
-        value =
-            "UPDATE entity_extension_time_series set entityFQNHash = :entityFQNHash  where entityFQN=:entityFQN and extension=:extension and timestamp=:timestamp",
+    @ConnectionAwareSqlBatch(
+        value = "UPDATE entity_extension_time_series SET entityFQNHash = :entityFQNHash WHERE entityFQN = :entityFQN",
         connectionType = POSTGRES)
-    void updateEntityFQNHash(
-        @Bind("entityFQNHash") String entityFQNHash,
-        @Bind("entityFQN") String entityFQN,
-        @Bind("extension") String extension,
-        @Bind("timestamp") Long timestamp);
+    void updateEntityFQNHashBatch(
+        @Bind("entityFQNHash") List<String> entityFQNHashes, @Bind("entityFQN") List<String> entityFQNs);
 
     @ConnectionAwareSqlUpdate(
         value =
@@ -2992,6 +3479,63 @@ public interface CollectionDAO {
         @Bind("timestamp") Long timestamp,
         @Bind("operation") String operation);
 
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_extension_time_series(entityFQNHash, extension, jsonSchema, json) "
+                + "VALUES (:entityFQNHash, :extension, :jsonSchema, :json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_extension_time_series(entityFQNHash, extension, jsonSchema, json) "
+                + "VALUES (:entityFQNHash, :extension, :jsonSchema, (:json :: jsonb))",
+        connectionType = POSTGRES)
+    void insertBatch(@BindBean List<EntityExtensionTimeSeriesObject> records);
+
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "UPDATE entity_extension_time_series SET json = :json "
+                + "WHERE entityFQNHash = :entityFQNHash AND extension = :extension AND timestamp = :timestamp",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "UPDATE entity_extension_time_series SET json = (:json :: jsonb) "
+                + "WHERE entityFQNHash = :entityFQNHash AND extension = :extension AND timestamp = :timestamp",
+        connectionType = POSTGRES)
+    void updateBatch(@BindBean List<EntityExtensionTimeSeriesObject> records);
+
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "UPDATE entity_extension_time_series SET json = :json "
+                + "WHERE entityFQNHash = :entityFQNHash AND extension = :extension AND timestamp = :timestamp "
+                + "AND json -> '$.operation' = :operation",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "UPDATE entity_extension_time_series SET json = (:json :: jsonb) "
+                + "WHERE entityFQNHash = :entityFQNHash AND extension = :extension AND timestamp = :timestamp "
+                + "AND json #>>'{operation}' = :operation",
+        connectionType = POSTGRES)
+    void updateByOperationBatch(@BindBean List<EntityExtensionTimeSeriesObject> records);
+
+    @SqlQuery(
+        "SELECT entityFQNHash FROM entity_extension_time_series WHERE entityFQNHash IN (<entityFQNHashes>) "
+            + "AND extension = :extension AND timestamp = :timestamp")
+    List<String> getEntityFQNHashesAtTimestamp(
+        @BindList("entityFQNHashes") List<String> entityFQNHashes,
+        @Bind("extension") String extension,
+        @Bind("timestamp") long timestamp);
+
+    @SqlQuery(
+        "SELECT json FROM entity_extension_time_series WHERE entityFQNHash = :entityFQNHash "
+            + "AND extension = :extension AND timestamp IN (<timestamps>)")
+    List<String> listAtTimestamps(
+        @Bind("entityFQNHash") String entityFQNHash,
+        @Bind("extension") String extension,
+        @BindList("timestamps") List<Long> timestamps);
+
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series WHERE entityFQNHash = :entityFQNHash AND extension = :extension")
     String getExtension(@Bind("entityFQNHash") String entityId, @Bind("extension") String extension);
@@ -3063,6 +3607,23 @@ public interface CollectionDAO {
     List<String> getLatestExtensionByFQNs(
         @BindList("entityFQNHashes") List<String> entityFQNHashes, @Bind("extension") String extension);
 
+    /** Latest record of each entity under the given parent, such as the latest profile of each column of a table */
+    @SqlQuery(
+        "SELECT ranked.entityFQNHash, ranked.json FROM (SELECT entityFQNHash, json, "
+            + "ROW_NUMBER() OVER(PARTITION BY entityFQNHash ORDER BY timestamp DESC) AS row_num "
+            + "FROM entity_extension_time_series WHERE entityFQNHash LIKE CONCAT(:parentFQNHash, '.%') "
+            + "AND extension = :extension) ranked WHERE ranked.row_num = 1")
+    @RegisterRowMapper(EntityFQNHashJsonMapper.class)
+    List<Pair<String, String>> getLatestExtensionByParentFQNHash(
+        @Bind("parentFQNHash") String parentFQNHash, @Bind("extension") String extension);
+
+    class EntityFQNHashJsonMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("entityFQNHash"), rs.getString("json"));
+      }
+    }
+
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series WHERE extension = :extension "
             + "ORDER BY timestamp DESC LIMIT 1")
@@ -3247,39 +3808,25 @@ public interface CollectionDAO {
       }
     }
 
-    @SqlQuery("select * from entity_extension_time_series")
-    @RegisterRowMapper(EntityExtensionTimeSeries.class)
-    List<EntityExtensionTimeSeriesTable> listAll();
-
-    @Getter
-    @Setter
-    class EntityExtensionTimeSeriesTable {
-      private String entityFQN;
-      private String extension;
-      private String jsonSchema;
-      private String json;
-      private long timestamp;
-      private String entityFQNHash;
-    }
+    // Pages the FQNs in the order of entity_fqn_index. MySQL compares them case-insensitively, so only one of the
+    // FQNs differing in case is returned, see listEntityFQNSpellings.
+    @Deprecated(since = "Release 1.1")
+    @SqlQuery(
+        "SELECT DISTINCT entityFQN FROM entity_extension_time_series WHERE entityFQN > :after "
+            + "ORDER BY entityFQN LIMIT :limit")
+    List<String> listEntityFQNsAfter(@Bind("after") String after, @Bind("limit") int limit);
 
-    class EntityExtensionTimeSeries implements RowMapper<EntityExtensionTimeSeriesTable> {
-      @Override
-      public EntityExtensionTimeSeriesTable map(ResultSet rs, StatementContext ctx) throws SQLException {
-        EntityExtensionTimeSeriesTable result = new EntityExtensionTimeSeriesTable();
-        // TODO : Ugly , after migration this is removed
-        try {
-          result.setEntityFQN(rs.getString("entityFQN"));
-        } catch (Exception ex) {
-          // Nothing
-        }
-        result.setExtension(rs.getString("extension"));
-        result.setJsonSchema(rs.getString("jsonSchema"));
-        result.setJson(rs.getString("json"));
-        result.setTimestamp(rs.getLong("timestamp"));
-        result.setEntityFQNHash(rs.getString("entityFQNHash"));
-        return result;
-      }
-    }
+    // FQNs differing only in case are distinct entities, MySQL returns each of the FQNs equal to the given one
+    @Deprecated(since = "Release 1.1")
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT MIN(entityFQN) AS entityFQN FROM entity_extension_time_series WHERE entityFQN = :entityFQN "
+                + "GROUP BY CAST(entityFQN AS BINARY)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value = "SELECT DISTINCT entityFQN FROM entity_extension_time_series WHERE entityFQN = :entityFQN",
+        connectionType = POSTGRES)
+    List<String> listEntityFQNSpellings(@Bind("entityFQN") String entityFQN);
   }
 
   class EntitiesCountRowMapper implements RowMapper<EntitiesCount> {
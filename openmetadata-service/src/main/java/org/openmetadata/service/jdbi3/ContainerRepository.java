@@ -38,6 +38,11 @@ public class ContainerRepository extends EntityRepository<Container> {
         CONTAINER_UPDATE_FIELDS);
   }
 
+  @Override
+  protected boolean hasFieldTags() {
+    return true; // Tags are also applied to data model columns
+  }
+
   @Override
   public Container setFields(Container container, EntityUtil.Fields fields) throws IOException {
     setDefaultFields(container);
@@ -142,6 +142,11 @@ public class DashboardDataModelRepository extends EntityRepository<DashboardData
     applyTags(dashboardDataModel);
   }
 
+  @Override
+  protected boolean hasFieldTags() {
+    return true; // Tags are also applied to columns
+  }
+
   @Override
   public DashboardDataModel setFields(DashboardDataModel dashboardDataModel, Fields fields) throws IOException {
     getColumnTags(fields.contains(FIELD_TAGS), dashboardDataModel.getColumns());
@@ -21,19 +21,30 @@ import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.SneakyThrows;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.EntityCache;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlBatch;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
@@ -84,6 +95,37 @@ public interface EntityDAO<T extends EntityInterface> {
       @Bind("id") String id,
       @Bind("json") String json);
 
+  @ConnectionAwareSqlUpdate(
+      value =
+          "UPDATE <table> SET json = :json WHERE id = :id "
+              + "AND CAST(json ->> '$.version' AS DECIMAL(16, 4)) = :version AND json -> '$.updatedAt' = :updatedAt",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value =
+          "UPDATE <table> SET json = (:json :: jsonb) WHERE id = :id "
+              + "AND (json ->> 'version')::numeric = :version AND (json ->> 'updatedAt')::bigint = :updatedAt",
+      connectionType = POSTGRES)
+  int updateIfUnchanged(
+      @Define("table") String table,
+      @Bind("id") String id,
+      @Bind("json") String json,
+      @Bind("version") Double version,
+      @Bind("updatedAt") Long updatedAt);
+
+  @SqlBatch
+  @ConnectionAwareSqlBatch(
+      value = "UPDATE <table> SET json = :json, <nameHashColumn> = :nameHashColumnValue WHERE id = :id",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlBatch(
+      value = "UPDATE <table> SET json = (:json :: jsonb), <nameHashColumn> = :nameHashColumnValue WHERE id = :id",
+      connectionType = POSTGRES)
+  void updateBatch(
+      @Define("table") String table,
+      @Define("nameHashColumn") String nameHashColumn,
+      @Bind("nameHashColumnValue") List<String> nameHashColumnValues,
+      @Bind("id") List<String> ids,
+      @Bind("json") List<String> jsons);
+
   default void updateFqn(String oldPrefix, String newPrefix) {
     LOG.info("Updating FQN for {} from {} to {}", getTableName(), oldPrefix, newPrefix);
     if (!getNameHashColumn().equals("fqnHash")) {
@@ -116,6 +158,7 @@ public interface EntityDAO<T extends EntityInterface> {
             FullyQualifiedName.buildHash(newPrefix),
             FullyQualifiedName.buildHash(oldPrefix));
     updateFqnInternal(mySqlUpdate, postgresUpdate);
+    EntityCache.getInstance().invalidateAll(getTableName());
   }
 
   @ConnectionAwareSqlUpdate(value = "<mySqlUpdate>", connectionType = MYSQL)
@@ -125,6 +168,9 @@ public interface EntityDAO<T extends EntityInterface> {
   @SqlQuery("SELECT json FROM <table> WHERE id = :id <cond>")
   String findById(@Define("table") String table, @Bind("id") String id, @Define("cond") String cond);
 
+  @SqlQuery("SELECT json FROM <table> WHERE id IN (<ids>)")
+  List<String> findByIds(@Define("table") String table, @BindList("ids") List<String> ids);
+
   @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> = :name <cond>")
   String findByName(
       @Define("table") String table,
@@ -171,6 +217,19 @@ public interface EntityDAO<T extends EntityInterface> {
       @Bind("limit") int limit,
       @Bind("offset") int offset);
 
+  @SqlQuery("SELECT json FROM <table> WHERE id > :after AND id < :end ORDER BY id LIMIT :limit")
+  List<String> listAfterInRange(
+      @Define("table") String table,
+      @Bind("after") String after,
+      @Bind("end") String end,
+      @Bind("limit") int limit);
+
+  /** List the id and json of the entities in id order, including deleted entities. Used by data migrations. */
+  @SqlQuery("SELECT id, json FROM <table> WHERE id > :after ORDER BY id LIMIT :limit")
+  @RegisterRowMapper(IdJsonMapper.class)
+  List<Pair<String, String>> listIdAndJsonAfter(
+      @Define("table") String table, @Bind("after") String after, @Bind("limit") int limit);
+
   @SqlQuery("SELECT EXISTS (SELECT * FROM <table> WHERE id = :id)")
   boolean exists(@Define("table") String table, @Bind("id") String id);
 
@@ -188,6 +247,7 @@ public interface EntityDAO<T extends EntityInterface> {
 
   default void update(UUID id, String fqnHash, String json) {
     update(getTableName(), getNameHashColumn(), fqnHash, id.toString(), json);
+    EntityCache.getInstance().invalidate(id);
   }
 
   default void update(EntityInterface entity) throws JsonProcessingException {
@@ -197,6 +257,23 @@ public interface EntityDAO<T extends EntityInterface> {
         FullyQualifiedName.buildHash(entity.getFullyQualifiedName()),
         entity.getId().toString(),
         JsonUtils.pojoToJson(entity));
+    EntityCache.getInstance().invalidate(entity.getId());
+  }
+
+  /**
+   * Write the entity only if the stored entity still has the version and update time of the entity written, that is
+   * when it was not updated since it was read. Returns false when it was, and the entity is not written.
+   */
+  default boolean updateIfUnchanged(EntityInterface entity) throws JsonProcessingException {
+    int updated =
+        updateIfUnchanged(
+            getTableName(),
+            entity.getId().toString(),
+            JsonUtils.pojoToJson(entity),
+            entity.getVersion(),
+            entity.getUpdatedAt());
+    EntityCache.getInstance().invalidate(entity.getId());
+    return updated > 0;
   }
 
   default String getCondition(Include include) {
@@ -265,6 +342,14 @@ public interface EntityDAO<T extends EntityInterface> {
     return findById(getTableName(), id.toString(), getCondition(include));
   }
 
+  /** Find the JSON documents of the given entities, including deleted ones, in a single query */
+  default List<String> findJsonByIds(List<UUID> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return findByIds(getTableName(), ids.stream().map(UUID::toString).collect(Collectors.toList()));
+  }
+
   default String findJsonByFqn(String fqn, Include include) {
     return findByName(getTableName(), getNameHashColumn(), FullyQualifiedName.buildHash(fqn), getCondition(include));
   }
@@ -289,6 +374,15 @@ public interface EntityDAO<T extends EntityInterface> {
     return listAfter(getTableName(), getNameColumn(), filter.getCondition(), limit, after);
   }
 
+  /**
+   * List entities, including deleted ones, with the id in the range (after, end) ordered by id. Ids are random UUIDs,
+   * so the ids of a table can be split by prefix into partitions of roughly the same size that are read independently.
+   * Name hashes are not, since all the entities of a service share the leading characters of their name hash.
+   */
+  default List<String> listAfterInRange(String after, String end, int limit) {
+    return listAfterInRange(getTableName(), after, end, limit);
+  }
+
   default List<String> listAfter(ListFilter filter, int limit, int offset) {
     return listAfter(getTableName(), getNameHashColumn(), filter.getCondition(), limit, offset);
   }
@@ -309,10 +403,18 @@ public interface EntityDAO<T extends EntityInterface> {
 
   default int delete(String id) {
     int rowsDeleted = delete(getTableName(), id);
+    EntityCache.getInstance().invalidate(UUID.fromString(id));
     if (rowsDeleted <= 0) {
       String entityType = Entity.getEntityTypeFromClass(getEntityClass());
       throw EntityNotFoundException.byMessage(entityNotFound(entityType, id));
     }
     return rowsDeleted;
   }
+
+  class IdJsonMapper implements RowMapper<Pair<String, String>> {
+    @Override
+    public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return Pair.of(rs.getString("id"), rs.getString("json"));
+    }
+  }
 }
@@ -45,12 +45,14 @@ import static org.openmetadata.service.util.EntityUtil.tagLabelMatch;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.ValidationMessage;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -65,11 +67,15 @@ import java.util.UUID;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
 import javax.json.JsonPatch;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.EntityInterface;
@@ -88,6 +94,7 @@ import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.EventType;
 import org.openmetadata.schema.type.FieldChange;
 import org.openmetadata.schema.type.Include;
+import org.openmetadata.schema.type.Paging;
 import org.openmetadata.schema.type.ProviderType;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.schema.type.TagLabel;
@@ -100,12 +107,16 @@ import org.openmetadata.schema.utils.EntityInterfaceUtil;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.TypeRegistry;
+import org.openmetadata.service.cache.EntityCache;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.exception.UnhandledServerException;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
-import org.openmetadata.service.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.service.jdbi3.CollectionDAO.ExtensionRecord;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageObject;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.security.policyevaluator.SubjectCache;
@@ -170,6 +181,26 @@ public abstract class EntityRepository<T extends EntityInterface> {
   /** Fields that can be updated during PUT operation */
   @Getter protected final Fields putFields;
 
+  /**
+   * Previous versions of an entity are stored either in full or, as {@link #VERSION_DELTA_SCHEMA}, as a JSON patch
+   * against the latest full version stored before them. A full version is stored at least every
+   * {@link #VERSION_CHECKPOINT_INTERVAL} versions so that any version is rebuilt from at most two rows.
+   */
+  public static final String VERSION_DELTA_SCHEMA = "entityVersionDelta";
+
+  public static final int VERSION_CHECKPOINT_INTERVAL = 10;
+  private static final String VERSION_DELTA_BASE = "baseVersion";
+  private static final String VERSION_DELTA_PATCH = "patch";
+
+  /** Relationships and tags fetched in bulk for the page of entities being listed by the current thread */
+  private final ThreadLocal<BatchFields> batchFields = new ThreadLocal<>();
+
+  /**
+   * Relationships, tags and extensions of the entities being created by the current thread, written with batched
+   * statements. Shared across the repositories, since creating an entity may add relationships through others.
+   */
+  private static final ThreadLocal<BatchWrites> batchWrites = new ThreadLocal<>();
+
   EntityRepository(
       String collectionPath,
       String entityType,
@@ -360,12 +391,13 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   @Transaction
   public final T get(UriInfo uriInfo, UUID id, Fields fields, Include include) throws IOException {
-    return withHref(uriInfo, setFieldsInternal(dao.findEntityById(id, include), fields));
+    T entity = dao.jsonToEntity(EntityCache.getInstance().getJsonById(dao, id, include), id.toString());
+    return withHref(uriInfo, setFieldsInternal(entity, fields));
   }
 
   @Transaction
   public final T findOrNull(UUID id, String fields, Include include) throws IOException {
-    String json = dao.findJsonById(id, include);
+    String json = EntityCache.getInstance().getJsonById(dao, id, include);
     return json == null ? null : setFieldsInternal(JsonUtils.readValue(json, entityClass), getFields(fields));
   }
 
@@ -376,13 +408,14 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   @Transaction
   public final T getByName(UriInfo uriInfo, String fqn, Fields fields, Include include) throws IOException {
-    return withHref(uriInfo, setFieldsInternal(dao.findEntityByName(fqn, include), fields));
+    T entity = dao.jsonToEntity(EntityCache.getInstance().getJsonByName(dao, fqn, include), fqn);
+    return withHref(uriInfo, setFieldsInternal(entity, fields));
   }
 
   @Transaction
   public final T findByNameOrNull(String fqn, String fields, Include include) {
-    String json = dao.findJsonByFqn(fqn, include);
     try {
+      String json = EntityCache.getInstance().getJsonByName(dao, fqn, include);
       return json == null ? null : setFieldsInternal(JsonUtils.readValue(json, entityClass), getFields(fields));
     } catch (IOException e) {
       return null;
@@ -395,10 +428,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
     List<String> jsons = dao.listAfter(filter, Integer.MAX_VALUE, "");
     List<T> entities = new ArrayList<>();
     for (String json : jsons) {
-      T entity = setFieldsInternal(JsonUtils.readValue(json, entityClass), fields);
-      entities.add(entity);
+      entities.add(JsonUtils.readValue(json, entityClass));
     }
-    return entities;
+    return setFieldsInBulk(fields, entities);
   }
 
   @Transaction
@@ -411,9 +443,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
       List<String> jsons = dao.listAfter(filter, limitParam + 1, after == null ? "" : RestUtil.decodeCursor(after));
 
       for (String json : jsons) {
-        T entity = withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
-        entities.add(entity);
+        entities.add(JsonUtils.readValue(json, entityClass));
       }
+      setFieldsInBulk(fields, entities).forEach(entity -> withHref(uriInfo, entity));
 
       String beforeCursor;
       String afterCursor = null;
@@ -439,14 +471,23 @@ public abstract class EntityRepository<T extends EntityInterface> {
       // forward scrolling, if after == null then first page is being asked
       List<String> jsons = dao.listAfter(filter, limitParam + 1, after == null ? "" : RestUtil.decodeCursor(after));
 
+      List<T> page = new ArrayList<>();
       for (String json : jsons) {
-        try {
-          T entity = withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
-          entities.put(entity.getId(), entity);
-        } catch (Exception e) {
-          LOG.error("Failed in Set Fields for Entity with Json : {}", json);
-          errors.put(JsonUtils.readValue(json, entityClass).getId(), json);
+        page.add(JsonUtils.readValue(json, entityClass));
+      }
+      prefetchFields(fields, page);
+      try {
+        for (int i = 0; i < page.size(); i++) {
+          try {
+            T entity = withHref(uriInfo, setFieldsInternal(page.get(i), fields));
+            entities.put(entity.getId(), entity);
+          } catch (Exception e) {
+            LOG.error("Failed in Set Fields for Entity with Json : {}", jsons.get(i));
+            errors.put(page.get(i).getId(), jsons.get(i));
+          }
         }
+      } finally {
+        batchFields.remove();
       }
 
       String beforeCursor;
@@ -470,6 +511,39 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * List entities, including deleted ones, with the id in the range (after, end) in the order of the id. Entities that
+   * fail to load are returned as errors. Unlike {@link #listAfterWithSkipFailure}, the entities are not counted, and
+   * the after cursor returned is the encoded id of the last entity listed.
+   */
+  public ResultList<T> listAfterInRangeWithSkipFailure(Fields fields, String start, String end, int limit, String after)
+      throws IOException {
+    String afterId = after == null ? start : RestUtil.decodeCursor(after);
+    List<String> jsons = dao.listAfterInRange(afterId, end, limit + 1);
+    List<T> page = new ArrayList<>();
+    for (String json : jsons.subList(0, Math.min(limit, jsons.size()))) {
+      page.add(JsonUtils.readValue(json, entityClass));
+    }
+
+    List<T> entities = new ArrayList<>();
+    List<String> errors = new ArrayList<>();
+    prefetchFields(fields, page);
+    try {
+      for (int i = 0; i < page.size(); i++) {
+        try {
+          entities.add(setFieldsInternal(page.get(i), fields));
+        } catch (Exception e) {
+          LOG.error("Failed in Set Fields for Entity with Json : {}", jsons.get(i));
+          errors.add(jsons.get(i));
+        }
+      }
+    } finally {
+      batchFields.remove();
+    }
+    String afterCursor = jsons.size() > limit ? page.get(limit - 1).getId().toString() : null;
+    return getResultList(entities, errors, null, afterCursor, page.size());
+  }
+
   @Transaction
   public ResultList<T> listBefore(UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String before)
       throws IOException {
@@ -478,9 +552,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     List<T> entities = new ArrayList<>();
     for (String json : jsons) {
-      T entity = withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
+      entities.add(JsonUtils.readValue(json, entityClass));
     }
+    setFieldsInBulk(fields, entities).forEach(entity -> withHref(uriInfo, entity));
     int total = dao.listCount(filter);
 
     String beforeCursor = null;
@@ -499,9 +573,10 @@ public abstract class EntityRepository<T extends EntityInterface> {
     String extension = EntityUtil.getVersionExtension(entityType, requestedVersion);
 
     // Get previous version from version history
-    String json = daoCollection.entityExtensionDAO().getExtension(id.toString(), extension);
-    if (json != null) {
-      return JsonUtils.readValue(json, entityClass);
+    List<ExtensionRecord> records =
+        daoCollection.entityExtensionDAO().getExtensionsWithSchema(id.toString(), List.of(extension));
+    if (!records.isEmpty()) {
+      return JsonUtils.readValue(getVersionJson(id, records.get(0), new HashMap<>()), entityClass);
     }
     // If requested the latest version, return it from current version of the entity
     T entity = setFieldsInternal(dao.findEntityById(id, ALL), putFields);
@@ -514,17 +589,159 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   @Transaction
   public EntityHistory listVersions(UUID id) throws IOException {
-    T latest = setFieldsInternal(dao.findEntityById(id, ALL), putFields);
+    return listVersions(id, Integer.MAX_VALUE, null);
+  }
+
+  /**
+   * List versions of an entity from the latest to the oldest, starting after version {@code after} or from the latest
+   * version when it is null. Only the versions in the page are read and reconstructed.
+   */
+  @Transaction
+  public EntityHistory listVersions(UUID id, int limit, String after) throws IOException {
+    String extensionPrefix = EntityUtil.getVersionExtensionPrefix(entityType);
+    List<Double> oldVersions =
+        daoCollection.entityExtensionDAO().getExtensionSchemas(id.toString(), extensionPrefix).stream()
+            .map(r -> EntityUtil.getVersion(r.getExtensionName()))
+            .sorted(Comparator.reverseOrder())
+            .collect(Collectors.toList());
+
+    final List<Object> versions = new ArrayList<>();
+    Double afterVersion = after == null ? null : parseVersionCursor(after);
+    String lastVersion = null;
+    if (afterVersion == null) {
+      T latest = setFieldsInternal(dao.findEntityById(id, ALL), putFields);
+      versions.add(JsonUtils.pojoToJson(latest));
+      lastVersion = latest.getVersion().toString();
+    }
+    List<Double> remaining =
+        oldVersions.stream().filter(v -> afterVersion == null || v < afterVersion).collect(Collectors.toList());
+    List<Double> page = remaining.subList(0, Math.min(remaining.size(), Math.max(0, limit - versions.size())));
+    if (!page.isEmpty()) {
+      lastVersion = page.get(page.size() - 1).toString();
+      List<String> extensions =
+          page.stream().map(v -> EntityUtil.getVersionExtension(entityType, v)).collect(Collectors.toList());
+      Map<String, ExtensionRecord> records = new HashMap<>();
+      daoCollection
+          .entityExtensionDAO()
+          .getExtensionsWithSchema(id.toString(), extensions)
+          .forEach(r -> records.put(r.getExtensionName(), r));
+
+      // Full versions the deltas in the page are based on, read in one query
+      Map<String, String> fullVersions = new HashMap<>();
+      records.values().stream()
+          .filter(r -> !VERSION_DELTA_SCHEMA.equals(r.getExtensionSchema()))
+          .forEach(r -> fullVersions.put(r.getExtensionName(), r.getExtensionJson()));
+      List<String> baseExtensions =
+          records.values().stream()
+              .filter(r -> VERSION_DELTA_SCHEMA.equals(r.getExtensionSchema()))
+              .map(r -> getVersionDeltaBase(JsonUtils.readJson(r.getExtensionJson()).asJsonObject()))
+              .filter(e -> !fullVersions.containsKey(e))
+              .distinct()
+              .collect(Collectors.toList());
+      if (!baseExtensions.isEmpty()) {
+        daoCollection
+            .entityExtensionDAO()
+            .getExtensionsWithSchema(id.toString(), baseExtensions)
+            .forEach(r -> fullVersions.put(r.getExtensionName(), r.getExtensionJson()));
+      }
+      for (String extension : extensions) {
+        ExtensionRecord record = records.get(extension);
+        if (record != null) {
+          versions.add(getVersionJson(id, record, fullVersions));
+        }
+      }
+    }
+
+    String afterCursor = page.size() < remaining.size() ? lastVersion : null;
+    return new EntityHistory()
+        .withEntityType(entityType)
+        .withVersions(versions)
+        .withPaging(new Paging().withAfter(afterCursor).withTotal(oldVersions.size() + 1));
+  }
+
+  private static Double parseVersionCursor(String after) {
+    try {
+      return Double.parseDouble(after);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(CatalogExceptionMessage.invalidVersionCursor(after));
+    }
+  }
+
+  /** Returns the JSON of a stored version, applying the patch to the full version it is based on for deltas. */
+  private String getVersionJson(UUID id, ExtensionRecord record, Map<String, String> fullVersions) {
+    if (!VERSION_DELTA_SCHEMA.equals(record.getExtensionSchema())) {
+      return record.getExtensionJson();
+    }
+    JsonObject delta = JsonUtils.readJson(record.getExtensionJson()).asJsonObject();
+    String baseExtension = getVersionDeltaBase(delta);
+    String base =
+        fullVersions.computeIfAbsent(
+            baseExtension, e -> daoCollection.entityExtensionDAO().getExtension(id.toString(), e));
+    if (base == null) {
+      throw new UnhandledServerException(
+          String.format("Version %s of %s %s is missing", baseExtension, entityType, id));
+    }
+    JsonPatch patch = Json.createPatch(delta.getJsonArray(VERSION_DELTA_PATCH));
+    return patch.apply(JsonUtils.readJson(base).asJsonObject()).toString();
+  }
+
+  private String getVersionDeltaBase(JsonObject delta) {
+    return EntityUtil.getVersionExtension(entityType, delta.getJsonNumber(VERSION_DELTA_BASE).doubleValue());
+  }
+
+  /**
+   * Encode a version of the entity that is being moved to the version history as a JSON patch against the latest full
+   * version stored before it. Returns null when the version must be stored in full instead: there is no earlier full
+   * version, {@link #VERSION_CHECKPOINT_INTERVAL} versions were stored since it, or the patch is not much smaller than
+   * the entity.
+   */
+  private String getVersionDelta(UUID id, Double version, String json) {
     String extensionPrefix = EntityUtil.getVersionExtensionPrefix(entityType);
-    List<ExtensionRecord> records = daoCollection.entityExtensionDAO().getExtensions(id.toString(), extensionPrefix);
-    List<EntityVersionPair> oldVersions = new ArrayList<>();
-    records.forEach(r -> oldVersions.add(new EntityVersionPair(r)));
-    oldVersions.sort(EntityUtil.compareVersion.reversed());
+    List<ExtensionRecord> records =
+        daoCollection.entityExtensionDAO().getExtensionSchemas(id.toString(), extensionPrefix);
+    records.sort(Comparator.comparing(r -> EntityUtil.getVersion(r.getExtensionName())));
+
+    Double baseVersion = null;
+    int deltas = 0;
+    for (ExtensionRecord record : records) {
+      Double recordVersion = EntityUtil.getVersion(record.getExtensionName());
+      if (recordVersion >= version) {
+        return null; // Version history is being rewritten, don't base anything on it
+      }
+      if (VERSION_DELTA_SCHEMA.equals(record.getExtensionSchema())) {
+        deltas++;
+      } else {
+        baseVersion = recordVersion;
+        deltas = 0;
+      }
+    }
+    if (baseVersion == null || deltas + 1 >= VERSION_CHECKPOINT_INTERVAL) {
+      return null;
+    }
 
-    final List<Object> allVersions = new ArrayList<>();
-    allVersions.add(JsonUtils.pojoToJson(latest));
-    oldVersions.forEach(version -> allVersions.add(version.getEntityJson()));
-    return new EntityHistory().withEntityType(entityType).withVersions(allVersions);
+    String baseExtension = EntityUtil.getVersionExtension(entityType, baseVersion);
+    String baseJson = daoCollection.entityExtensionDAO().getExtension(id.toString(), baseExtension);
+    JsonObject base = JsonUtils.readJson(baseJson).asJsonObject();
+    JsonObject target = JsonUtils.readJson(json).asJsonObject();
+    JsonPatch patch = Json.createDiff(base, target);
+    try {
+      // Only store patches that reproduce the version exactly
+      if (!target.equals(patch.apply(base))) {
+        return null;
+      }
+    } catch (Exception e) {
+      LOG.debug("Storing version {} of {} {} in full, patch could not be applied", version, entityType, id, e);
+      return null;
+    }
+    JsonArray operations = patch.toJsonArray();
+    if (operations.toString().length() > json.length() / 2) {
+      return null;
+    }
+    return Json.createObjectBuilder()
+        .add(VERSION_DELTA_BASE, baseVersion)
+        .add(VERSION_DELTA_PATCH, operations)
+        .build()
+        .toString();
   }
 
   public final T create(UriInfo uriInfo, T entity) throws IOException {
@@ -558,6 +775,66 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return entity;
   }
 
+  /**
+   * Set the requested fields for a page of entities. Relationships and tags of all the entities in the page are fetched
+   * in bulk with a few queries, instead of separate queries per entity, and are served from memory while the fields of
+   * each entity are set.
+   */
+  List<T> setFieldsInBulk(Fields fields, List<T> entities) throws IOException {
+    prefetchFields(fields, entities);
+    try {
+      for (T entity : entities) {
+        setFieldsInternal(entity, fields);
+      }
+    } finally {
+      batchFields.remove();
+    }
+    return entities;
+  }
+
+  private void prefetchFields(Fields fields, List<T> entities) {
+    if (entities.isEmpty()) {
+      return;
+    }
+    // Container relationship is used by most entities to set the default fields
+    List<Integer> relations = new ArrayList<>();
+    relations.add(Relationship.CONTAINS.ordinal());
+    if (supportsOwner && fields.contains(FIELD_OWNER)) {
+      relations.add(Relationship.OWNS.ordinal());
+    }
+    if (supportsFollower && fields.contains(FIELD_FOLLOWERS)) {
+      relations.add(Relationship.FOLLOWS.ordinal());
+    }
+    if (supportsVotes && fields.contains(FIELD_VOTES)) {
+      relations.add(Relationship.VOTED.ordinal());
+    }
+    boolean fetchTags = supportsTags && fields.contains(FIELD_TAGS);
+    BatchFields batch = new BatchFields(relations, fetchTags && hasFieldTags());
+
+    for (List<T> chunk : Lists.partition(entities, BatchFields.BATCH_SIZE)) {
+      List<String> ids = new ArrayList<>(chunk.size());
+      List<String> fqnHashes = new ArrayList<>(chunk.size());
+      for (T entity : chunk) {
+        ids.add(entity.getId().toString());
+        fqnHashes.add(FullyQualifiedName.buildHash(entity.getFullyQualifiedName()));
+      }
+      batch.addRelationships(ids, daoCollection.relationshipDAO().findFromBatch(ids, entityType, relations));
+      if (fetchTags) {
+        List<String> prefixes = batch.fieldTagsFetched ? fqnHashes : Collections.emptyList();
+        batch.addTags(fqnHashes, daoCollection.tagUsageDAO().getTagsByTargets(fqnHashes, prefixes));
+      }
+    }
+    batchFields.set(batch);
+  }
+
+  /**
+   * Override this to return true when the fields nested under an entity, such as table columns, carry their own tags.
+   * When listing entities with tags, the tags of the nested fields are then fetched in bulk along with entity tags.
+   */
+  protected boolean hasFieldTags() {
+    return false;
+  }
+
   public final PutResponse<T> createOrUpdate(UriInfo uriInfo, T updated) throws IOException {
     PutResponse<T> response = createOrUpdateInternal(uriInfo, updated);
     if (response.getStatus() == Status.CREATED) {
@@ -748,6 +1025,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     deleteChildren(original.getId(), recursive, hardDelete, updatedBy);
 
+    return deleteWithoutChildren(updatedBy, original, hardDelete);
+  }
+
+  private DeleteResponse<T> deleteWithoutChildren(String updatedBy, T original, boolean hardDelete)
+      throws IOException {
     String changeType;
     T updated = JsonUtils.readValue(JsonUtils.pojoToJson(original), entityClass);
     setFieldsInternal(updated, putFields); // we need service, database, databaseSchema to delete properly from ES.
@@ -809,6 +1091,88 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * Delete entities of this type whose contained entities are already deleted, as the delete jobs do level by level
+   * from the bottom of the containment hierarchy. Hard deleted entities are cleaned up together with batched
+   * statements, without loading their relationships. Soft deleted entities are versioned one at a time through the
+   * entity updater, skipping the entities already soft deleted. Returns the change events of the deleted entities.
+   */
+  public final List<ChangeEvent> deleteBatch(String updatedBy, List<UUID> ids, boolean hardDelete)
+      throws IOException {
+    List<ChangeEvent> changeEvents = new ArrayList<>(ids.size());
+    if (supportsSoftDelete && !hardDelete) {
+      for (UUID id : ids) {
+        T original = dao.findEntityById(id, ALL);
+        if (Boolean.TRUE.equals(original.getDeleted())) {
+          continue;
+        }
+        checkSystemEntityDeletion(original);
+        preDelete(original);
+        setFieldsInternal(original, putFields);
+        DeleteResponse<T> response = deleteWithoutChildren(updatedBy, original, false);
+        postDelete(response.getEntity());
+        changeEvents.add(
+            getDeleteChangeEvent(
+                updatedBy, response.getEntity(), original.getVersion(), EventType.ENTITY_SOFT_DELETED));
+      }
+      return changeEvents;
+    }
+    List<T> entities = JsonUtils.readObjects(dao.findJsonByIds(ids), entityClass);
+    for (T entity : entities) {
+      checkSystemEntityDeletion(entity);
+      preDelete(entity);
+    }
+    cleanup(entities);
+    for (T entity : entities) {
+      postDelete(entity);
+      changeEvents.add(getDeleteChangeEvent(updatedBy, entity, entity.getVersion(), EventType.ENTITY_DELETED));
+    }
+    return changeEvents;
+  }
+
+  private ChangeEvent getDeleteChangeEvent(String updatedBy, T entity, Double previousVersion, EventType eventType) {
+    return new ChangeEvent()
+        .withEntity(entity)
+        .withEventType(eventType)
+        .withEntityType(entityType)
+        .withEntityId(entity.getId())
+        .withEntityFullyQualifiedName(entity.getFullyQualifiedName())
+        .withUserName(updatedBy)
+        .withTimestamp(System.currentTimeMillis())
+        .withCurrentVersion(entity.getVersion())
+        .withPreviousVersion(previousVersion);
+  }
+
+  /**
+   * Same as {@link #cleanup(EntityInterface)} for a batch of entities, with one statement per table. The statements run
+   * in one transaction, so that a failed batch leaves no entity half deleted.
+   */
+  protected void cleanup(List<T> entities) throws IOException {
+    if (entities.isEmpty()) {
+      return;
+    }
+    List<String> ids = new ArrayList<>(entities.size());
+    List<String> fqnHashes = new ArrayList<>(entities.size());
+    List<String> fqnPrefixes = new ArrayList<>(entities.size());
+    for (T entity : entities) {
+      String fqnHash = FullyQualifiedName.buildHash(entity.getFullyQualifiedName());
+      ids.add(entity.getId().toString());
+      fqnHashes.add(fqnHash);
+      fqnPrefixes.add(fqnHash + Entity.SEPARATOR + "%");
+    }
+    daoCollection.runInTransaction(
+        txDao -> {
+          txDao.relationshipDAO().deleteAll(ids);
+          txDao.fieldRelationshipDAO().deleteAllByPrefixes(fqnPrefixes);
+          // Also removes the extension data storing custom properties
+          txDao.entityExtensionDAO().deleteAll(ids);
+          txDao.tagUsageDAO().deleteTagLabelsByTargetPrefixes(fqnHashes);
+          txDao.usageDAO().delete(ids);
+          txDao.deleteEntities(dao.getTableName(), ids);
+        });
+    entities.forEach(entity -> EntityCache.getInstance().invalidate(entity.getId()));
+  }
+
   protected void cleanup(T entityInterface) throws IOException {
     String id = entityInterface.getId().toString();
 
@@ -875,13 +1239,33 @@ public abstract class EntityRepository<T extends EntityInterface> {
   }
 
   private T createNewEntity(T entity) throws IOException {
-    storeEntity(entity, false);
-    storeExtension(entity);
-    storeRelationships(entity);
+    // Writes of nested creates are flushed by the outermost create
+    boolean outermost = batchWrites.get() == null;
+    if (outermost) {
+      batchWrites.set(new BatchWrites());
+    }
+    try {
+      storeEntity(entity, false);
+      storeExtension(entity);
+      storeRelationships(entity);
+      flushBatchWrites();
+    } finally {
+      if (outermost) {
+        batchWrites.remove();
+      }
+    }
     setInheritedFields(entity);
     return entity;
   }
 
+  /** Write the relationships, tags and extensions deferred so far. Called before reading or deleting them. */
+  protected void flushBatchWrites() {
+    BatchWrites batch = batchWrites.get();
+    if (batch != null) {
+      batch.flush(daoCollection);
+    }
+  }
+
   protected void store(T entity, boolean update) throws JsonProcessingException {
     // Don't store owner, database, href and tags as JSON. Build it on the fly based on relationships
     entity.withHref(null);
@@ -933,6 +1317,46 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * Store the time series records of several entities, such as the profiles of the columns of a table. Instead of a
+   * lookup and a write per record, the records already stored are found with one query per extension and timestamp,
+   * and the inserts and the updates are each sent as one batch. As when storing the records one by one, the last record
+   * of an entity at a timestamp wins.
+   */
+  protected void storeTimeSeriesBatch(List<EntityExtensionTimeSeriesObject> records) {
+    Map<Pair<String, Long>, Map<String, EntityExtensionTimeSeriesObject>> recordsByTimestamp = new LinkedHashMap<>();
+    for (EntityExtensionTimeSeriesObject record : records) {
+      recordsByTimestamp
+          .computeIfAbsent(Pair.of(record.getExtension(), record.getTimestamp()), k -> new LinkedHashMap<>())
+          .put(record.getEntityFQNHash(), record);
+    }
+    List<EntityExtensionTimeSeriesObject> inserts = new ArrayList<>();
+    List<EntityExtensionTimeSeriesObject> updates = new ArrayList<>();
+    for (Entry<Pair<String, Long>, Map<String, EntityExtensionTimeSeriesObject>> entry :
+        recordsByTimestamp.entrySet()) {
+      Map<String, EntityExtensionTimeSeriesObject> recordsByFqnHash = entry.getValue();
+      Set<String> stored =
+          new HashSet<>(
+              daoCollection
+                  .entityExtensionTimeSeriesDao()
+                  .getEntityFQNHashesAtTimestamp(
+                      new ArrayList<>(recordsByFqnHash.keySet()), entry.getKey().getLeft(), entry.getKey().getRight()));
+      for (EntityExtensionTimeSeriesObject record : recordsByFqnHash.values()) {
+        if (stored.contains(record.getEntityFQNHash())) {
+          updates.add(record);
+        } else {
+          inserts.add(record);
+        }
+      }
+    }
+    if (!inserts.isEmpty()) {
+      daoCollection.entityExtensionTimeSeriesDao().insertBatch(inserts);
+    }
+    if (!updates.isEmpty()) {
+      daoCollection.entityExtensionTimeSeriesDao().updateBatch(updates);
+    }
+  }
+
   public String getExtensionAtTimestamp(String fullyQualifiedName, String extension, Long timestamp) {
     String fqnHash = FullyQualifiedName.buildHash(fullyQualifiedName);
     return daoCollection.entityExtensionTimeSeriesDao().getExtensionAtTimestamp(fqnHash, extension, timestamp);
@@ -1027,17 +1451,30 @@ public abstract class EntityRepository<T extends EntityInterface> {
   private void storeCustomProperty(EntityInterface entity, String fieldName, JsonNode value)
       throws JsonProcessingException {
     String fieldFQN = TypeRegistry.getCustomPropertyFQN(entityType, fieldName);
+    BatchWrites batch = batchWrites.get();
+    if (batch != null) {
+      batch.extensions.add(
+          EntityExtensionObject.builder()
+              .id(entity.getId().toString())
+              .extension(fieldFQN)
+              .jsonSchema("customFieldSchema")
+              .json(JsonUtils.pojoToJson(value))
+              .build());
+      return;
+    }
     daoCollection
         .entityExtensionDAO()
         .insert(entity.getId().toString(), fieldFQN, "customFieldSchema", JsonUtils.pojoToJson(value));
   }
 
   private void removeCustomProperty(EntityInterface entity, String fieldName) {
+    flushBatchWrites();
     String fieldFQN = TypeRegistry.getCustomPropertyFQN(entityType, fieldName);
     daoCollection.entityExtensionDAO().delete(entity.getId().toString(), fieldFQN);
   }
 
   public ObjectNode getExtension(T entity) throws JsonProcessingException {
+    flushBatchWrites();
     String fieldFQNPrefix = TypeRegistry.getCustomPropertyFQNPrefix(entityType);
     List<ExtensionRecord> records =
         daoCollection.entityExtensionDAO().getExtensions(entity.getId().toString(), fieldFQNPrefix);
@@ -1098,6 +1535,19 @@ public abstract class EntityRepository<T extends EntityInterface> {
       }
 
       // Apply tagLabel to targetFQN that identifies an entity or field
+      BatchWrites batch = batchWrites.get();
+      if (batch != null) {
+        batch.tagUsages.add(
+            TagUsageObject.builder()
+                .source(tagLabel.getSource().ordinal())
+                .tagFQN(tagLabel.getTagFQN())
+                .tagFQNHash(FullyQualifiedName.buildHash(tagLabel.getTagFQN()))
+                .targetFQNHash(FullyQualifiedName.buildHash(targetFQN))
+                .labelType(tagLabel.getLabelType().ordinal())
+                .state(tagLabel.getState().ordinal())
+                .build());
+        continue;
+      }
       daoCollection
           .tagUsageDAO()
           .applyTag(
@@ -1123,7 +1573,18 @@ public abstract class EntityRepository<T extends EntityInterface> {
   }
 
   protected List<TagLabel> getTags(String fqn) {
-    return !supportsTags ? null : daoCollection.tagUsageDAO().getTags(fqn);
+    if (!supportsTags) {
+      return null;
+    }
+    BatchFields batch = batchFields.get();
+    if (batch != null) {
+      List<TagLabel> tags = batch.getTags(FullyQualifiedName.buildHash(fqn));
+      if (tags != null) {
+        return tags;
+      }
+    }
+    flushBatchWrites();
+    return daoCollection.tagUsageDAO().getTags(fqn);
   }
 
   protected List<EntityReference> getFollowers(T entity) throws IOException {
@@ -1218,6 +1679,19 @@ public abstract class EntityRepository<T extends EntityInterface> {
       from = toId;
       to = fromId;
     }
+    BatchWrites batch = batchWrites.get();
+    if (batch != null) {
+      batch.relationships.add(
+          EntityRelationshipObject.builder()
+              .fromId(from.toString())
+              .toId(to.toString())
+              .fromEntity(fromEntity)
+              .toEntity(toEntity)
+              .relation(relationship.ordinal())
+              .json(json)
+              .build());
+      return;
+    }
     daoCollection.relationshipDAO().insert(from, to, fromEntity, toEntity, relationship.ordinal(), json);
   }
 
@@ -1239,6 +1713,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   public List<EntityRelationshipRecord> findFrom(
       UUID toId, String toEntityType, Relationship relationship, String fromEntityType) {
+    flushBatchWrites();
+    BatchFields batch = batchFields.get();
+    if (batch != null && entityType.equals(toEntityType) && batch.hasRelationships(toId, relationship)) {
+      return batch.findFrom(toId, relationship, fromEntityType);
+    }
     return fromEntityType == null
         ? daoCollection.relationshipDAO().findFrom(toId.toString(), toEntityType, relationship.ordinal())
         : daoCollection
@@ -1247,6 +1726,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
   }
 
   public List<EntityRelationshipRecord> findFrom(String toId) {
+    flushBatchWrites();
     return daoCollection.relationshipDAO().findFrom(toId);
   }
 
@@ -1288,6 +1768,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   public final List<EntityRelationshipRecord> findTo(
       UUID fromId, String fromEntityType, Relationship relationship, String toEntityType) {
+    flushBatchWrites();
     return daoCollection
         .relationshipDAO()
         .findTo(fromId.toString(), fromEntityType, relationship.ordinal(), toEntityType);
@@ -1295,17 +1776,20 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   public void deleteRelationship(
       UUID fromId, String fromEntityType, UUID toId, String toEntityType, Relationship relationship) {
+    flushBatchWrites();
     daoCollection
         .relationshipDAO()
         .delete(fromId.toString(), fromEntityType, toId.toString(), toEntityType, relationship.ordinal());
   }
 
   public void deleteTo(UUID toId, String toEntityType, Relationship relationship, String fromEntityType) {
+    flushBatchWrites();
     daoCollection.relationshipDAO().deleteTo(toId.toString(), toEntityType, relationship.ordinal(), fromEntityType);
   }
 
   public void deleteFrom(UUID fromId, String fromEntityType, Relationship relationship, String toEntityType) {
     // Remove relationships from original
+    flushBatchWrites();
     daoCollection.relationshipDAO().deleteFrom(fromId.toString(), fromEntityType, relationship.ordinal(), toEntityType);
   }
 
@@ -1460,6 +1944,124 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return entity.getTags();
   }
 
+  /** Relationships, tags and extensions of the entities being created, waiting to be written in batches */
+  static class BatchWrites {
+    private final List<EntityRelationshipObject> relationships = new ArrayList<>();
+    private final List<TagUsageObject> tagUsages = new ArrayList<>();
+    private final List<EntityExtensionObject> extensions = new ArrayList<>();
+
+    void flush(CollectionDAO daoCollection) {
+      if (!relationships.isEmpty()) {
+        daoCollection.relationshipDAO().insertBatch(relationships);
+        relationships.clear();
+      }
+      if (!tagUsages.isEmpty()) {
+        daoCollection.tagUsageDAO().applyTagsBatch(tagUsages);
+        tagUsages.clear();
+      }
+      if (!extensions.isEmpty()) {
+        daoCollection.entityExtensionDAO().insertBatch(extensions);
+        extensions.clear();
+      }
+    }
+  }
+
+  /**
+   * Relationships and tags of a page of entities fetched in bulk. Lookups for entities, relationships, or fields that
+   * were not fetched return null and the callers fall back to querying the database.
+   */
+  static class BatchFields {
+    static final int BATCH_SIZE = 500;
+    private final Set<Integer> relations;
+    private final boolean fieldTagsFetched;
+    private final Set<UUID> relationshipIds = new HashSet<>();
+    private final Map<UUID, List<EntityRelationshipObject>> fromRecords = new HashMap<>();
+    private final Set<String> tagTargets = new HashSet<>();
+    private final Map<String, List<TagLabel>> tags = new HashMap<>();
+
+    BatchFields(List<Integer> relations, boolean fieldTagsFetched) {
+      this.relations = new HashSet<>(relations);
+      this.fieldTagsFetched = fieldTagsFetched;
+    }
+
+    void addRelationships(List<String> toIds, List<EntityRelationshipObject> records) {
+      toIds.forEach(id -> relationshipIds.add(UUID.fromString(id)));
+      for (EntityRelationshipObject entityRelationship : records) {
+        fromRecords
+            .computeIfAbsent(UUID.fromString(entityRelationship.getToId()), k -> new ArrayList<>())
+            .add(entityRelationship);
+      }
+    }
+
+    void addTags(List<String> targetFQNHashes, List<Pair<String, TagLabel>> tagLabels) {
+      tagTargets.addAll(targetFQNHashes);
+      for (Pair<String, TagLabel> tagLabel : tagLabels) {
+        tags.computeIfAbsent(tagLabel.getLeft(), k -> new ArrayList<>()).add(tagLabel.getRight());
+      }
+    }
+
+    boolean hasRelationships(UUID toId, Relationship relationship) {
+      return relations.contains(relationship.ordinal()) && relationshipIds.contains(toId);
+    }
+
+    List<EntityRelationshipRecord> findFrom(UUID toId, Relationship relationship, String fromEntityType) {
+      List<EntityRelationshipRecord> records = new ArrayList<>();
+      for (EntityRelationshipObject entityRelationship : fromRecords.getOrDefault(toId, Collections.emptyList())) {
+        if (entityRelationship.getRelation() == relationship.ordinal()
+            && (fromEntityType == null || fromEntityType.equals(entityRelationship.getFromEntity()))) {
+          records.add(
+              EntityRelationshipRecord.builder()
+                  .id(UUID.fromString(entityRelationship.getFromId()))
+                  .type(entityRelationship.getFromEntity())
+                  .json(entityRelationship.getJson())
+                  .build());
+        }
+      }
+      return records;
+    }
+
+    /** Returns the tags of a target, or null when the tags of the target were not fetched in this batch */
+    List<TagLabel> getTags(String targetFQNHash) {
+      if (!isTagTargetFetched(targetFQNHash)) {
+        return null;
+      }
+      List<TagLabel> labels = tags.get(targetFQNHash);
+      if (labels == null) {
+        return new ArrayList<>();
+      }
+      // Return copies as the callers may modify the tag labels
+      List<TagLabel> copies = new ArrayList<>(labels.size());
+      for (TagLabel label : labels) {
+        copies.add(
+            new TagLabel()
+                .withTagFQN(label.getTagFQN())
+                .withSource(label.getSource())
+                .withLabelType(label.getLabelType())
+                .withState(label.getState())
+                .withDescription(label.getDescription()));
+      }
+      return copies;
+    }
+
+    private boolean isTagTargetFetched(String targetFQNHash) {
+      if (tagTargets.contains(targetFQNHash)) {
+        return true;
+      }
+      if (!fieldTagsFetched) {
+        return false;
+      }
+      // Nested field FQN hashes start with the FQN hash of the entity followed by the separator
+      int index = targetFQNHash.lastIndexOf(Entity.SEPARATOR);
+      while (index > 0) {
+        if (tagTargets.contains(targetFQNHash.substring(0, index))) {
+          return true;
+        }
+        index = targetFQNHash.lastIndexOf(Entity.SEPARATOR, index - 1);
+      }
+      return false;
+    }
+  }
+
   public enum Operation {
     PUT,
     PATCH,
@@ -1589,6 +2191,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
       }
 
       // Remove current entity tags in the database. It will be added back later from the merged tag list.
+      flushBatchWrites();
       daoCollection.tagUsageDAO().deleteTagsByTarget(FullyQualifiedName.buildHash(fqn));
 
       if (operation.isPut()) {
@@ -1598,6 +2201,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
       }
 
       // Remove current entity tags in the database. It will be added back later from the merged tag list.
+      flushBatchWrites();
       daoCollection.tagUsageDAO().deleteTagsByTarget(fqn);
 
       List<TagLabel> addedTags = new ArrayList<>();
@@ -1888,9 +2492,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     private void storeOldVersion() throws JsonProcessingException {
       String extensionName = EntityUtil.getVersionExtension(entityType, original.getVersion());
-      daoCollection
-          .entityExtensionDAO()
-          .insert(original.getId().toString(), extensionName, entityType, JsonUtils.pojoToJson(original));
+      String json = JsonUtils.pojoToJson(original);
+      String delta = getVersionDelta(original.getId(), original.getVersion(), json);
+      if (delta != null) {
+        daoCollection
+            .entityExtensionDAO()
+            .insert(original.getId().toString(), extensionName, VERSION_DELTA_SCHEMA, delta);
+        return;
+      }
+      daoCollection.entityExtensionDAO().insert(original.getId().toString(), extensionName, entityType, json);
     }
 
     private void storeNewVersion() throws IOException {
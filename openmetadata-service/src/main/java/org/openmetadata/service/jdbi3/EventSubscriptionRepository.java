@@ -15,7 +15,6 @@ package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.schema.api.events.CreateEventSubscription.SubscriptionType.ACTIVITY_FEED;
 
-import com.lmax.disruptor.BatchEventProcessor;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
@@ -27,6 +26,7 @@ import org.openmetadata.schema.entity.events.EventFilterRule;
 import org.openmetadata.schema.entity.events.EventSubscription;
 import org.openmetadata.schema.entity.events.SubscriptionStatus;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.events.EventLogProcessor;
 import org.openmetadata.service.events.EventPubSub;
 import org.openmetadata.service.events.scheduled.ReportsHandler;
 import org.openmetadata.service.events.subscription.AlertUtil;
@@ -105,7 +105,8 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
           eventSubscription.setStatusDetails(getSubscriptionStatusAtCurrentTime(SubscriptionStatus.Status.DISABLED));
         } else {
           eventSubscription.setStatusDetails(getSubscriptionStatusAtCurrentTime(SubscriptionStatus.Status.ACTIVE));
-          BatchEventProcessor<EventPubSub.ChangeEventHolder> processor = EventPubSub.addEventHandler(publisher);
+          EventLogProcessor processor =
+              EventPubSub.addEventLogHandler(eventSubscription.getId().toString(), publisher, daoCollection);
           publisher.setProcessor(processor);
         }
         subscriptionPublisherMap.put(eventSubscription.getId(), publisher);
@@ -148,8 +149,8 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
           previousPublisher.updateEventSubscription(eventSubscription);
           if (status != SubscriptionStatus.Status.ACTIVE && status != SubscriptionStatus.Status.AWAITING_RETRY) {
             // Restart the previously stopped publisher (in states notStarted, error, retryLimitReached)
-            BatchEventProcessor<EventPubSub.ChangeEventHolder> processor =
-                EventPubSub.addEventHandler(previousPublisher);
+            EventLogProcessor processor =
+                EventPubSub.addEventLogHandler(eventSubscription.getId().toString(), previousPublisher, daoCollection);
             previousPublisher.setProcessor(processor);
             LOG.info("Webhook publisher restarted for {}", eventSubscription.getName());
           }
@@ -171,9 +172,8 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
       throws InterruptedException {
     SubscriptionPublisher publisher = subscriptionPublisherMap.get(id);
     if (publisher != null) {
-      publisher.getProcessor().halt();
+      EventPubSub.removeEventLogProcessor(publisher.getProcessor());
       publisher.awaitShutdown();
-      EventPubSub.removeProcessor(publisher.getProcessor());
       publisher.getEventSubscription().setStatusDetails(reasonForRemoval);
       LOG.info("Webhook publisher deleted for {}", publisher.getEventSubscription().getName());
     }
@@ -185,11 +185,11 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
       case CHANGE_EVENT:
         SubscriptionPublisher publisher = subscriptionPublisherMap.remove(deletedEntity.getId());
         if (publisher != null) {
-          publisher.getProcessor().halt();
+          EventPubSub.removeEventLogProcessor(publisher.getProcessor());
           publisher.awaitShutdown();
-          EventPubSub.removeProcessor(publisher.getProcessor());
           LOG.info("Webhook publisher deleted for {}", publisher.getEventSubscription().getName());
         }
+        daoCollection.changeEventConsumerDAO().delete(deletedEntity.getId().toString());
         break;
       case DATA_INSIGHT_REPORT:
         ReportsHandler.getInstance().deleteDataReportConfig(deletedEntity);
@@ -19,7 +19,6 @@ import static org.openmetadata.schema.type.Include.ALL;
 import static org.openmetadata.schema.type.Relationship.ADDRESSED_TO;
 import static org.openmetadata.schema.type.Relationship.CREATED;
 import static org.openmetadata.schema.type.Relationship.IS_ABOUT;
-import static org.openmetadata.schema.type.Relationship.REPLIED_TO;
 import static org.openmetadata.service.Entity.getEntityRepository;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.ANNOUNCEMENT_INVALID_START_TIME;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.ANNOUNCEMENT_OVERLAP;
@@ -34,10 +33,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import io.jsonwebtoken.lang.Collections;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -48,6 +47,7 @@ import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.json.JSONObject;
 import org.openmetadata.schema.EntityInterface;
@@ -77,7 +77,6 @@ import org.openmetadata.service.formatter.decorators.FeedMessageDecorator;
 import org.openmetadata.service.formatter.decorators.MessageDecorator;
 import org.openmetadata.service.formatter.util.FeedMessage;
 import org.openmetadata.service.resources.feeds.FeedResource;
-import org.openmetadata.service.resources.feeds.FeedUtil;
 import org.openmetadata.service.resources.feeds.MessageParser;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.service.security.AuthorizationException;
@@ -121,6 +120,36 @@ public class FeedRepository {
 
   @Transaction
   public Thread create(Thread thread) throws IOException {
+    create(List.of(thread));
+    return thread;
+  }
+
+  /**
+   * Create the threads, inserting them together. Used for the threads of the change events recorded together. The
+   * threads and their relationships are written in one transaction, so that none of them is stored when it fails.
+   */
+  public void create(List<Thread> threads) throws IOException {
+    List<NewThread> newThreads = new ArrayList<>(threads.size());
+    List<String> jsons = new ArrayList<>(threads.size());
+    for (Thread thread : threads) {
+      newThreads.add(prepareThread(thread));
+      jsons.add(toThreadJson(thread));
+    }
+
+    dao.runInTransaction(
+        txDao -> {
+          // Insert the new threads
+          txDao.feedDAO().insertBatch(jsons);
+          for (NewThread newThread : newThreads) {
+            storeRelationships(txDao, newThread);
+          }
+        });
+    for (NewThread newThread : newThreads) {
+      populateAssignees(newThread.thread);
+    }
+  }
+
+  private NewThread prepareThread(Thread thread) throws IOException {
     // Validate about data entity is valid and get the owner for that entity
     EntityLink about = EntityLink.parse(thread.getAbout());
     EntityRepository<?> repository = Entity.getEntityRepository(about.getEntityType());
@@ -129,7 +158,6 @@ public class FeedRepository {
       field = "id";
     }
     EntityInterface aboutEntity = Entity.getEntity(about, field, ALL);
-    ;
     thread.withEntityId(aboutEntity.getId()); // Add entity id to thread
     EntityReference entityOwner = aboutEntity.getOwner();
 
@@ -152,12 +180,16 @@ public class FeedRepository {
         throw new IllegalArgumentException(ANNOUNCEMENT_OVERLAP);
       }
     }
+    return new NewThread(thread, about, createdByUser, entityOwner);
+  }
 
-    // Insert a new thread
-    dao.feedDAO().insert(JsonUtils.pojoToJson(thread));
+  private static void storeRelationships(CollectionDAO dao, NewThread newThread) {
+    Thread thread = newThread.thread;
+    EntityLink about = newThread.about;
 
     // Add relationship User -- created --> Thread relationship
-    dao.relationshipDAO().insert(createdByUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, CREATED.ordinal());
+    dao.relationshipDAO()
+        .insert(newThread.createdBy.getId(), thread.getId(), Entity.USER, Entity.THREAD, CREATED.ordinal());
 
     // Add field relationship for data asset - Thread -- isAbout ---> entity/entityField
     dao.fieldRelationshipDAO()
@@ -172,26 +204,24 @@ public class FeedRepository {
             null);
 
     // Add the owner also as addressedTo as the entity he owns when addressed, the owner is actually being addressed
+    EntityReference entityOwner = newThread.entityOwner;
     if (entityOwner != null) {
       dao.relationshipDAO()
           .insert(thread.getId(), entityOwner.getId(), Entity.THREAD, entityOwner.getType(), ADDRESSED_TO.ordinal());
     }
 
     // Add mentions to field relationship table
-    storeMentions(thread, thread.getMessage());
-    populateAssignees(thread);
-    return thread;
+    storeMentions(dao, thread, thread.getMessage());
   }
 
   public Thread get(String id) throws IOException {
     Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
-    sortPosts(thread);
-    return thread;
+    return populatePosts(thread);
   }
 
   public Thread getTask(Integer id) throws IOException {
     Thread task = EntityUtil.validate(id.toString(), dao.feedDAO().findByTaskId(id), Thread.class);
-    sortPosts(task);
+    populatePosts(task);
     return populateAssignees(task);
   }
 
@@ -270,12 +300,11 @@ public class FeedRepository {
     task.withStatus(TaskStatus.Closed).withClosedBy(user).withClosedAt(System.currentTimeMillis());
     thread.withTask(task).withUpdatedBy(user).withUpdatedAt(System.currentTimeMillis());
 
-    dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+    dao.feedDAO().update(thread.getId().toString(), toThreadJson(thread));
     addClosingPost(thread, user, closingComment);
-    sortPosts(thread);
   }
 
-  private void storeMentions(Thread thread, String message) {
+  private static void storeMentions(CollectionDAO dao, Thread thread, String message) {
     // Create relationship for users, teams, and other entities that are mentioned in the post
     // Multiple mentions of the same entity is handled by taking distinct mentions
     List<EntityLink> mentions = MessageParser.getEntityLinks(message);
@@ -299,47 +328,38 @@ public class FeedRepository {
   @Transaction
   public Thread addPostToThread(String id, Post post, String userName) throws IOException {
     // Validate the user posting the message
-    User fromUser = SubjectCache.getInstance().getUser(post.getFrom());
+    SubjectCache.getInstance().getUser(post.getFrom());
 
-    // Update the thread with the new post
+    // Append the new post to the posts of the thread and update the posts count of the thread in place
     Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
-    thread.withUpdatedBy(userName).withUpdatedAt(System.currentTimeMillis());
-    FeedUtil.addPost(thread, post);
-    dao.feedDAO().update(id, JsonUtils.pojoToJson(thread));
-
-    // Add relation User -- repliedTo --> Thread
-    // Add relationship from thread to the user entity that is posting a reply
-    boolean relationAlreadyExists = thread.getPosts().stream().anyMatch(p -> p.getFrom().equals(post.getFrom()));
-    if (!relationAlreadyExists) {
-      dao.relationshipDAO().insert(fromUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, REPLIED_TO.ordinal());
-    }
+    long updatedAt = System.currentTimeMillis();
+    dao.threadPostDAO().insert(id, JsonUtils.pojoToJson(post));
+    dao.threadPostDAO().updateThread(id, 1, updatedAt, userName);
 
     // Add mentions into field relationship table
-    storeMentions(thread, post.getMessage());
-    sortPostsInThreads(List.of(thread));
-    return thread;
+    storeMentions(dao, thread, post.getMessage());
+    populatePosts(thread);
+    return thread.withPostsCount(thread.getPosts().size()).withUpdatedBy(userName).withUpdatedAt(updatedAt);
   }
 
-  public Post getPostById(Thread thread, String postId) {
-    Optional<Post> post = thread.getPosts().stream().filter(p -> p.getId().equals(UUID.fromString(postId))).findAny();
-    if (post.isEmpty()) {
+  public Post getPostById(Thread thread, String postId) throws IOException {
+    String json = dao.threadPostDAO().findById(thread.getId().toString(), postId);
+    if (json == null) {
       throw EntityNotFoundException.byMessage(entityNotFound("Post", postId));
     }
-    return post.get();
+    return JsonUtils.readValue(json, Post.class);
   }
 
   @Transaction
   public DeleteResponse<Post> deletePost(Thread thread, Post post, String userName) throws IOException {
-    List<Post> posts = thread.getPosts();
-    // Remove the post to be deleted from the posts list
-    posts = posts.stream().filter(p -> !p.getId().equals(post.getId())).collect(Collectors.toList());
-    thread
-        .withUpdatedAt(System.currentTimeMillis())
-        .withUpdatedBy(userName)
-        .withPosts(posts)
-        .withPostsCount(posts.size());
-    // update the json document
-    dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+    String threadId = thread.getId().toString();
+    long updatedAt = System.currentTimeMillis();
+    if (dao.threadPostDAO().delete(threadId, post.getId().toString()) > 0) {
+      dao.threadPostDAO().updateThread(threadId, -1, updatedAt, userName);
+    }
+    // Remove the deleted post from the posts of the thread
+    thread.getPosts().removeIf(p -> p.getId().equals(post.getId()));
+    thread.withUpdatedAt(updatedAt).withUpdatedBy(userName).withPostsCount(thread.getPosts().size());
     return new DeleteResponse<>(post, RestUtil.ENTITY_DELETED);
   }
 
@@ -353,6 +373,9 @@ public class FeedRepository {
     // Delete all the field relationships to other entities
     dao.fieldRelationshipDAO().deleteAllByPrefix(FullyQualifiedName.buildHash(id));
 
+    // Delete the posts of the thread
+    dao.threadPostDAO().deleteAll(id);
+
     // Finally, delete the entity
     dao.feedDAO().delete(id);
 
@@ -486,7 +509,7 @@ public class FeedRepository {
         total = filteredThreads.getTotalCount();
       }
     }
-    sortAndLimitPosts(threads, limitPosts);
+    populatePosts(threads, limitPosts);
     populateAssignees(threads);
 
     String beforeCursor = null;
@@ -536,18 +559,11 @@ public class FeedRepository {
     // Update the attributes
     populateUserReactions(updated.getReactions());
 
-    // delete the existing post and add the updated post
-    List<Post> posts = thread.getPosts();
-    posts = posts.stream().filter(p -> !p.getId().equals(post.getId())).collect(Collectors.toList());
-    posts.add(updated);
-    thread.withPosts(posts).withUpdatedAt(System.currentTimeMillis()).withUpdatedBy(user);
-
     if (!updated.getReactions().isEmpty()) {
       updated.getReactions().forEach(reaction -> storeReactions(thread, reaction.getUser().getName()));
     }
 
-    sortPosts(thread);
-    String change = patchUpdate(thread, post, updated) ? RestUtil.ENTITY_UPDATED : RestUtil.ENTITY_NO_CHANGE;
+    String change = patchUpdate(thread, post, updated, user) ? RestUtil.ENTITY_UPDATED : RestUtil.ENTITY_NO_CHANGE;
     return new PatchResponse<>(Status.OK, updated, change);
   }
 
@@ -596,7 +612,6 @@ public class FeedRepository {
 
     // Update the attributes
     String change = patchUpdate(original, updated) ? RestUtil.ENTITY_UPDATED : RestUtil.ENTITY_NO_CHANGE;
-    sortPosts(updated);
     Thread updatedHref = FeedResource.addHref(uriInfo, updated);
     return new PatchResponse<>(Status.OK, updatedHref, change);
   }
@@ -645,6 +660,8 @@ public class FeedRepository {
   private void restorePatchAttributes(Thread original, Thread updated) {
     // Patch can't make changes to following fields. Ignore the changes
     updated.withId(original.getId()).withAbout(original.getAbout()).withType(original.getType());
+    // Posts are changed with the post APIs
+    updated.withPosts(original.getPosts()).withPostsCount(original.getPostsCount());
   }
 
   private void restorePatchAttributes(Post original, Post updated) {
@@ -670,17 +687,21 @@ public class FeedRepository {
     // if there is no change, there is no need to apply patch
     if (fieldsChanged(original, updated)) {
       populateUserReactions(updated.getReactions());
-      dao.feedDAO().update(updated.getId().toString(), JsonUtils.pojoToJson(updated));
+      dao.feedDAO().update(updated.getId().toString(), toThreadJson(updated));
       return true;
     }
     return false;
   }
 
-  private boolean patchUpdate(Thread thread, Post originalPost, Post updatedPost) throws JsonProcessingException {
+  private boolean patchUpdate(Thread thread, Post originalPost, Post updatedPost, String user)
+      throws JsonProcessingException {
     // store the updated post
     // if there is no change, there is no need to apply patch
     if (fieldsChanged(originalPost, updatedPost)) {
-      dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+      long updatedAt = System.currentTimeMillis();
+      dao.threadPostDAO().update(updatedPost.getId().toString(), JsonUtils.pojoToJson(updatedPost));
+      dao.threadPostDAO().updateThread(thread.getId().toString(), 0, updatedAt, user);
+      thread.withUpdatedAt(updatedAt).withUpdatedBy(user);
       return true;
     }
     return false;
@@ -712,25 +733,36 @@ public class FeedRepository {
                 || !original.getTask().getAssignees().containsAll(updated.getTask().getAssignees())));
   }
 
-  private void sortPosts(Thread thread) {
-    thread.getPosts().sort(Comparator.comparing(Post::getPostTs));
+  /** Posts are stored in the thread_post table and not in the thread json. */
+  private String toThreadJson(Thread thread) throws JsonProcessingException {
+    List<Post> posts = thread.getPosts();
+    try {
+      return JsonUtils.pojoToJson(thread.withPosts(null));
+    } finally {
+      thread.withPosts(posts);
+    }
   }
 
-  private void sortPostsInThreads(List<Thread> threads) {
-    threads.forEach(this::sortPosts);
+  /** Add all the posts of the thread, in the order of the post timestamp. */
+  private Thread populatePosts(Thread thread) throws IOException {
+    List<String> jsons = dao.threadPostDAO().listByThread(thread.getId().toString());
+    return thread.withPosts(JsonUtils.readObjects(jsons, Post.class));
   }
 
-  /** Limit the number of posts within each thread to the requested limitPosts. */
-  private void sortAndLimitPosts(List<Thread> threads, int limitPosts) {
-    for (Thread t : threads) {
-      List<Post> posts = t.getPosts();
-      sortPosts(t);
-      if (posts.size() > limitPosts) {
-        // Only keep the last "n" number of posts
-        posts = posts.subList(posts.size() - limitPosts, posts.size());
-        t.withPosts(posts);
+  /** Add the last limitPosts posts of each thread, in the order of the post timestamp. */
+  private void populatePosts(List<Thread> threads, int limitPosts) throws IOException {
+    Map<String, List<Post>> postsByThread = new HashMap<>();
+    if (limitPosts > 0 && !threads.isEmpty()) {
+      List<String> threadIds = threads.stream().map(t -> t.getId().toString()).collect(Collectors.toList());
+      for (Pair<String, String> threadPost : dao.threadPostDAO().listLatestByThreads(threadIds, limitPosts)) {
+        postsByThread
+            .computeIfAbsent(threadPost.getLeft(), k -> new ArrayList<>())
+            .add(JsonUtils.readValue(threadPost.getRight(), Post.class));
       }
     }
+    for (Thread thread : threads) {
+      thread.withPosts(postsByThread.getOrDefault(thread.getId().toString(), new ArrayList<>()));
+    }
   }
 
   private String getUserTeamJsonMysql(String userId, List<String> teamIds) {
@@ -904,6 +936,21 @@ public class FeedRepository {
     return null;
   }
 
+  /** A thread being created with the entities it is related to */
+  private static class NewThread {
+    private final Thread thread;
+    private final EntityLink about;
+    private final User createdBy;
+    private final EntityReference entityOwner;
+
+    private NewThread(Thread thread, EntityLink about, User createdBy, EntityReference entityOwner) {
+      this.thread = thread;
+      this.about = about;
+      this.createdBy = createdBy;
+      this.entityOwner = entityOwner;
+    }
+  }
+
   public static class FilteredThreads {
     @Getter private final List<Thread> threads;
     @Getter private final int totalCount;
@@ -13,11 +13,17 @@
 
 package org.openmetadata.service.jdbi3;
 
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.ColumnsEntityInterface;
 import org.openmetadata.schema.api.lineage.AddLineage;
@@ -30,11 +36,20 @@ import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.LineageDetails;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
 
+@Slf4j
 public class LineageRepository {
+  /** Maximum number of nodes returned in the lineage of an entity */
+  private static final int MAX_NODES = 5000;
+  /** Maximum number of upstream and downstream edges returned in the lineage of an entity */
+  private static final int MAX_EDGES = 10000;
+  /** Maximum number of ids bound in a single query */
+  private static final int BATCH_SIZE = 500;
+
   private final CollectionDAO dao;
 
   public LineageRepository(CollectionDAO dao) {
@@ -144,82 +159,157 @@ public class LineageRepository {
   }
 
   private EntityLineage getLineage(EntityReference primary, int upstreamDepth, int downstreamDepth) throws IOException {
-    List<EntityReference> entities = new ArrayList<>();
-    EntityLineage lineage =
-        new EntityLineage()
-            .withEntity(primary)
-            .withNodes(entities)
-            .withUpstreamEdges(new ArrayList<>())
-            .withDownstreamEdges(new ArrayList<>());
-    getUpstreamLineage(primary.getId(), primary.getType(), lineage, upstreamDepth);
-    getDownstreamLineage(primary.getId(), primary.getType(), lineage, downstreamDepth);
-
-    // Remove duplicate nodes
-    lineage.withNodes(lineage.getNodes().stream().distinct().collect(Collectors.toList()));
-    return lineage;
+    LineageGraph graph = new LineageGraph(primary);
+    traverse(graph, primary, upstreamDepth, true);
+    traverse(graph, primary, downstreamDepth, false);
+    if (graph.truncated) {
+      LOG.warn(
+          "Lineage of {} {} truncated at {} nodes and {} edges",
+          primary.getType(),
+          primary.getId(),
+          graph.nodes.size(),
+          graph.edgeKeys.size());
+    }
+    return new EntityLineage()
+        .withEntity(primary)
+        .withNodes(new ArrayList<>(graph.nodes.values()))
+        .withUpstreamEdges(graph.upstreamEdges)
+        .withDownstreamEdges(graph.downstreamEdges);
   }
 
-  private void getUpstreamLineage(UUID id, String entityType, EntityLineage lineage, int upstreamDepth)
-      throws IOException {
-    if (upstreamDepth == 0) {
-      return;
+  /**
+   * Level-synchronous breadth first traversal of the lineage graph in one direction. Relationships of all the nodes in
+   * a level are fetched with a single query and the newly discovered nodes are resolved in bulk. A node is expanded at
+   * most once, so that diamonds and cycles in the graph do not result in the same subgraph being fetched repeatedly.
+   */
+  private void traverse(LineageGraph graph, EntityReference primary, int depth, boolean upstream) throws IOException {
+    Set<UUID> visited = new HashSet<>();
+    visited.add(primary.getId());
+    List<EntityReference> frontier = List.of(primary);
+    for (int level = 0; level < depth && !frontier.isEmpty() && !graph.truncated; level++) {
+      List<EntityRelationshipObject> relationships = findRelationships(frontier, upstream);
+      graph.resolve(relationships, upstream);
+
+      List<EntityReference> nextFrontier = new ArrayList<>();
+      for (EntityRelationshipObject relationship : relationships) {
+        EntityReference neighbor = graph.resolved.get(UUID.fromString(getNeighborId(relationship, upstream)));
+        if (neighbor == null) {
+          continue; // Relationship to an entity that no longer exists
+        }
+        if (graph.addEdge(relationship, neighbor, upstream) && visited.add(neighbor.getId())) {
+          nextFrontier.add(neighbor);
+        }
+      }
+      frontier = nextFrontier;
     }
-    List<EntityRelationshipRecord> records;
-    // pipeline information is not maintained
-    if (entityType.equals(Entity.PIPELINE)) {
-      records = dao.relationshipDAO().findFromPipleine(id.toString(), Relationship.UPSTREAM.ordinal());
-    } else {
-      records = dao.relationshipDAO().findFrom(id.toString(), entityType, Relationship.UPSTREAM.ordinal());
+  }
+
+  private List<EntityRelationshipObject> findRelationships(List<EntityReference> frontier, boolean upstream) {
+    List<EntityRelationshipObject> relationships = new ArrayList<>();
+    List<String> ids = new ArrayList<>();
+    for (EntityReference node : frontier) {
+      if (node.getType().equals(Entity.PIPELINE)) {
+        // pipeline information is not maintained
+        relationships.addAll(findPipelineRelationships(node, upstream));
+      } else {
+        ids.add(node.getId().toString());
+      }
     }
-    final List<EntityReference> upstreamEntityReferences = new ArrayList<>();
-    for (EntityRelationshipRecord entityRelationshipRecord : records) {
-      EntityReference ref =
-          Entity.getEntityReferenceById(
-              entityRelationshipRecord.getType(), entityRelationshipRecord.getId(), Include.ALL);
-      LineageDetails lineageDetails = JsonUtils.readValue(entityRelationshipRecord.getJson(), LineageDetails.class);
-      upstreamEntityReferences.add(ref);
-      lineage
-          .getUpstreamEdges()
-          .add(new Edge().withFromEntity(ref.getId()).withToEntity(id).withLineageDetails(lineageDetails));
+    for (List<String> batch : Lists.partition(ids, BATCH_SIZE)) {
+      relationships.addAll(
+          upstream
+              ? dao.relationshipDAO().findFromBatch(batch, Relationship.UPSTREAM.ordinal())
+              : dao.relationshipDAO().findToBatch(batch, Relationship.UPSTREAM.ordinal()));
     }
-    lineage.getNodes().addAll(upstreamEntityReferences);
-    // from this id ---> find other ids
+    return relationships;
+  }
 
-    upstreamDepth--;
-    // Recursively add upstream nodes and edges
-    for (EntityReference entity : upstreamEntityReferences) {
-      getUpstreamLineage(entity.getId(), entity.getType(), lineage, upstreamDepth);
+  private List<EntityRelationshipObject> findPipelineRelationships(EntityReference pipeline, boolean upstream) {
+    String pipelineId = pipeline.getId().toString();
+    List<EntityRelationshipRecord> records =
+        upstream
+            ? dao.relationshipDAO().findFromPipleine(pipelineId, Relationship.UPSTREAM.ordinal())
+            : dao.relationshipDAO().findToPipeline(pipelineId, Relationship.UPSTREAM.ordinal());
+    List<EntityRelationshipObject> relationships = new ArrayList<>(records.size());
+    for (EntityRelationshipRecord entityRelationshipRecord : records) {
+      String id = entityRelationshipRecord.getId().toString();
+      String type = entityRelationshipRecord.getType();
+      relationships.add(
+          EntityRelationshipObject.builder()
+              .fromId(upstream ? id : pipelineId)
+              .fromEntity(upstream ? type : Entity.PIPELINE)
+              .toId(upstream ? pipelineId : id)
+              .toEntity(upstream ? Entity.PIPELINE : type)
+              .relation(Relationship.UPSTREAM.ordinal())
+              .json(entityRelationshipRecord.getJson())
+              .build());
     }
+    return relationships;
   }
 
-  private void getDownstreamLineage(UUID id, String entityType, EntityLineage lineage, int downstreamDepth)
-      throws IOException {
-    if (downstreamDepth == 0) {
-      return;
-    }
-    List<EntityRelationshipRecord> records;
-    if (entityType.equals(Entity.PIPELINE)) {
-      records = dao.relationshipDAO().findToPipeline(id.toString(), Relationship.UPSTREAM.ordinal());
-    } else {
-      records = dao.relationshipDAO().findTo(id.toString(), entityType, Relationship.UPSTREAM.ordinal());
+  private static String getNeighborId(EntityRelationshipObject relationship, boolean upstream) {
+    return upstream ? relationship.getFromId() : relationship.getToId();
+  }
+
+  private static String getNeighborType(EntityRelationshipObject relationship, boolean upstream) {
+    return upstream ? relationship.getFromEntity() : relationship.getToEntity();
+  }
+
+  /** Nodes and edges collected while traversing the lineage of an entity, bounded by the node and edge budgets */
+  private static class LineageGraph {
+    private final EntityReference primary;
+    private final Map<UUID, EntityReference> resolved = new HashMap<>();
+    private final Map<UUID, EntityReference> nodes = new LinkedHashMap<>();
+    private final Set<String> edgeKeys = new HashSet<>();
+    private final List<Edge> upstreamEdges = new ArrayList<>();
+    private final List<Edge> downstreamEdges = new ArrayList<>();
+    private boolean truncated = false;
+
+    LineageGraph(EntityReference primary) {
+      this.primary = primary;
+      resolved.put(primary.getId(), primary);
     }
-    final List<EntityReference> downstreamEntityReferences = new ArrayList<>();
-    for (EntityRelationshipRecord entityRelationshipRecord : records) {
-      EntityReference ref =
-          Entity.getEntityReferenceById(
-              entityRelationshipRecord.getType(), entityRelationshipRecord.getId(), Include.ALL);
-      LineageDetails lineageDetails = JsonUtils.readValue(entityRelationshipRecord.getJson(), LineageDetails.class);
-      downstreamEntityReferences.add(ref);
-      lineage
-          .getDownstreamEdges()
-          .add(new Edge().withToEntity(ref.getId()).withFromEntity(id).withLineageDetails(lineageDetails));
+
+    /** Resolve the references of the neighbors not seen so far, with one query per entity type */
+    void resolve(List<EntityRelationshipObject> relationships, boolean upstream) throws IOException {
+      Map<String, Set<UUID>> unresolved = new HashMap<>();
+      for (EntityRelationshipObject relationship : relationships) {
+        UUID id = UUID.fromString(getNeighborId(relationship, upstream));
+        if (!resolved.containsKey(id)) {
+          unresolved.computeIfAbsent(getNeighborType(relationship, upstream), k -> new HashSet<>()).add(id);
+        }
+      }
+      for (Map.Entry<String, Set<UUID>> entry : unresolved.entrySet()) {
+        for (List<UUID> batch : Lists.partition(new ArrayList<>(entry.getValue()), BATCH_SIZE)) {
+          resolved.putAll(Entity.getEntityReferencesByIds(entry.getKey(), batch));
+        }
+      }
     }
-    lineage.getNodes().addAll(downstreamEntityReferences);
 
-    downstreamDepth--;
-    // Recursively add upstream nodes and edges
-    for (EntityReference entity : downstreamEntityReferences) {
-      getDownstreamLineage(entity.getId(), entity.getType(), lineage, downstreamDepth);
+    /** Add an edge to the graph. Returns false if the edge is a duplicate or does not fit in the budget. */
+    boolean addEdge(EntityRelationshipObject relationship, EntityReference neighbor, boolean upstream)
+        throws IOException {
+      String edgeKey = (upstream ? "up:" : "down:") + relationship.getFromId() + ":" + relationship.getToId();
+      if (edgeKeys.contains(edgeKey)) {
+        return false;
+      }
+      boolean newNode = !neighbor.getId().equals(primary.getId()) && !nodes.containsKey(neighbor.getId());
+      if (edgeKeys.size() >= MAX_EDGES || (newNode && nodes.size() >= MAX_NODES)) {
+        truncated = true;
+        return false;
+      }
+      if (newNode) {
+        nodes.put(neighbor.getId(), neighbor);
+      }
+      edgeKeys.add(edgeKey);
+      LineageDetails lineageDetails = JsonUtils.readValue(relationship.getJson(), LineageDetails.class);
+      Edge edge =
+          new Edge()
+              .withFromEntity(UUID.fromString(relationship.getFromId()))
+              .withToEntity(UUID.fromString(relationship.getToId()))
+              .withLineageDetails(lineageDetails);
+      (upstream ? upstreamEdges : downstreamEdges).add(edge);
+      return true;
     }
   }
 }
@@ -3,12 +3,17 @@ package org.openmetadata.service.jdbi3;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import lombok.Getter;
 import lombok.Setter;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.StatementException;
 import org.jdbi.v3.sqlobject.SingleValue;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
@@ -79,6 +84,46 @@ public interface MigrationDAO {
       connectionType = POSTGRES)
   List<String> getServerMigrationSQLWithVersion(@Bind("version") String version);
 
+  @ConnectionAwareSqlQuery(
+      value =
+          "SELECT lastKey, rowCount, completed FROM SERVER_MIGRATION_CHECKPOINT "
+              + "WHERE version = :version AND name = :name",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value =
+          "SELECT lastKey, rowCount, completed FROM SERVER_MIGRATION_CHECKPOINT "
+              + "WHERE version = :version AND name = :name",
+      connectionType = POSTGRES)
+  @RegisterRowMapper(MigrationCheckpointMapper.class)
+  MigrationCheckpoint getMigrationCheckpoint(@Bind("version") String version, @Bind("name") String name);
+
+  @ConnectionAwareSqlUpdate(
+      value =
+          "INSERT INTO SERVER_MIGRATION_CHECKPOINT (version, name, lastKey, rowCount, completed, updatedAt) "
+              + "VALUES (:version, :name, :lastKey, :rowCount, :completed, CURRENT_TIMESTAMP) "
+              + "ON DUPLICATE KEY UPDATE "
+              + "lastKey = :lastKey, "
+              + "rowCount = :rowCount, "
+              + "completed = :completed, "
+              + "updatedAt = CURRENT_TIMESTAMP",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value =
+          "INSERT INTO SERVER_MIGRATION_CHECKPOINT (version, name, lastKey, rowCount, completed, updatedAt) "
+              + "VALUES (:version, :name, :lastKey, :rowCount, :completed, current_timestamp) "
+              + "ON CONFLICT (version, name) DO UPDATE SET "
+              + "lastKey = EXCLUDED.lastKey, "
+              + "rowCount = EXCLUDED.rowCount, "
+              + "completed = EXCLUDED.completed, "
+              + "updatedAt = EXCLUDED.updatedAt",
+      connectionType = POSTGRES)
+  void upsertMigrationCheckpoint(
+      @Bind("version") String version,
+      @Bind("name") String name,
+      @Bind("lastKey") String lastKey,
+      @Bind("rowCount") long rowCount,
+      @Bind("completed") boolean completed);
+
   @Getter
   @Setter
   class ServerMigrationSQLTable {
@@ -86,4 +131,24 @@ public interface MigrationDAO {
     private String sqlStatement;
     private String checkSum;
   }
+
+  /** Progress of a batched data migration, the key of the last row migrated and the number of rows migrated */
+  @Getter
+  @Setter
+  class MigrationCheckpoint {
+    private String lastKey;
+    private long rowCount;
+    private boolean completed;
+  }
+
+  class MigrationCheckpointMapper implements RowMapper<MigrationCheckpoint> {
+    @Override
+    public MigrationCheckpoint map(ResultSet rs, StatementContext ctx) throws SQLException {
+      MigrationCheckpoint checkpoint = new MigrationCheckpoint();
+      checkpoint.setLastKey(rs.getString("lastKey"));
+      checkpoint.setRowCount(rs.getLong("rowCount"));
+      checkpoint.setCompleted(rs.getBoolean("completed"));
+      return checkpoint;
+    }
+  }
 }
@@ -104,6 +104,11 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
     super.update(task, entityLink, newValue, user);
   }
 
+  @Override
+  protected boolean hasFieldTags() {
+    return true; // Tags are also applied to tasks
+  }
+
   @Override
   public Pipeline setFields(Pipeline pipeline, Fields fields) throws IOException {
     pipeline.setService(getContainer(pipeline.getId()));
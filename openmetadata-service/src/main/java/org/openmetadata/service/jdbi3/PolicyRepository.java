@@ -119,6 +119,12 @@ public class PolicyRepository extends EntityRepository<Policy> {
     PolicyCache.getInstance().invalidatePolicy(policy.getId());
   }
 
+  @Override
+  protected void cleanup(List<Policy> policies) throws IOException {
+    super.cleanup(policies);
+    policies.forEach(policy -> PolicyCache.getInstance().invalidatePolicy(policy.getId()));
+  }
+
   public void validateRules(Policy policy) {
     // Resolve JSON blobs into Rule object and perform schema based validation
     List<Rule> rules = policy.getRules();
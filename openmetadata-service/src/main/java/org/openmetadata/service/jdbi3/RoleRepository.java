@@ -127,6 +127,12 @@ public class RoleRepository extends EntityRepository<Role> {
     RoleCache.getInstance().invalidateRole(role.getId());
   }
 
+  @Override
+  protected void cleanup(List<Role> roles) throws IOException {
+    super.cleanup(roles);
+    roles.forEach(role -> RoleCache.getInstance().invalidateRole(role.getId()));
+  }
+
   /** Handles entity updated from PUT and POST operation. */
   public class RoleUpdater extends EntityUpdater {
     public RoleUpdater(Role original, Role updated, Operation operation) {
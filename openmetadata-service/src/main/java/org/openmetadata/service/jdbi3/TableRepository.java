@@ -34,9 +34,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -75,6 +78,7 @@ import org.openmetadata.schema.type.TaskType;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesObject;
 import org.openmetadata.service.resources.databases.DatabaseUtil;
 import org.openmetadata.service.resources.databases.TableResource;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
@@ -115,6 +119,11 @@ public class TableRepository extends EntityRepository<Table> {
         TABLE_UPDATE_FIELDS);
   }
 
+  @Override
+  protected boolean hasFieldTags() {
+    return true; // Tags are also applied to columns
+  }
+
   @Override
   public Table setFields(Table table, Fields fields) throws IOException {
     setDefaultFields(table);
@@ -321,25 +330,20 @@ public class TableRepository extends EntityRepository<Table> {
     return table;
   }
 
-  private Column getColumnNameForProfiler(List<Column> columnList, ColumnProfile columnProfile, String parentName) {
-    for (Column col : columnList) {
-      String columnName;
-      if (parentName != null) {
-        columnName = String.format("%s.%s", parentName, col.getName());
-      } else {
-        columnName = col.getName();
-      }
-      if (columnName.equals(columnProfile.getName())) {
-        return col;
-      }
-      if (col.getChildren() != null) {
-        Column childColumn = getColumnNameForProfiler(col.getChildren(), columnProfile, columnName);
-        if (childColumn != null) {
-          return childColumn;
-        }
-      }
+  /** Columns of the table by the name used in column profiles, the column name prefixed by the parent column names */
+  private static Map<String, Column> getColumnsByProfilerName(List<Column> columns) {
+    Map<String, Column> columnsByName = new HashMap<>();
+    addColumnsByProfilerName(columns, null, columnsByName);
+    return columnsByName;
+  }
+
+  private static void addColumnsByProfilerName(
+      List<Column> columns, String parentName, Map<String, Column> columnsByName) {
+    for (Column column : listOrEmpty(columns)) {
+      String columnName = parentName == null ? column.getName() : String.format("%s.%s", parentName, column.getName());
+      columnsByName.putIfAbsent(columnName, column);
+      addColumnsByProfilerName(column.getChildren(), columnName, columnsByName);
     }
-    return null;
   }
 
   @Transaction
@@ -359,48 +363,76 @@ public class TableRepository extends EntityRepository<Table> {
         createTableProfile.getTableProfile().getTimestamp(),
         storedTableProfile != null);
 
-    for (ColumnProfile columnProfile : createTableProfile.getColumnProfile()) {
+    Map<String, Column> columnsByName = getColumnsByProfilerName(table.getColumns());
+    List<EntityExtensionTimeSeriesObject> columnProfiles = new ArrayList<>();
+    for (ColumnProfile columnProfile : listOrEmpty(createTableProfile.getColumnProfile())) {
       // Validate all the columns
-      Column column = getColumnNameForProfiler(table.getColumns(), columnProfile, null);
+      Column column = columnsByName.get(columnProfile.getName());
       if (column == null) {
         throw new IllegalArgumentException("Invalid column name " + columnProfile.getName());
       }
-      String storedColumnProfile =
-          getExtensionAtTimestamp(
-              column.getFullyQualifiedName(), TABLE_COLUMN_PROFILE_EXTENSION, columnProfile.getTimestamp());
-      storeTimeSeries(
-          column.getFullyQualifiedName(),
-          TABLE_COLUMN_PROFILE_EXTENSION,
-          "columnProfile",
-          JsonUtils.pojoToJson(columnProfile),
-          columnProfile.getTimestamp(),
-          storedColumnProfile != null);
+      columnProfiles.add(
+          EntityExtensionTimeSeriesObject.builder()
+              .entityFQNHash(FullyQualifiedName.buildHash(column.getFullyQualifiedName()))
+              .extension(TABLE_COLUMN_PROFILE_EXTENSION)
+              .jsonSchema("columnProfile")
+              .json(JsonUtils.pojoToJson(columnProfile))
+              .timestamp(columnProfile.getTimestamp())
+              .build());
     }
+    storeTimeSeriesBatch(columnProfiles);
 
     List<SystemProfile> systemProfiles = createTableProfile.getSystemProfile();
     if (systemProfiles != null && !systemProfiles.isEmpty()) {
-      for (SystemProfile systemProfile : createTableProfile.getSystemProfile()) {
-        String storedSystemProfile =
-            getExtensionAtTimestampWithOperation(
-                table.getFullyQualifiedName(),
-                SYSTEM_PROFILE_EXTENSION,
-                systemProfile.getTimestamp(),
-                systemProfile.getOperation().value());
-        storeTimeSeriesWithOperation(
-            table.getFullyQualifiedName(),
-            SYSTEM_PROFILE_EXTENSION,
-            "systemProfile",
-            JsonUtils.pojoToJson(systemProfile),
-            systemProfile.getTimestamp(),
-            systemProfile.getOperation().value(),
-            storedSystemProfile != null);
-      }
+      storeSystemProfiles(table, systemProfiles);
     }
 
     setFieldsInternal(table, Fields.EMPTY_FIELDS);
     return table.withProfile(createTableProfile.getTableProfile());
   }
 
+  /** Store the system profiles of a table, a system profile is identified by its timestamp and operation */
+  private void storeSystemProfiles(Table table, List<SystemProfile> systemProfiles) throws IOException {
+    String fqnHash = FullyQualifiedName.buildHash(table.getFullyQualifiedName());
+    List<Long> timestamps =
+        systemProfiles.stream().map(SystemProfile::getTimestamp).distinct().collect(Collectors.toList());
+    Set<String> stored = new HashSet<>();
+    for (String json :
+        daoCollection.entityExtensionTimeSeriesDao().listAtTimestamps(fqnHash, SYSTEM_PROFILE_EXTENSION, timestamps)) {
+      SystemProfile storedProfile = JsonUtils.readValue(json, SystemProfile.class);
+      stored.add(storedProfile.getTimestamp() + ":" + storedProfile.getOperation().value());
+    }
+    // Same as storing the profiles one by one, the last profile for a timestamp and operation wins
+    Map<String, EntityExtensionTimeSeriesObject> profiles = new LinkedHashMap<>();
+    for (SystemProfile systemProfile : systemProfiles) {
+      profiles.put(
+          systemProfile.getTimestamp() + ":" + systemProfile.getOperation().value(),
+          EntityExtensionTimeSeriesObject.builder()
+              .entityFQNHash(fqnHash)
+              .extension(SYSTEM_PROFILE_EXTENSION)
+              .jsonSchema("systemProfile")
+              .json(JsonUtils.pojoToJson(systemProfile))
+              .timestamp(systemProfile.getTimestamp())
+              .operation(systemProfile.getOperation().value())
+              .build());
+    }
+    List<EntityExtensionTimeSeriesObject> inserts = new ArrayList<>();
+    List<EntityExtensionTimeSeriesObject> updates = new ArrayList<>();
+    for (Map.Entry<String, EntityExtensionTimeSeriesObject> entry : profiles.entrySet()) {
+      if (stored.contains(entry.getKey())) {
+        updates.add(entry.getValue());
+      } else {
+        inserts.add(entry.getValue());
+      }
+    }
+    if (!inserts.isEmpty()) {
+      daoCollection.entityExtensionTimeSeriesDao().insertBatch(inserts);
+    }
+    if (!updates.isEmpty()) {
+      daoCollection.entityExtensionTimeSeriesDao().updateByOperationBatch(updates);
+    }
+  }
+
   @Transaction
   public void deleteTableProfile(String fqn, String entityType, Long timestamp) throws IOException {
     // Validate the request content
@@ -448,15 +480,25 @@ public class TableRepository extends EntityRepository<Table> {
     return new ResultList<>(systemProfiles, startTs.toString(), endTs.toString(), systemProfiles.size());
   }
 
-  private void setColumnProfile(List<Column> columnList) throws IOException {
+  /** Set the latest profile of all the columns of the table, read with one query instead of one per column */
+  private void setColumnProfile(Table table) throws IOException {
+    Map<String, String> columnProfiles = new HashMap<>();
+    for (Pair<String, String> columnProfile :
+        daoCollection
+            .entityExtensionTimeSeriesDao()
+            .getLatestExtensionByParentFQNHash(
+                FullyQualifiedName.buildHash(table.getFullyQualifiedName()), TABLE_COLUMN_PROFILE_EXTENSION)) {
+      columnProfiles.put(columnProfile.getLeft(), columnProfile.getRight());
+    }
+    setColumnProfile(table.getColumns(), columnProfiles);
+  }
+
+  private void setColumnProfile(List<Column> columnList, Map<String, String> columnProfiles) throws IOException {
     for (Column column : columnList) {
-      ColumnProfile columnProfile =
-          JsonUtils.readValue(
-              getLatestExtensionFromTimeseries(column.getFullyQualifiedName(), TABLE_COLUMN_PROFILE_EXTENSION),
-              ColumnProfile.class);
-      column.setProfile(columnProfile);
+      String json = columnProfiles.get(FullyQualifiedName.buildHash(column.getFullyQualifiedName()));
+      column.setProfile(JsonUtils.readValue(json, ColumnProfile.class));
       if (column.getChildren() != null) {
-        setColumnProfile(column.getChildren());
+        setColumnProfile(column.getChildren(), columnProfiles);
       }
     }
   }
@@ -469,7 +511,7 @@ public class TableRepository extends EntityRepository<Table> {
             getLatestExtensionFromTimeseries(table.getFullyQualifiedName(), TABLE_PROFILE_EXTENSION),
             TableProfile.class);
     table.setProfile(tableProfile);
-    setColumnProfile(table.getColumns());
+    setColumnProfile(table);
 
     // Set the column tags. Will be used to hide the data
     if (!authorizePII) getColumnTags(true, table.getColumns());
@@ -0,0 +1,345 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+import static org.openmetadata.service.Entity.TEAM;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openmetadata.schema.entity.teams.Team;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * In-memory closure of the team hierarchy. Each team gets a dense ordinal, and the ancestors of a team, the team itself
+ * included, are kept as a bitset over the ordinals, so that checking whether a team is under another team is a single
+ * bit lookup instead of a walk up the parents.
+ *
+ * <p>The index is loaded on first use with two queries. It is then updated incrementally by {@link TeamRepository} as
+ * teams are created, moved or deleted on this server: only the ancestors of the team changed and of the teams under it
+ * are recomputed. The index is reloaded after {@link #RELOAD_INTERVAL_MILLIS}, the expiry of the team cache, to pick up
+ * the changes made by the other servers. Teams not yet in the index are loaded when they are looked up, and the ids of
+ * the teams not found are remembered until the index is reloaded.
+ */
+@Slf4j
+public class TeamHierarchyIndex {
+  private static final long RELOAD_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(3);
+  private static final int READ_BATCH_SIZE = 1000;
+  private static final List<Integer> PARENT_OF = List.of(Relationship.PARENT_OF.ordinal());
+
+  private final CollectionDAO daoCollection;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Ordinals of the deleted teams are not reused until the index is reloaded
+  private final Map<UUID, Integer> ordinals = new HashMap<>();
+  private final Map<String, Integer> ordinalsByName = new HashMap<>();
+  private final List<UUID> ids = new ArrayList<>();
+  private final List<String> names = new ArrayList<>();
+  private final List<int[]> parents = new ArrayList<>();
+  private final List<BitSet> ancestors = new ArrayList<>();
+  // Ids of the teams looked up and not found, not read again until the index is reloaded
+  private final Set<UUID> notFound = new HashSet<>();
+  private long loadedAt = 0;
+
+  TeamHierarchyIndex(CollectionDAO daoCollection) {
+    this.daoCollection = daoCollection;
+  }
+
+  /** Return true if the team is the team with the given name or is under it */
+  public boolean isInTeam(String parentTeam, UUID teamId) {
+    ensureLoaded(List.of(teamId));
+    lock.readLock().lock();
+    try {
+      Integer team = ordinals.get(teamId);
+      Integer parent = ordinalsByName.get(parentTeam);
+      return team != null && parent != null && ancestors.get(team).get(parent);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Return the ids of the given teams along with the ids of all their ancestors, each only once */
+  public Set<UUID> getTeamsAndAncestors(List<EntityReference> teams) {
+    List<UUID> teamIds = teams.stream().map(EntityReference::getId).collect(Collectors.toList());
+    ensureLoaded(teamIds);
+    lock.readLock().lock();
+    try {
+      BitSet union = new BitSet();
+      for (UUID teamId : teamIds) {
+        Integer team = ordinals.get(teamId);
+        if (team != null) {
+          union.or(ancestors.get(team));
+        }
+      }
+      Set<UUID> result = new LinkedHashSet<>();
+      union.stream().forEach(ordinal -> result.add(ids.get(ordinal)));
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Update the index for a team created or updated, along with the teams added to or removed from its children */
+  void update(Team team) {
+    lock.writeLock().lock();
+    try {
+      if (loadedAt == 0) {
+        return; // Not loaded yet, the team is read from the database with the others on first use
+      }
+      List<UUID> teamIds = new ArrayList<>();
+      teamIds.add(team.getId());
+      listOrEmpty(team.getChildren()).forEach(child -> teamIds.add(child.getId()));
+      addTeams(teamIds.stream().filter(id -> !ordinals.containsKey(id)).collect(Collectors.toList()));
+      Integer ordinal = ordinals.get(team.getId());
+      if (ordinal == null) {
+        return;
+      }
+      rename(ordinal, team.getName());
+
+      BitSet changed = new BitSet();
+      teamIds.forEach(id -> changed.set(ordinals.get(id)));
+      BitSet affected = withDescendants(changed);
+      loadParents(affected);
+      computeAncestors(affected);
+    } catch (Exception e) {
+      LOG.warn("Failed to update the team hierarchy index for team {}, reloading it", team.getName(), e);
+      loadedAt = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Remove a deleted team from the index. The relationships of the team must already be deleted. */
+  void remove(UUID teamId) {
+    lock.writeLock().lock();
+    try {
+      notFound.add(teamId);
+      Integer ordinal = ordinals.remove(teamId);
+      if (ordinal == null) {
+        return;
+      }
+      BitSet affected = withDescendants(bitOf(ordinal));
+      affected.clear(ordinal);
+      ordinalsByName.remove(names.get(ordinal));
+      ids.set(ordinal, null);
+      names.set(ordinal, null);
+      parents.set(ordinal, new int[0]);
+      ancestors.set(ordinal, new BitSet());
+      loadParents(affected);
+      computeAncestors(affected);
+    } catch (Exception e) {
+      LOG.warn("Failed to remove team {} from the team hierarchy index, reloading it", teamId, e);
+      loadedAt = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void ensureLoaded(List<UUID> teamIds) {
+    lock.readLock().lock();
+    try {
+      if (!isStale() && teamIds.stream().allMatch(id -> ordinals.containsKey(id) || notFound.contains(id))) {
+        return;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    lock.writeLock().lock();
+    try {
+      if (isStale()) {
+        load();
+      }
+      addTeams(
+          teamIds.stream()
+              .filter(id -> !ordinals.containsKey(id) && !notFound.contains(id))
+              .collect(Collectors.toList()));
+    } catch (IOException e) {
+      LOG.warn("Failed to load teams {} into the team hierarchy index", teamIds, e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private boolean isStale() {
+    return System.currentTimeMillis() - loadedAt > RELOAD_INTERVAL_MILLIS;
+  }
+
+  /** Load all the teams along with their parents and compute the ancestors of every team */
+  private void load() {
+    long start = System.currentTimeMillis();
+    ordinals.clear();
+    ordinalsByName.clear();
+    ids.clear();
+    names.clear();
+    parents.clear();
+    ancestors.clear();
+    notFound.clear();
+    for (Pair<String, String> team : daoCollection.teamDAO().listIdAndName()) {
+      addOrdinal(UUID.fromString(team.getLeft()), team.getRight());
+    }
+    Map<Integer, List<Integer>> parentsByTeam = new HashMap<>();
+    for (EntityRelationshipObject relationship :
+        daoCollection.relationshipDAO().findAllBetween(TEAM, TEAM, Relationship.PARENT_OF.ordinal())) {
+      Integer parent = ordinals.get(UUID.fromString(relationship.getFromId()));
+      Integer child = ordinals.get(UUID.fromString(relationship.getToId()));
+      if (parent != null && child != null) {
+        parentsByTeam.computeIfAbsent(child, k -> new ArrayList<>()).add(parent);
+      }
+    }
+    parentsByTeam.forEach((child, teamParents) -> parents.set(child, toArray(teamParents)));
+    BitSet all = new BitSet();
+    all.set(0, ids.size());
+    computeAncestors(all);
+    loadedAt = System.currentTimeMillis();
+    LOG.info("Loaded the team hierarchy index of {} teams in {} ms", ids.size(), loadedAt - start);
+  }
+
+  /** Add the teams not in the index yet along with their missing ancestors, and remember the teams not found */
+  private void addTeams(List<UUID> teamIds) throws IOException {
+    BitSet added = new BitSet();
+    List<UUID> toLoad = teamIds;
+    while (!toLoad.isEmpty()) {
+      BitSet loaded = new BitSet();
+      Set<UUID> found = new HashSet<>();
+      for (Team team : JsonUtils.readObjects(daoCollection.teamDAO().findJsonByIds(toLoad), Team.class)) {
+        found.add(team.getId());
+        notFound.remove(team.getId());
+        if (!ordinals.containsKey(team.getId())) {
+          loaded.set(addOrdinal(team.getId(), team.getName()));
+        }
+      }
+      toLoad.stream().filter(id -> !found.contains(id)).forEach(notFound::add);
+      added.or(loaded);
+      toLoad =
+          loadParents(loaded).stream()
+              .filter(id -> !ordinals.containsKey(id))
+              .distinct()
+              .collect(Collectors.toList());
+    }
+    // Read the parents again, now that the missing parents are added
+    loadParents(added);
+    computeAncestors(added);
+  }
+
+  private int addOrdinal(UUID teamId, String name) {
+    int ordinal = ids.size();
+    ids.add(teamId);
+    names.add(name);
+    parents.add(new int[0]);
+    ancestors.add(bitOf(ordinal));
+    ordinals.put(teamId, ordinal);
+    ordinalsByName.put(name, ordinal);
+    return ordinal;
+  }
+
+  private void rename(int ordinal, String name) {
+    String previous = names.get(ordinal);
+    if (!name.equals(previous)) {
+      ordinalsByName.remove(previous);
+      names.set(ordinal, name);
+      ordinalsByName.put(name, ordinal);
+    }
+  }
+
+  /**
+   * Read the parents of the given teams from the database. Returns the ids of the parents not in the index, which are
+   * left out of the parents of the teams until they are added.
+   */
+  private List<UUID> loadParents(BitSet teams) {
+    List<String> teamIds = new ArrayList<>();
+    teams.stream().forEach(ordinal -> teamIds.add(ids.get(ordinal).toString()));
+    Map<Integer, List<Integer>> parentsByTeam = new HashMap<>();
+    List<UUID> missing = new ArrayList<>();
+    for (int i = 0; i < teamIds.size(); i += READ_BATCH_SIZE) {
+      List<String> chunk = teamIds.subList(i, Math.min(i + READ_BATCH_SIZE, teamIds.size()));
+      for (EntityRelationshipObject relationship :
+          daoCollection.relationshipDAO().findFromBatch(chunk, TEAM, PARENT_OF)) {
+        UUID parentId = UUID.fromString(relationship.getFromId());
+        Integer parent = ordinals.get(parentId);
+        if (parent == null) {
+          missing.add(parentId);
+          continue;
+        }
+        int child = ordinals.get(UUID.fromString(relationship.getToId()));
+        parentsByTeam.computeIfAbsent(child, k -> new ArrayList<>()).add(parent);
+      }
+    }
+    teams.stream().forEach(team -> parents.set(team, toArray(parentsByTeam.getOrDefault(team, List.of()))));
+    return missing;
+  }
+
+  /** Returns the given teams along with all the teams under them */
+  private BitSet withDescendants(BitSet teams) {
+    BitSet result = (BitSet) teams.clone();
+    for (int ordinal = 0; ordinal < ancestors.size(); ordinal++) {
+      if (ancestors.get(ordinal).intersects(teams)) {
+        result.set(ordinal);
+      }
+    }
+    return result;
+  }
+
+  /** Compute the ancestors of the given teams from their parents, the parents first */
+  private void computeAncestors(BitSet teams) {
+    BitSet pending = (BitSet) teams.clone();
+    for (int ordinal = teams.nextSetBit(0); ordinal >= 0; ordinal = teams.nextSetBit(ordinal + 1)) {
+      computeAncestors(ordinal, pending, new BitSet());
+    }
+  }
+
+  private BitSet computeAncestors(int ordinal, BitSet pending, BitSet visiting) {
+    if (!pending.get(ordinal)) {
+      return ancestors.get(ordinal);
+    }
+    if (visiting.get(ordinal)) {
+      LOG.warn("Cycle in the team hierarchy at team {}", names.get(ordinal));
+      return bitOf(ordinal);
+    }
+    visiting.set(ordinal);
+    BitSet result = bitOf(ordinal);
+    for (int parent : parents.get(ordinal)) {
+      result.or(computeAncestors(parent, pending, visiting));
+    }
+    ancestors.set(ordinal, result);
+    pending.clear(ordinal);
+    return result;
+  }
+
+  private static BitSet bitOf(int ordinal) {
+    BitSet bitSet = new BitSet();
+    bitSet.set(ordinal);
+    return bitSet;
+  }
+
+  private static int[] toArray(Collection<Integer> values) {
+    return values.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
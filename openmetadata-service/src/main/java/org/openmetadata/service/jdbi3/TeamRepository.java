@@ -45,12 +45,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.ws.rs.core.UriInfo;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
@@ -83,9 +85,11 @@ public class TeamRepository extends EntityRepository<Team> {
   static final String TEAM_PATCH_FIELDS = "owner,profile,users,defaultRoles,parents,children,policies,teamType,email";
   private static final String DEFAULT_ROLES = "defaultRoles";
   private Team organization = null;
+  @Getter private final TeamHierarchyIndex teamHierarchy;
 
   public TeamRepository(CollectionDAO dao) {
     super(TeamResource.COLLECTION_PATH, TEAM, Team.class, dao.teamDAO(), dao, TEAM_PATCH_FIELDS, TEAM_UPDATE_FIELDS);
+    teamHierarchy = new TeamHierarchyIndex(dao);
   }
 
   @Override
@@ -174,6 +178,7 @@ public class TeamRepository extends EntityRepository<Team> {
     for (EntityReference policy : listOrEmpty(team.getPolicies())) {
       addRelationship(team.getId(), policy.getId(), TEAM, POLICY, Relationship.HAS);
     }
+    teamHierarchy.update(team);
   }
 
   @Override
@@ -201,9 +206,18 @@ public class TeamRepository extends EntityRepository<Team> {
       }
     }
     super.cleanup(team);
+    teamHierarchy.remove(team.getId());
     SubjectCache.getInstance().invalidateTeam(team.getId());
   }
 
+  @Override
+  protected void cleanup(List<Team> teams) throws IOException {
+    // Children teams are deleted before their parents by the delete jobs, none is left to move to Organization
+    super.cleanup(teams);
+    teams.forEach(team -> teamHierarchy.remove(team.getId()));
+    teams.forEach(team -> SubjectCache.getInstance().invalidateTeam(team.getId()));
+  }
+
   @Override
   public String exportToCsv(String parentTeam, String user) throws IOException {
     Team team = getByName(null, parentTeam, Fields.EMPTY_FIELDS); // Validate team name
@@ -233,93 +247,56 @@ public class TeamRepository extends EntityRepository<Team> {
         .withChildren(null);
   }
 
-  private TeamHierarchy deepCopy(TeamHierarchy team) {
-    TeamHierarchy newTeam =
-        new TeamHierarchy()
-            .withId(team.getId())
-            .withTeamType(team.getTeamType())
-            .withName(team.getName())
-            .withDisplayName(team.getDisplayName())
-            .withHref(team.getHref())
-            .withFullyQualifiedName(team.getFullyQualifiedName())
-            .withIsJoinable(team.getIsJoinable());
-    if (team.getChildren() != null) {
-      List<TeamHierarchy> children = new ArrayList<>();
-      for (TeamHierarchy n : team.getChildren()) {
-        children.add(deepCopy(n));
-      }
-      newTeam.withChildren(children);
-    }
-    return newTeam;
-  }
-
-  private TeamHierarchy mergeTrees(TeamHierarchy team1, TeamHierarchy team2) {
-    List<TeamHierarchy> team1Children = team1.getChildren();
-    List<TeamHierarchy> team2Children = team2.getChildren();
-    if (team1Children != null && team2Children != null) {
-      List<TeamHierarchy> toMerge = new ArrayList<>(team1Children);
-      toMerge.retainAll(team2Children);
-
-      for (TeamHierarchy n : toMerge) mergeTrees(n, team2Children.get(team2Children.indexOf(n)));
-    }
-    if (team2Children != null) {
-      List<TeamHierarchy> toAdd = new ArrayList<>(team2Children);
-      if (team1Children != null) {
-        toAdd.removeAll(team1Children);
-      } else {
-        team1.setChildren(new ArrayList<>());
-      }
-      for (TeamHierarchy n : toAdd) team1.getChildren().add(deepCopy(n));
-    }
-
-    return team1;
-  }
-
+  /**
+   * Build the hierarchy of the teams listed, each team under its first parent. Every team is visited once: the walk up
+   * from a team stops at the first parent already in the hierarchy.
+   */
   public List<TeamHierarchy> listHierarchy(ListFilter filter, int limit, Boolean isJoinable) throws IOException {
     Fields fields = getFields(PARENTS_FIELD);
-    Map<UUID, TeamHierarchy> map = new HashMap<>();
     ResultList<Team> resultList = listAfter(null, fields, filter, limit, null);
     List<Team> allTeams = resultList.getData();
-    List<Team> joinableTeams =
-        allTeams.stream()
-            .filter(Boolean.TRUE.equals(isJoinable) ? Team::getIsJoinable : t -> true)
-            .filter(t -> !t.getName().equals(ORGANIZATION_NAME))
-            .collect(Collectors.toList());
-    // build hierarchy of joinable teams
-    joinableTeams.forEach(
-        team -> {
-          Team currentTeam = team;
-          TeamHierarchy currentHierarchy = getTeamHierarchy(team);
-          while (currentTeam != null
-              && !currentTeam.getParents().isEmpty()
-              && !currentTeam.getParents().get(0).getName().equals(ORGANIZATION_NAME)) {
-            EntityReference parentRef = currentTeam.getParents().get(0);
-            Team parent =
-                allTeams.stream()
-                    .filter(t -> t.getId().equals(parentRef.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException(TEAM_HIERARCHY));
-            currentHierarchy = getTeamHierarchy(parent).withChildren(new ArrayList<>(List.of(currentHierarchy)));
-            if (map.containsKey(parent.getId())) {
-              TeamHierarchy parentTeam = map.get(parent.getId());
-              currentHierarchy = mergeTrees(parentTeam, currentHierarchy);
-              currentTeam =
-                  allTeams.stream()
-                      .filter(t -> t.getId().equals(parent.getId()))
-                      .findFirst()
-                      .orElseThrow(() -> new IllegalArgumentException(TEAM_HIERARCHY));
-            } else {
-              currentTeam = parent;
-            }
-          }
-          UUID currentId = currentHierarchy.getId();
-          if (!map.containsKey(currentId)) {
-            map.put(currentId, currentHierarchy);
-          } else {
-            map.put(currentId, mergeTrees(map.get(currentId), currentHierarchy));
-          }
-        });
-    return new ArrayList<>(map.values());
+    Map<UUID, Team> teamsById = new HashMap<>();
+    allTeams.forEach(team -> teamsById.put(team.getId(), team));
+    Map<UUID, TeamHierarchy> nodes = new HashMap<>();
+    Map<UUID, TeamHierarchy> roots = new LinkedHashMap<>();
+    for (Team team : allTeams) {
+      if ((Boolean.TRUE.equals(isJoinable) && !Boolean.TRUE.equals(team.getIsJoinable()))
+          || team.getName().equals(ORGANIZATION_NAME)
+          || nodes.containsKey(team.getId())) {
+        continue; // Not joinable, or already in the hierarchy as the parent of a team
+      }
+      Team currentTeam = team;
+      TeamHierarchy currentHierarchy = getTeamHierarchy(team);
+      nodes.put(team.getId(), currentHierarchy);
+      while (true) {
+        if (currentTeam.getParents().isEmpty()
+            || currentTeam.getParents().get(0).getName().equals(ORGANIZATION_NAME)) {
+          roots.put(currentTeam.getId(), currentHierarchy);
+          break;
+        }
+        UUID parentId = currentTeam.getParents().get(0).getId();
+        Team parent = teamsById.get(parentId);
+        if (parent == null) {
+          throw new IllegalArgumentException(TEAM_HIERARCHY);
+        }
+        TeamHierarchy parentHierarchy = nodes.get(parentId);
+        boolean parentInHierarchy = parentHierarchy != null;
+        if (!parentInHierarchy) {
+          parentHierarchy = getTeamHierarchy(parent);
+          nodes.put(parentId, parentHierarchy);
+        }
+        if (parentHierarchy.getChildren() == null) {
+          parentHierarchy.setChildren(new ArrayList<>());
+        }
+        parentHierarchy.getChildren().add(currentHierarchy);
+        if (parentInHierarchy) {
+          break; // The rest of the way up is already in the hierarchy
+        }
+        currentTeam = parent;
+        currentHierarchy = parentHierarchy;
+      }
+    }
+    return new ArrayList<>(roots.values());
   }
 
   private List<EntityReference> getUsers(Team team) throws IOException {
@@ -675,6 +652,7 @@ public class TeamRepository extends EntityRepository<Team> {
       updateParents(original, updated);
       updateChildren(original, updated);
       updatePolicies(original, updated);
+      teamHierarchy.update(updated);
     }
 
     private void updateUsers(Team origTeam, Team updatedTeam) throws JsonProcessingException {
@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 import javax.json.JsonPatch;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.tests.TestCase;
@@ -26,6 +27,7 @@ import org.openmetadata.schema.tests.TestCaseParameterValue;
 import org.openmetadata.schema.tests.TestDefinition;
 import org.openmetadata.schema.tests.TestSuite;
 import org.openmetadata.schema.tests.type.TestCaseResult;
+import org.openmetadata.schema.tests.type.TestCaseStatus;
 import org.openmetadata.schema.tests.type.TestSummary;
 import org.openmetadata.schema.type.ChangeDescription;
 import org.openmetadata.schema.type.ChangeEvent;
@@ -333,21 +335,36 @@ public class TestCaseRepository extends EntityRepository<TestCase> {
     return new RestUtil.DeleteResponse<>(testCase, RestUtil.ENTITY_DELETED);
   }
 
-  public TestSummary getTestSummary(UUID testSuiteId) throws IOException {
-    List<String> testCaseFQNs;
-    if (testSuiteId == null) {
-      List<TestCase> testCases = listAll(Fields.EMPTY_FIELDS, new ListFilter());
-      testCaseFQNs = testCases.stream().map(TestCase::getFullyQualifiedName).collect(Collectors.toList());
-    } else {
-      List<CollectionDAO.EntityRelationshipRecord> testCases =
-          findTo(testSuiteId, TEST_SUITE, Relationship.CONTAINS, TEST_CASE);
-      List<EntityReference> testCasesEntityReferences = EntityUtil.getEntityReferences(testCases);
-      testCaseFQNs =
-          testCasesEntityReferences.stream().map(EntityReference::getFullyQualifiedName).collect(Collectors.toList());
+  /** Summary of the latest results of the test cases of a test suite, or of all the test cases */
+  public TestSummary getTestSummary(UUID testSuiteId) {
+    // Count the statuses of the latest results in the database instead of reading the test cases and their results
+    List<Pair<String, Integer>> statusCounts =
+        testSuiteId == null
+            ? daoCollection.testCaseDAO().countLatestResultsByStatus(TESTCASE_RESULT_EXTENSION)
+            : daoCollection
+                .testCaseDAO()
+                .countLatestResultsByStatus(
+                    TESTCASE_RESULT_EXTENSION, testSuiteId.toString(), Relationship.CONTAINS.ordinal());
+    if (statusCounts.isEmpty() && !hasTestCases(testSuiteId)) {
+      return new TestSummary();
     }
+    Map<String, Integer> counts = new HashMap<>();
+    int total = 0;
+    for (Pair<String, Integer> statusCount : statusCounts) {
+      counts.put(statusCount.getLeft(), statusCount.getRight());
+      total += statusCount.getRight();
+    }
+    return new TestSummary()
+        .withAborted(counts.getOrDefault(TestCaseStatus.Aborted.toString(), 0))
+        .withFailed(counts.getOrDefault(TestCaseStatus.Failed.toString(), 0))
+        .withSuccess(counts.getOrDefault(TestCaseStatus.Success.toString(), 0))
+        .withTotal(total);
+  }
 
-    return EntityUtil.getTestCaseExecutionSummary(
-        daoCollection.entityExtensionTimeSeriesDao(), testCaseFQNs, TESTCASE_RESULT_EXTENSION);
+  private boolean hasTestCases(UUID testSuiteId) {
+    return testSuiteId == null
+        ? dao.listCount(new ListFilter(Include.NON_DELETED)) > 0
+        : !findTo(testSuiteId, TEST_SUITE, Relationship.CONTAINS, TEST_CASE).isEmpty();
   }
 
   @Override
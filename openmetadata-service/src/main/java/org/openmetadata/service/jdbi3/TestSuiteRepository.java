@@ -3,11 +3,9 @@ package org.openmetadata.service.jdbi3;
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 import static org.openmetadata.service.Entity.TEST_CASE;
 import static org.openmetadata.service.Entity.TEST_SUITE;
-import static org.openmetadata.service.jdbi3.TestCaseRepository.TESTCASE_RESULT_EXTENSION;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.ws.rs.core.SecurityContext;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.data.Table;
@@ -44,13 +42,9 @@ public class TestSuiteRepository extends EntityRepository<TestSuite> {
     return entity.withTests(fields.contains("tests") ? getTestCases(entity) : null);
   }
 
-  private TestSummary getTestSummary(TestSuite entity) throws IOException {
-    List<EntityReference> testCases = getTestCases(entity);
-    List<String> testCaseFQNs =
-        testCases.stream().map(EntityReference::getFullyQualifiedName).collect(Collectors.toList());
-
-    return EntityUtil.getTestCaseExecutionSummary(
-        daoCollection.entityExtensionTimeSeriesDao(), testCaseFQNs, TESTCASE_RESULT_EXTENSION);
+  private TestSummary getTestSummary(TestSuite entity) {
+    TestCaseRepository testCaseRepository = (TestCaseRepository) Entity.getEntityRepository(TEST_CASE);
+    return testCaseRepository.getTestSummary(entity.getId());
   }
 
   @Override
@@ -115,6 +115,11 @@ public class TopicRepository extends EntityRepository<Topic> {
     applyTags(topic);
   }
 
+  @Override
+  protected boolean hasFieldTags() {
+    return true; // Tags are also applied to message schema fields
+  }
+
   @Override
   public Topic setFields(Topic topic, Fields fields) throws IOException {
     topic.setService(getContainer(topic.getId()));
@@ -158,6 +158,12 @@ public class UserRepository extends EntityRepository<User> {
     SubjectCache.getInstance().invalidateUser(user.getName());
   }
 
+  @Override
+  protected void cleanup(List<User> users) throws IOException {
+    super.cleanup(users);
+    users.forEach(user -> SubjectCache.getInstance().invalidateUser(user.getName()));
+  }
+
   @Override
   public User setFields(User user, Fields fields) throws IOException {
     user.setProfile(fields.contains("profile") ? user.getProfile() : null);
@@ -12,6 +12,8 @@ import java.util.Set;
 import java.util.UUID;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.jdbi.v3.core.Handle;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.CreateEntity;
@@ -63,6 +65,8 @@ import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.FieldRelationshipDAO.FieldRelationship;
+import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO.TagLabelMigration;
 import org.openmetadata.service.jdbi3.EntityDAO;
 import org.openmetadata.service.jdbi3.IngestionPipelineRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
@@ -70,6 +74,8 @@ import org.openmetadata.service.jdbi3.MigrationDAO;
 import org.openmetadata.service.jdbi3.TableRepository;
 import org.openmetadata.service.jdbi3.TestCaseRepository;
 import org.openmetadata.service.jdbi3.TestSuiteRepository;
+import org.openmetadata.service.migration.api.BatchMigration;
+import org.openmetadata.service.migration.api.BatchMigrationRunner;
 import org.openmetadata.service.migration.api.MigrationStep;
 import org.openmetadata.service.resources.feeds.MessageParser;
 import org.openmetadata.service.util.EntityUtil;
@@ -78,14 +84,48 @@ import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
 public class MigrationUtil {
-  @SneakyThrows
-  public static <T extends EntityInterface> void updateFQNHashForEntity(Class<T> clazz, EntityDAO<T> dao) {
-    List<String> jsons = dao.listAfter(new ListFilter(Include.ALL), Integer.MAX_VALUE, "");
-    for (String json : jsons) {
-      T entity = JsonUtils.readValue(json, clazz);
-      dao.update(
-          entity.getId(), FullyQualifiedName.buildHash(entity.getFullyQualifiedName()), JsonUtils.pojoToJson(entity));
-    }
+  private static final int MIGRATION_BATCH_SIZE = 1000;
+
+  public static <T extends EntityInterface>
+      BatchMigration<Pair<String, String>, Triple<String, String, String>> updateFQNHashForEntity(
+          Class<T> clazz, EntityDAO<T> dao) {
+    return new BatchMigration<>() {
+      @Override
+      public String getName() {
+        return dao.getTableName();
+      }
+
+      @Override
+      public List<Pair<String, String>> read(String afterKey, int limit) {
+        return dao.listIdAndJsonAfter(dao.getTableName(), afterKey == null ? "" : afterKey, limit);
+      }
+
+      @Override
+      public String getKey(Pair<String, String> row) {
+        return row.getLeft();
+      }
+
+      @Override
+      @SneakyThrows
+      public Triple<String, String, String> transform(Pair<String, String> row) {
+        T entity = JsonUtils.readValue(row.getRight(), clazz);
+        return Triple.of(
+            row.getLeft(), FullyQualifiedName.buildHash(entity.getFullyQualifiedName()), JsonUtils.pojoToJson(entity));
+      }
+
+      @Override
+      public void write(List<Triple<String, String, String>> updates) {
+        List<String> ids = new ArrayList<>(updates.size());
+        List<String> hashes = new ArrayList<>(updates.size());
+        List<String> jsons = new ArrayList<>(updates.size());
+        for (Triple<String, String, String> update : updates) {
+          ids.add(update.getLeft());
+          hashes.add(update.getMiddle());
+          jsons.add(update.getRight());
+        }
+        dao.updateBatch(dao.getTableName(), dao.getNameHashColumn(), hashes, ids, jsons);
+      }
+    };
   }
 
   public static MigrationDAO.ServerMigrationSQLTable buildServerMigrationTable(String version, String statement) {
@@ -111,113 +151,196 @@ public class MigrationUtil {
     return result;
   }
 
-  public static void dataMigrationFQNHashing(CollectionDAO collectionDAO) {
-    // Migration for Entities
-    updateFQNHashForEntity(Bot.class, collectionDAO.botDAO());
-    updateFQNHashForEntity(Chart.class, collectionDAO.chartDAO());
-    updateFQNHashForEntity(Classification.class, collectionDAO.classificationDAO());
-    updateFQNHashForEntity(Container.class, collectionDAO.containerDAO());
-    updateFQNHashForEntity(DashboardDataModel.class, collectionDAO.dashboardDataModelDAO());
-    updateFQNHashForEntity(Dashboard.class, collectionDAO.dashboardDAO());
-    updateFQNHashForEntity(DashboardService.class, collectionDAO.dashboardServiceDAO());
-    updateFQNHashForEntity(DataInsightChart.class, collectionDAO.dataInsightChartDAO());
-    updateFQNHashForEntity(Database.class, collectionDAO.databaseDAO());
-    updateFQNHashForEntity(DatabaseSchema.class, collectionDAO.databaseSchemaDAO());
-    updateFQNHashForEntity(DatabaseService.class, collectionDAO.dbServiceDAO());
-    updateFQNHashForEntity(EventSubscription.class, collectionDAO.eventSubscriptionDAO());
-    updateFQNHashForEntity(Glossary.class, collectionDAO.glossaryDAO());
-    updateFQNHashForEntity(GlossaryTerm.class, collectionDAO.glossaryTermDAO());
-    updateFQNHashForEntity(IngestionPipeline.class, collectionDAO.ingestionPipelineDAO());
-    updateFQNHashForEntity(Kpi.class, collectionDAO.kpiDAO());
-    updateFQNHashForEntity(MessagingService.class, collectionDAO.messagingServiceDAO());
-    updateFQNHashForEntity(MetadataService.class, collectionDAO.metadataServiceDAO());
-    updateFQNHashForEntity(Metrics.class, collectionDAO.metricsDAO());
-    updateFQNHashForEntity(MlModel.class, collectionDAO.mlModelDAO());
-    updateFQNHashForEntity(MlModelService.class, collectionDAO.mlModelServiceDAO());
-    updateFQNHashForEntity(Pipeline.class, collectionDAO.pipelineDAO());
-    updateFQNHashForEntity(PipelineService.class, collectionDAO.pipelineServiceDAO());
-    updateFQNHashForEntity(Policy.class, collectionDAO.policyDAO());
-    updateFQNHashForEntity(Query.class, collectionDAO.queryDAO());
-    updateFQNHashForEntity(Report.class, collectionDAO.reportDAO());
-    updateFQNHashForEntity(Role.class, collectionDAO.roleDAO());
-    updateFQNHashForEntity(StorageService.class, collectionDAO.storageServiceDAO());
-    updateFQNHashForEntity(Table.class, collectionDAO.tableDAO());
-    updateFQNHashForEntity(Tag.class, collectionDAO.tagDAO());
-    updateFQNHashForEntity(Team.class, collectionDAO.teamDAO());
-    updateFQNHashForEntity(TestCase.class, collectionDAO.testCaseDAO());
-    updateFQNHashForEntity(TestConnectionDefinition.class, collectionDAO.testConnectionDefinitionDAO());
-    updateFQNHashForEntity(TestDefinition.class, collectionDAO.testDefinitionDAO());
-    updateFQNHashForEntity(TestSuite.class, collectionDAO.testSuiteDAO());
-    updateFQNHashForEntity(Topic.class, collectionDAO.topicDAO());
-    updateFQNHashForEntity(Type.class, collectionDAO.typeEntityDAO());
-    updateFQNHashForEntity(User.class, collectionDAO.userDAO());
-    updateFQNHashForEntity(WebAnalyticEvent.class, collectionDAO.webAnalyticEventDAO());
-    updateFQNHashForEntity(Workflow.class, collectionDAO.workflowDAO());
-
-    // Field Relationship
-    updateFQNHashForFieldRelationship(collectionDAO);
-
-    // TimeSeries
-    updateFQNHashEntityExtensionTimeSeries(collectionDAO);
-
-    // Tag Usage
-    updateFQNHashTagUsage(collectionDAO);
+  /**
+   * Add the FQN hash to the rows of the entity tables and of the tables referring to entities by FQN. The tables are
+   * migrated in batches committed with a checkpoint, and a migration that fails resumes from the last checkpoint.
+   */
+  public static void dataMigrationFQNHashing(MigrationStep step, Handle handle, CollectionDAO collectionDAO) {
+    try (BatchMigrationRunner runner =
+        new BatchMigrationRunner(
+            handle, step.getMigrationVersion(), MIGRATION_BATCH_SIZE, Runtime.getRuntime().availableProcessors())) {
+      // Migration for Entities
+      runner.run(updateFQNHashForEntity(Bot.class, collectionDAO.botDAO()));
+      runner.run(updateFQNHashForEntity(Chart.class, collectionDAO.chartDAO()));
+      runner.run(updateFQNHashForEntity(Classification.class, collectionDAO.classificationDAO()));
+      runner.run(updateFQNHashForEntity(Container.class, collectionDAO.containerDAO()));
+      runner.run(updateFQNHashForEntity(DashboardDataModel.class, collectionDAO.dashboardDataModelDAO()));
+      runner.run(updateFQNHashForEntity(Dashboard.class, collectionDAO.dashboardDAO()));
+      runner.run(updateFQNHashForEntity(DashboardService.class, collectionDAO.dashboardServiceDAO()));
+      runner.run(updateFQNHashForEntity(DataInsightChart.class, collectionDAO.dataInsightChartDAO()));
+      runner.run(updateFQNHashForEntity(Database.class, collectionDAO.databaseDAO()));
+      runner.run(updateFQNHashForEntity(DatabaseSchema.class, collectionDAO.databaseSchemaDAO()));
+      runner.run(updateFQNHashForEntity(DatabaseService.class, collectionDAO.dbServiceDAO()));
+      runner.run(updateFQNHashForEntity(EventSubscription.class, collectionDAO.eventSubscriptionDAO()));
+      runner.run(updateFQNHashForEntity(Glossary.class, collectionDAO.glossaryDAO()));
+      runner.run(updateFQNHashForEntity(GlossaryTerm.class, collectionDAO.glossaryTermDAO()));
+      runner.run(updateFQNHashForEntity(IngestionPipeline.class, collectionDAO.ingestionPipelineDAO()));
+      runner.run(updateFQNHashForEntity(Kpi.class, collectionDAO.kpiDAO()));
+      runner.run(updateFQNHashForEntity(MessagingService.class, collectionDAO.messagingServiceDAO()));
+      runner.run(updateFQNHashForEntity(MetadataService.class, collectionDAO.metadataServiceDAO()));
+      runner.run(updateFQNHashForEntity(Metrics.class, collectionDAO.metricsDAO()));
+      runner.run(updateFQNHashForEntity(MlModel.class, collectionDAO.mlModelDAO()));
+      runner.run(updateFQNHashForEntity(MlModelService.class, collectionDAO.mlModelServiceDAO()));
+      runner.run(updateFQNHashForEntity(Pipeline.class, collectionDAO.pipelineDAO()));
+      runner.run(updateFQNHashForEntity(PipelineService.class, collectionDAO.pipelineServiceDAO()));
+      runner.run(updateFQNHashForEntity(Policy.class, collectionDAO.policyDAO()));
+      runner.run(updateFQNHashForEntity(Query.class, collectionDAO.queryDAO()));
+      runner.run(updateFQNHashForEntity(Report.class, collectionDAO.reportDAO()));
+      runner.run(updateFQNHashForEntity(Role.class, collectionDAO.roleDAO()));
+      runner.run(updateFQNHashForEntity(StorageService.class, collectionDAO.storageServiceDAO()));
+      runner.run(updateFQNHashForEntity(Table.class, collectionDAO.tableDAO()));
+      runner.run(updateFQNHashForEntity(Tag.class, collectionDAO.tagDAO()));
+      runner.run(updateFQNHashForEntity(Team.class, collectionDAO.teamDAO()));
+      runner.run(updateFQNHashForEntity(TestCase.class, collectionDAO.testCaseDAO()));
+      runner.run(updateFQNHashForEntity(TestConnectionDefinition.class, collectionDAO.testConnectionDefinitionDAO()));
+      runner.run(updateFQNHashForEntity(TestDefinition.class, collectionDAO.testDefinitionDAO()));
+      runner.run(updateFQNHashForEntity(TestSuite.class, collectionDAO.testSuiteDAO()));
+      runner.run(updateFQNHashForEntity(Topic.class, collectionDAO.topicDAO()));
+      runner.run(updateFQNHashForEntity(Type.class, collectionDAO.typeEntityDAO()));
+      runner.run(updateFQNHashForEntity(User.class, collectionDAO.userDAO()));
+      runner.run(updateFQNHashForEntity(WebAnalyticEvent.class, collectionDAO.webAnalyticEventDAO()));
+      runner.run(updateFQNHashForEntity(Workflow.class, collectionDAO.workflowDAO()));
+
+      // Field Relationship
+      runner.run(updateFQNHashForFieldRelationship(collectionDAO));
+
+      // TimeSeries
+      runner.run(updateFQNHashEntityExtensionTimeSeries(collectionDAO));
+
+      // Tag Usage
+      runner.run(updateFQNHashTagUsage(collectionDAO));
+    }
   }
 
-  private static void updateFQNHashForFieldRelationship(CollectionDAO collectionDAO) {
-    List<CollectionDAO.FieldRelationshipDAO.FieldRelationship> fieldRelationships =
-        collectionDAO.fieldRelationshipDAO().listAll();
-    for (CollectionDAO.FieldRelationshipDAO.FieldRelationship fieldRelationship : fieldRelationships) {
-      if (CommonUtil.nullOrEmpty(fieldRelationship.getFromFQNHash())
-          && CommonUtil.nullOrEmpty(fieldRelationship.getToFQNHash())) {
-        collectionDAO
-            .fieldRelationshipDAO()
-            .upsertFQNHash(
-                FullyQualifiedName.buildHash(fieldRelationship.getFromFQN()),
-                FullyQualifiedName.buildHash(fieldRelationship.getToFQN()),
-                fieldRelationship.getFromFQN(),
-                fieldRelationship.getToFQN(),
-                fieldRelationship.getFromType(),
-                fieldRelationship.getToType(),
-                fieldRelationship.getRelation(),
-                fieldRelationship.getJsonSchema(),
-                fieldRelationship.getJson());
+  private static BatchMigration<FieldRelationship, FieldRelationship> updateFQNHashForFieldRelationship(
+      CollectionDAO collectionDAO) {
+    return new BatchMigration<>() {
+      @Override
+      public String getName() {
+        return "field_relationship";
       }
-    }
+
+      @Override
+      public List<FieldRelationship> read(String afterKey, int limit) {
+        String[] key = afterKey == null ? new String[] {"", "", "-1"} : decodeKey(afterKey);
+        return collectionDAO.fieldRelationshipDAO().listAfter(key[0], key[1], Integer.parseInt(key[2]), limit);
+      }
+
+      @Override
+      public String getKey(FieldRelationship row) {
+        return encodeKey(row.getFromFQN(), row.getToFQN(), String.valueOf(row.getRelation()));
+      }
+
+      @Override
+      public FieldRelationship transform(FieldRelationship row) {
+        if (!CommonUtil.nullOrEmpty(row.getFromFQNHash()) || !CommonUtil.nullOrEmpty(row.getToFQNHash())) {
+          return null;
+        }
+        row.setFromFQNHash(FullyQualifiedName.buildHash(row.getFromFQN()));
+        row.setToFQNHash(FullyQualifiedName.buildHash(row.getToFQN()));
+        return row;
+      }
+
+      @Override
+      public void write(List<FieldRelationship> updates) {
+        collectionDAO.fieldRelationshipDAO().updateFQNHashBatch(updates);
+      }
+    };
   }
 
-  private static void updateFQNHashEntityExtensionTimeSeries(CollectionDAO collectionDAO) {
-    List<CollectionDAO.EntityExtensionTimeSeriesDAO.EntityExtensionTimeSeriesTable> timeSeriesTables =
-        collectionDAO.entityExtensionTimeSeriesDao().listAll();
-    for (CollectionDAO.EntityExtensionTimeSeriesDAO.EntityExtensionTimeSeriesTable timeSeries : timeSeriesTables) {
-      if (CommonUtil.nullOrEmpty(timeSeries.getEntityFQNHash())) {
-        collectionDAO
-            .entityExtensionTimeSeriesDao()
-            .updateEntityFQNHash(
-                FullyQualifiedName.buildHash(timeSeries.getEntityFQN()),
-                timeSeries.getEntityFQN(),
-                timeSeries.getExtension(),
-                timeSeries.getTimestamp());
+  /**
+   * The hash only depends on the entity FQN, all the rows of an entity are updated at once. The FQNs are paged in the
+   * order of their index, then each FQN read is expanded to the FQNs differing only in case, which MySQL compares as
+   * equal. The rows read are pairs of the FQN paged and of one of its spellings.
+   */
+  private static BatchMigration<Pair<String, String>, Pair<String, String>> updateFQNHashEntityExtensionTimeSeries(
+      CollectionDAO collectionDAO) {
+    return new BatchMigration<>() {
+      @Override
+      public String getName() {
+        return "entity_extension_time_series";
       }
-    }
+
+      @Override
+      public List<Pair<String, String>> read(String afterKey, int limit) {
+        String after = afterKey == null ? "" : afterKey;
+        List<Pair<String, String>> rows = new ArrayList<>();
+        for (String entityFQN : collectionDAO.entityExtensionTimeSeriesDao().listEntityFQNsAfter(after, limit)) {
+          for (String spelling : collectionDAO.entityExtensionTimeSeriesDao().listEntityFQNSpellings(entityFQN)) {
+            rows.add(Pair.of(entityFQN, spelling));
+          }
+        }
+        return rows;
+      }
+
+      @Override
+      public String getKey(Pair<String, String> row) {
+        return row.getLeft();
+      }
+
+      @Override
+      public Pair<String, String> transform(Pair<String, String> row) {
+        return Pair.of(row.getRight(), FullyQualifiedName.buildHash(row.getRight()));
+      }
+
+      @Override
+      public void write(List<Pair<String, String>> updates) {
+        List<String> entityFQNs = new ArrayList<>(updates.size());
+        List<String> entityFQNHashes = new ArrayList<>(updates.size());
+        for (Pair<String, String> update : updates) {
+          entityFQNs.add(update.getLeft());
+          entityFQNHashes.add(update.getRight());
+        }
+        collectionDAO.entityExtensionTimeSeriesDao().updateEntityFQNHashBatch(entityFQNHashes, entityFQNs);
+      }
+    };
   }
 
-  public static void updateFQNHashTagUsage(CollectionDAO collectionDAO) {
-    List<CollectionDAO.TagUsageDAO.TagLabelMigration> tagLabelMigrationList = collectionDAO.tagUsageDAO().listAll();
-    for (CollectionDAO.TagUsageDAO.TagLabelMigration tagLabel : tagLabelMigrationList) {
-      if (CommonUtil.nullOrEmpty(tagLabel.getTagFQNHash()) && CommonUtil.nullOrEmpty(tagLabel.getTargetFQNHash())) {
-        collectionDAO
-            .tagUsageDAO()
-            .upsertFQNHash(
-                tagLabel.getSource(),
-                tagLabel.getTagFQN(),
-                FullyQualifiedName.buildHash(tagLabel.getTagFQN()),
-                FullyQualifiedName.buildHash(tagLabel.getTargetFQN()),
-                tagLabel.getLabelType(),
-                tagLabel.getState(),
-                tagLabel.getTargetFQN());
+  private static BatchMigration<TagLabelMigration, TagLabelMigration> updateFQNHashTagUsage(
+      CollectionDAO collectionDAO) {
+    return new BatchMigration<>() {
+      @Override
+      public String getName() {
+        return "tag_usage";
       }
-    }
+
+      @Override
+      public List<TagLabelMigration> read(String afterKey, int limit) {
+        String[] key = afterKey == null ? new String[] {"-1", "", ""} : decodeKey(afterKey);
+        return collectionDAO.tagUsageDAO().listAfter(Integer.parseInt(key[0]), key[1], key[2], limit);
+      }
+
+      @Override
+      public String getKey(TagLabelMigration row) {
+        return encodeKey(String.valueOf(row.getSource()), row.getTagFQN(), row.getTargetFQN());
+      }
+
+      @Override
+      public TagLabelMigration transform(TagLabelMigration row) {
+        if (!CommonUtil.nullOrEmpty(row.getTagFQNHash()) || !CommonUtil.nullOrEmpty(row.getTargetFQNHash())) {
+          return null;
+        }
+        row.setTagFQNHash(FullyQualifiedName.buildHash(row.getTagFQN()));
+        row.setTargetFQNHash(FullyQualifiedName.buildHash(row.getTargetFQN()));
+        return row;
+      }
+
+      @Override
+      public void write(List<TagLabelMigration> updates) {
+        collectionDAO.tagUsageDAO().updateFQNHashBatch(updates);
+      }
+    };
+  }
+
+  /** Composite keys are checkpointed as a JSON array of the key columns */
+  @SneakyThrows
+  private static String encodeKey(String... columns) {
+    return JsonUtils.pojoToJson(columns);
+  }
+
+  @SneakyThrows
+  private static String[] decodeKey(String key) {
+    return JsonUtils.readValue(key, String[].class);
   }
 
   public static void performSqlExecutionAndUpdation(
@@ -0,0 +1,28 @@
+package org.openmetadata.service.migration.api;
+
+import java.util.List;
+
+/**
+ * Data migration of the rows of a table, read in batches in the order of a key of the table. {@link
+ * BatchMigrationRunner} transforms the rows of each batch in parallel, writes the updates of the batch and checkpoints
+ * the key of the last row of the batch, so that a failed migration resumes from there.
+ *
+ * @param <R> row read from the table
+ * @param <U> update written back for a row
+ */
+public interface BatchMigration<R, U> {
+  /** Name of the migration, unique within the migration step. Used to checkpoint the progress of the migration. */
+  String getName();
+
+  /** Read the rows after the row with the given key, in key order. The key is null to read from the first row. */
+  List<R> read(String afterKey, int limit);
+
+  /** Key of the row, as passed to {@link #read(String, int)} */
+  String getKey(R row);
+
+  /** Returns the update for the row, or null when the row does not change. Called from the worker threads. */
+  U transform(R row);
+
+  /** Write the updates of a batch */
+  void write(List<U> updates);
+}
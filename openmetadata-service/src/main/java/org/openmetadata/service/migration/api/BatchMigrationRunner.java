@@ -0,0 +1,147 @@
+package org.openmetadata.service.migration.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Handle;
+import org.openmetadata.service.jdbi3.MigrationDAO;
+import org.openmetadata.service.jdbi3.MigrationDAO.MigrationCheckpoint;
+
+/**
+ * Runs the {@link BatchMigration}s of a migration step. Rows are read in batches by key instead of loading the whole
+ * table, the rows of a batch are transformed by a pool of worker threads, and the updates of the batch are written
+ * with batched statements in one transaction along with the checkpoint of the migration. A migration that fails
+ * resumes after the last batch committed, and migrations completed are skipped when the step runs again.
+ *
+ * <p>The handle must not be in a transaction, each batch is committed on its own.
+ */
+@Slf4j
+public class BatchMigrationRunner implements AutoCloseable {
+  private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final Handle handle;
+  private final MigrationDAO migrationDAO;
+  private final String version;
+  private final int batchSize;
+  private final int workers;
+  private final ExecutorService executor;
+
+  public BatchMigrationRunner(Handle handle, String version, int batchSize, int workers) {
+    this.handle = handle;
+    this.migrationDAO = handle.attach(MigrationDAO.class);
+    this.version = version;
+    this.batchSize = batchSize;
+    this.workers = Math.max(1, workers);
+    this.executor =
+        Executors.newFixedThreadPool(
+            this.workers,
+            r -> {
+              Thread thread = new Thread(r, "migration-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public <R, U> void run(BatchMigration<R, U> migration) {
+    MigrationCheckpoint checkpoint = migrationDAO.getMigrationCheckpoint(version, migration.getName());
+    if (checkpoint != null && checkpoint.isCompleted()) {
+      LOG.info("[BatchMigration] {} already migrated, {} rows", migration.getName(), checkpoint.getRowCount());
+      return;
+    }
+    String lastKey = checkpoint == null ? null : checkpoint.getLastKey();
+    long rowCount = checkpoint == null ? 0 : checkpoint.getRowCount();
+    if (lastKey != null) {
+      LOG.info("[BatchMigration] Resuming {} after {} rows", migration.getName(), rowCount);
+    }
+
+    long start = System.nanoTime();
+    long lastProgress = start;
+    long migrated = 0;
+    List<R> rows;
+    do {
+      rows = migration.read(lastKey, batchSize);
+      if (rows.isEmpty()) {
+        break;
+      }
+      List<U> updates = transform(migration, rows);
+      String key = migration.getKey(rows.get(rows.size() - 1));
+      long count = rowCount + rows.size();
+      handle.useTransaction(
+          h -> {
+            if (!updates.isEmpty()) {
+              migration.write(updates);
+            }
+            migrationDAO.upsertMigrationCheckpoint(version, migration.getName(), key, count, false);
+          });
+      lastKey = key;
+      rowCount = count;
+      migrated += rows.size();
+
+      long now = System.nanoTime();
+      if (now - lastProgress > PROGRESS_INTERVAL_NANOS) {
+        LOG.info(
+            "[BatchMigration] {}: {} rows migrated, {} rows/s",
+            migration.getName(),
+            rowCount,
+            rate(migrated, now - start));
+        lastProgress = now;
+      }
+    } while (rows.size() == batchSize);
+
+    migrationDAO.upsertMigrationCheckpoint(version, migration.getName(), lastKey, rowCount, true);
+    LOG.info(
+        "[BatchMigration] {} completed: {} rows migrated in {} ms, {} rows/s",
+        migration.getName(),
+        rowCount,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+        rate(migrated, System.nanoTime() - start));
+  }
+
+  /** Transform the rows split across the workers. Updates are returned in the order of the rows. */
+  private <R, U> List<U> transform(BatchMigration<R, U> migration, List<R> rows) {
+    int chunkSize = (rows.size() + workers - 1) / workers;
+    List<Future<List<U>>> futures = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i += chunkSize) {
+      List<R> chunk = rows.subList(i, Math.min(i + chunkSize, rows.size()));
+      futures.add(
+          executor.submit(
+              () -> {
+                List<U> updates = new ArrayList<>(chunk.size());
+                for (R row : chunk) {
+                  U update = migration.transform(row);
+                  if (update != null) {
+                    updates.add(update);
+                  }
+                }
+                return updates;
+              }));
+    }
+    List<U> updates = new ArrayList<>(rows.size());
+    try {
+      for (Future<List<U>> future : futures) {
+        updates.addAll(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while migrating " + migration.getName(), e);
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      throw new IllegalStateException("Failed to migrate " + migration.getName(), e.getCause());
+    }
+    return updates;
+  }
+
+  private static long rate(long rows, long nanos) {
+    return nanos == 0 ? rows : rows * TimeUnit.SECONDS.toNanos(1) / nanos;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -23,6 +23,11 @@ public interface MigrationStep {
   // This method is to run code to fix any data
   void runDataMigration();
 
+  // Data migrations run with a BatchMigrationRunner commit their own batches, the others run in one transaction
+  default boolean commitsDataMigrationInBatches() {
+    return false;
+  }
+
   // This method is to run SQL which can be part of the transaction post data migrations
   void postDDL();
 
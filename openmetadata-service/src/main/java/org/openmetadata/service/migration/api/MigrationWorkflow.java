@@ -95,10 +95,15 @@ public class MigrationWorkflow {
               step.getMigrationFileName());
           step.preDDL();
 
-          LOG.info("[MigrationStep] Transaction Started");
+          // Batched data migrations commit their batches with a checkpoint, see BatchMigrationRunner, so that a failed
+          // migration resumes from its last checkpoint instead of holding the whole table in one transaction
+          boolean inTransaction = !step.commitsDataMigrationInBatches();
+          if (inTransaction) {
+            LOG.info("[MigrationStep] Transaction Started");
 
-          // Begin Transaction
-          transactionHandler.begin();
+            // Begin Transaction
+            transactionHandler.begin();
+          }
 
           // Run Database Migration for all the Migration Steps
           LOG.info(
@@ -108,8 +113,10 @@ public class MigrationWorkflow {
               step.getMigrationFileName());
           step.runDataMigration();
 
-          LOG.info("[MigrationStep] Committing Transaction");
-          transactionHandler.commit();
+          if (inTransaction) {
+            LOG.info("[MigrationStep] Committing Transaction");
+            transactionHandler.commit();
+          }
 
           // Run Database Migration for all the Migration Steps
           LOG.info(
@@ -57,7 +57,12 @@ public class MySQLMigration implements MigrationStep {
   @Override
   public void runDataMigration() {
     // FQN Hashing Migrations
-    dataMigrationFQNHashing(collectionDAO);
+    dataMigrationFQNHashing(this, handle, collectionDAO);
+  }
+
+  @Override
+  public boolean commitsDataMigrationInBatches() {
+    return true;
   }
 
   @Override
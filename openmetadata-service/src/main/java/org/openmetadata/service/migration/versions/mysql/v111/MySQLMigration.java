@@ -0,0 +1,69 @@
+package org.openmetadata.service.migration.versions.mysql.v111;
+
+import static org.openmetadata.service.migration.MigrationUtil.performSqlExecutionAndUpdation;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Handle;
+import org.openmetadata.service.jdbi3.MigrationDAO;
+import org.openmetadata.service.jdbi3.locator.ConnectionType;
+import org.openmetadata.service.migration.MigrationFile;
+import org.openmetadata.service.migration.api.MigrationStep;
+
+@Slf4j
+@MigrationFile(name = "v111_MySQLMigration")
+@SuppressWarnings("unused")
+public class MySQLMigration implements MigrationStep {
+  private MigrationDAO migrationDAO;
+  private Handle handle;
+
+  @Override
+  public String getMigrationVersion() {
+    return "1.1.1";
+  }
+
+  @Override
+  public String getMigrationFileName() {
+    return "v111_MySQLMigration";
+  }
+
+  @Override
+  public String getFileUuid() {
+    return "0c040cbd-57c6-4a0a-adf0-1ae27340ab77";
+  }
+
+  @Override
+  public ConnectionType getDatabaseConnectionType() {
+    return ConnectionType.MYSQL;
+  }
+
+  @Override
+  public void initialize(Handle handle) {
+    this.handle = handle;
+    this.migrationDAO = handle.attach(MigrationDAO.class);
+  }
+
+  @Override
+  public void preDDL() {
+    // Nothing to do before the data migration
+  }
+
+  @Override
+  public void runDataMigration() {
+    // No data to migrate
+  }
+
+  @Override
+  public void postDDL() {
+    // The time series are read by entity, extension and timestamp, like the stored profiles of a table looked up
+    // before they are written in batches. The entityFQNHash column is added by the 1.1.0 migration, after the
+    // bootstrap SQL files run, so the index is created here.
+    List<String> queryList =
+        List.of(
+            "ALTER TABLE entity_extension_time_series ADD INDEX entity_fqn_hash_extension_index (entityFQNHash, extension, timestamp)");
+    performSqlExecutionAndUpdation(this, migrationDAO, handle, queryList);
+  }
+
+  @Override
+  public void close() {}
+}
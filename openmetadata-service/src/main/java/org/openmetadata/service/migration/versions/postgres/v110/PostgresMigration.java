@@ -57,7 +57,12 @@ public class PostgresMigration implements MigrationStep {
 
   @Override
   public void runDataMigration() {
-    dataMigrationFQNHashing(collectionDAO);
+    dataMigrationFQNHashing(this, handle, collectionDAO);
+  }
+
+  @Override
+  public boolean commitsDataMigrationInBatches() {
+    return true;
   }
 
   @Override
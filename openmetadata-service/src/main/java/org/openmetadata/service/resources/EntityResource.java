@@ -26,11 +26,13 @@ import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.MetadataOperation;
 import org.openmetadata.schema.type.csv.CsvImportResult;
+import org.openmetadata.sdk.exception.WebServiceException;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
+import org.openmetadata.service.security.AuthorizationException;
 import org.openmetadata.service.security.Authorizer;
 import org.openmetadata.service.security.policyevaluator.OperationContext;
 import org.openmetadata.service.security.policyevaluator.ResourceContext;
@@ -38,7 +40,9 @@ import org.openmetadata.service.security.policyevaluator.ResourceContext.Resourc
 import org.openmetadata.service.security.policyevaluator.ResourceContextInterface;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
+import org.openmetadata.service.util.LambdaExceptionUtil.FunctionWithExceptions;
 import org.openmetadata.service.util.RestUtil;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
 import org.openmetadata.service.util.RestUtil.DeleteResponse;
 import org.openmetadata.service.util.RestUtil.PatchResponse;
 import org.openmetadata.service.util.RestUtil.PutResponse;
@@ -190,6 +194,16 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return repository.listVersions(id);
   }
 
+  protected EntityHistory listVersionsInternal(SecurityContext securityContext, UUID id, Integer limit, String after)
+      throws IOException {
+    if (limit == null && after == null) {
+      return listVersionsInternal(securityContext, id);
+    }
+    OperationContext operationContext = new OperationContext(entityType, MetadataOperation.VIEW_BASIC);
+    authorizer.authorize(securityContext, operationContext, getResourceContextById(id));
+    return repository.listVersions(id, limit == null ? Integer.MAX_VALUE : limit, after);
+  }
+
   public T getByNameInternal(
       UriInfo uriInfo, SecurityContext securityContext, String name, String fieldsParam, Include include)
       throws IOException {
@@ -232,6 +246,48 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return response.toResponse();
   }
 
+  /**
+   * Create or update a list of entities in one request. Each entity is built from its create request, authorized and
+   * stored on its own so that a failure of one entity does not roll back the others; the response carries a result per
+   * entity in request order.
+   */
+  public <C extends CreateEntity> Response bulkCreateOrUpdate(
+      UriInfo uriInfo,
+      SecurityContext securityContext,
+      List<C> creates,
+      FunctionWithExceptions<C, T, IOException> toEntity) {
+    BulkPutResponse<T> bulkResponse = new BulkPutResponse<>();
+    for (C create : creates) {
+      try {
+        T entity = toEntity.apply(create);
+        repository.prepareInternal(entity);
+        ResourceContext resourceContext = getResourceContextByName(entity.getFullyQualifiedName());
+        OperationContext operationContext = new OperationContext(entityType, createOrUpdateOperation(resourceContext));
+        authorizer.authorize(securityContext, operationContext, resourceContext);
+        PutResponse<T> response = repository.createOrUpdate(uriInfo, entity);
+        addHref(uriInfo, response.getEntity());
+        bulkResponse.addResult(response);
+      } catch (Exception e) {
+        LOG.warn("Failed to create or update {} {}", entityType, create.getName(), e);
+        bulkResponse.addFailure(getFailureStatus(e), e.getMessage());
+      }
+    }
+    return bulkResponse.toResponse();
+  }
+
+  private static Response.Status getFailureStatus(Exception e) {
+    if (e instanceof WebServiceException) {
+      return Response.Status.fromStatusCode(((WebServiceException) e).getResponse().getStatus());
+    }
+    if (e instanceof AuthorizationException) {
+      return Response.Status.FORBIDDEN;
+    }
+    if (e instanceof IllegalArgumentException) {
+      return Response.Status.BAD_REQUEST;
+    }
+    return Response.Status.INTERNAL_SERVER_ERROR;
+  }
+
   public Response patchInternal(UriInfo uriInfo, SecurityContext securityContext, UUID id, JsonPatch patch)
       throws IOException {
     OperationContext operationContext = new OperationContext(entityType, patch);
@@ -60,6 +60,7 @@ import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.resources.Collection;
 import org.openmetadata.service.resources.EntityResource;
 import org.openmetadata.service.security.Authorizer;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
 import org.openmetadata.service.util.ResultList;
 
 @Path("/v1/dashboards")
@@ -328,6 +329,30 @@ public class DashboardResource extends EntityResource<Dashboard, DashboardReposi
     return createOrUpdate(uriInfo, securityContext, dashboard);
   }
 
+  @PUT
+  @Path("/bulk")
+  @Operation(
+      operationId = "bulkCreateOrUpdateDashboards",
+      summary = "Create or update dashboards in bulk",
+      description =
+          "Create or update a list of dashboards in one request. Each dashboard is stored independently and the response "
+              + "carries the status, change type and the resulting dashboard or the error for each of them.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Result of the operation for each dashboard",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BulkPutResponse.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request when any of the dashboards in the list is not valid")
+      })
+  public Response bulkCreateOrUpdate(
+      @Context UriInfo uriInfo, @Context SecurityContext securityContext, @Valid List<CreateDashboard> creates) {
+    String user = securityContext.getUserPrincipal().getName();
+    return bulkCreateOrUpdate(uriInfo, securityContext, creates, create -> getDashboard(create, user));
+  }
+
   @PUT
   @Path("/{id}/followers")
   @Operation(
@@ -77,6 +77,7 @@ import org.openmetadata.service.security.mask.PIIMasker;
 import org.openmetadata.service.security.policyevaluator.OperationContext;
 import org.openmetadata.service.security.policyevaluator.ResourceContext;
 import org.openmetadata.service.util.EntityUtil.Fields;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
 import org.openmetadata.service.util.ResultList;
 
 @Path("/v1/tables")
@@ -285,7 +286,9 @@ public class TableResource extends EntityResource<Table, TableRepository> {
   @Operation(
       operationId = "listAllTableVersion",
       summary = "List table versions",
-      description = "Get a list of all the versions of a table identified by `Id`",
+      description =
+          "Get a list of all the versions of a table identified by `Id`. When `limit` is set, the versions are "
+              + "returned a page at a time from the latest to the oldest.",
       responses = {
         @ApiResponse(
             responseCode = "200",
@@ -295,9 +298,17 @@ public class TableResource extends EntityResource<Table, TableRepository> {
   public EntityHistory listVersions(
       @Context UriInfo uriInfo,
       @Context SecurityContext securityContext,
-      @Parameter(description = "Table Id", schema = @Schema(type = "string")) @PathParam("id") UUID id)
+      @Parameter(description = "Table Id", schema = @Schema(type = "string")) @PathParam("id") UUID id,
+      @Parameter(description = "Limit the number of versions returned. (1 to 1000000, default = all)")
+          @Min(1)
+          @Max(1000000)
+          @QueryParam("limit")
+          Integer limitParam,
+      @Parameter(description = "Returns list of versions older than this version", schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
       throws IOException {
-    return super.listVersionsInternal(securityContext, id);
+    return super.listVersionsInternal(securityContext, id, limitParam, after);
   }
 
   @GET
@@ -365,6 +376,28 @@ public class TableResource extends EntityResource<Table, TableRepository> {
     return createOrUpdate(uriInfo, securityContext, table);
   }
 
+  @PUT
+  @Path("/bulk")
+  @Operation(
+      operationId = "bulkCreateOrUpdateTables",
+      summary = "Create or update tables in bulk",
+      description =
+          "Create or update a list of tables in one request. Each table is stored independently and the response "
+              + "carries the status, change type and the resulting table or the error for each of them.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Result of the operation for each table",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BulkPutResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request when any of the tables in the list is not valid")
+      })
+  public Response bulkCreateOrUpdate(
+      @Context UriInfo uriInfo, @Context SecurityContext securityContext, @Valid List<CreateTable> creates) {
+    String user = securityContext.getUserPrincipal().getName();
+    return bulkCreateOrUpdate(uriInfo, securityContext, creates, create -> getTable(create, user));
+  }
+
   @PATCH
   @Path("/{id}")
   @Operation(
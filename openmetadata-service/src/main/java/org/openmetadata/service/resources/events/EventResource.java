@@ -19,17 +19,21 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import org.openmetadata.schema.type.ChangeEvent;
@@ -38,7 +42,6 @@ import org.openmetadata.service.jdbi3.ChangeEventRepository;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.resources.Collection;
 import org.openmetadata.service.security.Authorizer;
-import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.ResultList;
 
 @Path("/v1/events")
@@ -80,7 +83,7 @@ public class EventResource {
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = EventList.class))),
         @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")
       })
-  public ResultList<ChangeEvent> get(
+  public Response get(
       @Context UriInfo uriInfo,
       @Parameter(
               description =
@@ -111,13 +114,24 @@ public class EventResource {
               required = true,
               schema = @Schema(type = "long", example = "1426349294842"))
           @QueryParam("timestamp")
-          long timestamp)
-      throws IOException {
+          long timestamp,
+      @Parameter(description = "Limit the number of events returned. (1 to 10000, default = 10000)")
+          @DefaultValue("10000")
+          @Min(1)
+          @Max(ChangeEventRepository.MAX_PAGE_SIZE)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(
+              description = "Returns list of events after this cursor. The timestamp is ignored when it is set.",
+              schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after) {
     List<String> entityCreatedList = EntityList.getEntityList("entityCreated", entityCreated);
     List<String> entityUpdatedList = EntityList.getEntityList("entityUpdated", entityUpdated);
     List<String> entityDeletedList = EntityList.getEntityList("entityDeleted", entityDeleted);
-    List<ChangeEvent> events = dao.list(timestamp, entityCreatedList, entityUpdatedList, entityDeletedList);
-    events.sort(EntityUtil.compareChangeEvent); // Sort change events based on time
-    return new EventList(events, null, null, events.size());
+    // Events are ordered by time and streamed from the database to the response
+    StreamingOutput page =
+        dao.listPage(timestamp, after, limitParam, entityCreatedList, entityUpdatedList, entityDeletedList);
+    return Response.ok(page, MediaType.APPLICATION_JSON_TYPE).build();
   }
 }
@@ -180,7 +180,7 @@ public class SearchResource {
             .sortOrder(sortOrder)
             .includeSourceFields(includeSourceFields)
             .build();
-    return searchClient.search(request);
+    return searchClient.cachedSearch(request);
   }
 
   @GET
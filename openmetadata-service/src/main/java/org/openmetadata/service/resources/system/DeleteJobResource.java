@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.resources.system;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.util.UUID;
+import javax.validation.Valid;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriInfo;
+import org.openmetadata.schema.api.CreateDeleteJob;
+import org.openmetadata.schema.system.DeleteJob;
+import org.openmetadata.schema.type.MetadataOperation;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.resources.Collection;
+import org.openmetadata.service.resources.EntityResource;
+import org.openmetadata.service.security.Authorizer;
+import org.openmetadata.service.security.policyevaluator.OperationContext;
+import org.openmetadata.service.security.policyevaluator.ResourceContext;
+import org.openmetadata.service.util.DeleteJobHandler;
+
+@Path("/v1/deleteJobs")
+@Tag(name = "Delete Jobs", description = "APIs to delete entities along with their children in the background.")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Collection(name = "deleteJobs")
+public class DeleteJobResource {
+  private final Authorizer authorizer;
+
+  public DeleteJobResource(CollectionDAO dao, Authorizer authorizer) {
+    this.authorizer = authorizer;
+    DeleteJobHandler.initialize(dao);
+  }
+
+  @POST
+  @Operation(
+      operationId = "createDeleteJob",
+      summary = "Delete an entity in the background",
+      description =
+          "Start a job deleting the entity along with all the entities it contains, for entities too large to delete "
+              + "within a request. The progress of the job is available with the job id returned.",
+      responses = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "The delete job",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeleteJob.class))),
+        @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")
+      })
+  public Response create(
+      @Context UriInfo uriInfo, @Context SecurityContext securityContext, @Valid CreateDeleteJob create)
+      throws IOException {
+    OperationContext operationContext = new OperationContext(create.getEntityType(), MetadataOperation.DELETE);
+    ResourceContext resourceContext =
+        EntityResource.getResourceContext(create.getEntityType(), Entity.getEntityRepository(create.getEntityType()))
+            .id(create.getId())
+            .build();
+    authorizer.authorize(securityContext, operationContext, resourceContext);
+    DeleteJob job = DeleteJobHandler.getInstance().createJob(securityContext.getUserPrincipal().getName(), create);
+    return Response.status(Response.Status.CREATED).entity(job).build();
+  }
+
+  @GET
+  @Path("/{jobId}")
+  @Operation(
+      operationId = "getDeleteJob",
+      summary = "Get a delete job",
+      description = "Get the status and the progress of a delete job.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The delete job",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeleteJob.class))),
+        @ApiResponse(responseCode = "404", description = "Delete job for instance {jobId} is not found")
+      })
+  public DeleteJob get(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the delete job", schema = @Schema(type = "UUID")) @PathParam("jobId") UUID id)
+      throws IOException {
+    DeleteJob job = DeleteJobHandler.getInstance().getJob(id);
+    authorizeStarterOrAdmin(securityContext, job);
+    return job;
+  }
+
+  @PUT
+  @Path("/stop/{jobId}")
+  @Operation(
+      operationId = "stopDeleteJob",
+      summary = "Stop a delete job",
+      description = "Stop a running delete job. The entities deleted until then stay deleted.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The delete job",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = DeleteJob.class))),
+        @ApiResponse(responseCode = "400", description = "Delete job is not running")
+      })
+  public Response stop(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the delete job", schema = @Schema(type = "UUID")) @PathParam("jobId") UUID id)
+      throws IOException {
+    authorizeStarterOrAdmin(securityContext, DeleteJobHandler.getInstance().getJob(id));
+    return Response.status(Response.Status.OK).entity(DeleteJobHandler.getInstance().stopJob(id)).build();
+  }
+
+  private void authorizeStarterOrAdmin(SecurityContext securityContext, DeleteJob job) {
+    if (!securityContext.getUserPrincipal().getName().equals(job.getStartedBy())) {
+      authorizer.authorizeAdmin(securityContext);
+    }
+  }
+}
@@ -63,6 +63,7 @@ import org.openmetadata.service.resources.Collection;
 import org.openmetadata.service.resources.EntityResource;
 import org.openmetadata.service.security.Authorizer;
 import org.openmetadata.service.security.policyevaluator.OperationContext;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
 import org.openmetadata.service.util.ResultList;
 
 @Path("/v1/topics")
@@ -323,6 +324,28 @@ public class TopicResource extends EntityResource<Topic, TopicRepository> {
     return createOrUpdate(uriInfo, securityContext, topic);
   }
 
+  @PUT
+  @Path("/bulk")
+  @Operation(
+      operationId = "bulkCreateOrUpdateTopics",
+      summary = "Create or update topics in bulk",
+      description =
+          "Create or update a list of topics in one request. Each topic is stored independently and the response "
+              + "carries the status, change type and the resulting topic or the error for each of them.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Result of the operation for each topic",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BulkPutResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request when any of the topics in the list is not valid")
+      })
+  public Response bulkCreateOrUpdate(
+      @Context UriInfo uriInfo, @Context SecurityContext securityContext, @Valid List<CreateTopic> creates) {
+    String user = securityContext.getUserPrincipal().getName();
+    return bulkCreateOrUpdate(uriInfo, securityContext, creates, create -> getTopic(create, user));
+  }
+
   @PUT
   @Path("/{id}/sampleData")
   @Operation(
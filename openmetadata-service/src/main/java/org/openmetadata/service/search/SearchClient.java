@@ -6,6 +6,12 @@ import static org.openmetadata.service.Entity.QUERY;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.NOT_IMPLEMENTED_METHOD;
 import static org.openmetadata.service.search.IndexUtil.ELASTIC_SEARCH_ENTITY_FQN_STREAM;
 import static org.openmetadata.service.search.IndexUtil.ELASTIC_SEARCH_EXTENSION;
+import static org.openmetadata.service.search.UpdateSearchEventsConstant.OWNER_ID;
+import static org.openmetadata.service.search.UpdateSearchEventsConstant.REMOVE_OWNER_SCRIPT;
+import static org.openmetadata.service.search.UpdateSearchEventsConstant.REMOVE_TAGS_SCRIPT;
+import static org.openmetadata.service.search.UpdateSearchEventsConstant.RENAME_TAGS_SCRIPT;
+import static org.openmetadata.service.search.UpdateSearchEventsConstant.TAGS_FQN;
+import static org.openmetadata.service.search.UpdateSearchEventsConstant.UPDATE_OWNER_SCRIPT;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
@@ -20,7 +26,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.stream.Stream;
 import javax.ws.rs.core.Response;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.dataInsight.DataInsightChartResult;
@@ -36,11 +45,13 @@ import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.FieldChange;
 import org.openmetadata.schema.type.UsageDetails;
 import org.openmetadata.service.Entity;
+import org.openmetadata.service.cache.SearchResponseCache;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
 import org.openmetadata.service.elasticsearch.ElasticSearchRequest;
 import org.openmetadata.service.exception.CustomExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
@@ -56,6 +67,25 @@ public interface SearchClient {
 
   Response search(ElasticSearchRequest request) throws IOException;
 
+  /** Search through the {@link SearchResponseCache}, when it is enabled */
+  default Response cachedSearch(ElasticSearchRequest request) throws IOException {
+    if (!SearchResponseCache.isInitialized()) {
+      return search(request);
+    }
+    SearchResponseCache cache = SearchResponseCache.getInstance();
+    String key = SearchResponseCache.getKey(request);
+    String cached = cache.get(key);
+    if (cached != null) {
+      return Response.status(Response.Status.OK).entity(cached).build();
+    }
+    long generation = cache.getGeneration();
+    Response response = search(request);
+    if (response.getStatus() == Response.Status.OK.getStatusCode() && response.getEntity() instanceof String) {
+      cache.put(key, (String) response.getEntity(), generation);
+    }
+    return response;
+  }
+
   Response aggregate(String index, String fieldName) throws IOException;
 
   Response suggest(ElasticSearchRequest request) throws IOException;
@@ -159,6 +189,102 @@ public interface SearchClient {
     throw new CustomExceptionMessage(Response.Status.NOT_IMPLEMENTED, NOT_IMPLEMENTED_METHOD);
   }
 
+  /**
+   * Collect the document updates and deletes in a bulk request sent by {@link #flushBulkRequest()}, instead of sending
+   * them one by one. Requests by query are still sent immediately, after the document writes collected before them.
+   */
+  default void startBulkRequest() {
+    throw new CustomExceptionMessage(Response.Status.NOT_IMPLEMENTED, NOT_IMPLEMENTED_METHOD);
+  }
+
+  /** Change event the document writes collected next originate from, reported with the failures of these writes */
+  default void setBulkRequestEvent(ChangeEvent event) {
+    throw new CustomExceptionMessage(Response.Status.NOT_IMPLEMENTED, NOT_IMPLEMENTED_METHOD);
+  }
+
+  /** Send the document writes collected since {@link #startBulkRequest()} and return the writes that failed */
+  default List<BulkItemFailure> flushBulkRequest() throws IOException {
+    throw new CustomExceptionMessage(Response.Status.NOT_IMPLEMENTED, NOT_IMPLEMENTED_METHOD);
+  }
+
+  /**
+   * Apply the painless script to the documents of the entity indexes where the field has the value, or a value
+   * starting with the prefix when given. Used to propagate the deletes and renames of an entity to the documents of
+   * the entities referring to it, however many they are.
+   */
+  default void propagateToDocuments(
+      String description, String field, String value, String prefix, String script, Map<String, Object> params)
+      throws IOException {
+    throw new CustomExceptionMessage(Response.Status.NOT_IMPLEMENTED, NOT_IMPLEMENTED_METHOD);
+  }
+
+  /** Remove the labels of the tag or glossary term, and of its children, from the entities */
+  default void propagateTagRemoval(String fqn) throws IOException {
+    Map<String, Object> params = new HashMap<>();
+    params.put("fqn", fqn);
+    params.put("prefix", fqn + Entity.SEPARATOR);
+    propagateToDocuments("removal of " + fqn, TAGS_FQN, fqn, fqn + Entity.SEPARATOR, REMOVE_TAGS_SCRIPT, params);
+  }
+
+  /** Rename the labels of the tag or glossary term, and of its children, on the entities */
+  default void propagateTagRename(String fqn, String newFqn) throws IOException {
+    Map<String, Object> params = new HashMap<>();
+    params.put("fqn", fqn);
+    params.put("prefix", fqn + Entity.SEPARATOR);
+    params.put("newFqn", newFqn);
+    propagateToDocuments(
+        "rename of " + fqn + " to " + newFqn, TAGS_FQN, fqn, fqn + Entity.SEPARATOR, RENAME_TAGS_SCRIPT, params);
+  }
+
+  /** Remove the user or team from the owner of the entities */
+  default void propagateOwnerRemoval(EntityInterface owner) throws IOException {
+    String ownerId = owner.getId().toString();
+    propagateToDocuments(
+        "removal of owner " + owner.getName(), OWNER_ID, ownerId, null, REMOVE_OWNER_SCRIPT, new HashMap<>());
+  }
+
+  /** Update the names of the user or team in the owner of the entities */
+  default void propagateOwnerUpdate(EntityInterface owner) throws IOException {
+    Map<String, Object> params = new HashMap<>();
+    params.put("name", owner.getName());
+    params.put("displayName", owner.getDisplayName());
+    params.put("fullyQualifiedName", owner.getFullyQualifiedName());
+    propagateToDocuments(
+        "update of owner " + owner.getName(), OWNER_ID, owner.getId().toString(), null, UPDATE_OWNER_SCRIPT, params);
+  }
+
+  /** Fully qualified name of the entity before the change event when the event renames it, null otherwise */
+  default String getPreviousFqn(ChangeEvent event) {
+    if (event.getChangeDescription() == null) {
+      return null;
+    }
+    for (FieldChange fieldChange : event.getChangeDescription().getFieldsUpdated()) {
+      if (fieldChange.getName().equals(Entity.FIELD_NAME)) {
+        String fqn = ((EntityInterface) event.getEntity()).getFullyQualifiedName();
+        String parentFqn = FullyQualifiedName.getParentFQN(fqn);
+        String previousName = fieldChange.getOldValue().toString();
+        return parentFqn == null
+            ? FullyQualifiedName.build(previousName)
+            : FullyQualifiedName.add(parentFqn, previousName);
+      }
+    }
+    return null;
+  }
+
+  /** True when the change event changes the name or the display name of the entity */
+  default boolean isRenamed(ChangeEvent event) {
+    ChangeDescription change = event.getChangeDescription();
+    if (change == null) {
+      return false;
+    }
+    return Stream.of(change.getFieldsAdded(), change.getFieldsUpdated(), change.getFieldsDeleted())
+        .flatMap(List::stream)
+        .anyMatch(
+            fieldChange ->
+                fieldChange.getName().equals(Entity.FIELD_NAME)
+                    || fieldChange.getName().equals(Entity.FIELD_DISPLAY_NAME));
+  }
+
   default int getSuccessFromBulkResponse(BulkResponse response) {
     throw new CustomExceptionMessage(Response.Status.NOT_IMPLEMENTED, NOT_IMPLEMENTED_METHOD);
   }
@@ -279,4 +405,12 @@ public interface SearchClient {
             JsonUtils.pojoToJson(lastRecord),
             originalLastUpdate);
   }
+
+  @Getter
+  @AllArgsConstructor
+  class BulkItemFailure {
+    private final ChangeEvent event;
+    private final int status;
+    private final String reason;
+  }
 }
@@ -4,4 +4,15 @@ public class UpdateSearchEventsConstant {
   public static final String SERVICE_NAME = "service.name";
   public static final String DATABASE_NAME = "database.name";
   public static final String SENDING_REQUEST_TO_ELASTIC_SEARCH = "Sending request to ElasticSearch {}";
+  public static final String TAGS_FQN = "tags.tagFQN";
+  public static final String OWNER_ID = "owner.id";
+  public static final String REMOVE_TAGS_SCRIPT =
+      "ctx._source.tags.removeIf(tag -> tag.tagFQN == params.fqn || tag.tagFQN.startsWith(params.prefix))";
+  public static final String RENAME_TAGS_SCRIPT =
+      "for (tag in ctx._source.tags) { if (tag.tagFQN == params.fqn || tag.tagFQN.startsWith(params.prefix)) "
+          + "{ tag.tagFQN = params.newFqn + tag.tagFQN.substring(params.fqn.length()) } }";
+  public static final String REMOVE_OWNER_SCRIPT = "ctx._source.remove('owner')";
+  public static final String UPDATE_OWNER_SCRIPT =
+      "ctx._source.owner.name = params.name; ctx._source.owner.displayName = params.displayName; "
+          + "ctx._source.owner.fullyQualifiedName = params.fullyQualifiedName";
 }
@@ -12,6 +12,8 @@ import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinitio
 import static org.openmetadata.service.search.IndexUtil.createElasticSearchSSLContext;
 import static org.openmetadata.service.search.UpdateSearchEventsConstant.SENDING_REQUEST_TO_ELASTIC_SEARCH;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -36,13 +38,17 @@ import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.action.support.WriteRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.action.update.UpdateRequest;
@@ -90,6 +96,7 @@ import org.elasticsearch.search.aggregations.metrics.SumAggregationBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortOrder;
 import org.elasticsearch.search.suggest.Suggest;
 import org.elasticsearch.search.suggest.SuggestBuilder;
@@ -122,7 +129,6 @@ import org.openmetadata.schema.tests.TestSuite;
 import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
-import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.dataInsight.DataInsightAggregatorInterface;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
@@ -149,6 +155,24 @@ public class ElasticSearchClientImpl implements SearchClient {
   private final RestHighLevelClient client;
 
   private final CollectionDAO dao;
+  // Entity indexes the deletes and renames of tags, glossaries and owners are propagated to
+  private static final String[] PROPAGATION_INDEXES = {
+    ElasticSearchIndexDefinition.ElasticSearchIndexType.TABLE_SEARCH_INDEX.indexName,
+    ElasticSearchIndexDefinition.ElasticSearchIndexType.TOPIC_SEARCH_INDEX.indexName,
+    ElasticSearchIndexDefinition.ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX.indexName,
+    ElasticSearchIndexDefinition.ElasticSearchIndexType.PIPELINE_SEARCH_INDEX.indexName,
+    ElasticSearchIndexDefinition.ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName,
+    ElasticSearchIndexDefinition.ElasticSearchIndexType.MLMODEL_SEARCH_INDEX.indexName,
+    ElasticSearchIndexDefinition.ElasticSearchIndexType.CONTAINER_SEARCH_INDEX.indexName
+  };
+  private static final int PROPAGATION_BATCH_SIZE = 500;
+  private static final TimeValue PROPAGATION_SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+  private final WriteRequest.RefreshPolicy refreshPolicy;
+  // Document writes collected after startBulkRequest(), with the change event of each write
+  private BulkRequest bulkRequest;
+  private ChangeEvent bulkRequestEvent;
+  private final List<ChangeEvent> bulkRequestEvents = new ArrayList<>();
+  private final List<BulkItemFailure> bulkItemFailures = new ArrayList<>();
 
   private static final EnumMap<ElasticSearchIndexDefinition.ElasticSearchIndexType, IndexUtil.ElasticSearchIndexStatus>
       elasticSearchIndexes = new EnumMap<>(ElasticSearchIndexDefinition.ElasticSearchIndexType.class);
@@ -156,6 +180,7 @@ public class ElasticSearchClientImpl implements SearchClient {
   public ElasticSearchClientImpl(ElasticSearchConfiguration esConfig, CollectionDAO dao) {
     this.client = createElasticSearchClient(esConfig);
     this.dao = dao;
+    this.refreshPolicy = WriteRequest.RefreshPolicy.valueOf(esConfig.getRefreshPolicy().name());
   }
 
   public CollectionDAO getDao() {
@@ -169,6 +194,9 @@ public class ElasticSearchClientImpl implements SearchClient {
     xContentRegistry = new NamedXContentRegistry(searchModule.getNamedXContents());
   }
 
+  // Parsed query_filter and post_filter queries, the same few filters are sent by the explore and landing pages
+  private static final Cache<String, QueryBuilder> FILTER_CACHE = CacheBuilder.newBuilder().maximumSize(1000).build();
+
   @Override
   public boolean createIndex(ElasticSearchIndexDefinition.ElasticSearchIndexType elasticSearchIndexType, String lang) {
     try {
@@ -287,11 +315,7 @@ public class ElasticSearchClientImpl implements SearchClient {
     }
     if (!nullOrEmpty(request.getQueryFilter())) {
       try {
-        XContentParser filterParser =
-            XContentType.JSON
-                .xContent()
-                .createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, request.getQueryFilter());
-        QueryBuilder filter = SearchSourceBuilder.fromXContent(filterParser).query();
+        QueryBuilder filter = parseFilter(request.getQueryFilter());
         BoolQueryBuilder newQuery = QueryBuilders.boolQuery().must(searchSourceBuilder.query()).filter(filter);
         searchSourceBuilder.query(newQuery);
       } catch (Exception ex) {
@@ -301,11 +325,7 @@ public class ElasticSearchClientImpl implements SearchClient {
 
     if (!nullOrEmpty(request.getPostFilter())) {
       try {
-        XContentParser filterParser =
-            XContentType.JSON
-                .xContent()
-                .createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, request.getPostFilter());
-        QueryBuilder filter = SearchSourceBuilder.fromXContent(filterParser).query();
+        QueryBuilder filter = parseFilter(request.getPostFilter());
         searchSourceBuilder.postFilter(filter);
       } catch (Exception ex) {
         LOG.warn("Error parsing post_filter from query parameters, ignoring filter", ex);
@@ -391,6 +411,21 @@ public class ElasticSearchClientImpl implements SearchClient {
     return Response.status(OK).entity(suggest.toString()).build();
   }
 
+  /** Parse the query of a filter, reusing the query parsed for the same filter by a previous request */
+  private static QueryBuilder parseFilter(String filter) throws IOException {
+    QueryBuilder query = FILTER_CACHE.getIfPresent(filter);
+    if (query == null) {
+      try (XContentParser filterParser =
+          XContentType.JSON.xContent().createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, filter)) {
+        query = SearchSourceBuilder.fromXContent(filterParser).query();
+      }
+      if (query != null) {
+        FILTER_CACHE.put(filter, query);
+      }
+    }
+    return query;
+  }
+
   private static SearchSourceBuilder buildPipelineSearchBuilder(String query, int from, int size) {
     QueryStringQueryBuilder queryBuilder =
         QueryBuilders.queryStringQuery(query)
@@ -838,7 +873,6 @@ public class ElasticSearchClientImpl implements SearchClient {
     ElasticSearchIndex index = ElasticSearchIndexFactory.buildIndex(entityType, event.getEntity());
     updateRequest.doc(JsonUtils.pojoToJson(index.buildESDoc()), XContentType.JSON);
     updateRequest.docAsUpsert(true);
-    updateRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
     updateElasticSearch(updateRequest);
   }
 
@@ -872,6 +906,9 @@ public class ElasticSearchClientImpl implements SearchClient {
         userIndex = new UserIndex((User) event.getEntity());
         scriptedUserUpsert(userIndex.buildESDoc(), updateRequest);
         updateElasticSearch(updateRequest);
+        if (isRenamed(event)) {
+          propagateOwnerUpdate((User) event.getEntity());
+        }
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -883,6 +920,7 @@ public class ElasticSearchClientImpl implements SearchClient {
                 ElasticSearchIndexDefinition.ElasticSearchIndexType.USER_SEARCH_INDEX.indexName,
                 event.getEntityId().toString());
         deleteEntityFromElasticSearch(deleteRequest);
+        propagateOwnerRemoval((User) event.getEntity());
         break;
     }
   }
@@ -905,6 +943,9 @@ public class ElasticSearchClientImpl implements SearchClient {
         teamIndex = new TeamIndex((Team) event.getEntity());
         scriptedTeamUpsert(teamIndex.buildESDoc(), updateRequest);
         updateElasticSearch(updateRequest);
+        if (isRenamed(event)) {
+          propagateOwnerUpdate((Team) event.getEntity());
+        }
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -916,6 +957,7 @@ public class ElasticSearchClientImpl implements SearchClient {
                 ElasticSearchIndexDefinition.ElasticSearchIndexType.TEAM_SEARCH_INDEX.indexName,
                 event.getEntityId().toString());
         deleteEntityFromElasticSearch(deleteRequest);
+        propagateOwnerRemoval((Team) event.getEntity());
         break;
     }
   }
@@ -939,6 +981,10 @@ public class ElasticSearchClientImpl implements SearchClient {
         glossaryTermIndex = new GlossaryTermIndex((GlossaryTerm) event.getEntity());
         scriptedUpsert(glossaryTermIndex.buildESDoc(), updateRequest);
         updateElasticSearch(updateRequest);
+        String previousTermFqn = getPreviousFqn(event);
+        if (previousTermFqn != null) {
+          propagateTagRename(previousTermFqn, ((GlossaryTerm) event.getEntity()).getFullyQualifiedName());
+        }
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -957,19 +1003,26 @@ public class ElasticSearchClientImpl implements SearchClient {
                 .should(QueryBuilders.matchQuery("id", glossaryTerm.getId().toString()))
                 .should(QueryBuilders.matchQuery("parent.id", glossaryTerm.getId().toString())));
         deleteEntityFromElasticSearchByQuery(request);
+        propagateTagRemoval(glossaryTerm.getFullyQualifiedName());
         break;
     }
   }
 
   @Override
   public void updateGlossary(ChangeEvent event) throws IOException {
+    Glossary glossary = (Glossary) event.getEntity();
     if (event.getEventType() == ENTITY_DELETED) {
-      Glossary glossary = (Glossary) event.getEntity();
       DeleteByQueryRequest request =
           new DeleteByQueryRequest(ElasticSearchIndexDefinition.ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName);
       request.setQuery(
           QueryBuilders.boolQuery().should(QueryBuilders.matchQuery("glossary.id", glossary.getId().toString())));
       deleteEntityFromElasticSearchByQuery(request);
+      propagateTagRemoval(glossary.getFullyQualifiedName());
+    } else if (event.getEventType() == ENTITY_UPDATED) {
+      String previousFqn = getPreviousFqn(event);
+      if (previousFqn != null) {
+        propagateTagRename(previousFqn, glossary.getFullyQualifiedName());
+      }
     }
   }
 
@@ -996,6 +1049,10 @@ public class ElasticSearchClientImpl implements SearchClient {
           scriptedUpsert(tagIndex.buildESDoc(), updateRequest);
         }
         updateElasticSearch(updateRequest);
+        String previousTagFqn = getPreviousFqn(event);
+        if (previousTagFqn != null) {
+          propagateTagRename(previousTagFqn, ((Tag) event.getEntity()).getFullyQualifiedName());
+        }
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -1007,42 +1064,7 @@ public class ElasticSearchClientImpl implements SearchClient {
                 ElasticSearchIndexDefinition.ElasticSearchIndexType.TAG_SEARCH_INDEX.indexName,
                 event.getEntityId().toString());
         deleteEntityFromElasticSearch(deleteRequest);
-
-        String[] indexes =
-            new String[] {
-              ElasticSearchIndexDefinition.ElasticSearchIndexType.TABLE_SEARCH_INDEX.indexName,
-              ElasticSearchIndexDefinition.ElasticSearchIndexType.TOPIC_SEARCH_INDEX.indexName,
-              ElasticSearchIndexDefinition.ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX.indexName,
-              ElasticSearchIndexDefinition.ElasticSearchIndexType.PIPELINE_SEARCH_INDEX.indexName,
-              ElasticSearchIndexDefinition.ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName,
-              ElasticSearchIndexDefinition.ElasticSearchIndexType.MLMODEL_SEARCH_INDEX.indexName
-            };
-        BulkRequest request = new BulkRequest();
-        SearchRequest searchRequest;
-        SearchResponse response;
-        int batchSize = 50;
-        int totalHits;
-        int currentHits = 0;
-
-        do {
-          searchRequest =
-              searchRequest(indexes, "tags.tagFQN", event.getEntityFullyQualifiedName(), batchSize, currentHits);
-          response = client.search(searchRequest, RequestOptions.DEFAULT);
-          totalHits = (int) response.getHits().getTotalHits().value;
-          for (SearchHit hit : response.getHits()) {
-            Map<String, Object> sourceAsMap = hit.getSourceAsMap();
-            List<TagLabel> listTags = (List<TagLabel>) sourceAsMap.get("tags");
-            Script script = generateTagScript(listTags);
-            if (!script.toString().isEmpty()) {
-              request.add(
-                  updateRequests(sourceAsMap.get("entityType").toString(), sourceAsMap.get("id").toString(), script));
-            }
-          }
-          currentHits += response.getHits().getHits().length;
-        } while (currentHits < totalHits);
-        if (request.numberOfActions() > 0) {
-          client.bulk(request, RequestOptions.DEFAULT);
-        }
+        propagateTagRemoval(((Tag) event.getEntity()).getFullyQualifiedName());
     }
   }
 
@@ -1100,7 +1122,12 @@ public class ElasticSearchClientImpl implements SearchClient {
   @Override
   public void updateElasticSearch(UpdateRequest updateRequest) throws IOException {
     if (updateRequest != null) {
+      if (bulkRequest != null) {
+        addToBulkRequest(updateRequest);
+        return;
+      }
       LOG.debug(UpdateSearchEventsConstant.SENDING_REQUEST_TO_ELASTIC_SEARCH, updateRequest);
+      updateRequest.setRefreshPolicy(refreshPolicy);
       client.update(updateRequest, RequestOptions.DEFAULT);
     }
   }
@@ -1153,13 +1180,19 @@ public class ElasticSearchClientImpl implements SearchClient {
 
   @Override
   public void updateClassification(ChangeEvent event) throws IOException {
+    Classification classification = (Classification) event.getEntity();
     if (event.getEventType() == ENTITY_DELETED) {
-      Classification classification = (Classification) event.getEntity();
       DeleteByQueryRequest request =
           new DeleteByQueryRequest(ElasticSearchIndexDefinition.ElasticSearchIndexType.TAG_SEARCH_INDEX.indexName);
       String fqnMatch = classification.getName() + ".*";
       request.setQuery(new WildcardQueryBuilder("fullyQualifiedName", fqnMatch));
       deleteEntityFromElasticSearchByQuery(request);
+      propagateTagRemoval(classification.getFullyQualifiedName());
+    } else if (event.getEventType() == ENTITY_UPDATED) {
+      String previousFqn = getPreviousFqn(event);
+      if (previousFqn != null) {
+        propagateTagRename(previousFqn, classification.getFullyQualifiedName());
+      }
     }
   }
 
@@ -1191,6 +1224,7 @@ public class ElasticSearchClientImpl implements SearchClient {
 
   private void updateElasticSearchByQuery(UpdateByQueryRequest updateByQueryRequest) throws IOException {
     if (updateByQueryRequest != null) {
+      sendBulkRequest();
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, updateByQueryRequest);
       client.updateByQuery(updateByQueryRequest, RequestOptions.DEFAULT);
     }
@@ -1278,7 +1312,6 @@ public class ElasticSearchClientImpl implements SearchClient {
     Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt, JsonUtils.getMap(doc));
     updateRequest.script(script);
     updateRequest.scriptedUpsert(true);
-    updateRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
   }
 
   private void scriptedUserUpsert(Object index, UpdateRequest updateRequest) {
@@ -1322,14 +1355,70 @@ public class ElasticSearchClientImpl implements SearchClient {
 
   private void deleteEntityFromElasticSearch(DeleteRequest deleteRequest) throws IOException {
     if (deleteRequest != null) {
+      if (bulkRequest != null) {
+        addToBulkRequest(deleteRequest);
+        return;
+      }
       LOG.debug(UpdateSearchEventsConstant.SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
-      deleteRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+      deleteRequest.setRefreshPolicy(refreshPolicy);
       client.delete(deleteRequest, RequestOptions.DEFAULT);
     }
   }
 
+  private <R extends DocWriteRequest<?> & WriteRequest<?>> void addToBulkRequest(R request) {
+    // The refresh policy is set on the bulk request, bulk items can't have one
+    request.setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
+    bulkRequest.add(request);
+    bulkRequestEvents.add(bulkRequestEvent);
+  }
+
+  @Override
+  public void startBulkRequest() {
+    bulkRequest = new BulkRequest();
+    bulkRequestEvents.clear();
+    bulkItemFailures.clear();
+  }
+
+  @Override
+  public void setBulkRequestEvent(ChangeEvent event) {
+    bulkRequestEvent = event;
+  }
+
+  @Override
+  public List<BulkItemFailure> flushBulkRequest() throws IOException {
+    try {
+      sendBulkRequest();
+      return new ArrayList<>(bulkItemFailures);
+    } finally {
+      bulkRequest = null;
+      bulkRequestEvent = null;
+      bulkRequestEvents.clear();
+      bulkItemFailures.clear();
+    }
+  }
+
+  /** Send the document writes collected so far, before a request that may depend on them */
+  private void sendBulkRequest() throws IOException {
+    if (bulkRequest == null || bulkRequest.numberOfActions() == 0) {
+      return;
+    }
+    LOG.debug(UpdateSearchEventsConstant.SENDING_REQUEST_TO_ELASTIC_SEARCH, bulkRequest);
+    bulkRequest.setRefreshPolicy(refreshPolicy);
+    BulkResponse response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+    for (BulkItemResponse item : response.getItems()) {
+      if (item.isFailed()) {
+        bulkItemFailures.add(
+            new BulkItemFailure(
+                bulkRequestEvents.get(item.getItemId()), item.status().getStatus(), item.getFailureMessage()));
+      }
+    }
+    bulkRequest = new BulkRequest();
+    bulkRequestEvents.clear();
+  }
+
   private void deleteEntityFromElasticSearchByQuery(DeleteByQueryRequest deleteRequest) throws IOException {
     if (deleteRequest != null) {
+      sendBulkRequest();
       LOG.debug(UpdateSearchEventsConstant.SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefresh(true);
       client.deleteByQuery(deleteRequest, RequestOptions.DEFAULT);
@@ -1359,29 +1448,56 @@ public class ElasticSearchClientImpl implements SearchClient {
     }
   }
 
-  private SearchRequest searchRequest(String[] indexes, String field, String value, int batchSize, int from) {
-    SearchRequest searchRequest = new SearchRequest(indexes);
-    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-    searchSourceBuilder.query(QueryBuilders.matchQuery(field, value));
-    searchSourceBuilder.from(from);
-    searchSourceBuilder.size(batchSize);
-    searchSourceBuilder.timeout(new TimeValue(60, TimeUnit.SECONDS));
-    searchRequest.source(searchSourceBuilder);
-    return searchRequest;
-  }
-
-  private Script generateTagScript(List<TagLabel> listTags) {
-    StringBuilder scriptTxt = new StringBuilder();
-    Map<String, Object> fieldRemoveParams = new HashMap<>();
-    fieldRemoveParams.put("tags", listTags);
-    scriptTxt.append("ctx._source.tags=params.tags;");
-    scriptTxt.append("ctx._source.tags.removeAll(params.tags);");
-    fieldRemoveParams.put("tags", listTags);
-    return new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt.toString(), fieldRemoveParams);
-  }
-
-  private UpdateRequest updateRequests(String entityType, String entityId, Script script) {
-    return new UpdateRequest(IndexUtil.ENTITY_TYPE_TO_INDEX_MAP.get(entityType), entityId).script(script);
+  @Override
+  public void propagateToDocuments(
+      String description, String field, String value, String prefix, String script, Map<String, Object> params)
+      throws IOException {
+    // The documents are searched after the writes of the change events before this one are applied
+    sendBulkRequest();
+    BoolQueryBuilder query = QueryBuilders.boolQuery().should(QueryBuilders.termQuery(field, value));
+    if (prefix != null) {
+      query.should(QueryBuilders.prefixQuery(field, prefix));
+    }
+    Script updateScript = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, script, params);
+    // Scroll through the documents sorted by index order, updating each page with its own bulk request
+    SearchRequest searchRequest =
+        new SearchRequest(PROPAGATION_INDEXES)
+            .indicesOptions(IndicesOptions.lenientExpandOpen())
+            .scroll(PROPAGATION_SCROLL_KEEP_ALIVE)
+            .source(
+                new SearchSourceBuilder()
+                    .query(query)
+                    .size(PROPAGATION_BATCH_SIZE)
+                    .fetchSource(false)
+                    .trackTotalHits(true)
+                    .sort(FieldSortBuilder.DOC_FIELD_NAME, SortOrder.ASC));
+    SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+    String scrollId = response.getScrollId();
+    long total = response.getHits().getTotalHits().value;
+    long updated = 0;
+    try {
+      while (response.getHits().getHits().length > 0) {
+        BulkRequest chunk = new BulkRequest().setRefreshPolicy(refreshPolicy);
+        for (SearchHit hit : response.getHits()) {
+          chunk.add(new UpdateRequest(hit.getIndex(), hit.getId()).script(updateScript).retryOnConflict(3));
+        }
+        BulkResponse chunkResponse = client.bulk(chunk, RequestOptions.DEFAULT);
+        if (chunkResponse.hasFailures()) {
+          LOG.error(
+              "Failed to propagate the {} to some documents: {}", description, chunkResponse.buildFailureMessage());
+        }
+        updated += chunk.numberOfActions();
+        LOG.info("Propagated the {} to {} of {} documents", description, updated, total);
+        response =
+            client.scroll(
+                new SearchScrollRequest(scrollId).scroll(PROPAGATION_SCROLL_KEEP_ALIVE), RequestOptions.DEFAULT);
+        scrollId = response.getScrollId();
+      }
+    } finally {
+      ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+      clearScrollRequest.addScrollId(scrollId);
+      client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+    }
   }
 
   /**
@@ -80,7 +80,7 @@ public class ElasticSearchEntitiesProcessor implements Processor<BulkRequest, Re
   }
 
   @Override
-  public void updateStats(int currentSuccess, int currentFailed) {
+  public synchronized void updateStats(int currentSuccess, int currentFailed) {
     getUpdatedStats(stats, currentSuccess, currentFailed);
   }
 
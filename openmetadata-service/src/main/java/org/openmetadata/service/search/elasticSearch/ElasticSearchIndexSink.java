@@ -51,7 +51,7 @@ public class ElasticSearchIndexSink implements Sink<BulkRequest, BulkResponse> {
   }
 
   @Override
-  public void updateStats(int currentSuccess, int currentFailed) {
+  public synchronized void updateStats(int currentSuccess, int currentFailed) {
     getUpdatedStats(stats, currentSuccess, currentFailed);
   }
 
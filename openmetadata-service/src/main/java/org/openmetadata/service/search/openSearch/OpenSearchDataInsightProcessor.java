@@ -73,7 +73,7 @@ public class OpenSearchDataInsightProcessor implements Processor<BulkRequest, Re
   }
 
   @Override
-  public void updateStats(int currentSuccess, int currentFailed) {
+  public synchronized void updateStats(int currentSuccess, int currentFailed) {
     getUpdatedStats(stats, currentSuccess, currentFailed);
   }
 
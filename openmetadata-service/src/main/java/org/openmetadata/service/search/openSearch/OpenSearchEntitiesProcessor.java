@@ -80,7 +80,7 @@ public class OpenSearchEntitiesProcessor implements Processor<BulkRequest, Resul
   }
 
   @Override
-  public void updateStats(int currentSuccess, int currentFailed) {
+  public synchronized void updateStats(int currentSuccess, int currentFailed) {
     getUpdatedStats(stats, currentSuccess, currentFailed);
   }
 
@@ -52,7 +52,7 @@ public class OpenSearchIndexSink implements Sink<BulkRequest, BulkResponse> {
   }
 
   @Override
-  public void updateStats(int currentSuccess, int currentFailed) {
+  public synchronized void updateStats(int currentSuccess, int currentFailed) {
     getUpdatedStats(stats, currentSuccess, currentFailed);
   }
 
@@ -21,6 +21,7 @@ import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.model.DeleteParameterRequest;
 import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
 import software.amazon.awssdk.services.ssm.model.ParameterType;
 import software.amazon.awssdk.services.ssm.model.PutParameterRequest;
 
@@ -72,7 +73,12 @@ public class AWSSSMSecretsManager extends AWSBasedSecretsManager {
   }
 
   @Override
-  protected void deleteSecretInternal(String secretName) {
+  boolean isSecretNotFound(RuntimeException e) {
+    return e instanceof ParameterNotFoundException;
+  }
+
+  @Override
+  void deleteSecret(String secretName) {
     DeleteParameterRequest deleteParameterRequest = DeleteParameterRequest.builder().name(secretName).build();
     this.ssmClient.deleteParameter(deleteParameterRequest);
   }
@@ -24,6 +24,7 @@ import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import software.amazon.awssdk.services.secretsmanager.model.CreateSecretRequest;
 import software.amazon.awssdk.services.secretsmanager.model.DeleteSecretRequest;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.secretsmanager.model.UpdateSecretRequest;
 
 public class AWSSecretsManager extends AWSBasedSecretsManager {
@@ -74,7 +75,12 @@ public class AWSSecretsManager extends AWSBasedSecretsManager {
   }
 
   @Override
-  protected void deleteSecretInternal(String secretName) {
+  boolean isSecretNotFound(RuntimeException e) {
+    return e instanceof ResourceNotFoundException;
+  }
+
+  @Override
+  void deleteSecret(String secretName) {
     DeleteSecretRequest deleteSecretRequest = DeleteSecretRequest.builder().secretId(secretName).build();
     this.secretsClient.deleteSecret(deleteSecretRequest);
   }
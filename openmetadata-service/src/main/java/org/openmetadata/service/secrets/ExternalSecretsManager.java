@@ -13,19 +13,62 @@
 
 package org.openmetadata.service.secrets;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.CheckForNull;
 import org.openmetadata.schema.security.secrets.SecretsManagerProvider;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
 
+/**
+ * Secrets manager storing the secrets in an external store.
+ *
+ * <p>The values of the secrets read from the store are cached for a short time, along with the secrets found missing,
+ * so that checking the secrets does not read the store every time. Concurrent reads of a secret are done once. Secrets
+ * written or deleted through this manager update the cache. Secrets changed in the store by other servers are picked
+ * up when the entries expire. Failures to read a secret other than the secret not being found, like a throttled or
+ * unauthorized call, are not cached.
+ *
+ * <p>Storing the same secret again, like the server connection of each ingestion pipeline deployed, does not write
+ * the store. As the cache may be stale, the store is read again to confirm the value before a write is skipped.
+ */
 public abstract class ExternalSecretsManager extends SecretsManager {
   public static final String NULL_SECRET_STRING = "null";
   public static final String SECRET_FIELD_PREFIX = "secret:";
+  private static final long SECRETS_CACHE_MAX_SIZE = 10000;
+  private static final long SECRETS_CACHE_EXPIRE_SECONDS = 60;
 
-  private final long WAIT_TIME_BETWEEN_STORE_CALLS;
+  // token bucket delaying the calls to the secrets manager to stay below its quotas, null when calls are not limited
+  private final RateLimiter rateLimiter;
+  // Secret name to its value, empty when the secret does not exist in the store
+  private final LoadingCache<String, Optional<String>> secretsCache;
 
   protected ExternalSecretsManager(
       SecretsManagerProvider secretsManagerProvider, String clusterPrefix, long waitTimeBetweenCalls) {
     super(secretsManagerProvider, clusterPrefix);
-    WAIT_TIME_BETWEEN_STORE_CALLS = waitTimeBetweenCalls;
+    rateLimiter = waitTimeBetweenCalls > 0 ? RateLimiter.create(1000.0 / waitTimeBetweenCalls) : null;
+    secretsCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(SECRETS_CACHE_MAX_SIZE)
+            .expireAfterWrite(SECRETS_CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS)
+            .recordStats()
+            .build(new SecretLoader());
+    if (MicrometerBundleSingleton.prometheusMeterRegistry != null) {
+      GuavaCacheMetrics.monitor(
+          MicrometerBundleSingleton.prometheusMeterRegistry,
+          secretsCache,
+          "secrets_manager_cache",
+          "provider",
+          secretsManagerProvider.value());
+    }
   }
 
   @Override
@@ -42,40 +85,98 @@ public abstract class ExternalSecretsManager extends SecretsManager {
     }
   }
 
+  /** Store the secret, or update it when it exists with another value. Secrets already up-to-date are not written. */
   public void upsertSecret(String secretName, String secretValue) {
-    if (existSecret(secretName)) {
-      updateSecret(secretName, secretValue != null ? secretValue : NULL_SECRET_STRING);
-      sleep();
-    } else {
-      storeSecret(secretName, secretValue != null ? secretValue : NULL_SECRET_STRING);
-      sleep();
+    String value = secretValue != null ? secretValue : NULL_SECRET_STRING;
+    Optional<String> existingValue = getCachedSecret(secretName);
+    try {
+      if (existingValue.isPresent() && existingValue.get().equals(value)) {
+        // another server may have changed the secret since it was cached, only the store tells the write is not needed
+        existingValue = readSecret(secretName);
+        if (existingValue.isPresent() && existingValue.get().equals(value)) {
+          secretsCache.put(secretName, existingValue);
+          return;
+        }
+      }
+      acquire();
+      if (existingValue.isPresent()) {
+        updateSecret(secretName, value);
+      } else {
+        storeSecret(secretName, value);
+      }
+      secretsCache.put(secretName, Optional.of(value));
+    } catch (RuntimeException e) {
+      // the secret may have been written before the failure, or exist when its read failed
+      secretsCache.invalidate(secretName);
+      throw e;
     }
   }
 
   public boolean existSecret(String secretName) {
+    return getCachedSecret(secretName).isPresent();
+  }
+
+  /** Returns the cached value of the secret, read from the store when not cached, and the failure to read it if any */
+  private Optional<String> getCachedSecret(String secretName) {
+    try {
+      return secretsCache.getUnchecked(secretName);
+    } catch (UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  @Override
+  protected void deleteSecretInternal(String secretName) {
     try {
-      boolean exists = getSecret(secretName) != null;
-      sleep();
-      return exists;
-    } catch (Exception e) {
-      return false;
+      acquire();
+      deleteSecret(secretName);
+    } finally {
+      secretsCache.invalidate(secretName);
     }
   }
 
+  @VisibleForTesting
+  void invalidateSecretsCache() {
+    secretsCache.invalidateAll();
+  }
+
   abstract void storeSecret(String secretName, String secretValue);
 
   abstract void updateSecret(String secretName, String secretValue);
 
   abstract String getSecret(String secretName);
 
-  private void sleep() {
-    // delay reaching secrets manager quotas
-    if (WAIT_TIME_BETWEEN_STORE_CALLS > 0) {
-      try {
-        Thread.sleep(WAIT_TIME_BETWEEN_STORE_CALLS);
-      } catch (InterruptedException e) {
-        throw new RuntimeException(e);
+  abstract void deleteSecret(String secretName);
+
+  /** Read the secret from the store, empty when it does not exist */
+  private Optional<String> readSecret(String secretName) {
+    acquire();
+    try {
+      return Optional.ofNullable(getSecret(secretName));
+    } catch (RuntimeException e) {
+      // only a missing secret is empty, other failures are thrown to the caller
+      if (isSecretNotFound(e)) {
+        return Optional.empty();
       }
+      throw e;
+    }
+  }
+
+  /** Returns true when the exception thrown by {@link #getSecret(String)} is due to the secret not existing */
+  abstract boolean isSecretNotFound(RuntimeException e);
+
+  private class SecretLoader extends CacheLoader<String, Optional<String>> {
+    @Override
+    public Optional<String> load(@CheckForNull String secretName) {
+      // failures other than a missing secret are thrown, so that they are not cached and the secret is read again
+      return readSecret(secretName);
+    }
+  }
+
+  private void acquire() {
+    if (rateLimiter != null) {
+      rateLimiter.acquire();
     }
   }
 }
@@ -46,7 +46,7 @@ public class InMemorySecretsManager extends ExternalSecretsManager {
   }
 
   @Override
-  protected void deleteSecretInternal(String secretName) {
+  void deleteSecret(String secretName) {
     secretsMap.remove(secretName);
   }
 
@@ -58,4 +58,9 @@ public class InMemorySecretsManager extends ExternalSecretsManager {
     }
     return value;
   }
+
+  @Override
+  boolean isSecretNotFound(RuntimeException e) {
+    return e instanceof SecretsManagerException;
+  }
 }
@@ -13,14 +13,25 @@
 
 package org.openmetadata.service.secrets;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.ServiceConnectionEntityInterface;
 import org.openmetadata.schema.ServiceEntityInterface;
 import org.openmetadata.schema.entity.automations.Workflow;
@@ -28,6 +39,11 @@ import org.openmetadata.schema.entity.services.ingestionPipelines.IngestionPipel
 import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.SecretsManagerUpdateException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionObject;
+import org.openmetadata.service.jdbi3.EntityDAO;
+import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.jdbi3.IngestionPipelineRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.jdbi3.ServiceEntityRepository;
@@ -36,7 +52,10 @@ import org.openmetadata.service.jdbi3.WorkflowRepository;
 import org.openmetadata.service.resources.CollectionRegistry;
 import org.openmetadata.service.resources.CollectionRegistry.CollectionDetails;
 import org.openmetadata.service.resources.services.ServiceEntityResource;
+import org.openmetadata.service.resources.version.VersionResource;
 import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.ResultList;
 
 /**
  * Update service using the configured secret manager.
@@ -46,20 +65,39 @@ import org.openmetadata.service.util.EntityUtil;
  * <p>- It will update all the user bots with authentication mechanism
  *
  * <p>- It will update all the ingestion pipelines of type metadata with DBT config
+ *
+ * <p>- It will update all the workflows with their request
+ *
+ * <p>The update is differential. Once updated, the fingerprint of the encrypted secrets of an entity, along with the
+ * secrets manager and the server version, is stored in the entity extensions. Only the entities whose fingerprint
+ * changed since are updated, after a server upgrade or a change of secrets manager, or when an entity was written
+ * without this service. Entities are listed in pages, and the entities to update of a page are split across a pool of
+ * workers.
+ *
+ * <p>Each entity is read again before its secrets are encrypted, and written only if it was not updated in between, as
+ * the server may serve requests during the update. An entity that keeps being updated is left for the next start.
  */
 @Slf4j
 public class SecretsManagerUpdateService {
+  static final String FINGERPRINT_EXTENSION = "secretsManager.fingerprint";
+  private static final int BATCH_SIZE = 100;
+  private static final int WORKERS = 4;
+  private static final int MAX_ATTEMPTS = 3;
+
   private final SecretsManager secretManager;
   private final SecretsManager oldSecretManager;
+  private final CollectionDAO daoCollection;
   private final UserRepository userRepository;
   private final IngestionPipelineRepository ingestionPipelineRepository;
   private final WorkflowRepository workflowRepository;
+  private final String fingerprintPrefix;
 
   private final Map<Class<? extends ServiceConnectionEntityInterface>, ServiceEntityRepository<?, ?>>
       connectionTypeRepositoriesMap;
 
-  public SecretsManagerUpdateService(SecretsManager secretsManager, String clusterName) {
+  public SecretsManagerUpdateService(SecretsManager secretsManager, String clusterName, CollectionDAO daoCollection) {
     this.secretManager = secretsManager;
+    this.daoCollection = daoCollection;
     this.connectionTypeRepositoriesMap = retrieveConnectionTypeRepositoriesMap();
     this.userRepository = (UserRepository) Entity.getEntityRepository(Entity.USER);
     this.ingestionPipelineRepository =
@@ -67,97 +105,171 @@ public class SecretsManagerUpdateService {
     this.workflowRepository = (WorkflowRepository) Entity.getEntityRepository(Entity.WORKFLOW);
     // by default, it is going to be non-managed secrets manager since decrypt is the same for all of them
     this.oldSecretManager = SecretsManagerFactory.createSecretsManager(null, clusterName);
+    this.fingerprintPrefix =
+        String.join(
+            ":",
+            secretsManager.getSecretsManagerProvider().value(),
+            clusterName,
+            new VersionResource().getCatalogVersion().getVersion());
+  }
+
+  /**
+   * Update the entities when the server starts. When the secrets manager changed, the secrets are not readable until
+   * they are encrypted with the new one, and the server waits for the update. Otherwise, the update only follows a
+   * change of the JSON schemas, and runs in a background thread not to delay the start.
+   */
+  public void updateEntitiesOnStart() {
+    Map<String, String> fingerprints = readFingerprints();
+    String provider = secretManager.getSecretsManagerProvider().value();
+    if (providerChanged(fingerprints.values(), provider)) {
+      LOG.info("Updating the entities with the secrets manager [{}] before starting", provider);
+      updateEntities(fingerprints);
+      return;
+    }
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                updateEntities(fingerprints);
+              } catch (Exception e) {
+                LOG.error("Failed to update the entities with the secrets manager", e);
+              }
+            },
+            "secrets-manager-update");
+    thread.setDaemon(true);
+    thread.start();
   }
 
   public void updateEntities() {
-    updateServices();
-    updateBotUsers();
-    updateIngestionPipelines();
-    updateWorkflows();
+    updateEntities(readFingerprints());
+  }
+
+  private Map<String, String> readFingerprints() {
+    Map<String, String> fingerprints = new HashMap<>();
+    try {
+      for (EntityExtensionObject extension :
+          daoCollection.entityExtensionDAO().getExtensionForAllEntities(FINGERPRINT_EXTENSION)) {
+        fingerprints.put(extension.getId(), JsonUtils.readValue(extension.getJson(), String.class));
+      }
+    } catch (IOException e) {
+      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
+    }
+    return fingerprints;
+  }
+
+  /** Returns true when no entity was updated yet, or when some were updated with another secrets manager */
+  static boolean providerChanged(Collection<String> fingerprints, String provider) {
+    return fingerprints.isEmpty()
+        || fingerprints.stream().anyMatch(fingerprint -> !fingerprint.startsWith(provider + ":"));
   }
 
-  private void updateServices() {
+  private void updateEntities(Map<String, String> fingerprints) {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            WORKERS,
+            r -> {
+              Thread thread = new Thread(r, "secrets-manager-update-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      Updater updater =
+          new Updater(
+              secretManager.getSecretsManagerProvider().value(),
+              fingerprintPrefix,
+              fingerprints,
+              executor,
+              daoCollection.entityExtensionDAO());
+      updateServices(updater);
+      updateBotUsers(updater);
+      updateIngestionPipelines(updater);
+      updateWorkflows(updater);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void updateServices(Updater updater) {
     LOG.info(
         String.format(
             "Updating services in case of an update on the JSON schema: [%s]",
             secretManager.getSecretsManagerProvider().value()));
-    retrieveServices().forEach(this::updateService);
+    connectionTypeRepositoriesMap.values().forEach(repository -> updateServices(updater, repository));
+  }
+
+  private <T extends ServiceEntityInterface> void updateServices(
+      Updater updater, ServiceEntityRepository<T, ?> repository) {
+    updater.update(
+        repository,
+        EntityUtil.Fields.EMPTY_FIELDS,
+        service -> !Objects.isNull(service.getConnection()) && !Objects.isNull(service.getConnection().getConfig()),
+        ServiceEntityInterface::getConnection,
+        service -> updateService(repository, service));
   }
 
-  private void updateBotUsers() {
+  private void updateBotUsers(Updater updater) {
     LOG.info(
         String.format(
             "Updating bot users in case of an update on the JSON schema: [%s]",
             secretManager.getSecretsManagerProvider().value()));
-    retrieveBotUsers().forEach(this::updateBotUser);
+    updater.update(
+        userRepository,
+        new EntityUtil.Fields(List.of("authenticationMechanism")),
+        user -> Boolean.TRUE.equals(user.getIsBot()),
+        User::getAuthenticationMechanism,
+        this::updateBotUser);
   }
 
-  private void updateIngestionPipelines() {
+  private void updateIngestionPipelines(Updater updater) {
     LOG.info(
         String.format(
             "Updating ingestion pipelines in case of an update on the JSON schema: [%s]",
             secretManager.getSecretsManagerProvider().value()));
-    retrieveIngestionPipelines().forEach(this::updateIngestionPipeline);
+    updater.update(
+        ingestionPipelineRepository,
+        EntityUtil.Fields.EMPTY_FIELDS,
+        ingestionPipeline -> true,
+        IngestionPipeline::getSourceConfig,
+        this::updateIngestionPipeline);
   }
 
-  private void updateWorkflows() {
+  private void updateWorkflows(Updater updater) {
     LOG.info(
         String.format(
             "Updating workflows in case of an update on the JSON schema: [%s]",
             secretManager.getSecretsManagerProvider().value()));
-    retrieveWorkflows().forEach(this::updateWorkflow);
+    updater.update(
+        workflowRepository,
+        EntityUtil.Fields.EMPTY_FIELDS,
+        workflow -> true,
+        Workflow::getRequest,
+        this::updateWorkflow);
   }
 
-  private void updateService(ServiceEntityInterface serviceEntityInterface) {
-    ServiceEntityRepository<?, ?> repository =
-        connectionTypeRepositoriesMap.get(serviceEntityInterface.getConnection().getClass());
-    try {
-      ServiceEntityInterface service = repository.getDao().findEntityById(serviceEntityInterface.getId());
-      // we have to decrypt using the old secrets manager and encrypt again with the new one
-      service
-          .getConnection()
-          .setConfig(
-              oldSecretManager.decryptServiceConnectionConfig(
-                  service.getConnection().getConfig(), service.getServiceType().value(), repository.getServiceType()));
-      service
-          .getConnection()
-          .setConfig(
-              secretManager.encryptServiceConnectionConfig(
-                  service.getConnection().getConfig(),
-                  service.getServiceType().value(),
-                  service.getName(),
-                  repository.getServiceType()));
-      repository.getDao().update(service);
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
-    }
-  }
-
-  private List<ServiceEntityInterface> retrieveServices() {
-    return connectionTypeRepositoriesMap.values().stream()
-        .map(this::retrieveServices)
-        .flatMap(List<ServiceEntityInterface>::stream)
-        .collect(Collectors.toList());
-  }
-
-  private List<ServiceEntityInterface> retrieveServices(ServiceEntityRepository<?, ?> serviceEntityRepository) {
-    try {
-      return serviceEntityRepository
-          .listAfter(
-              null,
-              EntityUtil.Fields.EMPTY_FIELDS,
-              new ListFilter(),
-              serviceEntityRepository.getDao().listCount(new ListFilter()),
-              null)
-          .getData().stream()
-          .map(ServiceEntityInterface.class::cast)
-          .filter(
-              service ->
-                  !Objects.isNull(service.getConnection()) && !Objects.isNull(service.getConnection().getConfig()))
-          .collect(Collectors.toList());
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
-    }
+  private <T extends ServiceEntityInterface> T updateService(
+      ServiceEntityRepository<T, ?> repository, T serviceEntityInterface) throws IOException {
+    return updateIfUnchanged(
+        repository.getDao(),
+        serviceEntityInterface.getId(),
+        service -> {
+          // we have to decrypt using the old secrets manager and encrypt again with the new one
+          service
+              .getConnection()
+              .setConfig(
+                  oldSecretManager.decryptServiceConnectionConfig(
+                      service.getConnection().getConfig(),
+                      service.getServiceType().value(),
+                      repository.getServiceType()));
+          service
+              .getConnection()
+              .setConfig(
+                  secretManager.encryptServiceConnectionConfig(
+                      service.getConnection().getConfig(),
+                      service.getServiceType().value(),
+                      service.getName(),
+                      repository.getServiceType()));
+          return service;
+        });
   }
 
   private Map<Class<? extends ServiceConnectionEntityInterface>, ServiceEntityRepository<?, ?>>
@@ -193,85 +305,163 @@ public class SecretsManagerUpdateService {
     return collectionDetailsClass;
   }
 
-  private List<User> retrieveBotUsers() {
-    try {
-      return userRepository
-          .listAfter(
-              null,
-              new EntityUtil.Fields(List.of("authenticationMechanism")),
-              new ListFilter(),
-              userRepository.getDao().listCount(new ListFilter()),
-              null)
-          .getData().stream()
-          .filter(user -> Boolean.TRUE.equals(user.getIsBot()))
-          .collect(Collectors.toList());
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
-    }
+  private User updateBotUser(User botUser) throws IOException {
+    return updateIfUnchanged(
+        userRepository.getDao(),
+        botUser.getId(),
+        user -> {
+          oldSecretManager.decryptAuthenticationMechanism(user.getName(), user.getAuthenticationMechanism());
+          secretManager.encryptAuthenticationMechanism(user.getName(), user.getAuthenticationMechanism());
+          return user;
+        });
   }
 
-  private void updateBotUser(User botUser) {
-    try {
-      User user = userRepository.getDao().findEntityById(botUser.getId());
-      oldSecretManager.decryptAuthenticationMechanism(botUser.getName(), user.getAuthenticationMechanism());
-      secretManager.encryptAuthenticationMechanism(botUser.getName(), user.getAuthenticationMechanism());
-      userRepository.getDao().update(user);
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
-    }
+  private IngestionPipeline updateIngestionPipeline(IngestionPipeline ingestionPipeline) throws IOException {
+    return updateIfUnchanged(
+        ingestionPipelineRepository.getDao(),
+        ingestionPipeline.getId(),
+        ingestion -> {
+          // we have to decrypt using the old secrets manager and encrypt again with the new one
+          oldSecretManager.decryptIngestionPipeline(ingestion);
+          secretManager.encryptIngestionPipeline(ingestion);
+          return ingestion;
+        });
   }
 
-  private List<IngestionPipeline> retrieveIngestionPipelines() {
-    try {
-      return ingestionPipelineRepository
-          .listAfter(
-              null,
-              EntityUtil.Fields.EMPTY_FIELDS,
-              new ListFilter(),
-              ingestionPipelineRepository.getDao().listCount(new ListFilter()),
-              null)
-          .getData();
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
-    }
+  private Workflow updateWorkflow(Workflow workflow) throws IOException {
+    // we have to decrypt using the old secrets manager and encrypt again with the new one
+    return updateIfUnchanged(
+        workflowRepository.getDao(),
+        workflow.getId(),
+        workflowObject -> secretManager.encryptWorkflow(oldSecretManager.decryptWorkflow(workflowObject)));
   }
 
-  private List<Workflow> retrieveWorkflows() {
-    try {
-      return workflowRepository
-          .listAfter(
-              null,
-              EntityUtil.Fields.EMPTY_FIELDS,
-              new ListFilter(),
-              workflowRepository.getDao().listCount(new ListFilter()),
-              null)
-          .getData();
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
+  /**
+   * Read the entity, encrypt its secrets and write it, unless the entity was updated since it was read. The entity is
+   * then read again. Returns null when it keeps being updated, and the entity is not written.
+   */
+  static <T extends EntityInterface> T updateIfUnchanged(EntityDAO<T> dao, UUID id, EntityUpdate<T> encrypt)
+      throws IOException {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      T entity = encrypt.update(dao.findEntityById(id));
+      if (dao.updateIfUnchanged(entity)) {
+        return entity;
+      }
     }
+    LOG.warn(
+        "{} {} is being updated, its secrets are updated on the next start", dao.getEntityClass().getSimpleName(), id);
+    return null;
   }
 
-  private void updateIngestionPipeline(IngestionPipeline ingestionPipeline) {
-    try {
-      IngestionPipeline ingestion = ingestionPipelineRepository.getDao().findEntityById(ingestionPipeline.getId());
-      // we have to decrypt using the old secrets manager and encrypt again with the new one
-      oldSecretManager.decryptIngestionPipeline(ingestionPipeline);
-      secretManager.encryptIngestionPipeline(ingestionPipeline);
-      ingestionPipelineRepository.getDao().update(ingestion);
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
-    }
+  interface EntityUpdate<T> {
+    T update(T entity) throws IOException;
   }
 
-  private void updateWorkflow(Workflow workflow) {
-    try {
-      Workflow workflowObject = workflowRepository.getDao().findEntityById(workflow.getId());
-      // we have to decrypt using the old secrets manager and encrypt again with the new one
-      workflowObject = oldSecretManager.decryptWorkflow(workflowObject);
-      workflowObject = secretManager.encryptWorkflow(workflowObject);
-      ingestionPipelineRepository.getDao().update(workflowObject);
-    } catch (IOException e) {
-      throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
+  /** Updates the entities of a repository whose fingerprint changed, page by page */
+  static class Updater {
+    private final String provider;
+    private final String fingerprintPrefix;
+    private final Map<String, String> fingerprints;
+    private final ExecutorService executor;
+    private final EntityExtensionDAO entityExtensionDAO;
+
+    Updater(
+        String provider,
+        String fingerprintPrefix,
+        Map<String, String> fingerprints,
+        ExecutorService executor,
+        EntityExtensionDAO entityExtensionDAO) {
+      this.provider = provider;
+      this.fingerprintPrefix = fingerprintPrefix;
+      this.fingerprints = fingerprints;
+      this.executor = executor;
+      this.entityExtensionDAO = entityExtensionDAO;
+    }
+
+    /** Returns the fingerprint of the secrets of an entity, prefixed with the secrets manager that encrypted them */
+    String fingerprint(Object secrets) throws JsonProcessingException {
+      return provider + ":" + EntityUtil.hash(fingerprintPrefix + ":" + JsonUtils.pojoToJson(secrets));
+    }
+
+    <T extends EntityInterface> void update(
+        EntityRepository<T> repository,
+        EntityUtil.Fields fields,
+        Predicate<T> filter,
+        Function<T, Object> secrets,
+        EntityUpdate<T> entityUpdate) {
+      int updated = 0;
+      int total = 0;
+      String after = null;
+      try {
+        do {
+          ResultList<T> page = repository.listAfter(null, fields, new ListFilter(), BATCH_SIZE, after);
+          List<T> changed = new ArrayList<>();
+          for (T entity : page.getData()) {
+            if (filter.test(entity)) {
+              total++;
+              if (!fingerprint(secrets.apply(entity)).equals(fingerprints.get(entity.getId().toString()))) {
+                changed.add(entity);
+              }
+            }
+          }
+          updated += updateBatch(changed, secrets, entityUpdate);
+          after = page.getPaging().getAfter();
+        } while (after != null);
+      } catch (IOException e) {
+        throw new SecretsManagerUpdateException(e.getMessage(), e.getCause());
+      }
+      LOG.info("Updated {} of {} {} with the secrets manager", updated, total, repository.getEntityType());
+    }
+
+    /**
+     * Update the entities split across the workers, then store the fingerprints of the entities written with one
+     * statement. Returns the number of entities written.
+     */
+    private <T extends EntityInterface> int updateBatch(
+        List<T> entities, Function<T, Object> secrets, EntityUpdate<T> entityUpdate) {
+      if (entities.isEmpty()) {
+        return 0;
+      }
+      int chunkSize = (entities.size() + WORKERS - 1) / WORKERS;
+      List<Future<List<EntityExtensionObject>>> futures = new ArrayList<>();
+      for (int i = 0; i < entities.size(); i += chunkSize) {
+        List<T> chunk = entities.subList(i, Math.min(i + chunkSize, entities.size()));
+        futures.add(
+            executor.submit(
+                () -> {
+                  List<EntityExtensionObject> updated = new ArrayList<>(chunk.size());
+                  for (T entity : chunk) {
+                    T updatedEntity = entityUpdate.update(entity);
+                    if (updatedEntity == null) {
+                      continue;
+                    }
+                    updated.add(
+                        EntityExtensionObject.builder()
+                            .id(updatedEntity.getId().toString())
+                            .extension(FINGERPRINT_EXTENSION)
+                            .jsonSchema("fingerprint")
+                            .json(JsonUtils.pojoToJson(fingerprint(secrets.apply(updatedEntity))))
+                            .build());
+                  }
+                  return updated;
+                }));
+      }
+      List<EntityExtensionObject> fingerprintsUpdated = new ArrayList<>(entities.size());
+      try {
+        for (Future<List<EntityExtensionObject>> future : futures) {
+          fingerprintsUpdated.addAll(future.get());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SecretsManagerUpdateException("Interrupted while updating the entities", e);
+      } catch (ExecutionException e) {
+        futures.forEach(future -> future.cancel(true));
+        throw new SecretsManagerUpdateException(e.getCause().getMessage(), e.getCause());
+      }
+      if (!fingerprintsUpdated.isEmpty()) {
+        entityExtensionDAO.insertBatch(fingerprintsUpdated);
+      }
+      return fingerprintsUpdated.size();
     }
   }
 }
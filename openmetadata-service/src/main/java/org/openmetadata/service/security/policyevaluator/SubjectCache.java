@@ -22,7 +22,6 @@ import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Stack;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -142,32 +141,20 @@ public class SubjectCache {
 
   /** Return true if given list of teams is part of the hierarchy of parentTeam */
   public boolean isInTeam(String parentTeam, EntityReference team) {
-    Stack<EntityReference> stack = new Stack<>();
-    stack.push(team); // Start with team and see if the parent matches
-    while (!stack.empty()) {
-      Team parent = getTeam(stack.pop().getId());
-      if (parent.getName().equals(parentTeam)) {
-        return true;
-      }
-      listOrEmpty(parent.getParents()).forEach(stack::push); // Continue to go up the chain of parents
-    }
-    return false;
+    return teamRepository.getTeamHierarchy().isInTeam(parentTeam, team.getId());
   }
 
   /** Return true if the given user has any roles the list of roles */
   public boolean hasRole(User user, String role) {
-    Stack<EntityReference> stack = new Stack<>();
     // If user has one of the roles directly assigned then return true
     if (hasRole(user.getRoles(), role)) {
       return true;
     }
-    listOrEmpty(user.getTeams()).forEach(stack::push); // Continue to go up the chain of parents
-    while (!stack.empty()) {
-      Team parent = getTeam(stack.pop().getId());
-      if (hasRole(parent.getDefaultRoles(), role)) {
+    // Check the default roles of the teams of the user and of their ancestors, each team once
+    for (UUID teamId : teamRepository.getTeamHierarchy().getTeamsAndAncestors(listOrEmpty(user.getTeams()))) {
+      if (hasRole(getTeam(teamId).getDefaultRoles(), role)) {
         return true;
       }
-      listOrEmpty(parent.getParents()).forEach(stack::push); // Continue to go up the chain of parents
     }
     return false;
   }
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.socket;
+
+import io.socket.socketio.server.SocketIoSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+/**
+ * A socket connected by a user with its bounded queue of outbound messages. The messages of a socket are sent by one
+ * task at a time, in the order they were queued, so that a slow client never blocks the thread publishing the message
+ * nor the delivery of the message to the other clients.
+ */
+final class SocketConnection {
+  @Getter private final SocketIoSocket socket;
+  private final BlockingQueue<OutboundMessage> queue;
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+  private final AtomicInteger consecutiveDrops = new AtomicInteger(0);
+
+  SocketConnection(SocketIoSocket socket, int capacity) {
+    this.socket = socket;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /** Queue the message. Returns false when the message is dropped because the queue is full. */
+  boolean offer(String event, String message) {
+    if (queue.offer(new OutboundMessage(event, message))) {
+      consecutiveDrops.set(0);
+      return true;
+    }
+    return false;
+  }
+
+  /** Returns the number of messages dropped since the client last kept up with its messages */
+  int recordDrop() {
+    return consecutiveDrops.incrementAndGet();
+  }
+
+  /** Returns true when the caller must schedule a task to send the queued messages */
+  boolean schedule() {
+    return scheduled.compareAndSet(false, true);
+  }
+
+  /** Called by the sending task once done. Returns true when messages were queued meanwhile and must be sent. */
+  boolean reschedule() {
+    scheduled.set(false);
+    return !queue.isEmpty() && schedule();
+  }
+
+  List<OutboundMessage> poll(int maxMessages) {
+    List<OutboundMessage> messages = new ArrayList<>(Math.min(maxMessages, queue.size()));
+    queue.drainTo(messages, maxMessages);
+    return messages;
+  }
+
+  int clear() {
+    List<OutboundMessage> messages = new ArrayList<>();
+    queue.drainTo(messages);
+    return messages.size();
+  }
+
+  @Getter
+  static final class OutboundMessage {
+    private final String event;
+    private final String message;
+
+    OutboundMessage(String event, String message) {
+      this.event = event;
+      this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof OutboundMessage)) {
+        return false;
+      }
+      OutboundMessage other = (OutboundMessage) o;
+      return Objects.equals(event, other.event) && Objects.equals(message, other.message);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(event, message);
+    }
+  }
+}
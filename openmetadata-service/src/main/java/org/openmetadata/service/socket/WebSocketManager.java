@@ -2,19 +2,40 @@ package org.openmetadata.service.socket;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.socket.engineio.server.EngineIoServer;
 import io.socket.engineio.server.EngineIoServerOptions;
 import io.socket.socketio.server.SocketIoNamespace;
 import io.socket.socketio.server.SocketIoServer;
 import io.socket.socketio.server.SocketIoSocket;
-import java.util.*;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.security.policyevaluator.SubjectCache;
-
+import org.openmetadata.service.socket.SocketConnection.OutboundMessage;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Keeps track of the sockets connected by the users and delivers messages to them. Sending a message only queues it for
+ * each of the receiving sockets. The queued messages are sent by a small pool of sender threads, so that publishing a
+ * message never waits for the clients. The queue of a socket is bounded: messages to a client that does not keep up
+ * are dropped, and a client that keeps dropping messages is disconnected. It reconnects and reloads its feed.
+ */
 @Slf4j
 public class WebSocketManager {
   private static WebSocketManager instance;
@@ -25,12 +46,35 @@ public class WebSocketManager {
   public static final String JOB_STATUS_BROADCAST_CHANNEL = "jobStatus";
   public static final String MENTION_CHANNEL = "mentionChannel";
   public static final String ANNOUNCEMENT_CHANNEL = "announcementChannel";
-  @Getter private final Map<UUID, Map<String, SocketIoSocket>> activityFeedEndpoints = new ConcurrentHashMap<>();
+  private static final int SENDER_THREADS = 4;
+  private static final int QUEUE_CAPACITY = 256;
+  // Messages sent by a sender thread for a socket before it moves on to the other sockets
+  private static final int SEND_BATCH_SIZE = 64;
+  private static final int MAX_CONSECUTIVE_DROPS = 64;
+
+  private final Map<UUID, Map<String, SocketConnection>> activityFeedEndpoints = new ConcurrentHashMap<>();
+  private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, DaemonThreadFactory.INSTANCE);
+  private final AtomicInteger queuedMessages = new AtomicInteger(0);
+  private final Counter droppedMessages;
 
   private WebSocketManager(EngineIoServerOptions eiOptions) {
     engineIoServer = new EngineIoServer(eiOptions);
     socketIoServer = new SocketIoServer(engineIoServer);
     initializeHandlers();
+    if (MicrometerBundleSingleton.prometheusMeterRegistry != null) {
+      Gauge.builder("websocket_outbound_queue_depth", queuedMessages, AtomicInteger::get)
+          .description("Messages queued for the connected websocket clients.")
+          .register(MicrometerBundleSingleton.prometheusMeterRegistry);
+      Gauge.builder("websocket_connections", activityFeedEndpoints, WebSocketManager::countConnections)
+          .description("Websocket clients connected.")
+          .register(MicrometerBundleSingleton.prometheusMeterRegistry);
+      droppedMessages =
+          Counter.builder("websocket_dropped_messages")
+              .description("Messages dropped for websocket clients that do not keep up.")
+              .register(MicrometerBundleSingleton.prometheusMeterRegistry);
+    } else {
+      droppedMessages = null;
+    }
   }
 
   private void initializeHandlers() {
@@ -53,10 +97,7 @@ public class WebSocketManager {
                 "disconnect",
                 args1 -> {
                   LOG.info("Client from: {} with Remote Address:{} disconnected.", userId, remoteAddress);
-                  UUID id = UUID.fromString(userId);
-                  Map<String, SocketIoSocket> allUserConnection = activityFeedEndpoints.get(id);
-                  allUserConnection.remove(socket.getId());
-                  activityFeedEndpoints.put(id, allUserConnection);
+                  removeConnection(UUID.fromString(userId), socket.getId());
                 });
 
             // On Socket Connection Error
@@ -75,12 +116,7 @@ public class WebSocketManager {
                         userId,
                         remoteAddress));
 
-            UUID id = UUID.fromString(userId);
-            Map<String, SocketIoSocket> userSocketConnections;
-            userSocketConnections =
-                activityFeedEndpoints.containsKey(id) ? activityFeedEndpoints.get(id) : new HashMap<>();
-            userSocketConnections.put(socket.getId(), socket);
-            activityFeedEndpoints.put(id, userSocketConnections);
+            addConnection(UUID.fromString(userId), socket);
           }
         });
     ns.on("error", args -> LOG.error("Connection error on the server"));
@@ -91,21 +127,20 @@ public class WebSocketManager {
   }
 
   public void broadCastMessageToAll(String event, String message) {
-    activityFeedEndpoints.forEach((key, value) -> value.forEach((key1, value1) -> value1.send(event, message)));
+    activityFeedEndpoints.forEach((userId, connections) -> send(userId, connections, event, message));
   }
 
   public void sendToOne(UUID receiver, String event, String message) {
-    if (activityFeedEndpoints.containsKey(receiver)) {
-      activityFeedEndpoints.get(receiver).forEach((key, value) -> value.send(event, message));
+    Map<String, SocketConnection> connections = activityFeedEndpoints.get(receiver);
+    if (connections != null) {
+      send(receiver, connections, event, message);
     }
   }
 
   public void sendToOne(String username, String event, String message) {
     try {
       UUID receiver = SubjectCache.getInstance().getSubjectContext(username).getUser().getId();
-      if (activityFeedEndpoints.containsKey(receiver)) {
-        activityFeedEndpoints.get(receiver).forEach((key, value) -> value.send(event, message));
-      }
+      sendToOne(receiver, event, message);
     } catch (EntityNotFoundException ex) {
       LOG.error("User with {} not found", username);
     }
@@ -119,6 +154,92 @@ public class WebSocketManager {
     receivers.forEach(e -> sendToOne(e.getId(), event, message));
   }
 
+  public void shutdown() throws InterruptedException {
+    senders.shutdown();
+    if (!senders.awaitTermination(5, TimeUnit.SECONDS)) {
+      senders.shutdownNow();
+    }
+  }
+
+  private void send(UUID userId, Map<String, SocketConnection> connections, String event, String message) {
+    for (SocketConnection connection : connections.values()) {
+      if (connection.offer(event, message)) {
+        queuedMessages.incrementAndGet();
+        if (connection.schedule()) {
+          scheduleSend(connection);
+        }
+      } else {
+        dropMessage(userId, connection);
+      }
+    }
+  }
+
+  private void scheduleSend(SocketConnection connection) {
+    try {
+      senders.execute(() -> sendQueued(connection));
+    } catch (RejectedExecutionException e) {
+      // Shutting down
+      queuedMessages.addAndGet(-connection.clear());
+    }
+  }
+
+  private void sendQueued(SocketConnection connection) {
+    do {
+      List<OutboundMessage> messages = connection.poll(SEND_BATCH_SIZE);
+      queuedMessages.addAndGet(-messages.size());
+      // Coalesce the same message queued several times during a burst, such as a thread updated repeatedly
+      Set<OutboundMessage> distinct = new LinkedHashSet<>(messages);
+      for (OutboundMessage message : distinct) {
+        try {
+          connection.getSocket().send(message.getEvent(), message.getMessage());
+        } catch (Exception e) {
+          LOG.warn("Failed to send a message to socket {} due to {}", connection.getSocket().getId(), e.getMessage());
+        }
+      }
+    } while (connection.reschedule());
+  }
+
+  private void dropMessage(UUID userId, SocketConnection connection) {
+    if (droppedMessages != null) {
+      droppedMessages.increment();
+    }
+    if (connection.recordDrop() == MAX_CONSECUTIVE_DROPS) {
+      String socketId = connection.getSocket().getId();
+      LOG.warn("Disconnecting socket {} of user {} that does not keep up with its messages", socketId, userId);
+      removeConnection(userId, socketId);
+      queuedMessages.addAndGet(-connection.clear());
+      connection.getSocket().disconnect(true);
+    }
+  }
+
+  void addConnection(UUID userId, SocketIoSocket socket) {
+    SocketConnection connection = new SocketConnection(socket, QUEUE_CAPACITY);
+    activityFeedEndpoints.compute(
+        userId,
+        (id, connections) -> {
+          Map<String, SocketConnection> userConnections = connections == null ? new ConcurrentHashMap<>() : connections;
+          userConnections.put(socket.getId(), connection);
+          return userConnections;
+        });
+  }
+
+  int getConnectionCount() {
+    return (int) countConnections(activityFeedEndpoints);
+  }
+
+  private void removeConnection(UUID userId, String socketId) {
+    activityFeedEndpoints.computeIfPresent(
+        userId,
+        (id, connections) -> {
+          connections.remove(socketId);
+          return connections.isEmpty() ? null : connections;
+        });
+  }
+
+  private static double countConnections(Map<UUID, Map<String, SocketConnection>> endpoints) {
+    return endpoints.values().stream().mapToInt(Map::size).sum();
+  }
+
   public static class WebSocketManagerBuilder {
     private WebSocketManagerBuilder() {}
 
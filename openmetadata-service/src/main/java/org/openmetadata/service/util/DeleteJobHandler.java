@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.api.CreateDeleteJob;
+import org.openmetadata.schema.system.DeleteJob;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.exception.CustomExceptionMessage;
+import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.exception.UnhandledServerException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.workflows.delete.CascadeDeleteWorkflow;
+
+/**
+ * Runs the jobs deleting an entity along with the entities it contains in the background. The running jobs are kept in
+ * memory, and each job is stored in the entity extension time series, like the reindexing jobs, so that its status is
+ * available once completed.
+ */
+@Slf4j
+public class DeleteJobHandler {
+  public static final String DELETE_JOB_EXTENSION = "deleteJob";
+  private static final int MAX_RUNNING_JOBS = 2;
+  private static final int MAX_PENDING_JOBS = 5;
+  private static DeleteJobHandler instance;
+  private static volatile boolean initialized = false;
+  private static CollectionDAO dao;
+  private static ExecutorService threadScheduler;
+  private final Map<UUID, CascadeDeleteWorkflow> deleteJobs = new ConcurrentHashMap<>();
+
+  private DeleteJobHandler() {}
+
+  public static DeleteJobHandler getInstance() {
+    return instance;
+  }
+
+  public static void initialize(CollectionDAO daoObject) {
+    if (!initialized) {
+      dao = daoObject;
+      threadScheduler =
+          new ThreadPoolExecutor(
+              MAX_RUNNING_JOBS,
+              MAX_RUNNING_JOBS,
+              0L,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(MAX_PENDING_JOBS));
+      instance = new DeleteJobHandler();
+      initialized = true;
+    } else {
+      LOG.info("Delete Job Handler is already initialized");
+    }
+  }
+
+  public DeleteJob createJob(String startedBy, CreateDeleteJob create) throws IOException {
+    EntityReference entity = Entity.getEntityReferenceById(create.getEntityType(), create.getId(), Include.ALL);
+    long now = System.currentTimeMillis();
+    DeleteJob jobData =
+        new DeleteJob()
+            .withId(UUID.randomUUID())
+            .withEntityType(entity.getType())
+            .withEntityId(entity.getId())
+            .withEntityFullyQualifiedName(entity.getFullyQualifiedName())
+            .withHardDelete(Boolean.TRUE.equals(create.getHardDelete()))
+            .withStartedBy(startedBy)
+            .withStatus(DeleteJob.Status.STARTED)
+            .withStartTime(now)
+            .withTimestamp(now);
+    CascadeDeleteWorkflow job = new CascadeDeleteWorkflow(dao, jobData);
+
+    // Check and register the job at once, so that concurrent requests can't start two jobs deleting the same entity
+    synchronized (deleteJobs) {
+      for (CascadeDeleteWorkflow runningJob : deleteJobs.values()) {
+        if (runningJob.getJobData().getEntityId().equals(entity.getId())) {
+          throw new UnhandledServerException(
+              String.format(
+                  "Entity %s is already being deleted by job %s", entity.getId(), runningJob.getJobData().getId()));
+        }
+      }
+      deleteJobs.put(jobData.getId(), job);
+    }
+
+    try {
+      dao.entityExtensionTimeSeriesDao()
+          .insert(
+              EntityUtil.hash(jobData.getId().toString()),
+              DELETE_JOB_EXTENSION,
+              "deleteJob",
+              JsonUtils.pojoToJson(jobData));
+      threadScheduler.submit(job);
+    } catch (RejectedExecutionException e) {
+      deleteJobs.remove(jobData.getId());
+      job.fail("Cannot create new Delete Jobs. There are pending jobs.");
+      throw new UnhandledServerException("Cannot create new Delete Jobs. There are pending jobs.");
+    } catch (IOException | RuntimeException e) {
+      deleteJobs.remove(jobData.getId());
+      throw e;
+    }
+    LOG.info("Delete job {} started for {} {}", jobData.getId(), entity.getType(), entity.getFullyQualifiedName());
+    return jobData;
+  }
+
+  public DeleteJob getJob(UUID jobId) throws IOException {
+    CascadeDeleteWorkflow job = deleteJobs.get(jobId);
+    if (job != null) {
+      return job.getJobData();
+    }
+    String json =
+        dao.entityExtensionTimeSeriesDao().getLatestExtension(EntityUtil.hash(jobId.toString()), DELETE_JOB_EXTENSION);
+    if (json == null) {
+      throw EntityNotFoundException.byMessage(String.format("Delete job %s is not found", jobId));
+    }
+    return JsonUtils.readValue(json, DeleteJob.class);
+  }
+
+  public DeleteJob stopJob(UUID jobId) {
+    CascadeDeleteWorkflow job = deleteJobs.get(jobId);
+    if (job != null) {
+      job.stopJob();
+      return job.getJobData();
+    }
+    throw new CustomExceptionMessage(Response.Status.BAD_REQUEST, "Job is not in Running state.");
+  }
+
+  public void removeCompletedJob(UUID jobId) {
+    deleteJobs.remove(jobId);
+  }
+}
@@ -226,6 +226,11 @@ public class ReIndexingHandler {
         .withTimestamp(updateTime)
         .withEntities(job.getEntities())
         .withBatchSize(job.getBatchSize())
+        .withProducerThreads(job.getProducerThreads())
+        .withConsumerThreads(job.getConsumerThreads())
+        .withQueueSize(job.getQueueSize())
+        .withPartitions(job.getPartitions())
+        .withPartitionCursors(job.getPartitionCursors())
         .withFailure(new Failure())
         .withRecreateIndex(job.getRecreateIndex())
         .withSearchIndexMappingLanguage(job.getSearchIndexMappingLanguage())
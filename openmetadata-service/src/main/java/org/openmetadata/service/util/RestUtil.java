@@ -18,14 +18,17 @@ import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 import java.util.UUID;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.type.ChangeEvent;
@@ -123,7 +126,7 @@ public final class RestUtil {
     @Getter private T entity;
     private ChangeEvent changeEvent;
     @Getter private final Response.Status status;
-    private final String changeType;
+    @Getter private final String changeType;
 
     /**
      * Response.Status.CREATED when PUT operation creates a new entity or Response.Status.OK when PUT operation updates
@@ -155,6 +158,40 @@ public final class RestUtil {
     }
   }
 
+  /**
+   * Response of a bulk PUT operation. Each entity in the request gets its own result carrying the same status and
+   * change type a single PUT would have returned, or the error that prevented it from being stored.
+   */
+  public static class BulkPutResponse<T> {
+    @Getter private final List<BulkPutResult<T>> results = new ArrayList<>();
+    @Getter private int numberOfRowsPassed;
+    @Getter private int numberOfRowsFailed;
+
+    public void addResult(PutResponse<T> response) {
+      int status = response.getStatus().getStatusCode();
+      results.add(new BulkPutResult<>(status, response.getChangeType(), response.getEntity(), null));
+      numberOfRowsPassed++;
+    }
+
+    public void addFailure(Response.Status status, String message) {
+      results.add(new BulkPutResult<>(status.getStatusCode(), null, null, message));
+      numberOfRowsFailed++;
+    }
+
+    public Response toResponse() {
+      return Response.ok(this).build();
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class BulkPutResult<T> {
+    private final int status;
+    private final String changeType;
+    private final T entity;
+    private final String error;
+  }
+
   public static class PatchResponse<T> {
     @Getter private final T entity;
     private final Response.Status status;
@@ -0,0 +1,206 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.delete;
+
+import static org.openmetadata.service.util.DeleteJobHandler.DELETE_JOB_EXTENSION;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.openmetadata.schema.system.DeleteJob;
+import org.openmetadata.schema.system.FailureDetails;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.events.EventPubSub;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.socket.WebSocketManager;
+import org.openmetadata.service.util.DeleteJobHandler;
+import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Deletes an entity along with all the entities it contains. The containment hierarchy is read level by level, with
+ * one query for the children of a chunk of entities of a level, then the entities are deleted from the deepest level
+ * up, so that an entity is deleted only once the entities it contains are. The entities of a level are deleted by type
+ * in batches, each batch with a few statements per table, and the change events of a batch are stored together.
+ *
+ * <p>The job is stopped between batches. The entities deleted until then stay deleted.
+ */
+@Slf4j
+public class CascadeDeleteWorkflow implements Runnable {
+  private static final int READ_BATCH_SIZE = 1000;
+  private static final int DELETE_BATCH_SIZE = 500;
+  private static final List<Integer> CHILD_RELATIONS =
+      List.of(Relationship.CONTAINS.ordinal(), Relationship.PARENT_OF.ordinal());
+
+  @Getter private final DeleteJob jobData;
+  private final CollectionDAO dao;
+  private volatile boolean stopped = false;
+
+  public CascadeDeleteWorkflow(CollectionDAO dao, DeleteJob jobData) {
+    this.dao = dao;
+    this.jobData = jobData;
+  }
+
+  @Override
+  public void run() {
+    try {
+      LOG.info("Executing Delete Job with JobData : {}", jobData);
+      jobData.setStatus(DeleteJob.Status.RUNNING);
+      List<Map<String, List<UUID>>> levels = collectEntities();
+      sendUpdates();
+      for (int level = levels.size() - 1; level >= 0 && !stopped; level--) {
+        for (Map.Entry<String, List<UUID>> entry : levels.get(level).entrySet()) {
+          deleteEntities(entry.getKey(), entry.getValue());
+        }
+      }
+      jobData.setStatus(stopped ? DeleteJob.Status.STOPPED : DeleteJob.Status.COMPLETED);
+    } catch (Exception ex) {
+      LOG.error("Delete Job {} has encountered an exception", jobData.getId(), ex);
+      jobData.setStatus(DeleteJob.Status.FAILED);
+      jobData.setFailure(
+          new FailureDetails()
+              .withContext(ExceptionUtils.getStackTrace(ex))
+              .withLastFailedAt(System.currentTimeMillis())
+              .withLastFailedReason(ex.getMessage()));
+    } finally {
+      // The job is no longer running once it has an end time, another job may then delete the entity
+      DeleteJobHandler.getInstance().removeCompletedJob(jobData.getId());
+      jobData.setEndTime(System.currentTimeMillis());
+      updateRecordToDb();
+      sendUpdates();
+    }
+  }
+
+  /** Returns the ids of the entities to delete by type, for each level of the containment hierarchy */
+  private List<Map<String, List<UUID>>> collectEntities() {
+    List<Map<String, List<UUID>>> levels = new ArrayList<>();
+    Set<String> visited = new HashSet<>();
+    visited.add(jobData.getEntityId().toString());
+    List<String> level = List.of(jobData.getEntityId().toString());
+    Map<String, List<UUID>> root = new LinkedHashMap<>();
+    root.put(jobData.getEntityType(), new ArrayList<>(List.of(jobData.getEntityId())));
+    levels.add(root);
+    int total = 1;
+    while (!level.isEmpty() && !stopped) {
+      List<String> children = new ArrayList<>();
+      Map<String, List<UUID>> childrenByType = new LinkedHashMap<>();
+      for (int i = 0; i < level.size(); i += READ_BATCH_SIZE) {
+        List<String> chunk = level.subList(i, Math.min(i + READ_BATCH_SIZE, level.size()));
+        for (int relation : CHILD_RELATIONS) {
+          for (EntityRelationshipObject child : dao.relationshipDAO().findToBatch(chunk, relation)) {
+            if (visited.add(child.getToId())) {
+              children.add(child.getToId());
+              childrenByType
+                  .computeIfAbsent(child.getToEntity(), type -> new ArrayList<>())
+                  .add(UUID.fromString(child.getToId()));
+            }
+          }
+        }
+      }
+      if (!childrenByType.isEmpty()) {
+        levels.add(childrenByType);
+      }
+      total += children.size();
+      level = children;
+    }
+    jobData.setTotalEntities(total);
+    LOG.info("Delete Job {} found {} entities to delete in {} levels", jobData.getId(), total, levels.size());
+    return levels;
+  }
+
+  private void deleteEntities(String entityType, List<UUID> ids) throws IOException {
+    for (int i = 0; i < ids.size() && !stopped; i += DELETE_BATCH_SIZE) {
+      List<UUID> batch = ids.subList(i, Math.min(i + DELETE_BATCH_SIZE, ids.size()));
+      List<ChangeEvent> changeEvents =
+          Entity.getEntityRepository(entityType)
+              .deleteBatch(jobData.getStartedBy(), batch, Boolean.TRUE.equals(jobData.getHardDelete()));
+      recordChangeEvents(changeEvents);
+      // Entities already soft deleted are skipped, only the entities deleted by the batch have a change event
+      jobData.setDeletedEntities(jobData.getDeletedEntities() + changeEvents.size());
+      updateRecordToDb();
+      sendUpdates();
+    }
+  }
+
+  /** Store the change events in the change event log with one statement and publish them */
+  private void recordChangeEvents(List<ChangeEvent> changeEvents) throws JsonProcessingException {
+    if (changeEvents.isEmpty()) {
+      return;
+    }
+    List<String> jsons = new ArrayList<>(changeEvents.size());
+    for (ChangeEvent changeEvent : changeEvents) {
+      ChangeEvent storedEvent =
+          new ChangeEvent()
+              .withEventType(changeEvent.getEventType())
+              .withEntityId(changeEvent.getEntityId())
+              .withEntityType(changeEvent.getEntityType())
+              .withEntityFullyQualifiedName(changeEvent.getEntityFullyQualifiedName())
+              .withPreviousVersion(changeEvent.getPreviousVersion())
+              .withCurrentVersion(changeEvent.getCurrentVersion())
+              .withUserName(changeEvent.getUserName())
+              .withTimestamp(changeEvent.getTimestamp())
+              .withEntity(JsonUtils.pojoToMaskedJson(changeEvent.getEntity()));
+      jsons.add(JsonUtils.pojoToJson(storedEvent));
+    }
+    dao.changeEventDAO().insertBatch(jsons);
+    changeEvents.forEach(EventPubSub::publish);
+  }
+
+  public void stopJob() {
+    stopped = true;
+  }
+
+  /** Mark the job as failed before it runs, when it can't be scheduled */
+  public void fail(String reason) {
+    jobData.setStatus(DeleteJob.Status.FAILED);
+    jobData.setEndTime(System.currentTimeMillis());
+    jobData.setFailure(new FailureDetails().withLastFailedAt(jobData.getEndTime()).withLastFailedReason(reason));
+    updateRecordToDb();
+  }
+
+  private void updateRecordToDb() {
+    try {
+      dao.entityExtensionTimeSeriesDao()
+          .update(
+              EntityUtil.hash(jobData.getId().toString()),
+              DELETE_JOB_EXTENSION,
+              JsonUtils.pojoToJson(jobData),
+              jobData.getTimestamp());
+    } catch (Exception ex) {
+      LOG.warn("Failed to store the delete job {}", jobData.getId(), ex);
+    }
+  }
+
+  private void sendUpdates() {
+    try {
+      WebSocketManager.getInstance()
+          .sendToOne(
+              jobData.getStartedBy(), WebSocketManager.JOB_STATUS_BROADCAST_CHANNEL, JsonUtils.pojoToJson(jobData));
+    } catch (JsonProcessingException ex) {
+      LOG.error("Failed to send updated status with WebSocket", ex);
+    }
+  }
+}
@@ -20,4 +20,13 @@ public interface Source<R> extends Stats {
   R readNext(Map<String, Object> contextData) throws SourceException;
 
   void reset();
+
+  String getEntityType();
+
+  boolean isDone();
+
+  /** Cursor reported with the read errors of a batch. Sources that are not paginated by cursor report none. */
+  default String getLastFailedCursor() {
+    return "";
+  }
 }
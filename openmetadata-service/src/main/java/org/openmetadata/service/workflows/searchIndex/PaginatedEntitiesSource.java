@@ -16,11 +16,15 @@ package org.openmetadata.service.workflows.searchIndex;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getUpdatedStats;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.system.PartitionCursor;
 import org.openmetadata.schema.system.StepStats;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.service.Entity;
@@ -30,46 +34,121 @@ import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.util.ResultList;
 import org.openmetadata.service.workflows.interfaces.Source;
 
+/**
+ * Reads the entities of a type in batches. The source either reads the whole table in the order of the entity names, or
+ * reads one partition of the table in the order of the ids. The partitions of a table are disjoint ranges of ids that
+ * are read concurrently. The cursor of a partition is checkpointed in its {@link PartitionCursor} once
+ * all the batches read before it are written, so that a failed job can be resumed from where each partition stopped.
+ */
 @Slf4j
 public class PaginatedEntitiesSource implements Source<ResultList<? extends EntityInterface>> {
+  /** Upper bound of the last partition. Greater than any id, which are made of hex digits and dashes. */
+  private static final String MAX_KEY = "g";
+
   @Getter private final int batchSize;
   @Getter private final String entityType;
   @Getter private final List<String> fields;
-  private final StepStats stats = new StepStats();
+  private final StepStats stats;
   private String lastFailedCursor = null;
 
   private String cursor = null;
   @Getter private boolean isDone = false;
 
+  private final PartitionCursor partition;
+  /** Batches read from the partition that are not yet acknowledged, in the order they were read */
+  private final Deque<PendingBatch> pendingBatches = new ArrayDeque<>();
+  private boolean checkpointFailed = false;
+
   public PaginatedEntitiesSource(String entityType, int batchSize, List<String> fields) {
     this.entityType = entityType;
     this.batchSize = batchSize;
     this.fields = fields;
+    this.stats = new StepStats();
     this.stats.setTotalRecords(Entity.getEntityRepository(entityType).getDao().listTotalCount());
+    this.partition = null;
+  }
+
+  /** Source reading a partition of the table. The partitions of a table share the given stats. */
+  public PaginatedEntitiesSource(
+      String entityType, int batchSize, List<String> fields, PartitionCursor partition, StepStats stats) {
+    this.entityType = entityType;
+    this.batchSize = batchSize;
+    this.fields = fields;
+    this.stats = stats;
+    this.partition = partition;
+    this.cursor = partition.getCursor();
+    this.isDone = Boolean.TRUE.equals(partition.getDone());
+  }
+
+  /** Split the ids of an entity type into partitions of roughly the same size based on the id prefix */
+  public static List<PartitionCursor> createPartitions(String entityType, int partitions) {
+    int count = Math.max(1, Math.min(partitions, 256));
+    List<PartitionCursor> cursors = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      cursors.add(
+          new PartitionCursor()
+              .withEntityType(entityType)
+              .withStartKey(i == 0 ? "" : String.format("%02x", i * 256 / count))
+              .withEndKey(i == count - 1 ? MAX_KEY : String.format("%02x", (i + 1) * 256 / count))
+              .withDone(false));
+    }
+    return cursors;
   }
 
   @Override
-  public ResultList<? extends EntityInterface> readNext(Map<String, Object> contextData) throws SourceException {
+  public synchronized ResultList<? extends EntityInterface> readNext(Map<String, Object> contextData)
+      throws SourceException {
     if (!isDone) {
       ResultList<? extends EntityInterface> data = read(cursor);
       cursor = data.getPaging().getAfter();
       if (cursor == null) {
         isDone = true;
       }
+      if (partition != null && !checkpointFailed) {
+        pendingBatches.add(new PendingBatch(data, cursor));
+      }
       return data;
     } else {
       return null;
     }
   }
 
+  /**
+   * Acknowledge a batch read from this source once it is written. The checkpoint of the partition moves forward over
+   * the batches acknowledged, in the order they were read. It stops moving once a batch fails to be written, so that a
+   * resumed job reads the batch again.
+   */
+  public synchronized void acknowledge(ResultList<?> batch, boolean written) {
+    if (partition == null || checkpointFailed) {
+      return;
+    }
+    if (!written) {
+      checkpointFailed = true;
+      pendingBatches.clear();
+      return;
+    }
+    pendingBatches.stream().filter(pending -> pending.batch == batch).forEach(pending -> pending.written = true);
+    while (!pendingBatches.isEmpty() && pendingBatches.peek().written) {
+      PendingBatch pending = pendingBatches.poll();
+      partition.withCursor(pending.cursorAfter).withDone(pending.cursorAfter == null);
+    }
+  }
+
   private ResultList<? extends EntityInterface> read(String cursor) throws SourceException {
     LOG.debug("[PaginatedEntitiesSource] Fetching a Batch of Size: {} ", batchSize);
     EntityRepository<?> entityRepository = Entity.getEntityRepository(entityType);
     ResultList<? extends EntityInterface> result;
     try {
       result =
-          entityRepository.listAfterWithSkipFailure(
-              null, Entity.getFields(entityType, fields), new ListFilter(Include.ALL), batchSize, cursor);
+          partition == null
+              ? entityRepository.listAfterWithSkipFailure(
+                  null, Entity.getFields(entityType, fields), new ListFilter(Include.ALL), batchSize, cursor)
+              : entityRepository.listAfterInRangeWithSkipFailure(
+                  Entity.getFields(entityType, fields),
+                  partition.getStartKey(),
+                  partition.getEndKey(),
+                  batchSize,
+                  cursor);
       if (!result.getErrors().isEmpty()) {
         lastFailedCursor = this.cursor;
         result
@@ -97,7 +176,13 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
           batchSize,
           0,
           batchSize);
-      if (stats.getTotalRecords() - stats.getProcessedRecords() <= batchSize) {
+      if (partition != null) {
+        // Stop reading the partition. The checkpoint stays before this batch so that a resumed job reads it again.
+        isDone = true;
+        checkpointFailed = true;
+        pendingBatches.clear();
+        updateStats(0, batchSize);
+      } else if (stats.getTotalRecords() - stats.getProcessedRecords() <= batchSize) {
         isDone = true;
         updateStats(0, stats.getTotalRecords() - stats.getProcessedRecords());
       } else {
@@ -121,7 +206,9 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
 
   @Override
   public void updateStats(int currentSuccess, int currentFailed) {
-    getUpdatedStats(stats, currentSuccess, currentFailed);
+    synchronized (stats) {
+      getUpdatedStats(stats, currentSuccess, currentFailed);
+    }
   }
 
   @Override
@@ -129,6 +216,7 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
     return stats;
   }
 
+  @Override
   public String getLastFailedCursor() {
     return lastFailedCursor;
   }
@@ -136,4 +224,15 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
   public void setCursor(String cursor) {
     this.cursor = cursor;
   }
+
+  private static class PendingBatch {
+    private final ResultList<?> batch;
+    private final String cursorAfter;
+    private boolean written = false;
+
+    PendingBatch(ResultList<?> batch, String cursorAfter) {
+      this.batch = batch;
+      this.cursorAfter = cursorAfter;
+    }
+  }
 }
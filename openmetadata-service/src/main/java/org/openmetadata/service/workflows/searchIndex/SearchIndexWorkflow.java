@@ -13,6 +13,7 @@
 
 package org.openmetadata.service.workflows.searchIndex;
 
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.getIndexFields;
 import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_JOB_EXTENSION;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.ENTITY_TYPE_KEY;
@@ -24,9 +25,19 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -35,14 +46,14 @@ import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.openmetadata.common.utils.CommonUtil;
-import org.openmetadata.schema.EntityInterface;
-import org.openmetadata.schema.analytics.ReportData;
 import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
 import org.openmetadata.schema.system.EventPublisherJob;
 import org.openmetadata.schema.system.Failure;
 import org.openmetadata.schema.system.FailureDetails;
+import org.openmetadata.schema.system.PartitionCursor;
 import org.openmetadata.schema.system.Stats;
 import org.openmetadata.schema.system.StepStats;
+import org.openmetadata.service.Entity;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
 import org.openmetadata.service.exception.ProcessorException;
 import org.openmetadata.service.exception.SinkException;
@@ -62,12 +73,22 @@ import org.openmetadata.service.util.ReIndexingHandler;
 import org.openmetadata.service.util.ResultList;
 import org.openmetadata.service.workflows.interfaces.Processor;
 import org.openmetadata.service.workflows.interfaces.Sink;
+import org.openmetadata.service.workflows.interfaces.Source;
 
 @Slf4j
 public class SearchIndexWorkflow implements Runnable {
   private static final String ENTITY_TYPE_ERROR_MSG = "EntityType: %s %n Cause: %s %n Stack: %s";
+  private static final int DEFAULT_PRODUCER_THREADS = 2;
+  private static final int DEFAULT_CONSUMER_THREADS = 2;
+  private static final int DEFAULT_QUEUE_SIZE = 10;
+  private static final int DEFAULT_PARTITIONS = 4;
+  private static final long CHECKPOINT_INTERVAL_MILLIS = 10_000;
+  /** Marks the end of the batches to the consumers */
+  private static final IndexingBatch END_OF_BATCHES = new IndexingBatch(null, null, null, 0);
   private final List<PaginatedEntitiesSource> paginatedEntitiesSources = new ArrayList<>();
   private final List<PaginatedDataInsightSource> paginatedDataInsightSources = new ArrayList<>();
+  /** Entity types resumed from a cursor, whose indexes already hold the entities written before */
+  private final Set<String> resumedEntityTypes = new HashSet<>();
   private final Processor entityProcessor;
   private Processor dataInsightProcessor;
   private Sink searchIndexSink;
@@ -75,10 +96,14 @@ public class SearchIndexWorkflow implements Runnable {
   @Getter final EventPublisherJob jobData;
   private final CollectionDAO dao;
   private volatile boolean stopped = false;
+  private long lastCheckpointTime = 0;
 
   public SearchIndexWorkflow(CollectionDAO dao, SearchClient client, EventPublisherJob request) {
     this.dao = dao;
     this.jobData = request;
+    // Cursors of the partitions to resume from, when provided
+    List<PartitionCursor> partitionCursors = listOrEmpty(request.getPartitionCursors());
+    request.setPartitionCursors(new ArrayList<>());
     request
         .getEntities()
         .forEach(
@@ -87,12 +112,15 @@ public class SearchIndexWorkflow implements Runnable {
                 List<String> fields =
                     new ArrayList<>(
                         Objects.requireNonNull(getIndexFields(entityType, jobData.getSearchIndexMappingLanguage())));
-                PaginatedEntitiesSource source =
-                    new PaginatedEntitiesSource(entityType, jobData.getBatchSize(), fields);
                 if (!CommonUtil.nullOrEmpty(request.getAfterCursor())) {
+                  PaginatedEntitiesSource source =
+                      new PaginatedEntitiesSource(entityType, jobData.getBatchSize(), fields);
                   source.setCursor(request.getAfterCursor());
+                  paginatedEntitiesSources.add(source);
+                  resumedEntityTypes.add(entityType);
+                } else {
+                  addPartitionedSources(entityType, fields, partitionCursors);
                 }
-                paginatedEntitiesSources.add(source);
               } else {
                 paginatedDataInsightSources.add(
                     new PaginatedDataInsightSource(dao, entityType, jobData.getBatchSize()));
@@ -110,6 +138,30 @@ public class SearchIndexWorkflow implements Runnable {
     }
   }
 
+  private void addPartitionedSources(String entityType, List<String> fields, List<PartitionCursor> resumeCursors) {
+    List<PartitionCursor> cursors =
+        resumeCursors.stream()
+            .filter(cursor -> cursor.getEntityType().equals(entityType))
+            .collect(Collectors.toList());
+    if (cursors.isEmpty()) {
+      cursors =
+          PaginatedEntitiesSource.createPartitions(
+              entityType, getOrDefault(jobData.getPartitions(), DEFAULT_PARTITIONS));
+    } else {
+      resumedEntityTypes.add(entityType);
+    }
+    // Partitions of the entity type share the source stats, and the total is counted once
+    StepStats stats =
+        new StepStats().withTotalRecords(Entity.getEntityRepository(entityType).getDao().listTotalCount());
+    for (PartitionCursor cursor : cursors) {
+      jobData.getPartitionCursors().add(cursor);
+      if (!Boolean.TRUE.equals(cursor.getDone())) {
+        paginatedEntitiesSources.add(
+            new PaginatedEntitiesSource(entityType, jobData.getBatchSize(), fields, cursor, stats));
+      }
+    }
+  }
+
   @SneakyThrows
   public void run() {
     try {
@@ -117,8 +169,7 @@ public class SearchIndexWorkflow implements Runnable {
       // Update Job Status
       jobData.setStatus(EventPublisherJob.Status.RUNNING);
       // Run ReIndexing
-      entitiesReIndex();
-      dataInsightReindex();
+      reindex();
       // Mark Job as Completed
       updateJobStatus();
       jobData.setEndTime(System.currentTimeMillis());
@@ -140,165 +191,167 @@ public class SearchIndexWorkflow implements Runnable {
     }
   }
 
-  private void entitiesReIndex() {
-    Map<String, Object> contextData = new HashMap<>();
-    for (PaginatedEntitiesSource paginatedEntitiesSource : paginatedEntitiesSources) {
-      reCreateIndexes(paginatedEntitiesSource.getEntityType());
-      contextData.put(ENTITY_TYPE_KEY, paginatedEntitiesSource.getEntityType());
-      ResultList<? extends EntityInterface> resultList;
-      while (!stopped && !paginatedEntitiesSource.isDone()) {
-        long currentTime = System.currentTimeMillis();
-        int requestToProcess = jobData.getBatchSize();
-        int failed = requestToProcess;
-        int success = 0;
-        try {
-          resultList = paginatedEntitiesSource.readNext(null);
-          requestToProcess = resultList.getData().size() + resultList.getErrors().size();
-          if (!resultList.getData().isEmpty()) {
-            if (searchClient.getSearchType().equals(ElasticSearchConfiguration.SearchType.OPEN_SEARCH)) {
-              // process data to build Reindex Request
-              org.opensearch.action.bulk.BulkRequest requests =
-                  (org.opensearch.action.bulk.BulkRequest) entityProcessor.process(resultList, contextData);
-              // process data to build Reindex Request
-              org.opensearch.action.bulk.BulkResponse response =
-                  (org.opensearch.action.bulk.BulkResponse) searchIndexSink.write(requests, contextData);
-              // update Status
-              handleErrorsOs(resultList, paginatedEntitiesSource.getLastFailedCursor(), response, currentTime);
-              // Update stats
-              success = searchClient.getSuccessFromBulkResponse(response);
-            } else {
-              // process data to build Reindex Request
-              BulkRequest requests = (BulkRequest) entityProcessor.process(resultList, contextData);
-              // process data to build Reindex Request
-              BulkResponse response = (BulkResponse) searchIndexSink.write(requests, contextData);
-              // update Status
-              handleErrorsEs(resultList, paginatedEntitiesSource.getLastFailedCursor(), response, currentTime);
-              // Update stats
-              success = searchClient.getSuccessFromBulkResponse(response);
-            }
-            failed = requestToProcess - success;
-          } else {
-            failed = 0;
+  /**
+   * Reindex the entities through a pipeline. Producer threads read batches from the sources, one source at a time per
+   * thread, and queue them. Consumer threads take the batches from the queue to build the bulk requests and write them
+   * to the search index, so that reading from the database overlaps with writing to the search index. The queue is
+   * bounded, and the producers wait when it is full.
+   */
+  private void reindex() throws InterruptedException, ExecutionException {
+    int producerThreads = getOrDefault(jobData.getProducerThreads(), DEFAULT_PRODUCER_THREADS);
+    int consumerThreads = getOrDefault(jobData.getConsumerThreads(), DEFAULT_CONSUMER_THREADS);
+    BlockingQueue<IndexingBatch> queue =
+        new ArrayBlockingQueue<>(getOrDefault(jobData.getQueueSize(), DEFAULT_QUEUE_SIZE));
+    // Indexes are recreated before any of the partitions of an entity type is written, unless the job is resumed
+    jobData.getEntities().stream()
+        .filter(entityType -> !resumedEntityTypes.contains(entityType))
+        .forEach(this::reCreateIndexes);
+    ExecutorService producers = Executors.newFixedThreadPool(producerThreads);
+    ExecutorService consumers = Executors.newFixedThreadPool(consumerThreads);
+    try {
+      List<Future<?>> consumerTasks = new ArrayList<>();
+      for (int i = 0; i < consumerThreads; i++) {
+        consumerTasks.add(consumers.submit(() -> writeBatches(queue)));
+      }
+      List<Future<?>> producerTasks = new ArrayList<>();
+      for (PaginatedEntitiesSource source : paginatedEntitiesSources) {
+        producerTasks.add(producers.submit(() -> readBatches(source, entityProcessor, queue)));
+      }
+      for (PaginatedDataInsightSource source : paginatedDataInsightSources) {
+        producerTasks.add(producers.submit(() -> readBatches(source, dataInsightProcessor, queue)));
+      }
+      for (Future<?> task : producerTasks) {
+        task.get();
+      }
+      for (int i = 0; i < consumerThreads; i++) {
+        queue.put(END_OF_BATCHES);
+      }
+      for (Future<?> task : consumerTasks) {
+        task.get();
+      }
+    } finally {
+      producers.shutdownNow();
+      consumers.shutdownNow();
+    }
+  }
+
+  private Void readBatches(
+      Source<? extends ResultList<?>> source, Processor processor, BlockingQueue<IndexingBatch> queue)
+      throws InterruptedException {
+    while (!stopped && !source.isDone()) {
+      long currentTime = System.currentTimeMillis();
+      try {
+        ResultList<?> resultList = source.readNext(null);
+        IndexingBatch batch = new IndexingBatch(source, processor, resultList, currentTime);
+        // Wait for the consumers to catch up when the queue is full
+        while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+          if (stopped) {
+            return null;
           }
-        } catch (SourceException rx) {
-          handleSourceError(
-              rx.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedEntitiesSource.getEntityType(),
-                  rx.getCause(),
-                  ExceptionUtils.getStackTrace(rx)),
-              currentTime);
-        } catch (ProcessorException px) {
-          handleProcessorError(
-              px.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedEntitiesSource.getEntityType(),
-                  px.getCause(),
-                  ExceptionUtils.getStackTrace(px)),
-              currentTime);
-        } catch (SinkException wx) {
-          handleEsSinkError(
-              wx.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedEntitiesSource.getEntityType(),
-                  wx.getCause(),
-                  ExceptionUtils.getStackTrace(wx)),
-              currentTime);
-        } finally {
-          updateStats(
-              success,
-              failed,
-              paginatedEntitiesSource.getStats(),
-              entityProcessor.getStats(),
-              searchIndexSink.getStats());
-          sendUpdates();
         }
+      } catch (SourceException rx) {
+        handleSourceError(
+            rx.getMessage(),
+            String.format(
+                ENTITY_TYPE_ERROR_MSG, source.getEntityType(), rx.getCause(), ExceptionUtils.getStackTrace(rx)),
+            currentTime);
+        updateStats(0, jobData.getBatchSize(), source.getStats(), processor.getStats(), searchIndexSink.getStats());
+        sendUpdates();
       }
     }
+    return null;
   }
 
-  private void dataInsightReindex() {
+  private Void writeBatches(BlockingQueue<IndexingBatch> queue) throws InterruptedException {
+    IndexingBatch batch;
+    while ((batch = queue.take()) != END_OF_BATCHES) {
+      writeBatch(batch);
+    }
+    return null;
+  }
+
+  private void writeBatch(IndexingBatch batch) {
+    String entityType = batch.source.getEntityType();
     Map<String, Object> contextData = new HashMap<>();
-    for (PaginatedDataInsightSource paginatedDataInsightSource : paginatedDataInsightSources) {
-      reCreateIndexes(paginatedDataInsightSource.getEntityType());
-      contextData.put(ENTITY_TYPE_KEY, paginatedDataInsightSource.getEntityType());
-      ResultList<ReportData> resultList;
-      while (!stopped && !paginatedDataInsightSource.isDone()) {
-        long currentTime = System.currentTimeMillis();
-        int requestToProcess = jobData.getBatchSize();
-        int failed = requestToProcess;
-        int success = 0;
-        try {
-          resultList = paginatedDataInsightSource.readNext(null);
-          requestToProcess = resultList.getData().size() + resultList.getErrors().size();
-          if (!resultList.getData().isEmpty()) {
-            if (searchClient.getSearchType().equals(ElasticSearchConfiguration.SearchType.OPEN_SEARCH)) {
-              // process data to build Reindex Request
-              org.opensearch.action.bulk.BulkRequest requests =
-                  (org.opensearch.action.bulk.BulkRequest) dataInsightProcessor.process(resultList, contextData);
-              // process data to build Reindex Request
-              org.opensearch.action.bulk.BulkResponse response =
-                  (org.opensearch.action.bulk.BulkResponse) searchIndexSink.write(requests, contextData);
-              handleErrorsOs(resultList, "", response, currentTime);
-              // Update stats
-              success = searchClient.getSuccessFromBulkResponse(response);
-            } else {
-              // process data to build Reindex Request
-              BulkRequest requests = (BulkRequest) dataInsightProcessor.process(resultList, contextData);
-              // process data to build Reindex Request
-              BulkResponse response = (BulkResponse) searchIndexSink.write(requests, contextData);
-              handleErrorsEs(resultList, "", response, currentTime);
-              // Update stats
-              success = searchClient.getSuccessFromBulkResponse(response);
-            }
-            failed = requestToProcess - success;
-          } else {
-            failed = 0;
-          }
-        } catch (SourceException rx) {
-          handleSourceError(
-              rx.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedDataInsightSource.getEntityType(),
-                  rx.getCause(),
-                  ExceptionUtils.getStackTrace(rx)),
-              currentTime);
-        } catch (ProcessorException px) {
-          handleProcessorError(
-              px.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedDataInsightSource.getEntityType(),
-                  px.getCause(),
-                  ExceptionUtils.getStackTrace(px)),
-              currentTime);
-        } catch (SinkException wx) {
-          handleEsSinkError(
-              wx.getMessage(),
-              String.format(
-                  ENTITY_TYPE_ERROR_MSG,
-                  paginatedDataInsightSource.getEntityType(),
-                  wx.getCause(),
-                  ExceptionUtils.getStackTrace(wx)),
-              currentTime);
-        } finally {
-          updateStats(
-              success,
-              failed,
-              paginatedDataInsightSource.getStats(),
-              dataInsightProcessor.getStats(),
-              searchIndexSink.getStats());
-          sendUpdates();
+    contextData.put(ENTITY_TYPE_KEY, entityType);
+    ResultList<?> resultList = batch.resultList;
+    int requestToProcess = resultList.getData().size() + resultList.getErrors().size();
+    int failed = requestToProcess;
+    int success = 0;
+    boolean written = false;
+    try {
+      if (!resultList.getData().isEmpty()) {
+        if (searchClient.getSearchType().equals(ElasticSearchConfiguration.SearchType.OPEN_SEARCH)) {
+          // process data to build Reindex Request
+          org.opensearch.action.bulk.BulkRequest requests =
+              (org.opensearch.action.bulk.BulkRequest) batch.processor.process(resultList, contextData);
+          // process data to build Reindex Request
+          org.opensearch.action.bulk.BulkResponse response =
+              (org.opensearch.action.bulk.BulkResponse) searchIndexSink.write(requests, contextData);
+          // update Status
+          handleErrorsOs(resultList, batch.lastFailedCursor, response, batch.startTime);
+          // Update stats
+          success = searchClient.getSuccessFromBulkResponse(response);
+        } else {
+          // process data to build Reindex Request
+          BulkRequest requests = (BulkRequest) batch.processor.process(resultList, contextData);
+          // process data to build Reindex Request
+          BulkResponse response = (BulkResponse) searchIndexSink.write(requests, contextData);
+          // update Status
+          handleErrorsEs(resultList, batch.lastFailedCursor, response, batch.startTime);
+          // Update stats
+          success = searchClient.getSuccessFromBulkResponse(response);
         }
+        failed = requestToProcess - success;
+      } else {
+        failed = 0;
+      }
+      written = true;
+    } catch (ProcessorException px) {
+      handleProcessorError(
+          px.getMessage(),
+          String.format(ENTITY_TYPE_ERROR_MSG, entityType, px.getCause(), ExceptionUtils.getStackTrace(px)),
+          batch.startTime);
+    } catch (SinkException wx) {
+      handleEsSinkError(
+          wx.getMessage(),
+          String.format(ENTITY_TYPE_ERROR_MSG, entityType, wx.getCause(), ExceptionUtils.getStackTrace(wx)),
+          batch.startTime);
+    } catch (Exception ex) {
+      // Keep consuming, otherwise the producers would wait on a full queue
+      handleJobError(
+          String.format("Failure in writing a batch of %s", entityType),
+          String.format(ENTITY_TYPE_ERROR_MSG, entityType, ex.getCause(), ExceptionUtils.getStackTrace(ex)),
+          batch.startTime);
+    } finally {
+      updateStats(success, failed, batch.source.getStats(), batch.processor.getStats(), searchIndexSink.getStats());
+      if (batch.source instanceof PaginatedEntitiesSource) {
+        ((PaginatedEntitiesSource) batch.source).acknowledge(resultList, written);
+        checkpoint();
       }
+      sendUpdates();
     }
   }
 
-  private void sendUpdates() {
+  /** Store the job, with the cursors of the partitions, at most once every checkpoint interval */
+  private synchronized void checkpoint() {
+    long now = System.currentTimeMillis();
+    if (now - lastCheckpointTime < CHECKPOINT_INTERVAL_MILLIS) {
+      return;
+    }
+    lastCheckpointTime = now;
+    try {
+      updateRecordToDb();
+    } catch (Exception ex) {
+      LOG.warn("Failed to checkpoint the reindexing job {}", jobData.getId(), ex);
+    }
+  }
+
+  private static int getOrDefault(Integer value, int defaultValue) {
+    return value == null || value <= 0 ? defaultValue : value;
+  }
+
+  private synchronized void sendUpdates() {
     try {
       WebSocketManager.getInstance()
           .sendToOne(
@@ -308,7 +361,7 @@ public class SearchIndexWorkflow implements Runnable {
     }
   }
 
-  public void updateStats(
+  public synchronized void updateStats(
       int currentSuccess, int currentFailed, StepStats reader, StepStats processor, StepStats writer) {
     // Job Level Stats
     Stats jobDataStats = jobData.getStats() != null ? jobData.getStats() : new Stats();
@@ -332,7 +385,7 @@ public class SearchIndexWorkflow implements Runnable {
     jobData.setStats(jobDataStats);
   }
 
-  public void updateRecordToDb() throws IOException {
+  public synchronized void updateRecordToDb() throws IOException {
     String recordString =
         dao.entityExtensionTimeSeriesDao()
             .getExtension(EntityUtil.hash(jobData.getId().toString()), REINDEXING_JOB_EXTENSION);
@@ -370,28 +423,28 @@ public class SearchIndexWorkflow implements Runnable {
     handleEsSinkErrors(response, time);
   }
 
-  private void handleSourceError(String context, String reason, long time) {
+  private synchronized void handleSourceError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails readerFailures = getFailureDetails(context, reason, time);
     failures.setSourceError(readerFailures);
     jobData.setFailure(failures);
   }
 
-  private void handleProcessorError(String context, String reason, long time) {
+  private synchronized void handleProcessorError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails processorError = getFailureDetails(context, reason, time);
     failures.setProcessorError(processorError);
     jobData.setFailure(failures);
   }
 
-  private void handleEsSinkError(String context, String reason, long time) {
+  private synchronized void handleEsSinkError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails writerFailure = getFailureDetails(context, reason, time);
     failures.setSinkError(writerFailure);
     jobData.setFailure(failures);
   }
 
-  private void handleJobError(String context, String reason, long time) {
+  private synchronized void handleJobError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails jobFailure = getFailureDetails(context, reason, time);
     failures.setJobError(jobFailure);
@@ -490,4 +543,21 @@ public class SearchIndexWorkflow implements Runnable {
   public void stopJob() {
     stopped = true;
   }
+
+  /** A batch read from a source, waiting to be processed and written to the search index */
+  private static class IndexingBatch {
+    private final Source<?> source;
+    private final Processor processor;
+    private final ResultList<?> resultList;
+    private final String lastFailedCursor;
+    private final long startTime;
+
+    IndexingBatch(Source<?> source, Processor processor, ResultList<?> resultList, long startTime) {
+      this.source = source;
+      this.processor = processor;
+      this.resultList = resultList;
+      this.lastFailedCursor = source == null ? null : source.getLastFailedCursor();
+      this.startTime = startTime;
+    }
+  }
 }
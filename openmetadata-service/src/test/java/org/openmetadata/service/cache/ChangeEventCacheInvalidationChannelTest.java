@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+
+class ChangeEventCacheInvalidationChannelTest {
+  private static final long GAP_WAIT_MILLIS = 300_000;
+  // Change events visible in the database, by offset
+  private final Map<Long, UUID> events = new TreeMap<>();
+  private final List<UUID> invalidated = new CopyOnWriteArrayList<>();
+  private ChangeEventCacheInvalidationChannel channel;
+
+  @BeforeEach
+  void setUp() {
+    CollectionDAO dao = mock(CollectionDAO.class);
+    ChangeEventDAO eventDAO = mock(ChangeEventDAO.class);
+    when(dao.changeEventDAO()).thenReturn(eventDAO);
+    when(eventDAO.getMaxOffset()).thenReturn(10L);
+    when(eventDAO.listEntityIdsAfterOffset(anyLong(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              long after = invocation.getArgument(0);
+              int limit = invocation.getArgument(1);
+              return events.entrySet().stream()
+                  .filter(event -> event.getKey() > after)
+                  .limit(limit)
+                  .map(event -> Pair.of(event.getKey(), event.getValue().toString()))
+                  .collect(Collectors.toList());
+            });
+    when(eventDAO.listEntityIdsByOffsets(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Pair<Long, String>> found = new ArrayList<>();
+              for (Long offset : invocation.<List<Long>>getArgument(0)) {
+                if (events.containsKey(offset)) {
+                  found.add(Pair.of(offset, events.get(offset).toString()));
+                }
+              }
+              return found;
+            });
+    // Polls are run by the test, with the time of its choice
+    channel = new ChangeEventCacheInvalidationChannel(dao, 3600, GAP_WAIT_MILLIS);
+    channel.start(invalidated::add);
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.close();
+  }
+
+  @Test
+  void testEventsCommittedLateAreDelivered() {
+    // Events 11 and 13 are visible, event 12 is in a transaction not committed yet
+    UUID first = addEvent(11);
+    UUID third = addEvent(13);
+    channel.poll(0);
+    assertEquals(List.of(first, third), invalidated);
+    assertEquals(Set.of(12L), channel.getMissingOffsets());
+
+    // Event 12 is committed after event 13 was read. It is delivered once, and the events read are not read again.
+    UUID second = addEvent(12);
+    UUID fourth = addEvent(14);
+    channel.poll(5_000);
+    channel.poll(10_000);
+    assertEquals(List.of(first, third, second, fourth), invalidated);
+    assertTrue(channel.getMissingOffsets().isEmpty());
+  }
+
+  @Test
+  void testEventsBeyondOnePageAreDelivered() {
+    // More events than a page, which used to be lost when a page ended in the middle of a millisecond
+    List<UUID> expected = new ArrayList<>();
+    for (long offset = 11; offset <= 2510; offset++) {
+      expected.add(addEvent(offset));
+    }
+    channel.poll(0);
+    assertEquals(expected, invalidated);
+    assertTrue(channel.getMissingOffsets().isEmpty());
+  }
+
+  @Test
+  void testRolledBackEventsAreNoLongerWaitedFor() {
+    // Event 11 is rolled back and never appears
+    UUID second = addEvent(12);
+    channel.poll(0);
+    assertEquals(Set.of(11L), channel.getMissingOffsets());
+    channel.poll(GAP_WAIT_MILLIS - 1);
+    assertEquals(Set.of(11L), channel.getMissingOffsets());
+    channel.poll(GAP_WAIT_MILLIS);
+    assertTrue(channel.getMissingOffsets().isEmpty());
+    assertEquals(List.of(second), invalidated);
+  }
+
+  private UUID addEvent(long offset) {
+    UUID entityId = UUID.randomUUID();
+    events.put(offset, entityId);
+    return entityId;
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.service.util.JsonUtils;
+
+class EntityCacheTest {
+  private TableDAO dao;
+  private final UUID id = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() throws JsonProcessingException {
+    EntityCache.cleanUp();
+    EntityCacheConfiguration config = new EntityCacheConfiguration();
+    config.setInvalidationChannel(EntityCacheConfiguration.InvalidationChannelType.LOCAL);
+    EntityCache.initialize(config, mock(CollectionDAO.class));
+    dao = mock(TableDAO.class);
+    when(dao.getTableName()).thenReturn("table_entity");
+    when(dao.getEntityClass()).thenReturn(Table.class);
+    when(dao.supportsSoftDelete()).thenReturn(true);
+    mockTable("t1", false);
+  }
+
+  @AfterEach
+  void tearDown() {
+    EntityCache.cleanUp();
+  }
+
+  @Test
+  void testReadThrough() throws IOException {
+    EntityReference ref = EntityCache.getInstance().getEntityReferenceById(dao, id, Include.ALL);
+    assertEquals("t1", ref.getName());
+    EntityCache.getInstance().getEntityReferenceById(dao, id, Include.NON_DELETED);
+    EntityCache.getInstance().getJsonByName(dao, "db.schema.t1", Include.ALL);
+    verify(dao, times(1)).findJsonById(any(), any());
+
+    // Name lookup is loaded once and then served from the cache
+    EntityCache.getInstance().getJsonByName(dao, "db.schema.t1", Include.ALL);
+    verify(dao, times(1)).findJsonByFqn(anyString(), any());
+
+    // References handed out are copies
+    ref.setName("modified");
+    assertEquals("t1", EntityCache.getInstance().getEntityReferenceById(dao, id, Include.ALL).getName());
+  }
+
+  @Test
+  void testInvalidation() throws IOException {
+    EntityCache.getInstance().getJsonById(dao, id, Include.ALL);
+    mockTable("t2", true);
+
+    // Stale until invalidated
+    assertEquals("t1", EntityCache.getInstance().getEntityReferenceById(dao, id, Include.ALL).getName());
+    EntityCache.getInstance().publishChange(id);
+    assertEquals("t2", EntityCache.getInstance().getEntityReferenceById(dao, id, Include.ALL).getName());
+
+    // Soft deleted entities are filtered based on include
+    assertNull(EntityCache.getInstance().getJsonById(dao, id, Include.NON_DELETED));
+    EntityCache.getInstance().invalidateAll("table_entity");
+    assertNull(EntityCache.getInstance().getJsonById(dao, id, Include.NON_DELETED));
+    verify(dao, times(3)).findJsonById(eq(id), eq(Include.ALL));
+  }
+
+  @Test
+  void testInvalidationOfWrittenEntities() throws IOException {
+    // A read concurrent to a write caches the entity before the write is committed
+    EntityCache.getInstance().getJsonById(dao, id, Include.ALL);
+    mockTable("t2", false);
+
+    // The entity of the response is invalidated once the request completed
+    EntityCache.getInstance().invalidateWritten(new Table().withId(id));
+    assertEquals("t2", EntityCache.getInstance().getEntityReferenceById(dao, id, Include.ALL).getName());
+
+    mockTable("t3", false);
+    EntityCache.getInstance().invalidateWritten(new ChangeEvent().withEntityId(id));
+    assertEquals("t3", EntityCache.getInstance().getEntityReferenceById(dao, id, Include.ALL).getName());
+    verify(dao, times(3)).findJsonById(eq(id), eq(Include.ALL));
+  }
+
+  @Test
+  void testBulkReferences() throws IOException {
+    EntityCache.getInstance().getJsonById(dao, id, Include.ALL);
+    UUID otherId = UUID.randomUUID();
+    UUID missingId = UUID.randomUUID();
+    Table other = new Table().withId(otherId).withName("t3").withFullyQualifiedName("db.schema.t3");
+    when(dao.findJsonByIds(List.of(otherId, missingId))).thenReturn(List.of(JsonUtils.pojoToJson(other)));
+
+    // Only the entities missing from the cache are loaded, and ids without entities are left out
+    Map<UUID, EntityReference> refs =
+        EntityCache.getInstance().getEntityReferencesByIds(dao, List.of(id, otherId, missingId));
+    assertEquals(2, refs.size());
+    assertEquals("t1", refs.get(id).getName());
+    assertEquals("t3", refs.get(otherId).getName());
+    assertEquals("t3", EntityCache.getInstance().getEntityReferenceById(dao, otherId, Include.ALL).getName());
+    verify(dao, times(1)).findJsonById(any(), any());
+  }
+
+  private void mockTable(String name, boolean deleted) throws JsonProcessingException {
+    Table table =
+        new Table().withId(id).withName(name).withFullyQualifiedName("db.schema." + name).withDeleted(deleted);
+    String json = JsonUtils.pojoToJson(table);
+    when(dao.findJsonById(id, Include.ALL)).thenReturn(json);
+    when(dao.findJsonByFqn(anyString(), eq(Include.ALL))).thenReturn(json);
+  }
+}
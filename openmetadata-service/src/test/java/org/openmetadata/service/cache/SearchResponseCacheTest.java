@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2023 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import javax.ws.rs.core.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.elasticsearch.ElasticSearchRequest;
+import org.openmetadata.service.search.SearchClient;
+
+class SearchResponseCacheTest {
+  private final SearchResponseCache cache = SearchResponseCache.getInstance();
+
+  @BeforeEach
+  void setUp() {
+    SearchResponseCache.cleanUp();
+    SearchResponseCache.initialize(new SearchResponseCacheConfiguration());
+  }
+
+  @AfterEach
+  void tearDown() {
+    SearchResponseCache.cleanUp();
+  }
+
+  @Test
+  void test_keyNormalizesFilters() {
+    String key = SearchResponseCache.getKey(request("table_search_index", "{\"query\": {\"term\": {\"a\": 1}}}"));
+    assertEquals(key, SearchResponseCache.getKey(request("table_search_index", "{\"query\":{\"term\":{\"a\":1}}}")));
+    assertNotEquals(key, SearchResponseCache.getKey(request("table_search_index", "{\"query\":{\"term\":{\"a\":2}}}")));
+    assertNotEquals(key, SearchResponseCache.getKey(request("topic_search_index", "{\"query\":{\"term\":{\"a\":1}}}")));
+  }
+
+  @Test
+  void test_cachedSearch() throws IOException {
+    SearchClient client = mock(SearchClient.class);
+    when(client.cachedSearch(any())).thenCallRealMethod();
+    when(client.search(any())).thenAnswer(invocation -> Response.ok("response").build());
+
+    ElasticSearchRequest request = request("table_search_index", null);
+    assertEquals("response", client.cachedSearch(request).getEntity());
+    assertEquals("response", client.cachedSearch(request).getEntity());
+    verify(client, times(1)).search(any());
+  }
+
+  @Test
+  void test_invalidate() {
+    String table = SearchResponseCache.getKey(request("table_search_index", null));
+    String topic = SearchResponseCache.getKey(request("topic_search_index", null));
+    String all = SearchResponseCache.getKey(request("all", null));
+    putAll(table, topic, all);
+
+    // Only the responses of the index of the entity and of the indexes spanning all entity types
+    cache.invalidate(List.of(Entity.TABLE));
+    assertNull(cache.get(table));
+    assertEquals("response", cache.get(topic));
+    assertNull(cache.get(all));
+
+    // Tags are also written to the documents of the other entities
+    putAll(table, topic, all);
+    cache.invalidate(List.of(Entity.TAG));
+    assertNull(cache.get(table));
+    assertNull(cache.get(topic));
+    assertNull(cache.get(all));
+  }
+
+  @Test
+  void test_responseComputedDuringInvalidationIsNotCached() {
+    String key = SearchResponseCache.getKey(request("table_search_index", null));
+    long generation = cache.getGeneration();
+    cache.invalidate(List.of(Entity.TABLE));
+    cache.put(key, "response", generation);
+    assertNull(cache.get(key));
+  }
+
+  private void putAll(String... keys) {
+    for (String key : keys) {
+      cache.put(key, "response", cache.getGeneration());
+    }
+  }
+
+  private static ElasticSearchRequest request(String index, String queryFilter) {
+    return new ElasticSearchRequest.ElasticSearchRequestBuilder("*", 10, index)
+        .from(0)
+        .queryFilter(queryFilter)
+        .includeSourceFields(List.of())
+        .build();
+  }
+}
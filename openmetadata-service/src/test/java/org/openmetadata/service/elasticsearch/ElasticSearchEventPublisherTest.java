@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.service.Entity;
+
+class ElasticSearchEventPublisherTest {
+  private final UUID tableA = UUID.randomUUID();
+  private final UUID tableB = UUID.randomUUID();
+  private final UUID database = UUID.randomUUID();
+
+  @Test
+  void testEventsSupersededByLaterWritesAreDropped() {
+    ChangeEvent createA = event(tableA, Entity.TABLE, EventType.ENTITY_CREATED, null, 0.1);
+    ChangeEvent updateA = event(tableA, Entity.TABLE, EventType.ENTITY_UPDATED, 0.1, 0.2);
+    ChangeEvent updateB = event(tableB, Entity.TABLE, EventType.ENTITY_UPDATED, 0.1, 0.2);
+    ChangeEvent unversionedUpdateA = event(tableA, Entity.TABLE, EventType.ENTITY_UPDATED, 0.2, 0.2);
+    ChangeEvent deleteB = event(tableB, Entity.TABLE, EventType.ENTITY_DELETED, 0.2, 0.2);
+    ChangeEvent versionedUpdateA = event(tableA, Entity.TABLE, EventType.ENTITY_UPDATED, 0.2, 0.3);
+
+    List<ChangeEvent> coalesced =
+        ElasticSearchEventPublisher.coalesce(
+            List.of(createA, updateA, updateB, unversionedUpdateA, deleteB, versionedUpdateA));
+
+    // The delete of B and the last versioned update of A write the whole documents, in the original order
+    assertEquals(List.of(deleteB, versionedUpdateA), coalesced);
+  }
+
+  @Test
+  void testEventsNotWritingTheDocumentAreKept() {
+    // An update keeping the version only patches the document, so the earlier write is still needed
+    ChangeEvent updateA = event(tableA, Entity.TABLE, EventType.ENTITY_UPDATED, 0.1, 0.2);
+    ChangeEvent unversionedUpdateA = event(tableA, Entity.TABLE, EventType.ENTITY_UPDATED, 0.2, 0.2);
+    assertEquals(
+        List.of(updateA, unversionedUpdateA),
+        ElasticSearchEventPublisher.coalesce(List.of(updateA, unversionedUpdateA)));
+
+    // The events of the other entity types are never dropped
+    ChangeEvent updateDatabase = event(database, Entity.DATABASE, EventType.ENTITY_UPDATED, 0.1, 0.2);
+    ChangeEvent deleteDatabase = event(database, Entity.DATABASE, EventType.ENTITY_DELETED, 0.2, 0.2);
+    assertEquals(
+        List.of(updateDatabase, deleteDatabase),
+        ElasticSearchEventPublisher.coalesce(List.of(updateDatabase, deleteDatabase)));
+  }
+
+  @Test
+  void testRenamesAreNotDroppedByLaterUpdates() {
+    // The rename is propagated to the labels of the tag from its change description, so it must not be dropped
+    UUID tag = UUID.randomUUID();
+    FieldChange nameChange = new FieldChange().withName(Entity.FIELD_NAME).withOldValue("old").withNewValue("new");
+    ChangeEvent rename =
+        event(tag, Entity.TAG, EventType.ENTITY_UPDATED, 0.1, 0.2)
+            .withChangeDescription(new ChangeDescription().withFieldsUpdated(List.of(nameChange)));
+    ChangeEvent update =
+        event(tag, Entity.TAG, EventType.ENTITY_UPDATED, 0.2, 0.3)
+            .withChangeDescription(
+                new ChangeDescription()
+                    .withFieldsUpdated(List.of(new FieldChange().withName(Entity.FIELD_DESCRIPTION))));
+    assertEquals(List.of(rename, update), ElasticSearchEventPublisher.coalesce(List.of(rename, update)));
+
+    for (String entityType : List.of(Entity.USER, Entity.TEAM, Entity.GLOSSARY_TERM)) {
+      UUID id = UUID.randomUUID();
+      ChangeEvent renameEntity = event(id, entityType, EventType.ENTITY_UPDATED, 0.1, 0.2);
+      ChangeEvent deleteEntity = event(id, entityType, EventType.ENTITY_DELETED, 0.2, 0.2);
+      assertEquals(
+          List.of(renameEntity, deleteEntity),
+          ElasticSearchEventPublisher.coalesce(List.of(renameEntity, deleteEntity)));
+    }
+  }
+
+  private static ChangeEvent event(
+      UUID entityId, String entityType, EventType eventType, Double previousVersion, Double currentVersion) {
+    return new ChangeEvent()
+        .withId(UUID.randomUUID())
+        .withEntityId(entityId)
+        .withEntityType(entityType)
+        .withEventType(eventType)
+        .withPreviousVersion(previousVersion)
+        .withCurrentVersion(currentVersion);
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.UriInfo;
+import org.apache.commons.lang3.tuple.Pair;
+import org.awaitility.Awaitility;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.service.OpenMetadataApplicationConfig;
+
+class EventCapturePipelineTest {
+  private static final int BATCH_SIZE = 10;
+
+  @Test
+  void testResponsesOfAnEntityAreProcessedInOrder() {
+    RecordingHandler handler = new RecordingHandler();
+    EventCapturePipeline pipeline = new EventCapturePipeline(List.of(handler), 4, 1000, BATCH_SIZE);
+    List<UUID> entityIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    for (int i = 0; i < 100; i++) {
+      for (UUID entityId : entityIds) {
+        pipeline.submit(entityId, mock(ContainerRequestContext.class), response(entityId + ":" + i));
+      }
+    }
+    pipeline.shutdown();
+
+    // The responses are handed to the handlers in batches, and each entity gets its responses in the request order
+    assertEquals(300, handler.processed.size());
+    assertTrue(handler.batchSizes.stream().allMatch(size -> size >= 1 && size <= BATCH_SIZE));
+    List<String> expected = IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.toList());
+    for (UUID entityId : entityIds) {
+      assertEquals(expected, handler.getResponses(entityId));
+    }
+  }
+
+  @Test
+  void testFailedHandlerDoesNotStopTheOthers() {
+    RecordingHandler failing =
+        new RecordingHandler() {
+          @Override
+          public void process(List<Pair<ContainerRequestContext, ContainerResponseContext>> responses) {
+            super.process(responses);
+            throw new IllegalStateException("Failed to process " + responses.size() + " responses");
+          }
+        };
+    RecordingHandler handler = new RecordingHandler();
+    EventCapturePipeline pipeline = new EventCapturePipeline(List.of(failing, handler), 1, 100, BATCH_SIZE);
+    UUID entityId = UUID.randomUUID();
+    for (int i = 0; i < 20; i++) {
+      pipeline.submit(entityId, mock(ContainerRequestContext.class), response(entityId + ":" + i));
+    }
+    pipeline.shutdown();
+
+    // The worker keeps going after the failures, and the other handler gets every response
+    assertEquals(20, failing.processed.size());
+    assertEquals(20, handler.processed.size());
+  }
+
+  @Test
+  void testShutdownProcessesQueuedResponses() throws InterruptedException {
+    CountDownLatch processing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingHandler handler =
+        new RecordingHandler() {
+          @Override
+          public void process(List<Pair<ContainerRequestContext, ContainerResponseContext>> responses) {
+            processing.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            super.process(responses);
+          }
+        };
+    EventCapturePipeline pipeline = new EventCapturePipeline(List.of(handler), 1, 100, BATCH_SIZE);
+    UUID entityId = UUID.randomUUID();
+    pipeline.submit(entityId, mock(ContainerRequestContext.class), response(entityId + ":0"));
+    processing.await();
+
+    // The responses queued while the worker is busy are processed before the worker stops
+    for (int i = 1; i < 50; i++) {
+      pipeline.submit(entityId, mock(ContainerRequestContext.class), response(entityId + ":" + i));
+    }
+    release.countDown();
+    pipeline.shutdown();
+    Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> handler.processed.size() == 50);
+    assertEquals(50, handler.getResponses(entityId).size());
+  }
+
+  @Test
+  void testResponsesArePartitionedByEntity() {
+    UriInfo uriInfo = mock(UriInfo.class);
+    when(uriInfo.getPath()).thenReturn("v1/tables/followers");
+    UUID tableId = UUID.randomUUID();
+
+    // The followers endpoints respond with the change event of the entity, which goes with the other entity responses
+    ChangeEvent changeEvent = new ChangeEvent().withEntityId(tableId);
+    assertEquals(tableId, EventFilter.getPartitionKey(uriInfo, response(new Table().withId(tableId))));
+    assertEquals(tableId, EventFilter.getPartitionKey(uriInfo, response(changeEvent)));
+    assertEquals("v1/tables/followers", EventFilter.getPartitionKey(uriInfo, response("not an entity")));
+    assertEquals("v1/tables/followers", EventFilter.getPartitionKey(uriInfo, response(new ChangeEvent())));
+  }
+
+  private static ContainerResponseContext response(Object entity) {
+    ContainerResponseContext response = mock(ContainerResponseContext.class);
+    when(response.getEntity()).thenReturn(entity);
+    return response;
+  }
+
+  /** Handler recording the responses it processed, whose entities are strings of the entity id and a sequence */
+  static class RecordingHandler implements EventHandler {
+    private final List<String> processed = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final Map<String, List<String>> responsesByEntity = new ConcurrentHashMap<>();
+
+    @Override
+    public void init(OpenMetadataApplicationConfig config, Jdbi jdbi) {
+      /* Nothing to initialize */
+    }
+
+    @Override
+    public Void process(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+      process(List.of(Pair.of(requestContext, responseContext)));
+      return null;
+    }
+
+    @Override
+    public void process(List<Pair<ContainerRequestContext, ContainerResponseContext>> responses) {
+      batchSizes.add(responses.size());
+      for (Pair<ContainerRequestContext, ContainerResponseContext> response : responses) {
+        String[] entity = ((String) response.getRight().getEntity()).split(":");
+        processed.add(entity[1]);
+        responsesByEntity.computeIfAbsent(entity[0], k -> new CopyOnWriteArrayList<>()).add(entity[1]);
+      }
+    }
+
+    List<String> getResponses(UUID entityId) {
+      return new ArrayList<>(responsesByEntity.getOrDefault(entityId.toString(), List.of()));
+    }
+
+    @Override
+    public void close() {
+      /* Nothing to close */
+    }
+  }
+}
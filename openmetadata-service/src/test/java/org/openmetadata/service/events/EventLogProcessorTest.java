@@ -0,0 +1,202 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.service.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.service.events.errors.EventPublisherException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventConsumerDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO.ChangeEventRecord;
+import org.openmetadata.service.resources.events.EventResource.EventList;
+import org.openmetadata.service.util.JsonUtils;
+
+class EventLogProcessorTest {
+  private static final String CONSUMER_ID = "consumer";
+  private CollectionDAO dao;
+  private ChangeEventDAO eventDAO;
+  private ChangeEventConsumerDAO consumerDAO;
+
+  @BeforeAll
+  static void startPubSub() {
+    EventPubSub.start();
+  }
+
+  @AfterAll
+  static void stopPubSub() throws InterruptedException {
+    EventPubSub.shutdown();
+  }
+
+  @BeforeEach
+  void setUp() {
+    dao = mock(CollectionDAO.class);
+    eventDAO = mock(ChangeEventDAO.class);
+    consumerDAO = mock(ChangeEventConsumerDAO.class);
+    when(dao.changeEventDAO()).thenReturn(eventDAO);
+    when(dao.changeEventConsumerDAO()).thenReturn(consumerDAO);
+    when(eventDAO.getMaxOffset()).thenReturn(7L);
+    when(consumerDAO.acquireLease(eq(CONSUMER_ID), anyString(), anyLong(), anyLong())).thenReturn(1);
+    when(consumerDAO.commitOffset(eq(CONSUMER_ID), anyString(), anyLong(), anyLong())).thenReturn(1);
+  }
+
+  @Test
+  void testEventsAreReplayedFromCommittedOffset() throws JsonProcessingException {
+    // The consumer committed offset 5 before it was stopped, and events 6 and 7 were stored since
+    when(consumerDAO.getOffset(CONSUMER_ID)).thenReturn(5L);
+    when(eventDAO.listAfterOffset(5, 100)).thenReturn(List.of(record(6), record(7)));
+    RecordingPublisher publisher = new RecordingPublisher(-1);
+    EventLogProcessor processor = new EventLogProcessor(CONSUMER_ID, publisher, dao);
+    when(eventDAO.listAfterOffset(7, 100))
+        .thenAnswer(
+            invocation -> {
+              processor.halt();
+              return List.of();
+            });
+
+    processor.run();
+
+    assertEquals(List.of(6L, 7L), publisher.offsets);
+    verify(consumerDAO).insertIfAbsent(CONSUMER_ID, 7L);
+    verify(consumerDAO).commitOffset(eq(CONSUMER_ID), anyString(), eq(7L), anyLong());
+    verify(consumerDAO).releaseLease(eq(CONSUMER_ID), anyString());
+    assertFalse(processor.isRunning());
+  }
+
+  @Test
+  void testEventsCommittedAfterTheGapWaitAreDelivered() throws JsonProcessingException {
+    // Event 7 is not committed yet when event 8 is older than the gap wait, so event 8 is delivered past it
+    when(consumerDAO.getOffset(CONSUMER_ID)).thenReturn(5L);
+    when(eventDAO.listAfterOffset(5, 100)).thenReturn(List.of(record(6), record(8)));
+    RecordingPublisher publisher = new RecordingPublisher(-1);
+    EventLogProcessor processor = new EventLogProcessor(CONSUMER_ID, publisher, dao, 5_000, 3_600_000);
+    // Event 7 is committed late, and is delivered on the next batch
+    when(eventDAO.listByOffsets(List.of(7L))).thenReturn(List.of(record(7)));
+    when(eventDAO.listAfterOffset(8, 100))
+        .thenAnswer(
+            invocation -> {
+              processor.halt();
+              return List.of();
+            });
+
+    processor.run();
+
+    assertEquals(List.of(6L, 8L, 7L), publisher.offsets);
+    verify(consumerDAO).commitOffset(eq(CONSUMER_ID), anyString(), eq(8L), anyLong());
+  }
+
+  @Test
+  void testSkippedEventsAreNoLongerLookedUpAfterTheRetention() throws JsonProcessingException {
+    // Event 7 was rolled back. It is no longer looked up once the offset is older than the retention.
+    when(consumerDAO.getOffset(CONSUMER_ID)).thenReturn(5L);
+    when(eventDAO.listAfterOffset(5, 100)).thenReturn(List.of(record(6), record(8)));
+    RecordingPublisher publisher = new RecordingPublisher(-1);
+    EventLogProcessor processor = new EventLogProcessor(CONSUMER_ID, publisher, dao, 5_000, -1);
+    when(eventDAO.listAfterOffset(8, 100))
+        .thenAnswer(
+            invocation -> {
+              processor.halt();
+              return List.of();
+            });
+
+    processor.run();
+
+    assertEquals(List.of(6L, 8L), publisher.offsets);
+    verify(eventDAO, never()).listByOffsets(anyList());
+  }
+
+  @Test
+  void testFailedProcessorIsRemoved() throws JsonProcessingException {
+    when(consumerDAO.getOffset(CONSUMER_ID)).thenReturn(5L);
+    when(eventDAO.listAfterOffset(5, 100)).thenReturn(List.of(record(6), record(7)));
+    RecordingPublisher publisher = new RecordingPublisher(7);
+
+    EventLogProcessor processor = EventPubSub.addEventLogHandler(CONSUMER_ID, publisher, dao);
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(10))
+        .until(() -> !EventPubSub.hasEventLogProcessor(processor) && publisher.shutdown);
+
+    // The offset of the failed batch is not committed, so that the batch is delivered again on restart
+    assertFalse(processor.isRunning());
+    assertEquals(List.of(6L, 7L), publisher.offsets);
+    verify(consumerDAO, never()).commitOffset(anyString(), anyString(), anyLong(), anyLong());
+    verify(consumerDAO).releaseLease(eq(CONSUMER_ID), anyString());
+  }
+
+  private static ChangeEventRecord record(long offset) throws JsonProcessingException {
+    ChangeEvent event =
+        new ChangeEvent()
+            .withId(UUID.randomUUID())
+            .withEventType(EventType.ENTITY_UPDATED)
+            .withEntityType("table")
+            .withEntityId(UUID.randomUUID());
+    return new ChangeEventRecord(offset, System.currentTimeMillis() - 60_000, JsonUtils.pojoToJson(event));
+  }
+
+  /** Publisher recording the offsets of the events delivered, failing on the given offset */
+  static class RecordingPublisher implements EventPublisher {
+    private final List<Long> offsets = new CopyOnWriteArrayList<>();
+    private final long failingOffset;
+    private volatile boolean shutdown = false;
+
+    RecordingPublisher(long failingOffset) {
+      this.failingOffset = failingOffset;
+    }
+
+    @Override
+    public void onEvent(ChangeEventHolder holder, long offset, boolean endOfBatch) {
+      offsets.add(offset);
+      if (offset == failingOffset) {
+        throw new EventPublisherException("Failed to publish event " + offset);
+      }
+    }
+
+    @Override
+    public void publish(EventList events) {
+      /* Events are recorded one at a time */
+    }
+
+    @Override
+    public void onStart() {
+      /* Nothing to start */
+    }
+
+    @Override
+    public void onShutdown() {
+      shutdown = true;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.subscription;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openmetadata.service.security.policyevaluator.CompiledRule.parseExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.events.EventFilterRule;
+import org.openmetadata.schema.entity.events.EventFilterRule.Effect;
+import org.openmetadata.schema.entity.events.FilteringRules;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.service.Entity;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+class CompiledAlertFilterTest {
+  private static final List<String> ENTITY_TYPES = List.of(Entity.TABLE, Entity.TOPIC, Entity.DASHBOARD);
+  private static final List<String> USERS = List.of("admin", "bot", "alice");
+  private static final List<String> FIELDS = List.of("description", "owner", "tags");
+
+  @Test
+  void testCompiledFilterMatchesInterpretedConditions() {
+    List<ChangeEvent> events = events();
+    List<FilteringRules> filters =
+        List.of(
+            filteringRules(List.of("all")),
+            filteringRules(List.of(Entity.TABLE, Entity.TOPIC)),
+            filteringRules(List.of("all"), include("matchAnyEventType('entityCreated', 'entityDeleted')")),
+            filteringRules(List.of("all"), exclude("matchAnyEventType('entityUpdated')")),
+            filteringRules(List.of(Entity.TABLE), include("matchAnySource('table','topic')")),
+            filteringRules(List.of("all"), exclude("matchAnySource('dashboard')"), include("matchUpdatedBy('bot')")),
+            filteringRules(List.of("all"), include("matchAnyFieldChange('owner')"), exclude("matchUpdatedBy('admin')")),
+            filteringRules(
+                List.of(Entity.TOPIC, Entity.DASHBOARD),
+                include("matchAnyEventType('entityUpdated')"),
+                include("matchAnyFieldChange('tags') || matchUpdatedBy('alice')"),
+                exclude("matchAnySource('topic') && matchAnyFieldChange('description')")));
+
+    int matched = 0;
+    for (FilteringRules rules : filters) {
+      CompiledAlertFilter filter = new CompiledAlertFilter("test", rules);
+      for (ChangeEvent event : events) {
+        boolean expected = interpret(event, rules);
+        assertEquals(expected, filter.matches(event), () -> describe(event, rules));
+        matched += expected ? 1 : 0;
+      }
+    }
+    // The events exercise both outcomes of the filters
+    assertTrue(matched > 0);
+    assertTrue(matched < filters.size() * events.size());
+  }
+
+  @Test
+  void testResourcesAreCheckedBeforeConditions() {
+    // The conditions match the event, but the event is rejected on its entity type
+    CompiledAlertFilter filter =
+        new CompiledAlertFilter(
+            "test", filteringRules(List.of(Entity.TABLE), include("matchAnyEventType('entityCreated')")));
+    assertFalse(filter.matches(event(EventType.ENTITY_CREATED, Entity.TOPIC, "admin", "owner")));
+    assertTrue(filter.matches(event(EventType.ENTITY_CREATED, Entity.TABLE, "admin", "owner")));
+  }
+
+  @Test
+  void testNoRulesMatchAllEvents() {
+    CompiledAlertFilter filter = new CompiledAlertFilter("test", null);
+    for (ChangeEvent event : events()) {
+      assertTrue(filter.matches(event));
+    }
+  }
+
+  /** Evaluate the rules the way they were evaluated before compilation, as a single SpEL expression */
+  private static boolean interpret(ChangeEvent event, FilteringRules rules) {
+    if (!AlertUtil.shouldTriggerAlert(event.getEntityType(), rules)) {
+      return false;
+    }
+    if (rules.getRules().isEmpty()) {
+      return true;
+    }
+    String condition =
+        rules.getRules().stream()
+            .map(
+                rule ->
+                    rule.getEffect() == Effect.INCLUDE
+                        ? "(" + rule.getCondition() + ")"
+                        : "(!" + rule.getCondition() + ")")
+            .collect(Collectors.joining(" && "));
+    StandardEvaluationContext evaluationContext = new StandardEvaluationContext(new AlertsRuleEvaluator(event));
+    return Boolean.TRUE.equals(parseExpression(condition).getValue(evaluationContext, Boolean.class));
+  }
+
+  private static List<ChangeEvent> events() {
+    List<ChangeEvent> events = new ArrayList<>();
+    for (EventType eventType : List.of(EventType.ENTITY_CREATED, EventType.ENTITY_UPDATED, EventType.ENTITY_DELETED)) {
+      for (String entityType : ENTITY_TYPES) {
+        for (String user : USERS) {
+          for (String field : FIELDS) {
+            events.add(event(eventType, entityType, user, field));
+          }
+        }
+      }
+    }
+    return events;
+  }
+
+  private static ChangeEvent event(EventType eventType, String entityType, String user, String field) {
+    ChangeDescription changeDescription =
+        new ChangeDescription().withFieldsUpdated(List.of(new FieldChange().withName(field)));
+    return new ChangeEvent()
+        .withId(UUID.randomUUID())
+        .withEventType(eventType)
+        .withEntityType(entityType)
+        .withEntityId(UUID.randomUUID())
+        .withUserName(user)
+        .withChangeDescription(changeDescription);
+  }
+
+  private static FilteringRules filteringRules(List<String> resources, EventFilterRule... rules) {
+    return new FilteringRules().withResources(resources).withRules(List.of(rules));
+  }
+
+  private static EventFilterRule include(String condition) {
+    return new EventFilterRule().withEffect(Effect.INCLUDE).withCondition(condition);
+  }
+
+  private static EventFilterRule exclude(String condition) {
+    return new EventFilterRule().withEffect(Effect.EXCLUDE).withCondition(condition);
+  }
+
+  private static String describe(ChangeEvent event, FilteringRules rules) {
+    return String.format(
+        "%s %s by %s on %s with %s",
+        event.getEventType(),
+        event.getEntityType(),
+        event.getUserName(),
+        event.getChangeDescription().getFieldsUpdated().get(0).getName(),
+        rules);
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.Entity.TEAM;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.teams.Team;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.jdbi3.CollectionDAO.TeamDAO;
+import org.openmetadata.service.util.JsonUtils;
+
+class TeamHierarchyIndexTest {
+  // Teams and parent to child relationships stored in the database
+  private final Map<UUID, Team> teams = new LinkedHashMap<>();
+  private final List<Pair<UUID, UUID>> parentOf = new ArrayList<>();
+  private final AtomicInteger teamReads = new AtomicInteger();
+  private TeamHierarchyIndex index;
+  private Team organization;
+  private Team engineering;
+  private Team platform;
+  private Team storage;
+  private Team marketing;
+
+  @BeforeEach
+  void setUp() {
+    CollectionDAO dao = mock(CollectionDAO.class);
+    TeamDAO teamDAO = mock(TeamDAO.class);
+    EntityRelationshipDAO relationshipDAO = mock(EntityRelationshipDAO.class);
+    when(dao.teamDAO()).thenReturn(teamDAO);
+    when(dao.relationshipDAO()).thenReturn(relationshipDAO);
+    when(teamDAO.listIdAndName())
+        .thenAnswer(
+            invocation ->
+                teams.values().stream()
+                    .map(team -> Pair.of(team.getId().toString(), team.getName()))
+                    .collect(Collectors.toList()));
+    when(teamDAO.findJsonByIds(anyList()))
+        .thenAnswer(
+            invocation -> {
+              teamReads.incrementAndGet();
+              List<String> jsons = new ArrayList<>();
+              for (UUID id : invocation.<List<UUID>>getArgument(0)) {
+                if (teams.containsKey(id)) {
+                  jsons.add(JsonUtils.pojoToJson(teams.get(id)));
+                }
+              }
+              return jsons;
+            });
+    when(relationshipDAO.findAllBetween(TEAM, TEAM, Relationship.PARENT_OF.ordinal()))
+        .thenAnswer(invocation -> relationships(parentOf));
+    when(relationshipDAO.findFromBatch(anyList(), eq(TEAM), anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<String> toIds = invocation.getArgument(0);
+              return relationships(
+                  parentOf.stream()
+                      .filter(relationship -> toIds.contains(relationship.getRight().toString()))
+                      .collect(Collectors.toList()));
+            });
+    index = new TeamHierarchyIndex(dao);
+
+    // Organization -> Engineering -> Platform -> Storage, and Organization -> Marketing
+    organization = addTeam("Organization");
+    engineering = addTeam("Engineering", organization);
+    platform = addTeam("Platform", engineering);
+    storage = addTeam("Storage", platform);
+    marketing = addTeam("Marketing", organization);
+  }
+
+  @Test
+  void testTeamsAreInTheTeamsAbove() {
+    assertTrue(index.isInTeam("Organization", storage.getId()));
+    assertTrue(index.isInTeam("Engineering", storage.getId()));
+    assertTrue(index.isInTeam("Storage", storage.getId()));
+    assertFalse(index.isInTeam("Marketing", storage.getId()));
+    assertFalse(index.isInTeam("Storage", platform.getId()));
+    assertEquals(ids(storage, platform, engineering, organization), index.getTeamsAndAncestors(refs(storage)));
+  }
+
+  @Test
+  void testMovedTeamIsUnderItsNewParent() {
+    assertTrue(index.isInTeam("Engineering", storage.getId()));
+
+    // Platform moves from Engineering to Marketing, along with the teams under it
+    parentOf.remove(Pair.of(engineering.getId(), platform.getId()));
+    parentOf.add(Pair.of(marketing.getId(), platform.getId()));
+    index.update(platform);
+
+    assertTrue(index.isInTeam("Marketing", platform.getId()));
+    assertTrue(index.isInTeam("Marketing", storage.getId()));
+    assertFalse(index.isInTeam("Engineering", platform.getId()));
+    assertFalse(index.isInTeam("Engineering", storage.getId()));
+    assertEquals(ids(storage, platform, marketing, organization), index.getTeamsAndAncestors(refs(storage)));
+  }
+
+  @Test
+  void testChildRemovedFromItsParent() {
+    assertTrue(index.isInTeam("Organization", storage.getId()));
+
+    // Engineering no longer has Platform as a child, Platform and the teams under it are no longer under Engineering
+    parentOf.remove(Pair.of(engineering.getId(), platform.getId()));
+    index.update(engineering.withChildren(List.of()));
+
+    assertFalse(index.isInTeam("Engineering", platform.getId()));
+    assertFalse(index.isInTeam("Organization", storage.getId()));
+    assertTrue(index.isInTeam("Platform", storage.getId()));
+    assertEquals(ids(storage, platform), index.getTeamsAndAncestors(refs(storage)));
+  }
+
+  @Test
+  void testHardDeletedTeamIsRemoved() {
+    assertTrue(index.isInTeam("Engineering", storage.getId()));
+
+    // Engineering is deleted along with its relationships, Platform is left without a parent
+    teams.remove(engineering.getId());
+    parentOf.removeIf(
+        relationship ->
+            relationship.getLeft().equals(engineering.getId()) || relationship.getRight().equals(engineering.getId()));
+    index.remove(engineering.getId());
+
+    assertFalse(index.isInTeam("Engineering", storage.getId()));
+    assertFalse(index.isInTeam("Organization", storage.getId()));
+    assertFalse(index.isInTeam("Organization", engineering.getId()));
+    assertEquals(ids(storage, platform), index.getTeamsAndAncestors(refs(storage)));
+    assertEquals(Set.of(), index.getTeamsAndAncestors(refs(engineering)));
+  }
+
+  @Test
+  void testTeamWithSeveralParents() {
+    assertFalse(index.isInTeam("Marketing", storage.getId()));
+
+    // Storage is also a child of Marketing. The ancestors common to both parents are returned once.
+    parentOf.add(Pair.of(marketing.getId(), storage.getId()));
+    index.update(storage);
+
+    assertTrue(index.isInTeam("Engineering", storage.getId()));
+    assertTrue(index.isInTeam("Marketing", storage.getId()));
+    assertEquals(
+        ids(storage, platform, engineering, marketing, organization), index.getTeamsAndAncestors(refs(storage)));
+    assertEquals(
+        ids(storage, platform, engineering, marketing, organization),
+        index.getTeamsAndAncestors(refs(storage, platform, marketing)));
+
+    // Removing one of the parents keeps the team under the other one
+    parentOf.remove(Pair.of(engineering.getId(), platform.getId()));
+    index.update(platform);
+    assertFalse(index.isInTeam("Engineering", storage.getId()));
+    assertTrue(index.isInTeam("Marketing", storage.getId()));
+    assertEquals(ids(storage, platform, marketing, organization), index.getTeamsAndAncestors(refs(storage)));
+  }
+
+  @Test
+  void testTeamsMissingFromTheIndex() {
+    assertTrue(index.isInTeam("Organization", storage.getId()));
+
+    // A team created on another server is read from the database when looked up
+    Team sales = addTeam("Sales", organization);
+    assertTrue(index.isInTeam("Organization", sales.getId()));
+    assertEquals(ids(sales, organization), index.getTeamsAndAncestors(refs(sales)));
+
+    // A team not found is read from the database only once
+    UUID unknownId = UUID.randomUUID();
+    int reads = teamReads.get();
+    assertFalse(index.isInTeam("Organization", unknownId));
+    assertFalse(index.isInTeam("Organization", unknownId));
+    assertEquals(Set.of(), index.getTeamsAndAncestors(List.of(new EntityReference().withId(unknownId))));
+    assertEquals(reads + 1, teamReads.get());
+
+    // The team is added once created on this server
+    Team support = new Team().withId(unknownId).withName("Support");
+    teams.put(unknownId, support);
+    parentOf.add(Pair.of(marketing.getId(), unknownId));
+    index.update(support);
+    assertTrue(index.isInTeam("Marketing", unknownId));
+  }
+
+  private Team addTeam(String name, Team... parents) {
+    Team team = new Team().withId(UUID.randomUUID()).withName(name);
+    teams.put(team.getId(), team);
+    for (Team parent : parents) {
+      parentOf.add(Pair.of(parent.getId(), team.getId()));
+    }
+    return team;
+  }
+
+  private static List<EntityRelationshipObject> relationships(List<Pair<UUID, UUID>> parentOf) {
+    return parentOf.stream()
+        .map(
+            relationship ->
+                EntityRelationshipObject.builder()
+                    .fromId(relationship.getLeft().toString())
+                    .toId(relationship.getRight().toString())
+                    .fromEntity(TEAM)
+                    .toEntity(TEAM)
+                    .relation(Relationship.PARENT_OF.ordinal())
+                    .build())
+        .collect(Collectors.toList());
+  }
+
+  private static List<EntityReference> refs(Team... teams) {
+    List<EntityReference> refs = new ArrayList<>();
+    for (Team team : teams) {
+      refs.add(new EntityReference().withId(team.getId()).withType(TEAM).withName(team.getName()));
+    }
+    return refs;
+  }
+
+  private static Set<UUID> ids(Team... teams) {
+    Set<UUID> ids = new HashSet<>();
+    for (Team team : teams) {
+      ids.add(team.getId());
+    }
+    return ids;
+  }
+}
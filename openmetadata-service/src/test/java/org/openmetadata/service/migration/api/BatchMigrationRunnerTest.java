@@ -0,0 +1,183 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.migration.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openmetadata.service.jdbi3.MigrationDAO;
+import org.openmetadata.service.jdbi3.MigrationDAO.MigrationCheckpoint;
+
+class BatchMigrationRunnerTest {
+  private static final String VERSION = "1.1.0";
+  private static final String NAME = "numbers";
+  private static final int BATCH_SIZE = 10;
+
+  private final Handle handle = mock(Handle.class);
+  private final MigrationDAO migrationDAO = mock(MigrationDAO.class);
+  private BatchMigrationRunner runner;
+
+  @BeforeEach
+  void setUp() {
+    when(handle.attach(MigrationDAO.class)).thenReturn(migrationDAO);
+    doAnswer(
+            invocation -> {
+              HandleConsumer<?> consumer = invocation.getArgument(0);
+              consumer.useHandle(handle);
+              return null;
+            })
+        .when(handle)
+        .useTransaction(any());
+    runner = new BatchMigrationRunner(handle, VERSION, BATCH_SIZE, 4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    runner.close();
+  }
+
+  @Test
+  void testRowsAreMigratedInBatchesWithCheckpoints() {
+    NumberMigration migration = new NumberMigration(25);
+    runner.run(migration);
+
+    // Every row is read once in key order, and the odd rows are rewritten
+    assertEquals(List.of("", "10", "20"), migration.reads);
+    assertEquals(oddNumbers(1, 25), migration.written);
+
+    // Each batch commits its checkpoint, and the last one marks the migration completed
+    InOrder inOrder = inOrder(migrationDAO);
+    inOrder.verify(migrationDAO).upsertMigrationCheckpoint(VERSION, NAME, "10", 10, false);
+    inOrder.verify(migrationDAO).upsertMigrationCheckpoint(VERSION, NAME, "20", 20, false);
+    inOrder.verify(migrationDAO).upsertMigrationCheckpoint(VERSION, NAME, "25", 25, false);
+    inOrder.verify(migrationDAO).upsertMigrationCheckpoint(VERSION, NAME, "25", 25, true);
+  }
+
+  @Test
+  void testMigrationResumesFromCheckpoint() {
+    when(migrationDAO.getMigrationCheckpoint(VERSION, NAME)).thenReturn(checkpoint("20", 20, false));
+    NumberMigration migration = new NumberMigration(25);
+    runner.run(migration);
+
+    // Only the rows after the checkpoint are migrated, and the row count goes on from the checkpoint
+    assertEquals(List.of("20"), migration.reads);
+    assertEquals(oddNumbers(21, 25), migration.written);
+    verify(migrationDAO).upsertMigrationCheckpoint(VERSION, NAME, "25", 25, false);
+    verify(migrationDAO).upsertMigrationCheckpoint(VERSION, NAME, "25", 25, true);
+  }
+
+  @Test
+  void testCompletedMigrationIsSkipped() {
+    when(migrationDAO.getMigrationCheckpoint(VERSION, NAME)).thenReturn(checkpoint("25", 25, true));
+    NumberMigration migration = new NumberMigration(25);
+    runner.run(migration);
+
+    assertTrue(migration.reads.isEmpty());
+    assertTrue(migration.written.isEmpty());
+    verify(migrationDAO, never()).upsertMigrationCheckpoint(anyString(), anyString(), any(), anyLong(), anyBoolean());
+  }
+
+  @Test
+  void testFailedBatchIsNotCheckpointed() {
+    NumberMigration migration =
+        new NumberMigration(25) {
+          @Override
+          public void write(List<Integer> updates) {
+            if (updates.contains(11)) {
+              throw new IllegalStateException("Failed to write " + updates);
+            }
+            super.write(updates);
+          }
+        };
+    assertThrows(IllegalStateException.class, () -> runner.run(migration));
+
+    // The migration stops at the failed batch, and the next run resumes after the first batch
+    assertEquals(List.of("", "10"), migration.reads);
+    verify(migrationDAO).upsertMigrationCheckpoint(VERSION, NAME, "10", 10, false);
+    verify(migrationDAO, never()).upsertMigrationCheckpoint(VERSION, NAME, "20", 20, false);
+    verify(migrationDAO, never()).upsertMigrationCheckpoint(anyString(), anyString(), any(), anyLong(), eq(true));
+  }
+
+  private static MigrationCheckpoint checkpoint(String lastKey, long rowCount, boolean completed) {
+    MigrationCheckpoint checkpoint = new MigrationCheckpoint();
+    checkpoint.setLastKey(lastKey);
+    checkpoint.setRowCount(rowCount);
+    checkpoint.setCompleted(completed);
+    return checkpoint;
+  }
+
+  private static List<Integer> oddNumbers(int from, int to) {
+    return IntStream.rangeClosed(from, to).filter(i -> i % 2 == 1).boxed().collect(Collectors.toList());
+  }
+
+  /** Migration of the numbers 1 to n keyed by their value, where only the odd numbers are updated */
+  private static class NumberMigration implements BatchMigration<Integer, Integer> {
+    private final int count;
+    private final List<String> reads = new ArrayList<>();
+    private final List<Integer> written = new ArrayList<>();
+
+    NumberMigration(int count) {
+      this.count = count;
+    }
+
+    @Override
+    public String getName() {
+      return NAME;
+    }
+
+    @Override
+    public List<Integer> read(String afterKey, int limit) {
+      reads.add(afterKey == null ? "" : afterKey);
+      int after = afterKey == null ? 0 : Integer.parseInt(afterKey);
+      return IntStream.rangeClosed(after + 1, Math.min(after + limit, count)).boxed().collect(Collectors.toList());
+    }
+
+    @Override
+    public String getKey(Integer row) {
+      return String.valueOf(row);
+    }
+
+    @Override
+    public Integer transform(Integer row) {
+      return row % 2 == 1 ? row : null;
+    }
+
+    @Override
+    public void write(List<Integer> updates) {
+      written.addAll(updates);
+    }
+  }
+}
@@ -196,6 +196,7 @@ import org.openmetadata.service.resources.teams.UserResourceTest;
 import org.openmetadata.service.security.SecurityUtil;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.RestUtil;
 import org.openmetadata.service.util.ResultList;
 import org.openmetadata.service.util.TestUtils;
 
@@ -218,6 +219,7 @@ public abstract class EntityResourceTest<T extends EntityInterface, K extends Cr
   protected boolean supportsSoftDelete;
   protected boolean supportsFieldsQueryParam = true;
   protected boolean supportsEmptyDescription = true;
+  protected boolean supportsBulkPut = false;
 
   // Special characters supported in the entity name
   protected String supportedNameCharacters = "_'-.&()" + RANDOM_STRING_GENERATOR.generate(1);
@@ -750,6 +752,55 @@ public abstract class EntityResourceTest<T extends EntityInterface, K extends Cr
     validateGetCommonFields(entity);
   }
 
+  @Test
+  @Execution(ExecutionMode.CONCURRENT)
+  void get_entityListWithFields_200(TestInfo test) throws IOException {
+    if (!supportsFieldsQueryParam) {
+      return;
+    }
+    // Fields of a page of listed entities are fetched in bulk. They must be the same as the fields of each entity GET.
+    List<T> entities = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      T entity = createEntity(createRequest(getEntityName(test, i), "", null, USER1_REF), ADMIN_AUTH_HEADERS);
+      if (supportsTags) {
+        String origJson = JsonUtils.pojoToJson(entity);
+        entity.setTags(List.of(i % 2 == 0 ? USER_ADDRESS_TAG_LABEL : GLOSSARY2_TERM1_LABEL));
+        entity = patchEntity(entity.getId(), origJson, entity, ADMIN_AUTH_HEADERS);
+      }
+      if (supportsFollowers && i > 0) {
+        addFollower(entity.getId(), USER1.getId(), OK, ADMIN_AUTH_HEADERS);
+      }
+      entities.add(entity);
+    }
+
+    String fields = getAllowedFields();
+    Map<String, String> params = new HashMap<>();
+    params.put("fields", fields);
+    Map<UUID, T> listed = new HashMap<>();
+    listEntities(params, 1000000, null, null, ADMIN_AUTH_HEADERS).getData().forEach(e -> listed.put(e.getId(), e));
+    for (T entity : entities) {
+      T listedEntity = listed.get(entity.getId());
+      assertNotNull(listedEntity);
+      compareListedEntity(getEntity(entity.getId(), fields, ADMIN_AUTH_HEADERS), listedEntity);
+    }
+  }
+
+  /** Compare the fields of an entity listed with the fields of the same entity fetched with GET */
+  protected void compareListedEntity(T expected, T listed) throws HttpResponseException {
+    if (supportsOwner) {
+      assertEquals(expected.getOwner(), listed.getOwner());
+    }
+    if (supportsFollowers) {
+      assertEquals(
+          listOrEmpty(expected.getFollowers()).stream().map(EntityReference::getId).collect(Collectors.toSet()),
+          listOrEmpty(listed.getFollowers()).stream().map(EntityReference::getId).collect(Collectors.toSet()));
+    }
+    if (supportsTags) {
+      TestUtils.validateTags(expected.getTags(), listed.getTags());
+      assertEquals(listOrEmpty(expected.getTags()).size(), listOrEmpty(listed.getTags()).size());
+    }
+  }
+
   private void validateGetCommonFields(EntityInterface entityInterface) {
     if (supportsOwner) {
       validateEntityReference(entityInterface.getOwner());
@@ -1005,6 +1056,47 @@ public abstract class EntityResourceTest<T extends EntityInterface, K extends Cr
     updateAndCheckEntity(request, OK, ADMIN_AUTH_HEADERS, NO_CHANGE, change);
   }
 
+  @Test
+  @Execution(ExecutionMode.CONCURRENT)
+  void put_entitiesInBulk_200(TestInfo test) throws IOException {
+    if (!supportsBulkPut) {
+      return;
+    }
+    // Bulk request to create an entity, update an existing entity and create an entity with an unknown owner
+    T existing = createEntity(createRequest(test, 1), ADMIN_AUTH_HEADERS);
+    EntityReference unknownOwner = new EntityReference().withId(NON_EXISTENT_ENTITY).withType(Entity.USER);
+    List<K> creates =
+        List.of(
+            createRequest(test, 2),
+            createRequest(test, 1).withDescription("updatedInBulk"),
+            createRequest(getEntityName(test, 3), "", null, unknownOwner));
+    JsonNode response =
+        TestUtils.put(getResource(collectionName + "/bulk"), creates, JsonNode.class, OK, ADMIN_AUTH_HEADERS);
+
+    // Failure of an entity does not fail the others, and results are in the order of the request
+    assertEquals(2, response.get("numberOfRowsPassed").asInt());
+    assertEquals(1, response.get("numberOfRowsFailed").asInt());
+    JsonNode results = response.get("results");
+    assertEquals(3, results.size());
+    assertEquals(CREATED.getStatusCode(), results.get(0).get("status").asInt());
+    assertEquals(RestUtil.ENTITY_CREATED, results.get(0).get("changeType").asText());
+    assertEquals(creates.get(0).getName(), results.get(0).get("entity").get("name").asText());
+    assertEquals(OK.getStatusCode(), results.get(1).get("status").asInt());
+    assertEquals(RestUtil.ENTITY_UPDATED, results.get(1).get("changeType").asText());
+    assertEquals(existing.getId().toString(), results.get(1).get("entity").get("id").asText());
+    assertEquals(NOT_FOUND.getStatusCode(), results.get(2).get("status").asInt());
+    assertEquals(entityNotFound(Entity.USER, NON_EXISTENT_ENTITY), results.get(2).get("error").asText());
+
+    assertEquals("updatedInBulk", getEntity(existing.getId(), "", ADMIN_AUTH_HEADERS).getDescription());
+
+    // An invalid create request fails the whole request
+    List<K> invalid = List.of(createRequest(test, 4), createRequest(test, 5).withName(null));
+    assertResponse(
+        () -> TestUtils.put(getResource(collectionName + "/bulk"), invalid, JsonNode.class, OK, ADMIN_AUTH_HEADERS),
+        BAD_REQUEST,
+        "[name must not be null]");
+  }
+
   @Test
   @Execution(ExecutionMode.CONCURRENT)
   void put_entityCreate_as_owner_200(TestInfo test) throws IOException {
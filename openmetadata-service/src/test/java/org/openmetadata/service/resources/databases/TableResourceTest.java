@@ -37,6 +37,9 @@ import static org.openmetadata.schema.type.ColumnDataType.INT;
 import static org.openmetadata.schema.type.ColumnDataType.STRING;
 import static org.openmetadata.schema.type.ColumnDataType.STRUCT;
 import static org.openmetadata.schema.type.ColumnDataType.VARCHAR;
+import static org.openmetadata.schema.type.EventType.ENTITY_CREATED;
+import static org.openmetadata.schema.type.EventType.ENTITY_SOFT_DELETED;
+import static org.openmetadata.schema.type.EventType.ENTITY_UPDATED;
 import static org.openmetadata.service.Entity.FIELD_OWNER;
 import static org.openmetadata.service.Entity.FIELD_TAGS;
 import static org.openmetadata.service.Entity.TABLE;
@@ -68,20 +71,24 @@ import static org.openmetadata.service.util.TestUtils.validateEntityReference;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.client.HttpResponseException;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -115,9 +122,12 @@ import org.openmetadata.schema.type.ColumnProfile;
 import org.openmetadata.schema.type.ColumnProfilerConfig;
 import org.openmetadata.schema.type.DataModel;
 import org.openmetadata.schema.type.DataModel.ModelType;
+import org.openmetadata.schema.type.DmlOperationType;
+import org.openmetadata.schema.type.EntityHistory;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.JoinedWith;
 import org.openmetadata.schema.type.MetadataOperation;
+import org.openmetadata.schema.type.SystemProfile;
 import org.openmetadata.schema.type.TableConstraint;
 import org.openmetadata.schema.type.TableConstraint.ConstraintType;
 import org.openmetadata.schema.type.TableData;
@@ -134,6 +144,7 @@ import org.openmetadata.service.resources.EntityResourceTest;
 import org.openmetadata.service.resources.databases.TableResource.TableList;
 import org.openmetadata.service.resources.dqtests.TestCaseResourceTest;
 import org.openmetadata.service.resources.dqtests.TestSuiteResourceTest;
+import org.openmetadata.service.resources.events.EventResource.EventList;
 import org.openmetadata.service.resources.glossary.GlossaryResourceTest;
 import org.openmetadata.service.resources.glossary.GlossaryTermResourceTest;
 import org.openmetadata.service.resources.query.QueryResource;
@@ -159,6 +170,7 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     super(TABLE, Table.class, TableList.class, "tables", TableResource.FIELDS);
     supportedNameCharacters = "_'+#- .()$" + EntityResourceTest.RANDOM_STRING_GENERATOR.generate(1);
     supportsSearchIndex = true;
+    supportsBulkPut = true;
   }
 
   public void setupDatabaseSchemas(TestInfo test) throws IOException {
@@ -1266,6 +1278,110 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
         "Invalid column name invalidColumn");
   }
 
+  @Test
+  void put_tableProfileInBatches_200(TestInfo test) throws IOException, ParseException {
+    // The profile of a nested column is named after its parent columns
+    Column child = getColumn("a", INT, null);
+    Column struct = getColumn(C2, STRUCT, "struct<a: int>", null).withChildren(new ArrayList<>(List.of(child)));
+    Table table =
+        createEntity(createRequest(test).withColumns(List.of(getColumn(C1, BIGINT, null), struct)), ADMIN_AUTH_HEADERS);
+    String c1Fqn = table.getColumns().get(0).getFullyQualifiedName();
+    String childFqn = table.getColumns().get(1).getChildren().get(0).getFullyQualifiedName();
+    String childName = C2 + ".a";
+    Long timestamp1 = TestUtils.dateToTimestamp("2021-09-09");
+    Long timestamp2 = TestUtils.dateToTimestamp("2021-09-10");
+    TableProfile tableProfile = new TableProfile().withRowCount(6.0).withColumnCount(2.0).withTimestamp(timestamp1);
+
+    // Profiles of several timestamps in one request are inserted, and the last of duplicate profiles wins
+    ColumnProfile c1Profile1 = getColumnProfile(C1, 200.0, 10.0, 100.0, timestamp1);
+    ColumnProfile c1Profile2 = getColumnProfile(C1, 150.0, 10.0, 100.0, timestamp2);
+    ColumnProfile childProfile = getColumnProfile(childName, 10.0, 1.0, 10.0, timestamp1);
+    SystemProfile insertProfile = getSystemProfile(DmlOperationType.INSERT, 20, timestamp1);
+    SystemProfile updateProfile = getSystemProfile(DmlOperationType.UPDATE, 5, timestamp1);
+    CreateTableProfile createTableProfile =
+        new CreateTableProfile()
+            .withTableProfile(tableProfile)
+            .withColumnProfile(
+                List.of(getColumnProfile(C1, 100.0, 10.0, 100.0, timestamp1), childProfile, c1Profile2, c1Profile1))
+            .withSystemProfile(
+                List.of(getSystemProfile(DmlOperationType.INSERT, 10, timestamp1), updateProfile, insertProfile));
+    putTableProfileData(table.getId(), createTableProfile, ADMIN_AUTH_HEADERS);
+
+    verifyColumnProfiles(
+        getColumnProfiles(c1Fqn, timestamp1, timestamp2, ADMIN_AUTH_HEADERS), List.of(c1Profile1, c1Profile2), 2);
+    verifyColumnProfiles(
+        getColumnProfiles(childFqn, timestamp1, timestamp2, ADMIN_AUTH_HEADERS), List.of(childProfile), 1);
+    verifySystemProfiles(
+        getSystemProfiles(table.getFullyQualifiedName(), timestamp1, timestamp2, ADMIN_AUTH_HEADERS),
+        List.of(insertProfile, updateProfile));
+
+    // Profiles already stored for a timestamp, or a timestamp and an operation, are replaced, the others are added
+    c1Profile1 = getColumnProfile(C1, 300.0, 10.0, 100.0, timestamp1);
+    childProfile = getColumnProfile(childName, 30.0, 1.0, 10.0, timestamp1);
+    insertProfile = getSystemProfile(DmlOperationType.INSERT, 40, timestamp1);
+    SystemProfile deleteProfile = getSystemProfile(DmlOperationType.DELETE, 1, timestamp1);
+    createTableProfile
+        .withColumnProfile(List.of(c1Profile1, childProfile))
+        .withSystemProfile(List.of(insertProfile, deleteProfile));
+    putTableProfileData(table.getId(), createTableProfile, ADMIN_AUTH_HEADERS);
+
+    verifyColumnProfiles(
+        getColumnProfiles(c1Fqn, timestamp1, timestamp2, ADMIN_AUTH_HEADERS), List.of(c1Profile1, c1Profile2), 2);
+    verifyColumnProfiles(
+        getColumnProfiles(childFqn, timestamp1, timestamp2, ADMIN_AUTH_HEADERS), List.of(childProfile), 1);
+    verifySystemProfiles(
+        getSystemProfiles(table.getFullyQualifiedName(), timestamp1, timestamp2, ADMIN_AUTH_HEADERS),
+        List.of(insertProfile, updateProfile, deleteProfile));
+  }
+
+  @Test
+  void get_latestTableProfileWithColumnProfiles_200(TestInfo test) throws IOException, ParseException {
+    Column child = getColumn("a", INT, null);
+    Column struct = getColumn(C2, STRUCT, "struct<a: int>", null).withChildren(new ArrayList<>(List.of(child)));
+    List<Column> columns = List.of(getColumn(C1, BIGINT, null), struct, getColumn(C3, BIGINT, null));
+    Table table = createEntity(createRequest(test).withColumns(columns), ADMIN_AUTH_HEADERS);
+    Table table1 = createEntity(createRequest(test, 1).withColumns(columns), ADMIN_AUTH_HEADERS);
+    String childName = C2 + ".a";
+    Long timestamp1 = TestUtils.dateToTimestamp("2021-09-09");
+    Long timestamp2 = TestUtils.dateToTimestamp("2021-09-10");
+    Long timestamp3 = TestUtils.dateToTimestamp("2021-09-11");
+
+    // Profile C1 and the nested column at the first timestamp, and only C1 at the second
+    ColumnProfile childProfile = getColumnProfile(childName, 10.0, 1.0, 10.0, timestamp1);
+    putTableProfileData(
+        table.getId(),
+        new CreateTableProfile()
+            .withTableProfile(new TableProfile().withRowCount(5.0).withColumnCount(3.0).withTimestamp(timestamp1))
+            .withColumnProfile(List.of(getColumnProfile(C1, 50.0, 10.0, 100.0, timestamp1), childProfile)),
+        ADMIN_AUTH_HEADERS);
+    TableProfile tableProfile = new TableProfile().withRowCount(6.0).withColumnCount(3.0).withTimestamp(timestamp2);
+    ColumnProfile c1Profile = getColumnProfile(C1, 100.0, 10.0, 100.0, timestamp2);
+    putTableProfileData(
+        table.getId(),
+        new CreateTableProfile().withTableProfile(tableProfile).withColumnProfile(List.of(c1Profile)),
+        ADMIN_AUTH_HEADERS);
+
+    // Later profiles of the columns of another table are not returned
+    putTableProfileData(
+        table1.getId(),
+        new CreateTableProfile()
+            .withTableProfile(new TableProfile().withRowCount(1.0).withColumnCount(3.0).withTimestamp(timestamp3))
+            .withColumnProfile(
+                List.of(
+                    getColumnProfile(C1, 1.0, 1.0, 1.0, timestamp3),
+                    getColumnProfile(childName, 1.0, 1.0, 1.0, timestamp3),
+                    getColumnProfile(C3, 1.0, 1.0, 1.0, timestamp3))),
+        ADMIN_AUTH_HEADERS);
+
+    // Each column gets its own latest profile, and the columns that were never profiled get none
+    Table latest = getLatestTableProfile(table.getFullyQualifiedName(), ADMIN_AUTH_HEADERS);
+    verifyTableProfile(latest.getProfile(), tableProfile);
+    verifyColumnProfile(latest.getColumns().get(0).getProfile(), c1Profile);
+    assertNull(latest.getColumns().get(1).getProfile());
+    verifyColumnProfile(latest.getColumns().get(1).getChildren().get(0).getProfile(), childProfile);
+    assertNull(latest.getColumns().get(2).getProfile());
+  }
+
   @Test
   void put_tableQueries_200(TestInfo test) throws IOException {
     // Setup Query Test
@@ -1872,6 +1988,139 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     assertNull(tableWithProfileFromNotOwner.getColumns().get(2).getProfile());
   }
 
+  @Test
+  void get_tableVersionsInPages_200(TestInfo test) throws IOException {
+    // Create versions 0.1 to 0.5 of a table
+    Table table = createEntity(createRequest(test), ADMIN_AUTH_HEADERS);
+    for (int i = 1; i <= 4; i++) {
+      String json = JsonUtils.pojoToJson(table);
+      table.setDescription("description" + i);
+      table = patchEntity(table.getId(), json, table, ADMIN_AUTH_HEADERS);
+    }
+    EntityHistory history = getVersionList(table.getId(), ADMIN_AUTH_HEADERS);
+    assertEquals(5, history.getVersions().size());
+
+    // Versions listed two at a time, from the latest to the oldest, are the versions listed at once
+    List<Object> versions = new ArrayList<>();
+    String after = null;
+    int pages = 0;
+    do {
+      EntityHistory page = getVersionPage(table.getId(), 2, after);
+      assertTrue(page.getVersions().size() <= 2);
+      assertEquals(5, page.getPaging().getTotal());
+      versions.addAll(page.getVersions());
+      after = page.getPaging().getAfter();
+      pages++;
+    } while (after != null);
+    assertEquals(3, pages);
+    assertEquals(toVersions(history.getVersions()), toVersions(versions));
+    assertEquals(List.of(0.5, 0.4, 0.3, 0.2, 0.1), toVersions(versions));
+
+    // A page starting after a version
+    EntityHistory page = getVersionPage(table.getId(), 10, "0.3");
+    assertEquals(List.of(0.2, 0.1), toVersions(page.getVersions()));
+    assertNull(page.getPaging().getAfter());
+
+    UUID id = table.getId();
+    assertResponse(
+        () -> getVersionPage(id, 2, "notAVersion"),
+        BAD_REQUEST,
+        CatalogExceptionMessage.invalidVersionCursor("notAVersion"));
+  }
+
+  @Test
+  void get_changeEventsInPages_200(TestInfo test) throws IOException {
+    // Create three tables, update two of them and delete one
+    long timestamp = System.currentTimeMillis();
+    Set<UUID> ids = new HashSet<>();
+    List<Table> tables = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tables.add(createEntity(createRequest(test, i), ADMIN_AUTH_HEADERS));
+      ids.add(tables.get(i).getId());
+    }
+    for (int i = 0; i < 2; i++) {
+      updateEntity(createRequest(test, i).withDescription("updated"), OK, ADMIN_AUTH_HEADERS);
+    }
+    deleteEntity(tables.get(2).getId(), ADMIN_AUTH_HEADERS);
+
+    // The change events are recorded after the responses
+    String table = TABLE;
+    Awaitility.await()
+        .pollInterval(Duration.ofMillis(100L))
+        .atMost(Duration.ofSeconds(30))
+        .until(() -> eventsOf(ids, getChangeEvents(table, table, table, timestamp, ADMIN_AUTH_HEADERS)).size() == 6);
+    List<ChangeEvent> events = eventsOf(ids, getChangeEvents(table, table, table, timestamp, ADMIN_AUTH_HEADERS));
+    assertEquals(
+        List.of(ENTITY_CREATED, ENTITY_CREATED, ENTITY_CREATED, ENTITY_UPDATED, ENTITY_UPDATED, ENTITY_SOFT_DELETED),
+        events.stream().map(ChangeEvent::getEventType).collect(Collectors.toList()));
+
+    // Events listed two at a time, following the cursors, are the events listed at once in the same order
+    List<ChangeEvent> pagedEvents = new ArrayList<>();
+    String after = null;
+    do {
+      ResultList<ChangeEvent> page = getChangeEventPage(table, table, table, timestamp, 2, after);
+      assertTrue(page.getData().size() <= 2);
+      assertEquals(page.getData().size(), page.getPaging().getTotal());
+      pagedEvents.addAll(page.getData());
+      after = page.getPaging().getAfter();
+    } while (after != null);
+    assertEquals(toEventIds(events), toEventIds(eventsOf(ids, pagedEvents)));
+    for (int i = 1; i < pagedEvents.size(); i++) {
+      assertTrue(pagedEvents.get(i - 1).getTimestamp() <= pagedEvents.get(i).getTimestamp());
+    }
+
+    // Only the requested event and entity types are listed
+    List<ChangeEvent> created = eventsOf(ids, getChangeEventPage(table, null, null, timestamp, 100, null).getData());
+    assertEquals(toEventIds(events.subList(0, 3)), toEventIds(created));
+    List<ChangeEvent> deleted = eventsOf(ids, getChangeEventPage(null, null, "*", timestamp, 100, null).getData());
+    assertEquals(toEventIds(events.subList(5, 6)), toEventIds(deleted));
+    String topic = Entity.TOPIC;
+    assertTrue(eventsOf(ids, getChangeEventPage(topic, topic, topic, timestamp, 100, null).getData()).isEmpty());
+
+    assertResponse(
+        () -> getChangeEventPage(table, null, null, timestamp, 2, "notACursor"),
+        BAD_REQUEST,
+        "Invalid cursor notACursor");
+  }
+
+  private ResultList<ChangeEvent> getChangeEventPage(
+      String entityCreated, String entityUpdated, String entityDeleted, long timestamp, int limit, String after)
+      throws HttpResponseException {
+    WebTarget target = getResource("events");
+    target = entityCreated == null ? target : target.queryParam("entityCreated", entityCreated);
+    target = entityUpdated == null ? target : target.queryParam("entityUpdated", entityUpdated);
+    target = entityDeleted == null ? target : target.queryParam("entityDeleted", entityDeleted);
+    target = target.queryParam("timestamp", timestamp).queryParam("limit", limit);
+    target = after == null ? target : target.queryParam("after", after);
+    return TestUtils.get(target, EventList.class, ADMIN_AUTH_HEADERS);
+  }
+
+  private static List<ChangeEvent> eventsOf(Set<UUID> entityIds, ResultList<ChangeEvent> events) {
+    return eventsOf(entityIds, events.getData());
+  }
+
+  private static List<ChangeEvent> eventsOf(Set<UUID> entityIds, List<ChangeEvent> events) {
+    return events.stream().filter(e -> entityIds.contains(e.getEntityId())).collect(Collectors.toList());
+  }
+
+  private static List<String> toEventIds(List<ChangeEvent> events) {
+    return events.stream().map(e -> e.getEntityId() + ":" + e.getEventType()).collect(Collectors.toList());
+  }
+
+  private EntityHistory getVersionPage(UUID id, int limit, String after) throws HttpResponseException {
+    WebTarget target = getResource(id).path("/versions").queryParam("limit", limit);
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, EntityHistory.class, ADMIN_AUTH_HEADERS);
+  }
+
+  private static List<Double> toVersions(List<Object> versions) throws IOException {
+    List<Double> result = new ArrayList<>();
+    for (Object json : versions) {
+      result.add(JsonUtils.readValue((String) json, Table.class).getVersion());
+    }
+    return result;
+  }
+
   void assertFields(List<Table> tableList, String fieldsParam) {
     tableList.forEach(t -> assertFields(t, fieldsParam));
   }
@@ -2069,6 +2318,13 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     return TestUtils.get(target, TableResource.ColumnProfileList.class, authHeaders);
   }
 
+  public ResultList<SystemProfile> getSystemProfiles(
+      String fqn, Long startTs, Long endTs, Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = getCollection().path("/" + fqn + "/systemProfile");
+    target = target.queryParam("startTs", startTs).queryParam("endTs", endTs);
+    return TestUtils.get(target, TableResource.SystemProfileList.class, authHeaders);
+  }
+
   public ChangeEvent putTableQueriesData(UUID queryId, List<EntityReference> data, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = getResource(String.format("queries/%s/usage", queryId));
@@ -2146,6 +2402,18 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     }
   }
 
+  private void verifySystemProfiles(ResultList<SystemProfile> actualProfiles, List<SystemProfile> expectedProfiles) {
+    assertEquals(expectedProfiles.size(), actualProfiles.getData().size());
+    Map<String, SystemProfile> systemProfileMap = new HashMap<>();
+    for (SystemProfile profile : actualProfiles.getData()) {
+      systemProfileMap.put(profile.getTimestamp() + ":" + profile.getOperation(), profile);
+    }
+    for (SystemProfile systemProfile : expectedProfiles) {
+      assertEquals(
+          systemProfile, systemProfileMap.get(systemProfile.getTimestamp() + ":" + systemProfile.getOperation()));
+    }
+  }
+
   private void verifyTableProfile(TableProfile actualProfile, TableProfile expectedProfile) {
     assertNotNull(actualProfile);
     assertEquals(actualProfile, expectedProfile);
@@ -2232,6 +2500,13 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     assertReference(entityBeforeDeletion.getLocation(), entityAfterDeletion.getLocation());
   }
 
+  @Override
+  protected void compareListedEntity(Table expected, Table listed) throws HttpResponseException {
+    super.compareListedEntity(expected, listed);
+    // Column tags are fetched in bulk along with the table tags
+    assertColumns(expected.getColumns(), listed.getColumns());
+  }
+
   @Override
   public void compareEntities(Table expected, Table patched, Map<String, String> authHeaders)
       throws HttpResponseException {
@@ -2301,6 +2576,10 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     return new ColumnProfilerConfig().withColumnName(name).withMetrics(List.of(metrics));
   }
 
+  public SystemProfile getSystemProfile(DmlOperationType operation, int rowsAffected, Long timestamp) {
+    return new SystemProfile().withOperation(operation).withRowsAffected(rowsAffected).withTimestamp(timestamp);
+  }
+
   public ColumnProfile getColumnProfile(String name, Object max, Object min, Double uniqueCount, Long timestamp) {
     return new ColumnProfile()
         .withName(name)
@@ -737,6 +737,73 @@ public class TestCaseResourceTest extends EntityResourceTest<TestCase, CreateTes
     }
   }
 
+  @Test
+  void get_testSummaryByLatestResults_200(TestInfo test) throws IOException, ParseException {
+    TestSuiteResourceTest testSuiteResourceTest = new TestSuiteResourceTest();
+    TestSuite logicalTestSuite =
+        testSuiteResourceTest.createEntity(testSuiteResourceTest.createRequest(test), ADMIN_AUTH_HEADERS);
+    String testSuiteId = logicalTestSuite.getId().toString();
+    // No test cases
+    assertNull(getTestSummary(ADMIN_AUTH_HEADERS, testSuiteId).getTotal());
+
+    List<TestCase> testCases = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      testCases.add(createEntity(createRequest(test, i), ADMIN_AUTH_HEADERS));
+    }
+    testSuiteResourceTest.addTestCasesToLogicalTestSuite(
+        logicalTestSuite, testCases.stream().map(TestCase::getId).collect(Collectors.toList()));
+    // Test cases without results
+    assertTestSummary(getTestSummary(ADMIN_AUTH_HEADERS, testSuiteId), 0, 0, 0, 0);
+    TestSummary allBefore = getTestSummary(ADMIN_AUTH_HEADERS, null);
+
+    // Only the latest result of each test case is counted, whatever the order the results were written in
+    putTestCaseResult(testCases.get(0), TestCaseStatus.Success, "2021-09-09");
+    putTestCaseResult(testCases.get(0), TestCaseStatus.Failed, "2021-09-10");
+    putTestCaseResult(testCases.get(1), TestCaseStatus.Success, "2021-09-09");
+    putTestCaseResult(testCases.get(2), TestCaseStatus.Aborted, "2021-09-10");
+    putTestCaseResult(testCases.get(2), TestCaseStatus.Failed, "2021-09-09");
+    assertTestSummary(getTestSummary(ADMIN_AUTH_HEADERS, testSuiteId), 1, 1, 1, 3);
+    TestSummary all = getTestSummary(ADMIN_AUTH_HEADERS, null);
+    assertTestSummary(
+        all,
+        allBefore.getSuccess() + 1,
+        allBefore.getFailed() + 1,
+        allBefore.getAborted() + 1,
+        allBefore.getTotal() + 3);
+
+    // Deleting the latest result counts the previous one
+    deleteTestCaseResult(
+        testCases.get(0).getFullyQualifiedName(), TestUtils.dateToTimestamp("2021-09-10"), ADMIN_AUTH_HEADERS);
+    assertTestSummary(getTestSummary(ADMIN_AUTH_HEADERS, testSuiteId), 2, 0, 1, 3);
+    assertTestSummary(
+        getTestSummary(ADMIN_AUTH_HEADERS, null),
+        all.getSuccess() + 1,
+        all.getFailed() - 1,
+        all.getAborted(),
+        all.getTotal());
+
+    // Removing a test case from the test suite
+    deleteLogicalTestCase(logicalTestSuite, testCases.get(1).getId());
+    assertTestSummary(getTestSummary(ADMIN_AUTH_HEADERS, testSuiteId), 1, 0, 1, 2);
+  }
+
+  private void putTestCaseResult(TestCase testCase, TestCaseStatus status, String date)
+      throws HttpResponseException, ParseException {
+    TestCaseResult testCaseResult =
+        new TestCaseResult()
+            .withResult("tested")
+            .withTestCaseStatus(status)
+            .withTimestamp(TestUtils.dateToTimestamp(date));
+    putTestCaseResult(testCase.getFullyQualifiedName(), testCaseResult, ADMIN_AUTH_HEADERS);
+  }
+
+  private static void assertTestSummary(TestSummary summary, int success, int failed, int aborted, int total) {
+    assertEquals(success, summary.getSuccess());
+    assertEquals(failed, summary.getFailed());
+    assertEquals(aborted, summary.getAborted());
+    assertEquals(total, summary.getTotal());
+  }
+
   public void deleteTestCaseResult(String fqn, Long timestamp, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = getCollection().path("/" + fqn + "/testCaseResult/" + timestamp);
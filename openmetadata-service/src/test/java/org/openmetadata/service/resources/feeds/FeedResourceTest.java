@@ -45,18 +45,25 @@ import static org.openmetadata.service.util.TestUtils.assertResponse;
 import static org.openmetadata.service.util.TestUtils.assertResponseContains;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.testing.ResourceHelpers;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.json.JsonPatch;
 import javax.ws.rs.client.WebTarget;
@@ -64,6 +71,8 @@ import javax.ws.rs.core.Response.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.HttpResponseException;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -783,6 +792,58 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     assertEquals(POST_COUNT, postList.getData().size());
   }
 
+  @Test
+  void get_threadPostsMigratedFromThreadJson_200() throws IOException {
+    // Threads stored before the posts were moved to their own table keep their posts in the thread json
+    Thread thread1 = createAndCheck(create(), USER_AUTH_HEADERS);
+    Thread thread2 = createAndCheck(create(), USER_AUTH_HEADERS);
+    long postTs = System.currentTimeMillis() - 60_000;
+    List<Post> posts1 = legacyPosts(4, postTs);
+    List<Post> posts2 = legacyPosts(3, postTs);
+
+    DataSourceFactory dataSource = APP.getConfiguration().getDataSourceFactory();
+    Jdbi jdbi = Jdbi.create(dataSource.getUrl(), dataSource.getUser(), dataSource.getPassword());
+    String driverClass = dataSource.getDriverClass();
+    String migrationPath = "db/sql/" + driverClass + "/v016__create_db_connection_info.sql";
+    String migration = Files.readString(Path.of(ResourceHelpers.resourceFilePath(migrationPath)));
+    jdbi.useHandle(
+        handle -> {
+          storeLegacyPosts(handle, driverClass, thread1.getId(), posts1);
+          storeLegacyPosts(handle, driverClass, thread2.getId(), posts2);
+          handle.createScript(migration).execute();
+        });
+
+    // The posts are read from their table in the order of the post timestamp
+    Thread migrated = getThread(thread1.getId(), USER_AUTH_HEADERS);
+    assertEquals(4, migrated.getPostsCount());
+    assertEquals(postMessages(posts1), postMessages(migrated.getPosts()));
+    PostList postList = listPosts(thread1.getId().toString(), USER_AUTH_HEADERS);
+    assertEquals(postMessages(posts1), postMessages(postList.getData()));
+    String json =
+        jdbi.withHandle(
+            handle ->
+                handle
+                    .createQuery("SELECT json FROM thread_entity WHERE id = :id")
+                    .bind("id", thread1.getId().toString())
+                    .mapTo(String.class)
+                    .one());
+    assertFalse(json.contains("\"posts\""));
+
+    // Each listed thread gets its own last posts
+    ThreadList threads = listThreads(TABLE_LINK, 2, USER_AUTH_HEADERS, null, null, null, null, null, 10, null, null);
+    Map<UUID, Thread> threadsById = new HashMap<>();
+    threads.getData().forEach(t -> threadsById.put(t.getId(), t));
+    assertEquals(postMessages(posts1.subList(2, 4)), postMessages(threadsById.get(thread1.getId()).getPosts()));
+    assertEquals(postMessages(posts2.subList(1, 3)), postMessages(threadsById.get(thread2.getId()).getPosts()));
+
+    // Posts added after the migration follow the migrated posts
+    migrated = addPostAndCheck(migrated, createPost("after migration"), USER_AUTH_HEADERS);
+    assertEquals(5, migrated.getPostsCount());
+    List<String> messages = postMessages(getThread(thread1.getId(), USER_AUTH_HEADERS).getPosts());
+    assertEquals(postMessages(posts1), messages.subList(0, 4));
+    assertEquals("after migration", messages.get(4));
+  }
+
   @Test
   void patch_thread_200() throws IOException {
     // create a thread
@@ -1271,6 +1332,41 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     return returnedThread;
   }
 
+  private static List<Post> legacyPosts(int count, long postTs) {
+    List<Post> posts = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      posts.add(
+          new Post()
+              .withId(UUID.randomUUID())
+              .withMessage("legacy post " + i)
+              .withFrom(USER.getName())
+              .withPostTs(postTs + i)
+              .withReactions(new ArrayList<>()));
+    }
+    return posts;
+  }
+
+  /** Store the posts in the thread json, the way threads were stored before the v016 migration */
+  private static void storeLegacyPosts(Handle handle, String driverClass, UUID threadId, List<Post> posts)
+      throws IOException {
+    String json =
+        handle
+            .createQuery("SELECT json FROM thread_entity WHERE id = :id")
+            .bind("id", threadId.toString())
+            .mapTo(String.class)
+            .one();
+    Thread thread = JsonUtils.readValue(json, Thread.class).withPosts(posts).withPostsCount(posts.size());
+    String update =
+        driverClass.contains("postgresql")
+            ? "UPDATE thread_entity SET json = CAST(:json AS jsonb) WHERE id = :id"
+            : "UPDATE thread_entity SET json = :json WHERE id = :id";
+    handle.createUpdate(update).bind("json", JsonUtils.pojoToJson(thread)).bind("id", threadId.toString()).execute();
+  }
+
+  private static List<String> postMessages(List<Post> posts) {
+    return posts.stream().map(Post::getMessage).collect(Collectors.toList());
+  }
+
   private void validateThread(Thread thread, String message, String from, String about) {
     assertNotNull(thread.getId());
     assertEquals(message, thread.getMessage());
@@ -337,6 +337,62 @@ public class LineageResourceTest extends OpenMetadataApplicationTest {
     assertEquals(lineageDetails.getDescription(), edge.getLineageDetails().getDescription());
   }
 
+  @Order(6)
+  @Test
+  void get_lineageWithDiamondAndCycle_200() throws HttpResponseException {
+    //
+    // Add a diamond that loops back to its start
+    //  table5-->table6-->table8-->table5
+    //  table5-->table7-->table8
+    addEdge(TABLES.get(5), TABLES.get(6));
+    addEdge(TABLES.get(5), TABLES.get(7));
+    addEdge(TABLES.get(6), TABLES.get(8));
+    addEdge(TABLES.get(7), TABLES.get(8));
+    addEdge(TABLES.get(8), TABLES.get(5));
+
+    // Every edge is reported once in each direction, even though table8 is reached twice and table5 again
+    Edge[] expectedUpstreamEdges = {
+      getEdge(TABLES.get(8), TABLES.get(5)),
+      getEdge(TABLES.get(6), TABLES.get(8)),
+      getEdge(TABLES.get(7), TABLES.get(8)),
+      getEdge(TABLES.get(5), TABLES.get(6)),
+      getEdge(TABLES.get(5), TABLES.get(7))
+    };
+    Edge[] expectedDownstreamEdges = {
+      getEdge(TABLES.get(5), TABLES.get(6)),
+      getEdge(TABLES.get(5), TABLES.get(7)),
+      getEdge(TABLES.get(6), TABLES.get(8)),
+      getEdge(TABLES.get(7), TABLES.get(8)),
+      getEdge(TABLES.get(8), TABLES.get(5))
+    };
+    assertLineage(
+        Entity.TABLE,
+        TABLES.get(5).getId(),
+        TABLES.get(5).getFullyQualifiedName(),
+        3,
+        3,
+        expectedUpstreamEdges,
+        expectedDownstreamEdges);
+
+    // Depth limits the number of levels traversed in each direction
+    assertLineage(
+        Entity.TABLE,
+        TABLES.get(5).getId(),
+        TABLES.get(5).getFullyQualifiedName(),
+        1,
+        2,
+        Arrays.copyOfRange(expectedUpstreamEdges, 0, 1),
+        Arrays.copyOfRange(expectedDownstreamEdges, 0, 4));
+
+    deleteEdge(TABLES.get(5), TABLES.get(6));
+    deleteEdge(TABLES.get(5), TABLES.get(7));
+    deleteEdge(TABLES.get(6), TABLES.get(8));
+    deleteEdge(TABLES.get(7), TABLES.get(8));
+    deleteEdge(TABLES.get(8), TABLES.get(5));
+    assertLineage(
+        Entity.TABLE, TABLES.get(5).getId(), TABLES.get(5).getFullyQualifiedName(), 2, 2, new Edge[0], new Edge[0]);
+  }
+
   public Edge getEdge(Table from, Table to) {
     return getEdge(from.getId(), to.getId(), null);
   }
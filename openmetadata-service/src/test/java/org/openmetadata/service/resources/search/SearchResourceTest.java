@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.resources.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openmetadata.service.util.TestUtils.ADMIN_AUTH_HEADERS;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import javax.ws.rs.client.WebTarget;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.openmetadata.schema.api.CreateEventPublisherJob;
+import org.openmetadata.schema.system.EventPublisherJob;
+import org.openmetadata.schema.system.PartitionCursor;
+import org.openmetadata.schema.system.StepStats;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.OpenMetadataApplicationTest;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.resources.databases.TableResourceTest;
+import org.openmetadata.service.resources.topics.TopicResourceTest;
+import org.openmetadata.service.util.TestUtils;
+import org.openmetadata.service.workflows.searchIndex.PaginatedEntitiesSource;
+
+@Slf4j
+public class SearchResourceTest extends OpenMetadataApplicationTest {
+  private static final int ENTITY_COUNT = 5;
+  private static final long JOB_TIMEOUT_MILLIS = 60_000;
+
+  @BeforeAll
+  public static void setup(TestInfo test) throws IOException, URISyntaxException {
+    if (!RUN_ELASTIC_SEARCH_TESTCASES) {
+      return;
+    }
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    tableResourceTest.setup(test);
+    TopicResourceTest topicResourceTest = new TopicResourceTest();
+    for (int i = 0; i < ENTITY_COUNT; i++) {
+      tableResourceTest.createEntity(tableResourceTest.createRequest(test, i), ADMIN_AUTH_HEADERS);
+      topicResourceTest.createEntity(topicResourceTest.createRequest(test, i), ADMIN_AUTH_HEADERS);
+    }
+  }
+
+  @Test
+  void post_reindexWithProducersAndConsumers_200() throws HttpResponseException, InterruptedException {
+    if (!RUN_ELASTIC_SEARCH_TESTCASES) {
+      return;
+    }
+    // Small batches and a queue of one batch, so that the producers wait for the consumers
+    CreateEventPublisherJob request =
+        new CreateEventPublisherJob()
+            .withName("reindexWithProducersAndConsumers")
+            .withEntities(Set.of(Entity.TABLE, Entity.TOPIC))
+            .withRecreateIndex(false)
+            .withBatchSize(2)
+            .withProducerThreads(2)
+            .withConsumerThreads(2)
+            .withQueueSize(1);
+    EventPublisherJob job = waitForJob(reindex(request).getId());
+
+    assertEquals(EventPublisherJob.Status.COMPLETED, job.getStatus());
+    assertNull(job.getFailure().getSourceError());
+    assertNull(job.getFailure().getSinkError());
+    StepStats jobStats = job.getStats().getJobStats();
+    assertEquals(0, jobStats.getFailedRecords());
+    assertEquals(jobStats.getTotalRecords(), jobStats.getSuccessRecords());
+    assertTrue(jobStats.getSuccessRecords() >= 2 * ENTITY_COUNT);
+  }
+
+  @Test
+  void post_reindexResumedFromPartitionCursors_200() throws IOException, InterruptedException {
+    if (!RUN_ELASTIC_SEARCH_TESTCASES) {
+      return;
+    }
+    Thread.sleep(2000L);
+    long indexed = countIndexed(Entity.TABLE);
+    assertTrue(indexed >= ENTITY_COUNT);
+
+    // Resume a job where the first partition was written, and the second was not
+    List<PartitionCursor> cursors = PaginatedEntitiesSource.createPartitions(Entity.TABLE, 2);
+    cursors.get(0).withDone(true);
+    CreateEventPublisherJob request =
+        new CreateEventPublisherJob()
+            .withName("reindexResumedFromPartitionCursors")
+            .withEntities(Set.of(Entity.TABLE))
+            .withRecreateIndex(true)
+            .withBatchSize(2)
+            .withPartitionCursors(cursors);
+    EventPublisherJob job = waitForJob(reindex(request).getId());
+    assertEquals(EventPublisherJob.Status.COMPLETED, job.getStatus());
+    assertTrue(job.getPartitionCursors().stream().allMatch(PartitionCursor::getDone));
+
+    // The index is not recreated on resume, so the entities of the first partition are still indexed
+    Thread.sleep(2000L);
+    assertEquals(indexed, countIndexed(Entity.TABLE));
+  }
+
+  private static long countIndexed(String entityType) throws IOException {
+    String indexName = ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType).indexName;
+    try (RestClient client = getSearchClient()) {
+      Response response = client.performRequest(new Request("GET", "/" + indexName + "/_count"));
+      return new JSONObject(EntityUtils.toString(response.getEntity())).getLong("count");
+    }
+  }
+
+  public static EventPublisherJob reindex(CreateEventPublisherJob request) throws HttpResponseException {
+    WebTarget target = getResource("search/reindex");
+    return TestUtils.post(target, request, EventPublisherJob.class, ADMIN_AUTH_HEADERS);
+  }
+
+  /** Poll the job until it is no longer running */
+  public static EventPublisherJob waitForJob(UUID jobId) throws HttpResponseException, InterruptedException {
+    WebTarget target = getResource("search/reindex/" + jobId);
+    long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MILLIS;
+    EventPublisherJob job = TestUtils.get(target, EventPublisherJob.class, ADMIN_AUTH_HEADERS);
+    while ((job.getStatus() == EventPublisherJob.Status.STARTED || job.getStatus() == EventPublisherJob.Status.RUNNING)
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(500L);
+      job = TestUtils.get(target, EventPublisherJob.class, ADMIN_AUTH_HEADERS);
+    }
+    LOG.info("Reindexing job {} ended with status {}", jobId, job.getStatus());
+    return job;
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.resources.system;
+
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openmetadata.service.util.TestUtils.ADMIN_AUTH_HEADERS;
+import static org.openmetadata.service.util.TestUtils.assertResponse;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.http.client.HttpResponseException;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.openmetadata.schema.api.CreateDeleteJob;
+import org.openmetadata.schema.api.data.CreateTable;
+import org.openmetadata.schema.entity.data.Database;
+import org.openmetadata.schema.entity.data.DatabaseSchema;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.entity.services.DatabaseService;
+import org.openmetadata.schema.system.DeleteJob;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.OpenMetadataApplicationTest;
+import org.openmetadata.service.resources.EntityResourceTest;
+import org.openmetadata.service.resources.databases.DatabaseResourceTest;
+import org.openmetadata.service.resources.databases.DatabaseSchemaResourceTest;
+import org.openmetadata.service.resources.databases.TableResourceTest;
+import org.openmetadata.service.resources.services.DatabaseServiceResourceTest;
+import org.openmetadata.service.util.TestUtils;
+
+class DeleteJobResourceTest extends OpenMetadataApplicationTest {
+  private final DatabaseServiceResourceTest serviceTest = new DatabaseServiceResourceTest();
+  private final DatabaseResourceTest databaseTest = new DatabaseResourceTest();
+  private final DatabaseSchemaResourceTest schemaTest = new DatabaseSchemaResourceTest();
+  private final TableResourceTest tableTest = new TableResourceTest();
+
+  @BeforeAll
+  public static void setup(TestInfo test) throws IOException, URISyntaxException {
+    EntityResourceTest<Table, CreateTable> entityResourceTest = new TableResourceTest();
+    entityResourceTest.setup(test);
+  }
+
+  @Test
+  void post_softDeleteJob_200(TestInfo test) throws HttpResponseException {
+    Hierarchy hierarchy = createHierarchy(test);
+    DeleteJob job = waitForJob(createJob(hierarchy.service.getId(), false));
+
+    // The service and all the entities it contains are soft deleted
+    assertEquals(DeleteJob.Status.COMPLETED, job.getStatus());
+    assertEquals(8, job.getTotalEntities());
+    assertEquals(8, job.getDeletedEntities());
+    hierarchy.assertSoftDeleted();
+
+    // Entities already soft deleted are skipped, and not counted as deleted
+    job = waitForJob(createJob(hierarchy.service.getId(), false));
+    assertEquals(DeleteJob.Status.COMPLETED, job.getStatus());
+    assertEquals(8, job.getTotalEntities());
+    assertEquals(0, job.getDeletedEntities());
+
+    // The soft deleted entities are hard deleted by a hard delete job
+    job = waitForJob(createJob(hierarchy.service.getId(), true));
+    assertEquals(DeleteJob.Status.COMPLETED, job.getStatus());
+    assertEquals(8, job.getDeletedEntities());
+    hierarchy.assertHardDeleted();
+  }
+
+  @Test
+  void post_hardDeleteJob_200(TestInfo test) throws HttpResponseException {
+    Hierarchy hierarchy = createHierarchy(test);
+    DeleteJob job = waitForJob(createJob(hierarchy.service.getId(), true));
+
+    assertEquals(DeleteJob.Status.COMPLETED, job.getStatus());
+    assertEquals(8, job.getTotalEntities());
+    assertEquals(8, job.getDeletedEntities());
+    hierarchy.assertHardDeleted();
+
+    // The completed job is still available, but can't be stopped
+    assertEquals(job, getJob(job.getId()));
+    UUID jobId = job.getId();
+    assertResponse(
+        () -> TestUtils.put(getResource("deleteJobs/stop/" + jobId), "", DeleteJob.class, OK, ADMIN_AUTH_HEADERS),
+        BAD_REQUEST,
+        "Job is not in Running state.");
+  }
+
+  @Test
+  void get_nonExistentDeleteJob_404() {
+    UUID jobId = UUID.randomUUID();
+    assertResponse(() -> getJob(jobId), NOT_FOUND, String.format("Delete job %s is not found", jobId));
+  }
+
+  /** Create a database service containing a database with two schemas of two tables each */
+  private Hierarchy createHierarchy(TestInfo test) throws HttpResponseException {
+    Hierarchy hierarchy = new Hierarchy();
+    hierarchy.service = serviceTest.createEntity(serviceTest.createRequest(test), ADMIN_AUTH_HEADERS);
+    hierarchy.database =
+        databaseTest.createEntity(
+            databaseTest.createRequest(test).withService(hierarchy.service.getFullyQualifiedName()),
+            ADMIN_AUTH_HEADERS);
+    for (int i = 0; i < 2; i++) {
+      DatabaseSchema schema =
+          schemaTest.createEntity(
+              schemaTest.createRequest(test, i).withDatabase(hierarchy.database.getFullyQualifiedName()),
+              ADMIN_AUTH_HEADERS);
+      hierarchy.schemas.add(schema);
+      for (int j = 0; j < 2; j++) {
+        hierarchy.tables.add(
+            tableTest.createEntity(
+                tableTest.createRequest(test, j).withDatabaseSchema(schema.getFullyQualifiedName()),
+                ADMIN_AUTH_HEADERS));
+      }
+    }
+    return hierarchy;
+  }
+
+  private DeleteJob createJob(UUID serviceId, boolean hardDelete) throws HttpResponseException {
+    CreateDeleteJob create =
+        new CreateDeleteJob().withEntityType(Entity.DATABASE_SERVICE).withId(serviceId).withHardDelete(hardDelete);
+    return TestUtils.post(getResource("deleteJobs"), create, DeleteJob.class, ADMIN_AUTH_HEADERS);
+  }
+
+  private DeleteJob getJob(UUID jobId) throws HttpResponseException {
+    return TestUtils.get(getResource("deleteJobs/" + jobId), DeleteJob.class, ADMIN_AUTH_HEADERS);
+  }
+
+  /** Wait for the job to end. A job has an end time only once it no longer runs. */
+  private DeleteJob waitForJob(DeleteJob job) throws HttpResponseException {
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(30))
+        .pollInterval(Duration.ofMillis(200))
+        .until(() -> getJob(job.getId()).getEndTime() != null);
+    return getJob(job.getId());
+  }
+
+  private class Hierarchy {
+    private DatabaseService service;
+    private Database database;
+    private final List<DatabaseSchema> schemas = new ArrayList<>();
+    private final List<Table> tables = new ArrayList<>();
+
+    void assertSoftDeleted() throws HttpResponseException {
+      Map<String, String> deleted = Map.of("include", Include.DELETED.value());
+      serviceTest.assertEntityDeleted(service.getId(), false);
+      assertTrue(serviceTest.getEntity(service.getId(), deleted, "", ADMIN_AUTH_HEADERS).getDeleted());
+      databaseTest.assertEntityDeleted(database.getId(), false);
+      assertTrue(databaseTest.getEntity(database.getId(), deleted, "", ADMIN_AUTH_HEADERS).getDeleted());
+      for (DatabaseSchema schema : schemas) {
+        schemaTest.assertEntityDeleted(schema.getId(), false);
+        assertTrue(schemaTest.getEntity(schema.getId(), deleted, "", ADMIN_AUTH_HEADERS).getDeleted());
+      }
+      for (Table table : tables) {
+        tableTest.assertEntityDeleted(table.getId(), false);
+        assertTrue(tableTest.getEntity(table.getId(), deleted, "", ADMIN_AUTH_HEADERS).getDeleted());
+      }
+    }
+
+    void assertHardDeleted() {
+      serviceTest.assertEntityDeleted(service.getId(), true);
+      databaseTest.assertEntityDeleted(database.getId(), true);
+      schemas.forEach(schema -> schemaTest.assertEntityDeleted(schema.getId(), true));
+      tables.forEach(table -> tableTest.assertEntityDeleted(table.getId(), true));
+    }
+  }
+}
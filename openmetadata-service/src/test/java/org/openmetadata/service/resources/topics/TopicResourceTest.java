@@ -76,6 +76,7 @@ public class TopicResourceTest extends EntityResourceTest<Topic, CreateTopic> {
   public TopicResourceTest() {
     super(Entity.TOPIC, Topic.class, TopicList.class, "topics", TopicResource.FIELDS);
     supportsSearchIndex = true;
+    supportsBulkPut = true;
   }
 
   @Test
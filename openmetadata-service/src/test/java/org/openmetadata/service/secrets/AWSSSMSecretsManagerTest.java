@@ -12,12 +12,16 @@
  */
 package org.openmetadata.service.secrets;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.reset;
 
 import org.mockito.Mock;
 import org.openmetadata.schema.security.secrets.SecretsManagerConfiguration;
 import org.openmetadata.schema.security.secrets.SecretsManagerProvider;
 import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
 
 public class AWSSSMSecretsManagerTest extends ExternalSecretsManagerTest {
 
@@ -28,6 +32,11 @@ public class AWSSSMSecretsManagerTest extends ExternalSecretsManagerTest {
     secretsManager = AWSSSMSecretsManager.getInstance(config, "openmetadata");
     ((AWSSSMSecretsManager) secretsManager).setSsmClient(ssmClient);
     reset(ssmClient);
+    lenient()
+        .doThrow(ParameterNotFoundException.builder().build())
+        .when(ssmClient)
+        .getParameter(any(GetParameterRequest.class));
+    secretsManager.invalidateSecretsCache();
   }
 
   @Override
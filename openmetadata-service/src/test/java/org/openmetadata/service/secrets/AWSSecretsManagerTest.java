@@ -12,12 +12,29 @@
  */
 package org.openmetadata.service.secrets;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.openmetadata.schema.security.secrets.SecretsManagerConfiguration;
 import org.openmetadata.schema.security.secrets.SecretsManagerProvider;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.AwsErrorDetails;
+import software.amazon.awssdk.services.secretsmanager.model.CreateSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+import software.amazon.awssdk.services.secretsmanager.model.UpdateSecretRequest;
 
 public class AWSSecretsManagerTest extends ExternalSecretsManagerTest {
 
@@ -28,10 +45,62 @@ public class AWSSecretsManagerTest extends ExternalSecretsManagerTest {
     secretsManager = AWSSecretsManager.getInstance(config, "openmetadata");
     ((AWSSecretsManager) secretsManager).setSecretsClient(secretsManagerClient);
     reset(secretsManagerClient);
+    lenient()
+        .doThrow(ResourceNotFoundException.builder().build())
+        .when(secretsManagerClient)
+        .getSecretValue(any(GetSecretValueRequest.class));
+    secretsManager.invalidateSecretsCache();
   }
 
   @Override
   protected SecretsManagerProvider expectedSecretManagerProvider() {
     return SecretsManagerProvider.MANAGED_AWS;
   }
+
+  @Test
+  void testUpsertSecretStoresMissingSecret() {
+    secretsManager.upsertSecret("secret", "value");
+    verify(secretsManagerClient).createSecret(any(CreateSecretRequest.class));
+    verify(secretsManagerClient, never()).updateSecret(any(UpdateSecretRequest.class));
+  }
+
+  @Test
+  void testUpsertSecretUpdatesChangedSecret() {
+    doReturn(GetSecretValueResponse.builder().secretString("old").build())
+        .when(secretsManagerClient)
+        .getSecretValue(any(GetSecretValueRequest.class));
+    secretsManager.upsertSecret("secret", "value");
+    verify(secretsManagerClient).updateSecret(any(UpdateSecretRequest.class));
+    verify(secretsManagerClient, never()).createSecret(any(CreateSecretRequest.class));
+  }
+
+  @Test
+  void testUpsertSecretSkipsUnchangedSecret() {
+    doReturn(GetSecretValueResponse.builder().secretString("value").build())
+        .when(secretsManagerClient)
+        .getSecretValue(any(GetSecretValueRequest.class));
+    secretsManager.upsertSecret("secret", "value");
+    verify(secretsManagerClient, never()).updateSecret(any(UpdateSecretRequest.class));
+    verify(secretsManagerClient, never()).createSecret(any(CreateSecretRequest.class));
+  }
+
+  @Test
+  void testUpsertSecretFailsWhenTheSecretCannotBeRead() {
+    doThrow(
+            SecretsManagerException.builder()
+                .statusCode(429)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .build())
+        .doReturn(GetSecretValueResponse.builder().secretString("value").build())
+        .when(secretsManagerClient)
+        .getSecretValue(any(GetSecretValueRequest.class));
+
+    // A throttled read is not taken for a missing secret, and the secret is not created
+    assertThrows(SecretsManagerException.class, () -> secretsManager.upsertSecret("secret", "value"));
+    verify(secretsManagerClient, never()).createSecret(any(CreateSecretRequest.class));
+
+    // The failure is not cached, and the secret is read again
+    assertTrue(secretsManager.existSecret("secret"));
+    verify(secretsManagerClient, times(2)).getSecretValue(any(GetSecretValueRequest.class));
+  }
 }
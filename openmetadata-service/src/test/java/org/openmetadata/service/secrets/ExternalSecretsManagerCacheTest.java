@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.secrets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExternalSecretsManagerCacheTest {
+  private CountingSecretsManager secretsManager;
+
+  @BeforeEach
+  void setUp() {
+    secretsManager = new CountingSecretsManager();
+  }
+
+  @Test
+  void testSecretsAreReadOnce() {
+    secretsManager.getSecretsMap().put("secret", "value");
+    assertTrue(secretsManager.existSecret("secret"));
+    assertTrue(secretsManager.existSecret("secret"));
+    assertEquals(1, secretsManager.reads.get());
+  }
+
+  @Test
+  void testUnchangedSecretsAreNotWritten() {
+    secretsManager.getSecretsMap().put("secret", "value");
+    assertTrue(secretsManager.existSecret("secret"));
+
+    // The value is confirmed from the store before the write is skipped
+    secretsManager.upsertSecret("secret", "value");
+    secretsManager.upsertSecret("secret", "value");
+    assertEquals(3, secretsManager.reads.get());
+    assertEquals(0, secretsManager.writes.get());
+  }
+
+  @Test
+  void testSecretChangedByAnotherServerIsWritten() {
+    secretsManager.upsertSecret("secret", "value");
+
+    // Another server changes the secret in the store, the value cached by this server is stale
+    secretsManager.getSecretsMap().put("secret", "other");
+    secretsManager.upsertSecret("secret", "value");
+    assertEquals("value", secretsManager.getSecretsMap().get("secret"));
+    assertEquals(2, secretsManager.writes.get());
+  }
+
+  @Test
+  void testMissingSecretsAreCached() {
+    assertFalse(secretsManager.existSecret("secret"));
+    assertFalse(secretsManager.existSecret("secret"));
+    assertEquals(1, secretsManager.reads.get());
+
+    secretsManager.upsertSecret("secret", "value");
+    assertTrue(secretsManager.existSecret("secret"));
+    assertEquals("value", secretsManager.getSecretsMap().get("secret"));
+    assertEquals(1, secretsManager.reads.get());
+    assertEquals(1, secretsManager.writes.get());
+  }
+
+  @Test
+  void testWrittenSecretsUpdateTheCache() {
+    secretsManager.upsertSecret("secret", "value");
+    secretsManager.upsertSecret("secret", "other");
+    secretsManager.upsertSecret("secret", "other");
+    assertEquals("other", secretsManager.getSecretsMap().get("secret"));
+    assertEquals(2, secretsManager.reads.get());
+    assertEquals(2, secretsManager.writes.get());
+  }
+
+  @Test
+  void testDeletedSecretsAreInvalidated() {
+    secretsManager.upsertSecret("secret", "value");
+    secretsManager.deleteSecretInternal("secret");
+    assertFalse(secretsManager.existSecret("secret"));
+    secretsManager.upsertSecret("secret", "value");
+    assertEquals("value", secretsManager.getSecretsMap().get("secret"));
+    assertEquals(2, secretsManager.reads.get());
+    assertEquals(2, secretsManager.writes.get());
+  }
+
+  @Test
+  void testFailedReadsAreNotCached() {
+    secretsManager.getSecretsMap().put("secret", "value");
+    secretsManager.failReads.set(true);
+    assertThrows(IllegalStateException.class, () -> secretsManager.existSecret("secret"));
+    assertThrows(IllegalStateException.class, () -> secretsManager.upsertSecret("secret", "other"));
+    assertEquals("value", secretsManager.getSecretsMap().get("secret"));
+    assertEquals(0, secretsManager.writes.get());
+
+    // The secret is read again once the store is available
+    secretsManager.failReads.set(false);
+    assertTrue(secretsManager.existSecret("secret"));
+    assertEquals(3, secretsManager.reads.get());
+  }
+
+  /** In memory store counting the calls to the store through the cache */
+  static class CountingSecretsManager extends InMemorySecretsManager {
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger writes = new AtomicInteger();
+    private final AtomicBoolean failReads = new AtomicBoolean();
+
+    CountingSecretsManager() {
+      super("openmetadata");
+    }
+
+    @Override
+    void storeSecret(String secretName, String secretValue) {
+      writes.incrementAndGet();
+      super.storeSecret(secretName, secretValue);
+    }
+
+    @Override
+    String getSecret(String secretName) {
+      reads.incrementAndGet();
+      if (failReads.get()) {
+        throw new IllegalStateException("Secrets store unavailable");
+      }
+      return super.getSecret(secretName);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.secrets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openmetadata.schema.api.services.DatabaseConnection;
+import org.openmetadata.schema.entity.services.DatabaseService;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionObject;
+import org.openmetadata.service.jdbi3.EntityDAO;
+import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.secrets.SecretsManagerUpdateService.Updater;
+import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.ResultList;
+
+class SecretsManagerUpdateServiceTest {
+  private static final String PROVIDER = "managed-aws";
+  private static final String PREFIX = PROVIDER + ":openmetadata:1.1.0";
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private final EntityExtensionDAO entityExtensionDAO = mock(EntityExtensionDAO.class);
+  private final List<UUID> rewritten = new CopyOnWriteArrayList<>();
+  private EntityRepository<DatabaseService> repository;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    repository = mock(EntityRepository.class);
+    when(repository.getEntityType()).thenReturn("databaseService");
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testUnchangedEntitiesAreSkipped() throws IOException {
+    DatabaseService unchanged = service("unchanged");
+    DatabaseService changed = service("changed");
+    DatabaseService added = service("added");
+    Map<String, String> fingerprints = new HashMap<>();
+    Updater updater = new Updater(PROVIDER, PREFIX, fingerprints, executor, entityExtensionDAO);
+    fingerprints.put(unchanged.getId().toString(), updater.fingerprint(unchanged.getConnection()));
+    fingerprints.put(changed.getId().toString(), updater.fingerprint(changed.getConnection()));
+
+    // The secrets of an entity are changed without this service, and another entity was never updated
+    changed.getConnection().setConfig(Map.of("password", "newPassword"));
+    listing(unchanged, changed, added);
+    update(updater);
+
+    // Only the changed entities are rewritten, and their new fingerprint is stored
+    assertEquals(Set.of(changed.getId(), added.getId()), Set.copyOf(rewritten));
+    List<EntityExtensionObject> stored = storedFingerprints();
+    assertEquals(
+        Set.of(changed.getId().toString(), added.getId().toString()),
+        stored.stream().map(EntityExtensionObject::getId).collect(Collectors.toSet()));
+    for (EntityExtensionObject fingerprint : stored) {
+      assertEquals(SecretsManagerUpdateService.FINGERPRINT_EXTENSION, fingerprint.getExtension());
+      fingerprints.put(fingerprint.getId(), JsonUtils.readValue(fingerprint.getJson(), String.class));
+    }
+
+    // Once their fingerprints are stored, no entity is rewritten again
+    rewritten.clear();
+    update(new Updater(PROVIDER, PREFIX, fingerprints, executor, entityExtensionDAO));
+    assertTrue(rewritten.isEmpty());
+    verify(entityExtensionDAO, times(1)).insertBatch(anyList());
+  }
+
+  @Test
+  void testEntitiesAreRewrittenWhenTheServerChanged() throws IOException {
+    DatabaseService service = service("service");
+    Map<String, String> fingerprints = new HashMap<>();
+    Updater updater = new Updater(PROVIDER, PREFIX, fingerprints, executor, entityExtensionDAO);
+    fingerprints.put(service.getId().toString(), updater.fingerprint(service.getConnection()));
+    listing(service);
+
+    // The same secrets updated by another version of the server are rewritten
+    update(new Updater(PROVIDER, PROVIDER + ":openmetadata:1.2.0", fingerprints, executor, entityExtensionDAO));
+    assertEquals(List.of(service.getId()), rewritten);
+  }
+
+  @Test
+  void testEntityNotWrittenIsNotFingerprinted() throws IOException {
+    DatabaseService service = service("service");
+    listing(service);
+    Updater updater = new Updater(PROVIDER, PREFIX, new HashMap<>(), executor, entityExtensionDAO);
+    updater.update(
+        repository,
+        EntityUtil.Fields.EMPTY_FIELDS,
+        entity -> true,
+        DatabaseService::getConnection,
+        entity -> null);
+    verify(entityExtensionDAO, never()).insertBatch(anyList());
+  }
+
+  @Test
+  void testEntityUpdatedConcurrentlyIsReadAgain() throws IOException {
+    @SuppressWarnings("unchecked")
+    EntityDAO<DatabaseService> dao = mock(EntityDAO.class);
+    when(dao.getEntityClass()).thenReturn(DatabaseService.class);
+    DatabaseService read = service("service");
+    DatabaseService readAgain = service("service").withId(read.getId()).withVersion(0.2);
+    when(dao.findEntityById(read.getId())).thenReturn(read, readAgain);
+    when(dao.updateIfUnchanged(any(DatabaseService.class))).thenReturn(false, true);
+
+    // The entity updated between the read and the write is read again, and written with its new version
+    assertSame(readAgain, SecretsManagerUpdateService.updateIfUnchanged(dao, read.getId(), this::encrypt));
+    verify(dao, times(2)).findEntityById(read.getId());
+
+    // An entity that keeps being updated is not written
+    when(dao.updateIfUnchanged(any(DatabaseService.class))).thenReturn(false);
+    assertNull(SecretsManagerUpdateService.updateIfUnchanged(dao, read.getId(), this::encrypt));
+  }
+
+  @Test
+  void testProviderChanged() {
+    assertTrue(SecretsManagerUpdateService.providerChanged(List.of(), PROVIDER));
+    assertFalse(SecretsManagerUpdateService.providerChanged(List.of(PROVIDER + ":a", PROVIDER + ":b"), PROVIDER));
+    assertTrue(SecretsManagerUpdateService.providerChanged(List.of(PROVIDER + ":a", "noop:b"), PROVIDER));
+  }
+
+  private void update(Updater updater) {
+    updater.update(
+        repository, EntityUtil.Fields.EMPTY_FIELDS, entity -> true, DatabaseService::getConnection, this::encrypt);
+  }
+
+  private DatabaseService encrypt(DatabaseService service) {
+    rewritten.add(service.getId());
+    return service;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<EntityExtensionObject> storedFingerprints() {
+    ArgumentCaptor<List<EntityExtensionObject>> captor = ArgumentCaptor.forClass(List.class);
+    verify(entityExtensionDAO).insertBatch(captor.capture());
+    return captor.getValue();
+  }
+
+  private void listing(DatabaseService... services) throws IOException {
+    when(repository.listAfter(any(), any(), any(), anyInt(), any()))
+        .thenReturn(new ResultList<>(List.of(services), null, null, services.length));
+  }
+
+  private static DatabaseService service(String name) {
+    return new DatabaseService()
+        .withId(UUID.randomUUID())
+        .withName(name)
+        .withVersion(0.1)
+        .withConnection(new DatabaseConnection().withConfig(Map.of("password", name)));
+  }
+}
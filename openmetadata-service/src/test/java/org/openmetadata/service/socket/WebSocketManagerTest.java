@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.socket.engineio.server.EngineIoServerOptions;
+import io.socket.socketio.server.SocketIoSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.socket.WebSocketManager.WebSocketManagerBuilder;
+
+class WebSocketManagerTest {
+  private static final String EVENT = WebSocketManager.FEED_BROADCAST_CHANNEL;
+  private static final int QUEUE_CAPACITY = 256;
+  private static final int MAX_CONSECUTIVE_DROPS = 64;
+  private WebSocketManager manager;
+
+  @BeforeEach
+  void setUp() {
+    WebSocketManagerBuilder.build(EngineIoServerOptions.newFromDefault());
+    manager = WebSocketManager.getInstance();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    manager.shutdown();
+  }
+
+  @Test
+  void testMessagesAreSentInOrderToEachSocket() throws InterruptedException {
+    UUID user = UUID.randomUUID();
+    RecordingSocket socket1 = new RecordingSocket("socket1", true);
+    RecordingSocket socket2 = new RecordingSocket("socket2", false);
+    manager.addConnection(user, socket1.socket);
+    manager.addConnection(user, socket2.socket);
+    assertEquals(2, manager.getConnectionCount());
+
+    // The messages queued while the first one is being sent are sent once the client is done with it
+    manager.sendToOne(user, EVENT, "m0");
+    socket1.sending.await();
+    for (String message : List.of("m1", "m2", "m2", "m1", "m3")) {
+      manager.sendToOne(user, EVENT, message);
+    }
+    socket1.release.countDown();
+
+    // The same message queued several times during a burst is sent once
+    Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> socket1.messages.size() == 4);
+    assertEquals(List.of("m0", "m1", "m2", "m3"), socket1.messages);
+    Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> socket2.messages.contains("m3"));
+    assertEquals("m0", socket2.messages.get(0));
+    assertEquals("m3", socket2.messages.get(socket2.messages.size() - 1));
+  }
+
+  @Test
+  void testClientNotKeepingUpIsDisconnected() throws InterruptedException {
+    UUID slowUser = UUID.randomUUID();
+    UUID user = UUID.randomUUID();
+    RecordingSocket slowSocket = new RecordingSocket("slow", true);
+    RecordingSocket socket = new RecordingSocket("socket", false);
+    manager.addConnection(slowUser, slowSocket.socket);
+    manager.addConnection(user, socket.socket);
+
+    // The client is stuck on the first message. The next messages fill its queue, and then are dropped
+    manager.sendToOne(slowUser, EVENT, "m0");
+    slowSocket.sending.await();
+    for (int i = 1; i <= QUEUE_CAPACITY + MAX_CONSECUTIVE_DROPS - 1; i++) {
+      manager.sendToOne(slowUser, EVENT, "m" + i);
+    }
+    verify(slowSocket.socket, never()).disconnect(anyBoolean());
+    assertEquals(2, manager.getConnectionCount());
+
+    // The client is disconnected once it dropped too many consecutive messages, and its queue is cleared
+    manager.sendToOne(slowUser, EVENT, "m" + (QUEUE_CAPACITY + MAX_CONSECUTIVE_DROPS));
+    verify(slowSocket.socket).disconnect(true);
+    assertEquals(1, manager.getConnectionCount());
+    slowSocket.release.countDown();
+
+    // The other clients still get their messages
+    manager.broadCastMessageToAll(EVENT, "after");
+    Awaitility.await().atMost(Duration.ofSeconds(10)).until(() -> socket.messages.contains("after"));
+    assertEquals(List.of("after"), socket.messages);
+    assertEquals(List.of("m0"), slowSocket.messages);
+  }
+
+  @Test
+  void testDeliveredMessageResetsConsecutiveDrops() {
+    SocketConnection connection = new SocketConnection(mock(SocketIoSocket.class), 2);
+    assertTrue(connection.offer(EVENT, "m1"));
+    assertTrue(connection.offer(EVENT, "m2"));
+    assertFalse(connection.offer(EVENT, "m3"));
+    assertEquals(1, connection.recordDrop());
+    assertFalse(connection.offer(EVENT, "m4"));
+    assertEquals(2, connection.recordDrop());
+
+    // The client caught up with one message, so the next drop is the first one again
+    assertEquals(1, connection.poll(1).size());
+    assertTrue(connection.offer(EVENT, "m5"));
+    assertFalse(connection.offer(EVENT, "m6"));
+    assertEquals(1, connection.recordDrop());
+    assertEquals(2, connection.clear());
+  }
+
+  /** Mocked socket recording the messages sent to it, optionally blocking the send of the first message */
+  private static class RecordingSocket {
+    private final SocketIoSocket socket = mock(SocketIoSocket.class);
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    RecordingSocket(String id, boolean blockFirstMessage) {
+      when(socket.getId()).thenReturn(id);
+      if (!blockFirstMessage) {
+        release.countDown();
+      }
+      doAnswer(
+              invocation -> {
+                messages.add(invocation.getArgument(1));
+                sending.countDown();
+                release.await();
+                return null;
+              })
+          .when(socket)
+          .send(anyString(), anyString());
+    }
+  }
+}
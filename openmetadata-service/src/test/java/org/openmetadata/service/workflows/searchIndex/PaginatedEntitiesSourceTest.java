@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.searchIndex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.system.PartitionCursor;
+import org.openmetadata.service.Entity;
+
+class PaginatedEntitiesSourceTest {
+  @Test
+  void testPartitionsCoverAllIds() {
+    List<PartitionCursor> partitions = PaginatedEntitiesSource.createPartitions(Entity.TABLE, 4);
+    assertEquals(4, partitions.size());
+    assertEquals("", partitions.get(0).getStartKey());
+    assertEquals("40", partitions.get(1).getStartKey());
+    assertEquals("80", partitions.get(2).getStartKey());
+    assertEquals("c0", partitions.get(3).getStartKey());
+    for (int i = 0; i < partitions.size(); i++) {
+      PartitionCursor partition = partitions.get(i);
+      assertEquals(Entity.TABLE, partition.getEntityType());
+      assertFalse(partition.getDone());
+      if (i > 0) {
+        // Partitions are contiguous
+        assertEquals(partitions.get(i - 1).getEndKey(), partition.getStartKey());
+      }
+    }
+    assertTrue(partitions.get(3).getEndKey().compareTo("ffffffff-ffff-ffff-ffff-ffffffffffff") > 0);
+
+    // The number of partitions is bounded by the number of two hex digit prefixes
+    assertEquals(1, PaginatedEntitiesSource.createPartitions(Entity.TABLE, 0).size());
+    assertEquals(256, PaginatedEntitiesSource.createPartitions(Entity.TABLE, 1000).size());
+  }
+
+  @Test
+  void testPartitionsAreBalanced() {
+    // Every id falls in exactly one partition, and the partitions get roughly the same number of ids
+    List<PartitionCursor> partitions = PaginatedEntitiesSource.createPartitions(Entity.TABLE, 8);
+    int ids = 16_000;
+    int[] counts = new int[partitions.size()];
+    for (int i = 0; i < ids; i++) {
+      String id = UUID.randomUUID().toString();
+      int matches = 0;
+      for (int p = 0; p < partitions.size(); p++) {
+        PartitionCursor partition = partitions.get(p);
+        if (id.compareTo(partition.getStartKey()) > 0 && id.compareTo(partition.getEndKey()) < 0) {
+          counts[p]++;
+          matches++;
+        }
+      }
+      assertEquals(1, matches);
+    }
+    int expected = ids / partitions.size();
+    for (int count : counts) {
+      assertTrue(Math.abs(count - expected) < expected / 5, "Unbalanced partition with " + count + " ids");
+    }
+  }
+}